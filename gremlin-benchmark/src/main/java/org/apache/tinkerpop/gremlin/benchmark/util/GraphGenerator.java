@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.util;
+
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates graphs for benchmarks.  The same arguments always produce the same graph so that the results of
+ * benchmarks are comparable between runs.  Vertices are "person" or "software" and the heads of "knows" and "created"
+ * edges are chosen by preferential attachment which gives the skewed degree distribution of most real graphs.
+ */
+public final class GraphGenerator {
+
+    public static final long DEFAULT_SEED = 123456789l;
+
+    private static final String[] LANGUAGES = {"java", "groovy", "scala", "python"};
+
+    private GraphGenerator() {
+    }
+
+    public static void generate(final Graph graph, final int numberOfVertices, final int edgesPerVertex) {
+        generate(graph, numberOfVertices, edgesPerVertex, DEFAULT_SEED);
+    }
+
+    public static void generate(final Graph graph, final int numberOfVertices, final int edgesPerVertex, final long seed) {
+        final Random random = new Random(seed);
+        final List<Vertex> vertices = new ArrayList<>(numberOfVertices);
+        // every edge adds its head here again so that a uniform pick from it favors vertices of high degree
+        final List<Vertex> heads = new ArrayList<>(numberOfVertices * (edgesPerVertex + 1));
+        for (int i = 0; i < numberOfVertices; i++) {
+            final Vertex vertex = random.nextInt(5) == 0 ?
+                    graph.addVertex(T.label, "software", "name", "software" + i, "lang", LANGUAGES[random.nextInt(LANGUAGES.length)]) :
+                    graph.addVertex(T.label, "person", "name", "person" + i, "age", 18 + random.nextInt(60));
+            vertices.add(vertex);
+            heads.add(vertex);
+        }
+
+        for (final Vertex vertex : vertices) {
+            for (int i = 0; i < edgesPerVertex; i++) {
+                final Vertex head = heads.get(random.nextInt(heads.size()));
+                vertex.addEdge(head.label().equals("software") ? "created" : "knows", head, "weight", random.nextDouble());
+                heads.add(head);
+            }
+        }
+    }
+}
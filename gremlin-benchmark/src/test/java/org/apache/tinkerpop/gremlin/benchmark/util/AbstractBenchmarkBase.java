@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.util;
+
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class for all JMH benchmarks.  A benchmark is executed as a JUnit test so that it can be run from the IDE or
+ * by Maven with {@code mvn verify -DskipBenchmarks=false} from the {@code gremlin-benchmark} directory.  The settings
+ * of the run may be overridden with system properties and the results of each benchmark class are written as JSON to
+ * the directory given by the {@code benchmarkReportDir} system property so that they can be compared across commits
+ * and releases.
+ */
+public abstract class AbstractBenchmarkBase {
+
+    protected static final int DEFAULT_WARMUP_ITERATIONS = 5;
+    protected static final int DEFAULT_MEASURE_ITERATIONS = 10;
+    protected static final int DEFAULT_FORKS = 1;
+    protected static final String DEFAULT_JVM_ARGS = "-server -Xms2g -Xmx2g";
+
+    @Test
+    public void run() throws Exception {
+        final String className = getClass().getSimpleName();
+
+        final ChainedOptionsBuilder runnerOptions = new OptionsBuilder()
+                .include(".*" + className + ".*")
+                .mode(getMode())
+                .timeUnit(getTimeUnit())
+                .warmupIterations(getWarmupIterations())
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(getMeasureIterations())
+                .measurementTime(TimeValue.seconds(1))
+                .forks(getForks())
+                .jvmArgs(getJvmArgs().split(" "));
+
+        // the forked vm should log the same way the vm running the benchmark does
+        final String log4jConfiguration = System.getProperty("log4j.configuration");
+        if (null != log4jConfiguration)
+            runnerOptions.jvmArgsAppend("-Dlog4j.configuration=" + log4jConfiguration);
+
+        final String reportDir = getReportDir();
+        if (null != reportDir && !reportDir.isEmpty()) {
+            final File dir = new File(reportDir);
+            if (!dir.exists() && !dir.mkdirs())
+                throw new IllegalStateException("Could not create the benchmark report directory: " + dir.getAbsolutePath());
+
+            runnerOptions.resultFormat(ResultFormatType.JSON)
+                    .result(new File(dir, className + ".json").getAbsolutePath());
+        }
+
+        new Runner(runnerOptions.build()).run();
+    }
+
+    protected Mode getMode() {
+        return Mode.Throughput;
+    }
+
+    protected TimeUnit getTimeUnit() {
+        return TimeUnit.SECONDS;
+    }
+
+    protected int getWarmupIterations() {
+        return Integer.parseInt(System.getProperty("benchmarkWarmupIterations", String.valueOf(DEFAULT_WARMUP_ITERATIONS)));
+    }
+
+    protected int getMeasureIterations() {
+        return Integer.parseInt(System.getProperty("benchmarkMeasureIterations", String.valueOf(DEFAULT_MEASURE_ITERATIONS)));
+    }
+
+    protected int getForks() {
+        return Integer.parseInt(System.getProperty("benchmarkForks", String.valueOf(DEFAULT_FORKS)));
+    }
+
+    protected String getJvmArgs() {
+        return System.getProperty("benchmarkJvmArgs", DEFAULT_JVM_ARGS);
+    }
+
+    protected String getReportDir() {
+        return System.getProperty("benchmarkReportDir");
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.benchmark.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base class for benchmarks that read from a {@link TinkerGraph} that is generated by the {@link GraphGenerator}
+ * before the benchmarks of the class execute.
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractGraphBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"1000"})
+    public int numberOfVertices;
+
+    @Param({"10"})
+    public int edgesPerVertex;
+
+    protected Graph graph;
+    protected GraphTraversalSource g;
+
+    @Setup
+    public void prepare() throws Exception {
+        this.graph = TinkerGraph.open();
+        GraphGenerator.generate(this.graph, this.numberOfVertices, this.edgesPerVertex);
+        this.g = this.graph.traversal();
+    }
+
+    @TearDown
+    public void cleanup() throws Exception {
+        this.graph.close();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.driver;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.benchmark.util.GraphGenerator;
+import org.apache.tinkerpop.gremlin.driver.ser.GraphSONMessageSerializerV1d0;
+import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import org.apache.tinkerpop.gremlin.server.GremlinServer;
+import org.apache.tinkerpop.gremlin.server.Settings;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmarks round trips of requests from the driver to a Gremlin Server that is started within the benchmark.  The
+ * graph of the server is filled by the {@link GraphGenerator} before the benchmarks execute.
+ */
+@State(Scope.Benchmark)
+public class GremlinServerBenchmark extends AbstractBenchmarkBase {
+
+    private static final int PORT = 45940;
+    private static final int NUMBER_OF_VERTICES = 1000;
+
+    @Param({"GRYO_V1D0", "GRAPHSON_V1D0"})
+    public Serializers serializer;
+
+    private GremlinServer server;
+    private Cluster cluster;
+    private Client client;
+    private final Random random = new Random(123456789l);
+
+    @Setup
+    public void prepare() throws Exception {
+        final File graphConfiguration = File.createTempFile("tinkergraph-benchmark", ".properties");
+        graphConfiguration.deleteOnExit();
+        try (final FileWriter writer = new FileWriter(graphConfiguration)) {
+            writer.write("gremlin.graph=" + TinkerGraph.class.getName());
+        }
+
+        final Settings settings = new Settings();
+        settings.port = PORT;
+        settings.graphs.put("graph", graphConfiguration.getAbsolutePath());
+        settings.plugins.add("tinkerpop.tinkergraph");
+        final Settings.SerializerSettings graphsonSerializerSettings = new Settings.SerializerSettings();
+        graphsonSerializerSettings.className = GraphSONMessageSerializerV1d0.class.getName();
+        graphsonSerializerSettings.config = Collections.emptyMap();
+        settings.serializers.add(graphsonSerializerSettings);
+
+        this.server = new GremlinServer(settings);
+        this.server.start().join();
+
+        this.cluster = Cluster.build().port(PORT).serializer(this.serializer).create();
+        this.client = this.cluster.connect();
+        this.client.submit(GraphGenerator.class.getName() + ".generate(graph, " + NUMBER_OF_VERTICES + ", 10)").all().get();
+    }
+
+    @TearDown
+    public void cleanup() throws Exception {
+        this.cluster.close();
+        this.server.stop().join();
+    }
+
+    @Benchmark
+    public List<Result> submitScalarResult() throws Exception {
+        return this.client.submit("graph.traversal().V().count()").all().get();
+    }
+
+    @Benchmark
+    public List<Result> submitParameterizedLookup() throws Exception {
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("x", (long) this.random.nextInt(NUMBER_OF_VERTICES));
+        return this.client.submit("graph.traversal().V((long) x).out().toList()", parameters).all().get();
+    }
+
+    @Benchmark
+    public List<Result> submitManyVertices() throws Exception {
+        return this.client.submit("graph.traversal().V().limit(500)").all().get();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmarks pipelines of the steps that dominate the cost of most traversals.
+ */
+public class TraversalStepBenchmark extends AbstractGraphBenchmark {
+
+    @Benchmark
+    public long g_V_out_out_count() {
+        return g.V().out().out().count().next();
+    }
+
+    @Benchmark
+    public long g_V_outE_inV_bothE_count() {
+        return g.V().outE().inV().bothE().count().next();
+    }
+
+    @Benchmark
+    public Map<Object, Long> g_V_out_groupCount_byXnameX() {
+        return g.V().out().<Object>groupCount().by("name").next();
+    }
+
+    @Benchmark
+    public Map<Object, Object> g_V_group_byXlabelX_byXout_countX() {
+        return g.V().group().by(T.label).by(__.out().count()).next();
+    }
+
+    @Benchmark
+    public List<Object> g_V_out_valuesXnameX_order() {
+        return g.V().out().values("name").order().toList();
+    }
+
+    @Benchmark
+    public List<Vertex> g_V_order_byXage_decrX_limitX10X() {
+        return g.V().hasLabel("person").order().by("age", Order.decr).limit(10).toList();
+    }
+
+    @Benchmark
+    public long g_V_repeatXoutX_timesX3X_count() {
+        return g.V().repeat(__.out()).times(3).count().next();
+    }
+
+    @Benchmark
+    public long g_V_repeatXoutX_timesX3X_dedup_count() {
+        return g.V().repeat(__.out().dedup()).times(3).count().next();
+    }
+
+    @Benchmark
+    public long g_V_matchXa_knows_b__b_created_cX_count() {
+        return g.V().match(
+                __.as("a").out("knows").as("b"),
+                __.as("b").out("created").as("c")).count().next();
+    }
+}
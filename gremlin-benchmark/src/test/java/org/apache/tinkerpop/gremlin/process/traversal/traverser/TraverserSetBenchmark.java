@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks the collections that bulk traversers and objects in barriers.  The ratio of distinct objects to the
+ * number of additions determines how much bulking occurs.
+ */
+@State(Scope.Thread)
+public class TraverserSetBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"100000"})
+    public int numberOfAdditions;
+
+    @Param({"100", "100000"})
+    public int numberOfDistinctObjects;
+
+    private List<Traverser.Admin<Integer>> traversers;
+    private List<Integer> objects;
+
+    @Setup
+    public void prepare() {
+        final Random random = new Random(123456789l);
+        this.traversers = new ArrayList<>(this.numberOfAdditions);
+        this.objects = new ArrayList<>(this.numberOfAdditions);
+        for (int i = 0; i < this.numberOfAdditions; i++) {
+            final Integer object = random.nextInt(this.numberOfDistinctObjects);
+            this.traversers.add(new B_O_Traverser<>(object, 1l));
+            this.objects.add(object);
+        }
+    }
+
+    @Benchmark
+    public TraverserSet<Integer> traverserSetAdd() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : this.traversers) {
+            // traversers are merged into the ones already in the set so each addition needs its own copy
+            traverserSet.add(traverser.split());
+        }
+        return traverserSet;
+    }
+
+    @Benchmark
+    public long traverserSetAddAndDrain() {
+        final TraverserSet<Integer> traverserSet = new TraverserSet<>();
+        for (final Traverser.Admin<Integer> traverser : this.traversers) {
+            traverserSet.add(traverser.split());
+        }
+        long bulk = 0l;
+        while (!traverserSet.isEmpty()) {
+            bulk = bulk + traverserSet.remove().bulk();
+        }
+        return bulk;
+    }
+
+    @Benchmark
+    public BulkSet<Integer> bulkSetAdd() {
+        final BulkSet<Integer> bulkSet = new BulkSet<>();
+        for (final Integer object : this.objects) {
+            bulkSet.add(object, 1l);
+        }
+        return bulkSet;
+    }
+
+    @Benchmark
+    public long bulkSetAddAndIterate() {
+        final BulkSet<Integer> bulkSet = new BulkSet<>();
+        for (final Integer object : this.objects) {
+            bulkSet.add(object, 1l);
+        }
+        long sum = 0l;
+        for (final Integer object : bulkSet) {
+            sum = sum + object;
+        }
+        return sum;
+    }
+}
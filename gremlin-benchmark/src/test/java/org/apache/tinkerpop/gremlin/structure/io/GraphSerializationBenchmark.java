@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.structure.io;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.AbstractGraphBenchmark;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONReader;
+import org.apache.tinkerpop.gremlin.structure.io.graphson.GraphSONWriter;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoReader;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoWriter;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Benchmarks the reading and writing of whole graphs and of single vertices with Gryo and GraphSON.
+ */
+public class GraphSerializationBenchmark extends AbstractGraphBenchmark {
+
+    private final GryoWriter gryoWriter = GryoWriter.build().create();
+    private final GryoReader gryoReader = GryoReader.build().create();
+    private final GraphSONWriter graphsonWriter = GraphSONWriter.build().create();
+    private final GraphSONReader graphsonReader = GraphSONReader.build().create();
+
+    private Vertex vertex;
+    private byte[] gryoGraph;
+    private byte[] gryoVertex;
+    private byte[] graphsonGraph;
+    private byte[] graphsonVertex;
+
+    @Setup
+    public void prepareSerialized() throws Exception {
+        this.vertex = this.graph.vertices(0l).next();
+
+        final ByteArrayOutputStream gryoGraphStream = new ByteArrayOutputStream();
+        this.gryoWriter.writeGraph(gryoGraphStream, this.graph);
+        this.gryoGraph = gryoGraphStream.toByteArray();
+
+        final ByteArrayOutputStream gryoVertexStream = new ByteArrayOutputStream();
+        this.gryoWriter.writeVertex(gryoVertexStream, this.vertex);
+        this.gryoVertex = gryoVertexStream.toByteArray();
+
+        final ByteArrayOutputStream graphsonGraphStream = new ByteArrayOutputStream();
+        this.graphsonWriter.writeGraph(graphsonGraphStream, this.graph);
+        this.graphsonGraph = graphsonGraphStream.toByteArray();
+
+        final ByteArrayOutputStream graphsonVertexStream = new ByteArrayOutputStream();
+        this.graphsonWriter.writeVertex(graphsonVertexStream, this.vertex);
+        this.graphsonVertex = graphsonVertexStream.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeGryoGraph() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(this.gryoGraph.length);
+        this.gryoWriter.writeGraph(stream, this.graph);
+        return stream.toByteArray();
+    }
+
+    @Benchmark
+    public TinkerGraph readGryoGraph() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        this.gryoReader.readGraph(new ByteArrayInputStream(this.gryoGraph), graph);
+        return graph;
+    }
+
+    @Benchmark
+    public byte[] writeGryoVertex() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(this.gryoVertex.length);
+        this.gryoWriter.writeVertex(stream, this.vertex);
+        return stream.toByteArray();
+    }
+
+    @Benchmark
+    public Vertex readGryoVertex() throws Exception {
+        return this.gryoReader.readVertex(new ByteArrayInputStream(this.gryoVertex), Attachable::get);
+    }
+
+    @Benchmark
+    public byte[] writeGraphSONGraph() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(this.graphsonGraph.length);
+        this.graphsonWriter.writeGraph(stream, this.graph);
+        return stream.toByteArray();
+    }
+
+    @Benchmark
+    public TinkerGraph readGraphSONGraph() throws Exception {
+        final TinkerGraph graph = TinkerGraph.open();
+        this.graphsonReader.readGraph(new ByteArrayInputStream(this.graphsonGraph), graph);
+        return graph;
+    }
+
+    @Benchmark
+    public byte[] writeGraphSONVertex() throws Exception {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream(this.graphsonVertex.length);
+        this.graphsonWriter.writeVertex(stream, this.vertex);
+        return stream.toByteArray();
+    }
+
+    @Benchmark
+    public Vertex readGraphSONVertex() throws Exception {
+        return this.graphsonReader.readVertex(new ByteArrayInputStream(this.graphsonVertex), Attachable::get);
+    }
+}
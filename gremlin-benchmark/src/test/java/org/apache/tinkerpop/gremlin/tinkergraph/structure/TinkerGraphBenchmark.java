@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.benchmark.util.AbstractBenchmarkBase;
+import org.apache.tinkerpop.gremlin.benchmark.util.GraphGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmarks the mutation and lookup operations of {@link TinkerGraph} with and without an index on the "name" key.
+ */
+@State(Scope.Thread)
+public class TinkerGraphBenchmark extends AbstractBenchmarkBase {
+
+    @Param({"10000"})
+    public int numberOfVertices;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private TinkerGraph graph;
+    private GraphTraversalSource g;
+    private Random random;
+
+    @Setup
+    public void prepare() {
+        this.graph = TinkerGraph.open();
+        if (this.indexed) this.graph.createIndex("name", Vertex.class);
+        GraphGenerator.generate(this.graph, this.numberOfVertices, 5);
+        this.g = this.graph.traversal();
+        this.random = new Random(123456789l);
+    }
+
+    @TearDown
+    public void cleanup() {
+        this.graph.close();
+    }
+
+    @Benchmark
+    public TinkerGraph addVerticesAndEdges() {
+        final TinkerGraph graph = TinkerGraph.open();
+        if (this.indexed) graph.createIndex("name", Vertex.class);
+        Vertex last = graph.addVertex(T.label, "person", "name", "person0", "age", 0);
+        for (int i = 1; i < 1000; i++) {
+            final Vertex vertex = graph.addVertex(T.label, "person", "name", "person" + i, "age", i);
+            last.addEdge("knows", vertex, "weight", 0.5d);
+            last = vertex;
+        }
+        return graph;
+    }
+
+    @Benchmark
+    public Vertex lookupVertexById() {
+        return this.graph.vertices((long) this.random.nextInt(this.numberOfVertices)).next();
+    }
+
+    @Benchmark
+    public List<Vertex> lookupVerticesByProperty() {
+        return this.g.V().has("name", "person" + this.random.nextInt(this.numberOfVertices)).toList();
+    }
+
+    @Benchmark
+    public List<Vertex> lookupVerticesByLabelAndProperty() {
+        return this.g.V().has("person", "name", "person" + this.random.nextInt(this.numberOfVertices)).toList();
+    }
+}
@@ -122,7 +122,7 @@ public abstract class MessageScope {
 
         @Override
         public int hashCode() {
-            return this.edgeFunction.hashCode() + this.incidentTraversal.get().toString().hashCode();
+            return this.edgeFunction.hashCode() + this.toStringOfTraversal.hashCode();
         }
 
         @Override
@@ -65,6 +65,17 @@ public interface Path extends Cloneable, Iterable<Object> {
      */
     public Path extend(final Set<String> labels);
 
+    /**
+     * Remove labels from the path. The steps of the path that are left without labels are removed as well.
+     *
+     * @param labels the labels to remove from the path
+     * @return the path without the labels
+     * @throws UnsupportedOperationException if the path does not support retraction
+     */
+    public default Path retract(final Set<String> labels) {
+        throw new UnsupportedOperationException("This path does not support retraction: " + this.getClass().getCanonicalName());
+    }
+
     /**
      * Get the object associated with the particular label of the path.
      * If the path as multiple labels of the type, then return a {@link List} of those objects.
@@ -26,11 +26,13 @@ import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.Filt
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IncidentToAdjacentStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.MatchPredicateStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.OrderLimitStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RangeByIsCountStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.ComputerVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.verification.StandardVerificationStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserGeneratorFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.apache.tinkerpop.gremlin.util.tools.MultiMap;
@@ -43,6 +45,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -104,6 +107,24 @@ public interface TraversalStrategies extends Serializable, Cloneable {
      */
     public void setTraverserGeneratorFactory(final TraverserGeneratorFactory traverserGeneratorFactory);
 
+    /**
+     * Get the {@link TraversalPlanCache} that root traversals with these strategies take their plans from, if any.  By
+     * default, there is none.
+     */
+    public default Optional<TraversalPlanCache> getPlanCache() {
+        return Optional.empty();
+    }
+
+    /**
+     * Set the {@link TraversalPlanCache} to share between the traversals with these strategies or {@code null} to
+     * have every traversal apply the strategies itself.  By default, the plan cache is ignored.
+     *
+     * @param planCache the plan cache to use
+     */
+    public default void setPlanCache(final TraversalPlanCache planCache) {
+
+    }
+
     /**
      * Sorts the list of provided strategies such that the {@link TraversalStrategy#applyPost()}
      * and {@link TraversalStrategy#applyPrior()} dependencies are respected.
@@ -205,6 +226,7 @@ public interface TraversalStrategies extends Serializable, Cloneable {
                     IdentityRemovalStrategy.instance(),
                     MatchPredicateStrategy.instance(),
                     RangeByIsCountStrategy.instance(),
+                    OrderLimitStrategy.instance(),
                     ComputerVerificationStrategy.instance(),
                     StandardVerificationStrategy.instance());
             //LambdaRestrictionStrategy.instance(),
@@ -183,6 +183,15 @@ public interface Traverser<T> extends Serializable, Comparable<Traverser<T>>, Cl
 
         public void addLabels(final Set<String> labels);
 
+        /**
+         * Drop the labels from the path of the traverser. A traverser without a labeled path has nothing to drop.
+         *
+         * @param labels the labels to drop from the path
+         */
+        public default void dropLabels(final Set<String> labels) {
+
+        }
+
         /**
          * Set the current object location of the traverser.
          *
@@ -80,6 +80,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LabelStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaCollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaFlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.KHopCountStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaMapStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LoopsStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
@@ -100,6 +101,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.RangeLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SackStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SampleLocalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectOneStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ShortestPathStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SelectStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumLocalStep;
@@ -518,6 +520,56 @@ public interface GraphTraversal<S, E> extends Traversal<S, E> {
         return this.asAdmin().addStep(new PathStep<>(this.asAdmin()));
     }
 
+    /**
+     * Map the {@link Vertex} to the {@link Path} of vertices with the fewest edges to the target vertex, ignoring edge
+     * direction. A {@code by()} modulation gives the weight of an edge and makes the path the one with the least total
+     * weight. Vertices without a path to the target are filtered.
+     *
+     * @param targetVertexIdOrVertex the target vertex or its id
+     * @return the traversal with an appended {@link ShortestPathStep}.
+     */
+    public default GraphTraversal<S, Path> shortestPath(final Object targetVertexIdOrVertex) {
+        return this.shortestPath(Direction.BOTH, targetVertexIdOrVertex);
+    }
+
+    /**
+     * Map the {@link Vertex} to the {@link Path} of vertices with the fewest edges of the given direction and labels to
+     * the target vertex. A {@code by()} modulation gives the weight of an edge and makes the path the one with the
+     * least total weight. Vertices without a path to the target are filtered.
+     *
+     * @param direction              the direction of the edges from the start to the target
+     * @param targetVertexIdOrVertex the target vertex or its id
+     * @param edgeLabels             the labels of the edges to traverse (all labels if none)
+     * @return the traversal with an appended {@link ShortestPathStep}.
+     */
+    public default GraphTraversal<S, Path> shortestPath(final Direction direction, final Object targetVertexIdOrVertex, final String... edgeLabels) {
+        return this.asAdmin().addStep(new ShortestPathStep(this.asAdmin(), direction, targetVertexIdOrVertex, edgeLabels));
+    }
+
+    /**
+     * Map the {@link Vertex} to the number of distinct other vertices at most the given number of edges away, ignoring
+     * edge direction.
+     *
+     * @param maxDepth the maximum number of edges
+     * @return the traversal with an appended {@link KHopCountStep}.
+     */
+    public default GraphTraversal<S, Long> kHopCount(final int maxDepth) {
+        return this.kHopCount(maxDepth, Direction.BOTH);
+    }
+
+    /**
+     * Map the {@link Vertex} to the number of distinct other vertices at most the given number of edges of the given
+     * direction and labels away.
+     *
+     * @param maxDepth   the maximum number of edges
+     * @param direction  the direction of the edges to traverse
+     * @param edgeLabels the labels of the edges to traverse (all labels if none)
+     * @return the traversal with an appended {@link KHopCountStep}.
+     */
+    public default GraphTraversal<S, Long> kHopCount(final int maxDepth, final Direction direction, final String... edgeLabels) {
+        return this.asAdmin().addStep(new KHopCountStep(this.asAdmin(), maxDepth, direction, edgeLabels));
+    }
+
     /**
      * Map the {@link Traverser} to a {@link Map} of bindings as specified by the provided match traversals.
      *
@@ -23,11 +23,14 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.engine.BatchTraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.engine.ComputerTraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.AddVertexStartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalPlanCache;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
@@ -52,6 +55,10 @@ public class GraphTraversalSource implements TraversalSource {
         return GraphTraversalSource.build().engine(StandardTraversalEngine.build());
     }
 
+    public static Builder batch() {
+        return GraphTraversalSource.build().engine(BatchTraversalEngine.build());
+    }
+
     public static Builder computer() {
         return GraphTraversalSource.build().engine(ComputerTraversalEngine.build());
     }
@@ -67,20 +74,24 @@ public class GraphTraversalSource implements TraversalSource {
     private final TraversalStrategies strategies;
     private final List<TraversalStrategy> withStrategies;
     private final List<Class<? extends TraversalStrategy>> withoutStrategies;
+    private final transient TraversalPlanCache planCache;
 
-    private GraphTraversalSource(final Graph graph, final TraversalEngine.Builder engineBuilder, final List<TraversalStrategy> withStrategies, final List<Class<? extends TraversalStrategy>> withoutStrategies) {
+    private GraphTraversalSource(final Graph graph, final TraversalEngine.Builder engineBuilder, final List<TraversalStrategy> withStrategies, final List<Class<? extends TraversalStrategy>> withoutStrategies, final TraversalPlanCache planCache) {
         this.graph = graph;
         this.engineBuilder = engineBuilder;
         this.withStrategies = withStrategies;
         this.withoutStrategies = withoutStrategies;
+        this.planCache = planCache;
         this.withStrategies.addAll(engineBuilder.getWithStrategies());
         this.withoutStrategies.addAll(engineBuilder.getWithoutStrategies());
         final TraversalStrategies tempStrategies = TraversalStrategies.GlobalCache.getStrategies(this.graph.getClass());
-        this.strategies = withStrategies.isEmpty() && withoutStrategies.isEmpty() ?
+        this.strategies = withStrategies.isEmpty() && withoutStrategies.isEmpty() && null == planCache ?
                 tempStrategies :
                 tempStrategies.clone()
                         .addStrategies(withStrategies.toArray(new TraversalStrategy[withStrategies.size()]))
                         .removeStrategies(withoutStrategies.toArray(new Class[withoutStrategies.size()]));
+        if (null != planCache)
+            this.strategies.setPlanCache(planCache);
     }
 
     private <S> GraphTraversal.Admin<S, S> generateTraversal() {
@@ -190,6 +201,24 @@ public class GraphTraversalSource implements TraversalSource {
         return new GraphTraversalSourceStub(traversal);
     }
 
+    /**
+     * Spawns traversals whose steps up to the first barrier execute over {@code parallelism} partitions of the start
+     * elements on separate threads.
+     *
+     * @see ParallelStrategy
+     */
+    public GraphTraversalSource withParallel(final int parallelism) {
+        return this.asBuilder().with(ParallelStrategy.build().parallelism(parallelism).create()).create(this.graph);
+    }
+
+    /**
+     * Spawns traversals that take their strategy-applied plans from the {@link TraversalPlanCache} and add their
+     * plans to it, so that traversals of the same shape only pay for strategies once.
+     */
+    public GraphTraversalSource withPlanCache(final TraversalPlanCache planCache) {
+        return this.asBuilder().planCache(planCache).create(this.graph);
+    }
+
     public Transaction tx() {
         return this.graph.tx();
     }
@@ -218,6 +247,7 @@ public class GraphTraversalSource implements TraversalSource {
         final GraphTraversalSource.Builder builder = GraphTraversalSource.build().engine(this.engineBuilder);
         this.withStrategies.forEach(builder::with);
         this.withoutStrategies.forEach(builder::without);
+        builder.planCache(this.planCache);
         return builder;
     }
 
@@ -233,10 +263,16 @@ public class GraphTraversalSource implements TraversalSource {
         private TraversalEngine.Builder engineBuilder = StandardTraversalEngine.build();
         private List<TraversalStrategy> withStrategies = new ArrayList<>();
         private List<Class<? extends TraversalStrategy>> withoutStrategies = new ArrayList<>();
+        private transient TraversalPlanCache planCache = null;
 
         private Builder() {
         }
 
+        public Builder planCache(final TraversalPlanCache planCache) {
+            this.planCache = planCache;
+            return this;
+        }
+
         @Override
         public Builder engine(final TraversalEngine.Builder engineBuilder) {
             this.engineBuilder = engineBuilder;
@@ -257,7 +293,7 @@ public class GraphTraversalSource implements TraversalSource {
 
         @Override
         public GraphTraversalSource create(final Graph graph) {
-            return new GraphTraversalSource(graph, this.engineBuilder, this.withStrategies, this.withoutStrategies);
+            return new GraphTraversalSource(graph, this.engineBuilder, this.withStrategies, this.withoutStrategies, this.planCache);
         }
     }
 
@@ -312,6 +312,34 @@ public class __ {
         return __.<A>start().path();
     }
 
+    /**
+     * @see GraphTraversal#shortestPath(Object)
+     */
+    public static GraphTraversal<Vertex, Path> shortestPath(final Object targetVertexIdOrVertex) {
+        return __.<Vertex>start().shortestPath(targetVertexIdOrVertex);
+    }
+
+    /**
+     * @see GraphTraversal#shortestPath(Direction, Object, String...)
+     */
+    public static GraphTraversal<Vertex, Path> shortestPath(final Direction direction, final Object targetVertexIdOrVertex, final String... edgeLabels) {
+        return __.<Vertex>start().shortestPath(direction, targetVertexIdOrVertex, edgeLabels);
+    }
+
+    /**
+     * @see GraphTraversal#kHopCount(int)
+     */
+    public static GraphTraversal<Vertex, Long> kHopCount(final int maxDepth) {
+        return __.<Vertex>start().kHopCount(maxDepth);
+    }
+
+    /**
+     * @see GraphTraversal#kHopCount(int, Direction, String...)
+     */
+    public static GraphTraversal<Vertex, Long> kHopCount(final int maxDepth, final Direction direction, final String... edgeLabels) {
+        return __.<Vertex>start().kHopCount(maxDepth, direction, edgeLabels);
+    }
+
     /**
      * @see GraphTraversal#match(Traversal[])
      */
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.engine;
+
+import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ProfileStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An OLTP {@link TraversalEngine} that executes chains of {@link Batchable} steps a batch of traversers at a time
+ * rather than pulling each traverser through every step of the chain.  This avoids much of the per-traverser cost
+ * of long linear traversals like {@code g.V().out().out().has('name').values('age')}.  Steps that are not batchable
+ * execute as they do with the {@link StandardTraversalEngine}.
+ */
+public final class BatchTraversalEngine implements TraversalEngine {
+
+    private static final BatchTraversalEngine INSTANCE = new BatchTraversalEngine();
+
+    private BatchTraversalEngine() {
+
+    }
+
+    @Override
+    public Type getType() {
+        return Type.STANDARD;
+    }
+
+    @Override
+    public Optional<GraphComputer> getGraphComputer() {
+        return Optional.empty();
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    public static BatchTraversalEngine instance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalEngineString(this);
+    }
+
+    public final static class Builder implements TraversalEngine.Builder {
+
+        private int batchSize = BatchStrategy.DEFAULT_BATCH_SIZE;
+
+        /**
+         * The number of traversers pulled into each batch.
+         */
+        public Builder batchSize(final int batchSize) {
+            if (batchSize < 1)
+                throw new IllegalArgumentException("The batch size must be greater than zero: " + batchSize);
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        @Override
+        public List<TraversalStrategy> getWithStrategies() {
+            return Collections.singletonList(BatchStrategy.DEFAULT_BATCH_SIZE == this.batchSize ?
+                    BatchStrategy.instance() :
+                    new BatchStrategy(this.batchSize));
+        }
+
+        @Override
+        public TraversalEngine create(final Graph graph) {
+            return BatchTraversalEngine.INSTANCE;
+        }
+    }
+
+    ////
+
+    /**
+     * Replaces each chain of two or more {@link Batchable} steps with a {@link BatchStep}.  Only the last step of a
+     * chain may be labeled so that the labels are applied to the traversers that leave the chain.
+     */
+    public static class BatchStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+        public static final int DEFAULT_BATCH_SIZE = 64;
+
+        private static final BatchStrategy INSTANCE = new BatchStrategy(DEFAULT_BATCH_SIZE);
+        private static final Set<Class<? extends FinalizationStrategy>> POSTS = new HashSet<>();
+
+        static {
+            POSTS.add(ProfileStrategy.class);
+        }
+
+        private final int batchSize;
+
+        private BatchStrategy(final int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+            if (traversal.getEngine().isComputer())
+                return;
+
+            final List<Batchable<?, ?>> chain = new ArrayList<>();
+            for (final Step<?, ?> step : new ArrayList<>(traversal.getSteps())) {
+                if (step instanceof Batchable) {
+                    chain.add((Batchable<?, ?>) step);
+                    if (!step.getLabels().isEmpty()) {
+                        this.replaceChain(chain, traversal);
+                        chain.clear();
+                    }
+                } else {
+                    this.replaceChain(chain, traversal);
+                    chain.clear();
+                }
+            }
+            this.replaceChain(chain, traversal);
+        }
+
+        private void replaceChain(final List<Batchable<?, ?>> chain, final Traversal.Admin<?, ?> traversal) {
+            if (chain.size() < 2)
+                return;
+
+            final BatchStep<?, ?> batchStep = new BatchStep<>(traversal, chain, this.batchSize);
+            TraversalHelper.insertBeforeStep((Step) batchStep, (Step) chain.get(0), traversal);
+            for (final Batchable<?, ?> step : chain) {
+                traversal.removeStep(step);
+            }
+            final Step<?, ?> lastStep = chain.get(chain.size() - 1);
+            for (final String label : new ArrayList<>(lastStep.getLabels())) {
+                lastStep.removeLabel(label);
+                batchStep.addLabel(label);
+            }
+        }
+
+        public int getBatchSize() {
+            return this.batchSize;
+        }
+
+        @Override
+        public Set<Class<? extends FinalizationStrategy>> applyPost() {
+            return POSTS;
+        }
+
+        public static BatchStrategy instance() {
+            return INSTANCE;
+        }
+    }
+}
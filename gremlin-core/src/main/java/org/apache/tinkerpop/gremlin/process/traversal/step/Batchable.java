@@ -0,0 +1,40 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
+
+/**
+ * A {@link Step} that can process a batch of traversers in a single call rather than pulling them one at a time from
+ * the previous step.  Only steps without side-effects whose output for a traverser depends on nothing but that
+ * traverser should be batchable as batching changes how far ahead of the traversal the step is evaluated.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep
+ */
+public interface Batchable<S, E> extends Step<S, E> {
+
+    /**
+     * Process the traversers of the starts, taking them through the cursor of the batch, and add the traversers that
+     * result to the ends until either the starts are consumed or the ends are full.  A step that stops because the
+     * ends are full is called again with the same starts once the ends have been drained.
+     */
+    public void processBatch(final TraverserBatch<S> starts, final TraverserBatch<E> ends);
+
+}
@@ -23,7 +23,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementIdDuplicateSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
@@ -46,6 +49,13 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
     public boolean untilFirst = false;
     public boolean emitFirst = false;
 
+    private boolean breadthFirst = false;
+    private boolean pruneVisited = false;
+    private transient TraverserSet<S> frontier = null;
+    private transient TraverserSet<S> emits = null;
+    private transient DuplicateSet visited = null;
+    private transient List<Object> arrivals = null;
+
     public RepeatStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -90,6 +100,34 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         return this.emitTraversal;
     }
 
+    /**
+     * In OLTP, has every loop run as a barrier over all the traversers at the same depth (a frontier) rather than
+     * depth-first one traverser at a time, so that traversers at the same object are bulked before they are looped.
+     */
+    public void setBreadthFirst(final boolean breadthFirst) {
+        this.breadthFirst = breadthFirst;
+        if (!breadthFirst)
+            this.pruneVisited = false;
+    }
+
+    public boolean isBreadthFirst() {
+        return this.breadthFirst;
+    }
+
+    /**
+     * Has a breadth-first loop drop every traverser that reaches an object that was already reached at a lower depth,
+     * so that each object is looped at most once and at its shortest depth.  This implies {@link #setBreadthFirst}.
+     */
+    public void setPruneVisited(final boolean pruneVisited) {
+        this.pruneVisited = pruneVisited;
+        if (pruneVisited)
+            this.breadthFirst = true;
+    }
+
+    public boolean isPruneVisited() {
+        return this.pruneVisited;
+    }
+
     public List<Traversal.Admin<S, S>> getGlobalChildren() {
         return null == this.repeatTraversal ? Collections.emptyList() : Collections.singletonList(this.repeatTraversal);
     }
@@ -141,9 +179,22 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             clone.untilTraversal = clone.integrateChild(this.untilTraversal.clone());
         if (null != this.emitTraversal)
             clone.emitTraversal = clone.integrateChild(this.emitTraversal.clone());
+        clone.frontier = null;
+        clone.emits = null;
+        clone.visited = null;
+        clone.arrivals = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.frontier = null;
+        this.emits = null;
+        this.visited = null;
+        this.arrivals = null;
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode() ^ this.repeatTraversal.hashCode();
@@ -158,6 +209,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
 
     @Override
     protected Iterator<Traverser<S>> standardAlgorithm() throws NoSuchElementException {
+        if (this.breadthFirst)
+            return this.breadthFirstAlgorithm();
         while (true) {
             if (this.repeatTraversal.getEndStep().hasNext()) {
                 return this.repeatTraversal.getEndStep();
@@ -177,6 +230,73 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         }
     }
 
+    private Iterator<Traverser<S>> breadthFirstAlgorithm() throws NoSuchElementException {
+        if (null == this.frontier) {
+            this.frontier = new TraverserSet<>();
+            this.emits = new TraverserSet<>();
+            if (this.pruneVisited) {
+                this.visited = new ElementIdDuplicateSet();
+                this.arrivals = new ArrayList<>();
+            }
+        }
+        while (true) {
+            if (!this.emits.isEmpty()) {
+                final TraverserSet<S> emits = this.emits;
+                this.emits = new TraverserSet<>();
+                return (Iterator) emits.iterator();
+            } else if (this.repeatTraversal.getEndStep().hasNext()) {
+                return this.repeatTraversal.getEndStep();
+            } else if (!this.frontier.isEmpty()) {
+                // the previous depth is exhausted so the traversers that looped from it are the next depth
+                final TraverserSet<S> depth = this.frontier;
+                this.frontier = new TraverserSet<>();
+                this.enterDepth(depth);
+            } else {
+                // all the loops are exhausted so the remaining starts are the first depth
+                this.arrive(this.starts.next());
+                while (this.starts.hasNext()) {
+                    this.arrive(this.starts.next());
+                }
+            }
+        }
+    }
+
+    private void enterDepth(final TraverserSet<S> depth) {
+        if (this.pruneVisited) {
+            this.arrivals.forEach(this.visited::add);
+            this.arrivals.clear();
+        }
+        for (final Traverser.Admin<S> start : depth) {
+            if (doUntil(start, true)) {
+                start.resetLoops();
+                this.emits.add(start);
+                continue;
+            }
+            this.repeatTraversal.addStart(start);
+            if (doEmit(start, true)) {
+                final Traverser.Admin<S> emitSplit = start.split();
+                emitSplit.resetLoops();
+                this.emits.add(emitSplit);
+            }
+        }
+    }
+
+    private void arrive(final Traverser.Admin<S> traverser) {
+        if (this.isVisited(traverser))
+            return;
+        this.frontier.add(traverser);
+    }
+
+    private boolean isVisited(final Traverser.Admin<S> traverser) {
+        if (!this.pruneVisited)
+            return false;
+        // objects reached at the current depth are only marked visited once the whole depth has arrived
+        if (this.visited.contains(traverser.get()))
+            return true;
+        this.arrivals.add(traverser.get());
+        return false;
+    }
+
     @Override
     protected Iterator<Traverser<S>> computerAlgorithm() throws NoSuchElementException {
         final Traverser.Admin<S> start = this.starts.next();
@@ -247,6 +367,8 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
         @Override
         protected Iterator<Traverser<S>> standardAlgorithm() throws NoSuchElementException {
             final RepeatStep<S> repeatStep = (RepeatStep<S>) this.getTraversal().getParent();
+            if (repeatStep.breadthFirst)
+                return this.breadthFirstAlgorithm(repeatStep);
             while (true) {
                 final Traverser.Admin<S> start = this.starts.next();
                 start.incrLoops(this.getId());
@@ -267,6 +389,27 @@ public final class RepeatStep<S> extends ComputerAwareStep<S, S> implements Trav
             }
         }
 
+        private Iterator<Traverser<S>> breadthFirstAlgorithm(final RepeatStep<S> repeatStep) throws NoSuchElementException {
+            while (true) {
+                final Traverser.Admin<S> start = this.starts.next();
+                start.incrLoops(this.getId());
+                if (repeatStep.isVisited(start))
+                    continue;
+                if (repeatStep.doUntil(start, false)) {
+                    start.resetLoops();
+                    return IteratorUtils.of(start);
+                } else {
+                    // the traverser loops once its whole depth has been gathered by the repeat step
+                    repeatStep.frontier.add(start);
+                    if (repeatStep.doEmit(start, false)) {
+                        final Traverser.Admin<S> emitSplit = start.split();
+                        emitSplit.resetLoops();
+                        return IteratorUtils.of(emitSplit);
+                    }
+                }
+            }
+        }
+
         @Override
         protected Iterator<Traverser<S>> computerAlgorithm() throws NoSuchElementException {
             final RepeatStep<S> repeatStep = (RepeatStep<S>) this.getTraversal().getParent();
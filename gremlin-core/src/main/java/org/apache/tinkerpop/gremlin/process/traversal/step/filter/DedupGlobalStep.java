@@ -25,15 +25,29 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Bypassing;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BloomDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.DuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementIdDuplicateSet;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.ExternalTraverserDeduplicator;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -42,9 +56,16 @@ import java.util.Set;
 public final class DedupGlobalStep<S> extends FilterStep<S> implements TraversalParent, Scoping, Bypassing, Barrier {
 
     private Traversal.Admin<S, Object> dedupTraversal = null;
-    private Set<Object> duplicateSet = new HashSet<>();
+    private DuplicateSet duplicateSet = null;
     private boolean bypass = false;
     private final Set<String> dedupLabels;
+    private long expectedInsertions = 0l;
+    private double falsePositiveRate = 0.0d;
+    private int maxInMemory = Integer.MAX_VALUE;
+    private int partitions = 1;
+    private File spillDirectory = null;
+    private transient ExternalTraverserDeduplicator<S> deduplicator = null;
+    private transient Iterator<Traverser.Admin<S>> spilled = null;
 
     public DedupGlobalStep(final Traversal.Admin traversal, final String... dedupLabels) {
         super(traversal);
@@ -55,13 +76,97 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     protected boolean filter(final Traverser.Admin<S> traverser) {
         if (this.bypass) return true;
         traverser.setBulk(1);
+        if (null == this.duplicateSet)
+            this.duplicateSet = this.createDuplicateSet();
+        return this.duplicateSet.add(this.getKey(traverser));
+    }
+
+    @Override
+    protected Traverser<S> processNextStart() {
+        if (this.bypass || Integer.MAX_VALUE == this.maxInMemory)
+            return super.processNextStart();
+        if (null == this.deduplicator)
+            this.deduplicator = new ExternalTraverserDeduplicator<>(this.maxInMemory, this.partitions, this.spillDirectory, this::getKey, this::createKryo, this::attach);
+        while (null == this.spilled) {
+            if (!this.starts.hasNext()) {
+                this.spilled = this.deduplicator.spilled();
+                break;
+            }
+            final Traverser.Admin<S> traverser = this.starts.next();
+            traverser.setBulk(1);
+            if (this.deduplicator.add(traverser))
+                return traverser;
+        }
+        if (this.spilled.hasNext())
+            return this.spilled.next();
+        this.closeDeduplicator();
+        throw FastNoSuchElementException.instance();
+    }
+
+    private Object getKey(final Traverser.Admin<S> traverser) {
         if (null == this.dedupLabels) {
-            return this.duplicateSet.add(TraversalUtil.applyNullable(traverser, this.dedupTraversal));
+            return TraversalUtil.applyNullable(traverser, this.dedupTraversal);
+        } else if (1 == this.dedupLabels.size()) {
+            return TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, this.dedupLabels.iterator().next(), traverser), this.dedupTraversal);
         } else {
             final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
             this.dedupLabels.forEach(label -> objects.add(TraversalUtil.applyNullable((S) this.getScopeValue(Pop.last, label, traverser), this.dedupTraversal)));
-            return this.duplicateSet.add(objects);
+            return objects;
+        }
+    }
+
+    /**
+     * Has the step hold the objects it has seen in a Bloom filter of a fixed size, which may take distinct objects
+     * for duplicates at the given rate but never lets a duplicate through.
+     */
+    public void setApproximate(final long expectedInsertions, final double falsePositiveRate) {
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.duplicateSet = null;
+    }
+
+    public boolean isApproximate() {
+        return this.expectedInsertions > 0l;
+    }
+
+    /**
+     * Has the step hold no more than the given number of objects in memory and spill the traversers with other
+     * objects to the given number of partition files, which are deduplicated once the step has run out of starts.
+     */
+    public void setSpill(final int maxInMemory, final int partitions, final File spillDirectory) {
+        this.maxInMemory = maxInMemory;
+        this.partitions = partitions;
+        this.spillDirectory = spillDirectory;
+    }
+
+    public int getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    private DuplicateSet createDuplicateSet() {
+        return this.isApproximate() ?
+                new BloomDuplicateSet(this.expectedInsertions, this.falsePositiveRate) :
+                new ElementIdDuplicateSet();
+    }
+
+    private Kryo createKryo() {
+        final Optional<Graph> graph = TraversalHelper.getRootTraversal(this.getTraversal()).getGraph();
+        return (graph.isPresent() ? graph.get().io(IoCore.gryo()).mapper() : GryoMapper.build()).create().createMapper();
+    }
+
+    private void attach(final Traverser.Admin<S> traverser) {
+        final Optional<Graph> graph = TraversalHelper.getRootTraversal(this.getTraversal()).getGraph();
+        traverser.setSideEffects(this.getTraversal().getSideEffects());
+        if (graph.isPresent())
+            traverser.attach(Attachable.Method.get(graph.get()));
+    }
+
+    private void closeDeduplicator() {
+        if (null != this.deduplicator) {
+            this.deduplicator.close();
+            this.deduplicator = null;
         }
+        this.spilled = null;
     }
 
     @Override
@@ -77,7 +182,9 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public DedupGlobalStep<S> clone() {
         final DedupGlobalStep<S> clone = (DedupGlobalStep<S>) super.clone();
-        clone.duplicateSet = new HashSet<>();
+        clone.duplicateSet = null;
+        clone.deduplicator = null;
+        clone.spilled = null;
         if (null != this.dedupTraversal)
             clone.dedupTraversal = clone.integrateChild(this.dedupTraversal.clone());
         return clone;
@@ -96,7 +203,9 @@ public final class DedupGlobalStep<S> extends FilterStep<S> implements Traversal
     @Override
     public void reset() {
         super.reset();
-        this.duplicateSet.clear();
+        if (null != this.duplicateSet)
+            this.duplicateSet.clear();
+        this.closeDeduplicator();
     }
 
     @Override
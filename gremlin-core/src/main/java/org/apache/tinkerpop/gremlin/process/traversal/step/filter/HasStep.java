@@ -20,10 +20,12 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
@@ -37,7 +39,7 @@ import java.util.stream.Collectors;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class HasStep<S extends Element> extends FilterStep<S> implements HasContainerHolder {
+public class HasStep<S extends Element> extends FilterStep<S> implements HasContainerHolder, Batchable<S, S> {
 
     private List<HasContainer> hasContainers;
 
@@ -54,6 +56,15 @@ public class HasStep<S extends Element> extends FilterStep<S> implements HasCont
         return HasContainer.testAll(traverser.get(), this.hasContainers);
     }
 
+    @Override
+    public void processBatch(final TraverserBatch<S> starts, final TraverserBatch<S> ends) {
+        while (starts.hasNext() && !ends.isFull()) {
+            final Traverser.Admin<S> start = starts.next();
+            if (HasContainer.testAll(start.get(), this.hasContainers))
+                ends.add(start);
+        }
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, this.hasContainers);
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A no-op barrier that sizes its window from the bulking it observes.  Each time the barrier fills, the number of
+ * traversers that entered it is compared to the number of distinct traversers it holds.  When at least half of them
+ * were merged and the window was the limit, the window doubles up to the maximum size.  When less than a tenth of them
+ * were merged, the window halves down to the minimum size, releasing the memory of the larger window, and once at the
+ * minimum, the barrier lets traversers pass straight through for a while before it samples the bulking again.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.LazyBarrierStrategy
+ */
+public final class AdaptiveBarrierStep<S> extends AbstractStep<S, S> implements Barrier {
+
+    private static final double GROW_RATIO = 2.0d;
+    private static final double SHRINK_RATIO = 1.1d;
+    private static final int BYPASS_FACTOR = 64;
+
+    private final int minBarrierSize;
+    private final int maxBarrierSize;
+    private int barrierSize;
+    private long bypass = 0l;
+    private boolean shrunk = false;
+    private TraverserSet<S> traverserSet = new TraverserSet<>();
+
+    public AdaptiveBarrierStep(final Traversal.Admin traversal, final int minBarrierSize, final int maxBarrierSize) {
+        super(traversal);
+        if (minBarrierSize < 1 || maxBarrierSize < minBarrierSize)
+            throw new IllegalArgumentException("The barrier sizes must satisfy 0 < min <= max: " + minBarrierSize + ", " + maxBarrierSize);
+        this.minBarrierSize = minBarrierSize;
+        this.maxBarrierSize = maxBarrierSize;
+        this.barrierSize = minBarrierSize;
+    }
+
+    public int getMinBarrierSize() {
+        return this.minBarrierSize;
+    }
+
+    public int getMaxBarrierSize() {
+        return this.maxBarrierSize;
+    }
+
+    /**
+     * Gets the number of distinct traversers that the barrier currently holds before it drains.
+     */
+    public int getBarrierSize() {
+        return this.barrierSize;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.BULK);
+    }
+
+    @Override
+    public void processAllStarts() {
+        long additions = 0l;
+        while (this.starts.hasNext() && this.traverserSet.size() < this.barrierSize) {
+            this.traverserSet.add(this.starts.next());
+            additions++;
+        }
+        if (this.traverserSet.isEmpty())
+            return;
+
+        final double ratio = (double) additions / this.traverserSet.size();
+        if (ratio >= GROW_RATIO && this.traverserSet.size() == this.barrierSize)
+            this.barrierSize = (int) Math.min((long) this.barrierSize << 1, this.maxBarrierSize);
+        else if (ratio < SHRINK_RATIO) {
+            if (this.barrierSize == this.minBarrierSize)
+                this.bypass = (long) this.minBarrierSize * BYPASS_FACTOR;
+            else {
+                this.barrierSize = Math.max(this.barrierSize >> 1, this.minBarrierSize);
+                this.shrunk = true;
+            }
+        }
+    }
+
+    @Override
+    protected Traverser<S> processNextStart() throws NoSuchElementException {
+        if (!this.traverserSet.isEmpty())
+            return this.traverserSet.remove();
+        if (this.bypass > 0l) {
+            this.bypass--;
+            return this.starts.next();
+        }
+        if (this.shrunk) {
+            // release the table that grew for the larger window
+            this.traverserSet = new TraverserSet<>();
+            this.shrunk = false;
+        }
+        this.processAllStarts();
+        return this.traverserSet.remove();
+    }
+
+    @Override
+    public AdaptiveBarrierStep<S> clone() {
+        final AdaptiveBarrierStep<S> clone = (AdaptiveBarrierStep<S>) super.clone();
+        clone.traverserSet = new TraverserSet<>();
+        clone.barrierSize = this.minBarrierSize;
+        clone.bypass = 0l;
+        clone.shrunk = false;
+        return clone;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.traverserSet.clear();
+        this.bypass = 0l;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.minBarrierSize, this.maxBarrierSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.minBarrierSize ^ (this.maxBarrierSize << 16);
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
 import org.apache.tinkerpop.gremlin.process.traversal.step.MapReducer;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AggregationTable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.GroupStepHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
@@ -146,23 +147,32 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
     ///////////
 
-    private static class GroupBiFunction<S, K, V> implements BiFunction<Map<K, Traversal.Admin<S, V>>, Traverser.Admin<S>, Map<K, Traversal.Admin<S, V>>>, Serializable {
+    private static class GroupBiFunction<S, K, V> implements BiFunction<Object, Traverser.Admin<S>, Object>, Serializable {
 
         private final GroupStep<S, K, V> groupStep;
         private Map<K, Integer> counters = new HashMap<>();
+        private boolean resolved = false;
+        private GroupStepHelper.Aggregation aggregation = null;
+        private boolean identityValue = false;
 
         private GroupBiFunction(final GroupStep<S, K, V> groupStep) {
             this.groupStep = groupStep;
         }
 
         @Override
-        public Map<K, Traversal.Admin<S, V>> apply(final Map<K, Traversal.Admin<S, V>> mutatingSeed, final Traverser.Admin<S> traverser) {
+        public Object apply(final Object mutatingSeed, final Traverser.Admin<S> traverser) {
+            if (!this.resolved)
+                this.resolve();
             final K key = TraversalUtil.applyNullable(traverser, this.groupStep.keyTraversal);
-            Traversal.Admin<S, V> traversal = mutatingSeed.get(key);
+            if (null != this.aggregation)
+                return this.aggregate(mutatingSeed instanceof AggregationTable ? (AggregationTable<K, V>) mutatingSeed : new AggregationTable<>(this.aggregation), key, traverser);
+
+            final Map<K, Traversal.Admin<S, V>> groupMap = (Map<K, Traversal.Admin<S, V>>) mutatingSeed;
+            Traversal.Admin<S, V> traversal = groupMap.get(key);
             if (null == traversal) {
                 traversal = this.groupStep.valueReduceTraversal.clone();
                 this.counters.put(key, 0);
-                mutatingSeed.put(key, traversal);
+                groupMap.put(key, traversal);
             }
 
             traversal.addStart(traverser);
@@ -171,7 +181,32 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
                 this.counters.put(key, 0);
                 TraversalHelper.getFirstStepOfAssignableClass(Barrier.class, traversal).ifPresent(Barrier::processAllStarts);
             }
-            return mutatingSeed;
+            return groupMap;
+        }
+
+        private AggregationTable<K, V> aggregate(final AggregationTable<K, V> table, final K key, final Traverser.Admin<S> traverser) {
+            if (this.identityValue) {
+                table.add(key, traverser.get(), traverser.bulk());
+            } else {
+                // the value traversal is stateless and thus shared by all keys
+                table.touch(key);
+                this.groupStep.valueTraversal.addStart(traverser);
+                final Step<?, ?> endStep = this.groupStep.valueTraversal.getEndStep();
+                while (endStep.hasNext()) {
+                    final Traverser<?> value = endStep.next();
+                    table.add(key, value.get(), value.bulk());
+                }
+            }
+            return table;
+        }
+
+        private void resolve() {
+            // strategies may have rewritten the child traversals so the reducer is only determined on first use
+            this.aggregation = GroupStepHelper.isStateless(this.groupStep.valueTraversal) ?
+                    GroupStepHelper.Aggregation.of(this.groupStep.reduceTraversal) :
+                    null;
+            this.identityValue = GroupStepHelper.isIdentity(this.groupStep.valueTraversal);
+            this.resolved = true;
         }
     }
 
@@ -183,6 +218,7 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
 
         private String groupStepId;
         private Traversal.Admin<?, V> reduceTraversal;
+        private GroupStepHelper.Aggregation aggregation;
 
         private GroupMapReduce() {
 
@@ -191,6 +227,7 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         public GroupMapReduce(final GroupStep<S, K, V> step) {
             this.groupStepId = step.getId();
             this.reduceTraversal = step.reduceTraversal.clone();
+            this.aggregation = GroupStepHelper.Aggregation.of(this.reduceTraversal);
         }
 
         @Override
@@ -203,11 +240,12 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
         public void loadState(final Graph graph, final Configuration configuration) {
             this.groupStepId = configuration.getString(GROUP_BY_STEP_STEP_ID);
             this.reduceTraversal = ((GroupStep) new TraversalMatrix<>(TraversalVertexProgram.getTraversal(graph, configuration)).getStepById(this.groupStepId)).reduceTraversal.clone();
+            this.aggregation = GroupStepHelper.Aggregation.of(this.reduceTraversal);
         }
 
         @Override
         public boolean doStage(final Stage stage) {
-            return !stage.equals(Stage.COMBINE);
+            return !stage.equals(Stage.COMBINE) || (null != this.aggregation && this.aggregation.isCombinable());
         }
 
         @Override
@@ -218,8 +256,18 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             }));
         }
 
+        @Override
+        public void combine(final K key, final Iterator<Collection<?>> values, final ReduceEmitter<K, V> emitter) {
+            // the combined partial aggregate is re-emitted as a map value for the reduce stage
+            emitter.emit(key, (V) this.aggregate(key, values).getPartial(key));
+        }
+
         @Override
         public void reduce(final K key, final Iterator<Collection<?>> values, final ReduceEmitter<K, V> emitter) {
+            if (null != this.aggregation) {
+                emitter.emit(key, this.aggregate(key, values).get(key));
+                return;
+            }
             Traversal.Admin<?, V> reduceTraversalClone = this.reduceTraversal.clone();
             while (values.hasNext()) {
                 reduceTraversalClone.addStarts(reduceTraversalClone.getTraverserGenerator().generateIterator(values.next().iterator(), (Step) reduceTraversalClone.getStartStep(), 1l));
@@ -228,6 +276,19 @@ public final class GroupStep<S, K, V> extends ReducingBarrierStep<S, Map<K, V>>
             emitter.emit(key, reduceTraversalClone.next());
         }
 
+        private AggregationTable<K, V> aggregate(final K key, final Iterator<Collection<?>> values) {
+            final AggregationTable<K, V> table = new AggregationTable<>(this.aggregation, 1);
+            table.touch(key);
+            while (values.hasNext()) {
+                final Collection<?> collection = values.next();
+                if (collection instanceof BulkSet)
+                    ((BulkSet<Object>) collection).forEach((value, bulk) -> table.add(key, value, bulk));
+                else
+                    collection.forEach(value -> table.add(key, value, 1l));
+            }
+            return table;
+        }
+
         @Override
         public Map<K, V> generateFinalResult(final Iterator<KeyValue<K, V>> keyValues) {
             final Map<K, V> map = new HashMap<>();
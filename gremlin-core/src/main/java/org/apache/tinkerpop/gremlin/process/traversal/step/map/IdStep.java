@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.structure.Element;
 
 import java.util.Collections;
@@ -29,7 +31,7 @@ import java.util.Set;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public final class IdStep<S extends Element> extends MapStep<S, Object> {
+public final class IdStep<S extends Element> extends MapStep<S, Object> implements Batchable<S, Object> {
 
     public IdStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -40,6 +42,14 @@ public final class IdStep<S extends Element> extends MapStep<S, Object> {
         return traverser.get().id();
     }
 
+    @Override
+    public void processBatch(final TraverserBatch<S> starts, final TraverserBatch<Object> ends) {
+        while (starts.hasNext() && !ends.isFull()) {
+            final Traverser.Admin<S> start = starts.next();
+            ends.add(this.recycleOrSplit(start, start.get().id()));
+        }
+    }
+
     @Override
     public Set<TraverserRequirement> getRequirements() {
         return Collections.singleton(TraverserRequirement.OBJECT);
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.GraphSearch;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Maps a vertex to the number of distinct vertices, other than itself, that are at most a number of hops away.  The
+ * neighborhood is searched breadth-first with {@link GraphSearch}, visiting each vertex once, rather than with a
+ * {@code repeat()} that loops a traverser for every path.
+ */
+public final class KHopCountStep extends MapStep<Vertex, Long> {
+
+    private final int maxDepth;
+    private final Direction direction;
+    private final String[] edgeLabels;
+
+    public KHopCountStep(final Traversal.Admin traversal, final int maxDepth, final Direction direction, final String... edgeLabels) {
+        super(traversal);
+        if (maxDepth < 0)
+            throw new IllegalArgumentException("The number of hops can not be negative: " + maxDepth);
+        this.maxDepth = maxDepth;
+        this.direction = direction;
+        this.edgeLabels = edgeLabels;
+    }
+
+    @Override
+    protected Long map(final Traverser.Admin<Vertex> traverser) {
+        return GraphSearch.countWithin(traverser.get(), this.maxDepth, this.direction, this.edgeLabels);
+    }
+
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return Collections.singleton(TraverserRequirement.OBJECT);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.maxDepth, this.direction, Arrays.asList(this.edgeLabels));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ Integer.hashCode(this.maxDepth) ^ this.direction.hashCode();
+        for (final String edgeLabel : this.edgeLabels) {
+            result ^= edgeLabel.hashCode();
+        }
+        return result;
+    }
+}
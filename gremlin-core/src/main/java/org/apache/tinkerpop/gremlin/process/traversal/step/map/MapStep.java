@@ -27,6 +27,8 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
  */
 public abstract class MapStep<S, E> extends AbstractStep<S, E> {
 
+    private boolean recycleTraversers = false;
+
     public MapStep(final Traversal.Admin traversal) {
         super(traversal);
     }
@@ -34,10 +36,36 @@ public abstract class MapStep<S, E> extends AbstractStep<S, E> {
     @Override
     protected Traverser<E> processNextStart() {
         final Traverser.Admin<S> traverser = this.starts.next();
-        return traverser.split(this.map(traverser), this);
+        return this.recycleOrSplit(traverser, this.map(traverser));
     }
 
     protected abstract E map(final Traverser.Admin<S> traverser);
 
-}
+    /**
+     * Produces the traverser for the mapped object, either by splitting the incoming traverser or, if the step
+     * recycles traversers, by setting the object on the incoming traverser itself.
+     */
+    protected Traverser.Admin<E> recycleOrSplit(final Traverser.Admin<S> traverser, final E e) {
+        if (this.recycleTraversers) {
+            final Traverser.Admin<E> recycled = (Traverser.Admin) traverser;
+            recycled.set(e);
+            return recycled;
+        }
+        return traverser.split(e, this);
+    }
+
+    /**
+     * Allows the step to mutate the incoming traverser in place rather than split it. This is only safe when the
+     * traverser carries no path or sack that a split would extend and nothing else holds a reference to it.
+     *
+     * @param recycleTraversers whether incoming traversers are reused for the mapped object
+     */
+    public void setRecycleTraversers(final boolean recycleTraversers) {
+        this.recycleTraversers = recycleTraversers;
+    }
+
+    public boolean isRecycleTraversers() {
+        return this.recycleTraversers;
+    }
 
+}
@@ -24,28 +24,40 @@ import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.AndStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.NotStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.ProfileStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.StartStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComputerAwareStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.ConnectiveStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.javatuples.Pair;
 
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -54,8 +66,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -76,6 +90,7 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     private final String computedStartLabel;
     private MatchAlgorithm matchAlgorithm;
     private Class<? extends MatchAlgorithm> matchAlgorithmClass = CountMatchAlgorithm.class; // default is CountMatchAlgorithm (use MatchAlgorithmStrategy to change)
+    private List<Double> estimatedMultiplicities = null;
 
     private Set<List<Object>> dedups = null;
     private Set<String> dedupLabels = null;
@@ -199,12 +214,29 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
     public void reset() {
         super.reset();
         this.first = true;
+        if (null != this.matchAlgorithm)
+            this.matchAlgorithm.reset();
     }
 
     public void setMatchAlgorithm(final Class<? extends MatchAlgorithm> matchAlgorithmClass) {
         this.matchAlgorithmClass = matchAlgorithmClass;
     }
 
+    /**
+     * Sets the estimated number of traversers that each match traversal emits per traverser it is given, in the
+     * order of {@link #getGlobalChildren()}, which the {@link MatchAlgorithm} starts from instead of having no
+     * knowledge of the costs of the match traversals.
+     */
+    public void setEstimatedMultiplicities(final List<Double> estimatedMultiplicities) {
+        if (estimatedMultiplicities.size() != this.matchTraversals.size())
+            throw new IllegalArgumentException("There must be an estimate for each of the " + this.matchTraversals.size() + " match traversals: " + estimatedMultiplicities);
+        this.estimatedMultiplicities = Collections.unmodifiableList(new ArrayList<>(estimatedMultiplicities));
+    }
+
+    public List<Double> getEstimatedMultiplicities() {
+        return null == this.estimatedMultiplicities ? Collections.emptyList() : this.estimatedMultiplicities;
+    }
+
     public MatchAlgorithm getMatchAlgorithm() {
         if (null == this.matchAlgorithm)
             this.initializeMatchAlgorithm(this.traverserStepIdAndLabelsSetByChild ? TraversalEngine.Type.COMPUTER : TraversalEngine.Type.STANDARD);
@@ -291,6 +323,11 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             throw new IllegalStateException(e.getMessage(), e);
         }
         this.matchAlgorithm.initialize(traversalEngineType, this.matchTraversals);
+        if (null != this.estimatedMultiplicities && this.estimatedMultiplicities.size() == this.matchTraversals.size()) {
+            for (int i = 0; i < this.matchTraversals.size(); i++) {
+                this.matchAlgorithm.seed(this.matchTraversals.get(i), this.estimatedMultiplicities.get(i));
+            }
+        }
     }
 
     private boolean hasPathLabel(final Path path, final Set<String> labels) {
@@ -321,6 +358,11 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
                 if (!this.hasPathLabel(traverser.path(), this.matchStartLabels))
                     traverser.addLabels(Collections.singleton(this.computedStartLabel)); // if the traverser doesn't have a legal start, then provide it the pre-computed one
                 traverser.getTags().add(this.getId()); // so the traverser never returns to this branch ever again
+                if (this.connective == ConnectiveStep.Connective.AND && this.getMatchAlgorithm() instanceof GenericJoinMatchAlgorithm) {
+                    final Iterator<Traverser<Map<String, E>>> joined = this.join((GenericJoinMatchAlgorithm) this.getMatchAlgorithm(), traverser);
+                    if (null != joined)
+                        return joined;
+                }
             }
             ///
             if (!this.isDuplicate(traverser)) {
@@ -342,6 +384,50 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         }
     }
 
+    /**
+     * Matches the traverser with the {@link GenericJoinMatchAlgorithm} or returns {@code null} if the algorithm can not
+     * join the pattern from the labels of its path, in which case it is matched a traversal at a time.
+     */
+    private Iterator<Traverser<Map<String, E>>> join(final GenericJoinMatchAlgorithm joinMatchAlgorithm, final Traverser.Admin<S> traverser) {
+        if (!joinMatchAlgorithm.isJoinable())
+            return null;
+        final Path path = traverser.path();
+        final List<String> variables = joinMatchAlgorithm.getVariables();
+        final Map<String, Object> bindings = new HashMap<>();
+        for (final String variable : variables) {
+            if (path.hasLabel(variable))
+                bindings.put(variable, path.get(Pop.last, variable));
+        }
+        final Iterator<Pair<Object[], Long>> extensions = joinMatchAlgorithm.join(bindings);
+        if (null == extensions)
+            return null;
+        return IteratorUtils.filter(IteratorUtils.<Pair<Object[], Long>, Traverser<Map<String, E>>>map(extensions, extension -> {
+            final Object[] tuple = extension.getValue0();
+            final Map<String, E> map = new HashMap<>();
+            for (int i = 0; i < tuple.length; i++) {
+                map.put(variables.get(i), (E) tuple[i]);
+            }
+            if (null != this.dedups) {
+                final List<Object> objects = new ArrayList<>(this.dedupLabels.size());
+                for (final String label : this.dedupLabels) {
+                    objects.add(map.get(label));
+                }
+                if (!this.dedups.add(objects))
+                    return null;
+            }
+            Traverser.Admin bound = traverser;
+            for (int i = 0; i < tuple.length; i++) {
+                if (!bindings.containsKey(variables.get(i))) {
+                    bound = bound.split(tuple[i], EmptyStep.instance());
+                    bound.addLabels(Collections.singleton(variables.get(i))); // so path() and select() see the bindings as when matched a traversal at a time
+                }
+            }
+            final Traverser.Admin<Map<String, E>> split = bound.split(map, this);
+            split.setBulk(null == this.dedups ? traverser.bulk() * extension.getValue1() : traverser.bulk());
+            return split;
+        }), Objects::nonNull);
+    }
+
     @Override
     protected Iterator<Traverser<Map<String, E>>> computerAlgorithm() throws NoSuchElementException {
         while (true) {
@@ -579,6 +665,14 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
 
         public void initialize(final TraversalEngine.Type traversalEngineType, final List<Traversal.Admin<Object, Object>> traversals);
 
+        /**
+         * Provides an estimate of the number of traversers that the traversal emits per traverser it is given before
+         * any traverser has been processed.
+         */
+        public default void seed(final Traversal.Admin<Object, Object> traversal, final double estimatedMultiplicity) {
+
+        }
+
         public default void recordStart(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
 
         }
@@ -586,6 +680,14 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
         public default void recordEnd(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
 
         }
+
+        /**
+         * Discards whatever the algorithm has computed from the traversers of the previous iteration of the
+         * {@link MatchStep}.
+         */
+        public default void reset() {
+
+        }
     }
 
     public static class GreedyMatchAlgorithm implements MatchAlgorithm {
@@ -609,6 +711,8 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
 
     public static class CountMatchAlgorithm implements MatchAlgorithm {
 
+        protected static final long SEED_STARTS = 10l;
+
         protected List<Bundle> bundles;
         protected int counter = 0;
         protected boolean onComputer;
@@ -644,6 +748,19 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             throw UNMATCHABLE_PATTERN.apply(this.bundles.stream().map(record -> record.traversal).collect(Collectors.toList()));
         }
 
+        /**
+         * Treats the estimate as though it had been observed over {@link #SEED_STARTS} starts so that the bundles are
+         * ordered by it until actual counts outweigh it.
+         */
+        @Override
+        public void seed(final Traversal.Admin<Object, Object> traversal, final double estimatedMultiplicity) {
+            final Bundle bundle = this.getBundle(traversal);
+            bundle.startsCount = SEED_STARTS;
+            bundle.endsCount = Math.round(estimatedMultiplicity * SEED_STARTS);
+            bundle.multiplicity = estimatedMultiplicity;
+            Collections.sort(this.bundles, Comparator.<Bundle>comparingInt(b -> b.traversalType.ordinal()).thenComparingDouble(b -> b.multiplicity));
+        }
+
         @Override
         public void recordStart(final Traverser.Admin<Object> traverser, final Traversal.Admin<Object, Object> traversal) {
             this.getBundle(traversal).startsCount++;
@@ -689,4 +806,368 @@ public final class MatchStep<S, E> extends ComputerAwareStep<S, Map<String, E>>
             }
         }
     }
+
+    /**
+     * Joins the match traversals a variable at a time rather than a traversal at a time.  Each match traversal is an
+     * atom that relates the objects of its start label to the objects of its end label.  The variables are bound in
+     * an order where each is reached by an atom from a bound variable, and the candidates for a variable are the
+     * objects that every atom from a bound variable leads to, found by probing the smallest of those sets against the
+     * others.  A partial binding is thus only ever extended if it satisfies every atom between its variables, which
+     * keeps cyclic patterns such as triangles from materializing the paths of their open sub-patterns.  The bindings are
+     * held in an array indexed by variable rather than in a labeled path and the objects an atom leads to are cached
+     * per start object.  A pattern with {@code where()}-traversals, nested connectives or traversals that depend on the
+     * path, on side-effects or on other traversers, as well as all patterns on {@link TraversalEngine.Type#COMPUTER},
+     * is matched by {@link CountMatchAlgorithm}.
+     */
+    public static class GenericJoinMatchAlgorithm extends CountMatchAlgorithm {
+
+        protected static final int MAX_CACHED_STARTS = 10000;
+
+        protected List<String> variables;
+        protected List<Atom> atoms;
+        protected Map<BitSet, Plan[]> plans;
+
+        @Override
+        public void initialize(final TraversalEngine.Type traversalEngineType, final List<Traversal.Admin<Object, Object>> traversals) {
+            super.initialize(traversalEngineType, traversals);
+            this.variables = null;
+            this.atoms = null;
+            this.plans = new HashMap<>();
+            if (this.onComputer)
+                return;
+            final List<String> variables = new ArrayList<>();
+            final List<Atom> atoms = new ArrayList<>();
+            for (final Traversal.Admin<Object, Object> traversal : traversals) {
+                if (!Atom.isJoinable(traversal))
+                    return;
+                final String startLabel = ((MatchStartStep) traversal.getStartStep()).getSelectKey().get();
+                final String endLabel = ((MatchEndStep) traversal.getEndStep()).getMatchKey().orElse(null);
+                if (!variables.contains(startLabel))
+                    variables.add(startLabel);
+                if (null != endLabel && !variables.contains(endLabel))
+                    variables.add(endLabel);
+                atoms.add(new Atom(traversal, variables.indexOf(startLabel), null == endLabel ? -1 : variables.indexOf(endLabel)));
+            }
+            this.variables = Collections.unmodifiableList(variables);
+            this.atoms = atoms;
+        }
+
+        public boolean isJoinable() {
+            return null != this.atoms;
+        }
+
+        @Override
+        public void reset() {
+            if (null != this.atoms)
+                this.atoms.forEach(Atom::clear);
+        }
+
+        public List<String> getVariables() {
+            return null == this.variables ? Collections.emptyList() : this.variables;
+        }
+
+        /**
+         * Returns every binding of the variables, in the order of {@link #getVariables()}, that extends the given
+         * bindings and satisfies all the match traversals, along with the number of ways in which it does, or
+         * {@code null} if some variable can not be reached from the given bindings.  The bindings are found as the
+         * iterator advances.
+         */
+        public Iterator<Pair<Object[], Long>> join(final Map<String, Object> bindings) {
+            final Object[] tuple = new Object[this.variables.size()];
+            final BitSet bound = new BitSet(tuple.length);
+            for (final Map.Entry<String, Object> binding : bindings.entrySet()) {
+                final int variable = this.variables.indexOf(binding.getKey());
+                if (variable >= 0) {
+                    tuple[variable] = binding.getValue();
+                    bound.set(variable);
+                }
+            }
+            if (!this.plans.containsKey(bound))
+                this.plans.put(bound, this.plan(bound));
+            final Plan[] plans = this.plans.get(bound);
+            if (null == plans)
+                return null;
+            long bulk = 1l;
+            for (final Atom atom : this.atoms) {
+                if (atom.isBound(bound)) {
+                    bulk = bulk * atom.count(tuple);
+                    if (0l == bulk)
+                        return Collections.emptyIterator();
+                }
+            }
+            return new Extensions(plans, tuple, bulk);
+        }
+
+        /**
+         * Provides the consumer with every binding that {@link #join(Map)} returns.  Returns {@code false} without
+         * consuming anything if some variable can not be reached from the given bindings.
+         */
+        public boolean join(final Map<String, Object> bindings, final BiConsumer<Object[], Long> consumer) {
+            final Iterator<Pair<Object[], Long>> extensions = this.join(bindings);
+            if (null == extensions)
+                return false;
+            extensions.forEachRemaining(extension -> consumer.accept(extension.getValue0(), extension.getValue1()));
+            return true;
+        }
+
+        /**
+         * Orders the unbound variables so that each is reached by an atom from a variable before it, preferring the
+         * variable with the most atoms to the variables before it, or returns {@code null} if there is no such order.
+         */
+        protected Plan[] plan(final BitSet bound) {
+            final BitSet planned = (BitSet) bound.clone();
+            final Plan[] plans = new Plan[this.variables.size() - bound.cardinality()];
+            for (int i = 0; i < plans.length; i++) {
+                int next = -1;
+                int nextAtoms = 0;
+                for (int variable = planned.nextClearBit(0); variable < this.variables.size(); variable = planned.nextClearBit(variable + 1)) {
+                    boolean reached = false;
+                    int atoms = 0;
+                    for (final Atom atom : this.atoms) {
+                        if (atom.end == variable && atom.start != variable && planned.get(atom.start)) {
+                            reached = true;
+                            atoms++;
+                        } else if (atom.start == variable && atom.end >= 0 && atom.end != variable && planned.get(atom.end))
+                            atoms++;
+                    }
+                    if (reached && atoms > nextAtoms) {
+                        next = variable;
+                        nextAtoms = atoms;
+                    }
+                }
+                if (-1 == next)
+                    return null;
+                planned.set(next);
+                final List<Atom> extenders = new ArrayList<>();
+                final List<Atom> probes = new ArrayList<>();
+                for (final Atom atom : this.atoms) {
+                    if ((atom.start == next || atom.end == next) && atom.isBound(planned)) {
+                        if (atom.end == next && atom.start != next)
+                            extenders.add(atom);
+                        else
+                            probes.add(atom);
+                    }
+                }
+                plans[i] = new Plan(next, extenders.toArray(new Atom[extenders.size()]), probes.toArray(new Atom[probes.size()]));
+            }
+            return plans;
+        }
+
+        ///////////
+
+        /**
+         * The bindings that extend a partial binding by the variables of the plans, enumerated depth-first as the
+         * iterator advances.  Each depth holds the candidates of its variable, which are the ends of its smallest
+         * extender probed against the ends of its other extenders, so no more than the candidates along the current
+         * partial binding are held at a time.
+         */
+        protected static final class Extensions implements Iterator<Pair<Object[], Long>> {
+
+            private final Plan[] plans;
+            private final Object[] tuple;
+            private final long[] bulks;
+            private final BulkSet<Object>[][] candidates;
+            private final int[] probed;
+            private final Iterator<Map.Entry<Object, Long>>[] iterators;
+            private int depth = 0;
+            private Pair<Object[], Long> next = null;
+
+            private Extensions(final Plan[] plans, final Object[] tuple, final long bulk) {
+                this.plans = plans;
+                this.tuple = tuple;
+                this.bulks = new long[plans.length + 1];
+                this.bulks[0] = bulk;
+                this.candidates = new BulkSet[plans.length][];
+                this.probed = new int[plans.length];
+                this.iterators = new Iterator[plans.length];
+            }
+
+            @Override
+            public boolean hasNext() {
+                if (null == this.next)
+                    this.next = this.advance();
+                return null != this.next;
+            }
+
+            @Override
+            public Pair<Object[], Long> next() {
+                if (!this.hasNext())
+                    throw FastNoSuchElementException.instance();
+                final Pair<Object[], Long> next = this.next;
+                this.next = null;
+                return next;
+            }
+
+            private Pair<Object[], Long> advance() {
+                while (this.depth >= 0) {
+                    if (this.depth == this.plans.length) {
+                        this.depth--;
+                        return Pair.with(this.tuple.clone(), this.bulks[this.plans.length]);
+                    }
+                    final Plan plan = this.plans[this.depth];
+                    if (null == this.iterators[this.depth] && !this.open(plan)) {
+                        this.depth--;
+                        continue;
+                    }
+                    if (!this.iterators[this.depth].hasNext()) {
+                        this.iterators[this.depth] = null;
+                        this.candidates[this.depth] = null;
+                        this.tuple[plan.variable] = null;
+                        this.depth--;
+                        continue;
+                    }
+                    final Map.Entry<Object, Long> candidate = this.iterators[this.depth].next();
+                    final BulkSet<Object>[] candidates = this.candidates[this.depth];
+                    long bulk = this.bulks[this.depth] * candidate.getValue();
+                    for (int i = 0; i < candidates.length && 0l != bulk; i++) {
+                        if (i != this.probed[this.depth])
+                            bulk = bulk * candidates[i].get(candidate.getKey());
+                    }
+                    this.tuple[plan.variable] = candidate.getKey();
+                    for (int i = 0; i < plan.probes.length && 0l != bulk; i++) {
+                        bulk = bulk * plan.probes[i].count(this.tuple);
+                    }
+                    if (0l != bulk)
+                        this.bulks[++this.depth] = bulk;
+                }
+                return null;
+            }
+
+            private boolean open(final Plan plan) {
+                final BulkSet<Object>[] candidates = new BulkSet[plan.extenders.length];
+                int smallest = 0;
+                for (int i = 0; i < candidates.length; i++) {
+                    candidates[i] = plan.extenders[i].ends(this.tuple[plan.extenders[i].start]);
+                    if (candidates[i].isEmpty())
+                        return false;
+                    if (candidates[i].uniqueSize() < candidates[smallest].uniqueSize())
+                        smallest = i;
+                }
+                this.candidates[this.depth] = candidates;
+                this.probed[this.depth] = smallest;
+                this.iterators[this.depth] = candidates[smallest].asBulk().entrySet().iterator();
+                return true;
+            }
+        }
+
+        /**
+         * A variable to bind along with the atoms from variables before it that it must be in the ends of and the
+         * atoms to the variables before it (or to itself or to no variable) that it must be a start of.
+         */
+        protected static final class Plan implements Serializable {
+
+            private final int variable;
+            private final Atom[] extenders;
+            private final Atom[] probes;
+
+            private Plan(final int variable, final Atom[] extenders, final Atom[] probes) {
+                this.variable = variable;
+                this.extenders = extenders;
+                this.probes = probes;
+            }
+        }
+
+        /**
+         * A match traversal evaluated as a relation from start objects to the bulked end objects of the steps between
+         * its {@link MatchStartStep} and {@link MatchEndStep}.  A match traversal without an end label only weighs its
+         * start objects by the number of objects they lead to.
+         */
+        protected static final class Atom implements Serializable {
+
+            private final int start;
+            private final int end;
+            private final Traversal.Admin<Object, Object> traversal;
+            private final Step<Object, ?> firstStep;
+            private final Step<?, Object> lastStep;
+            private transient TraverserGenerator generator;
+            private final Map<Object, BulkSet<Object>> ends = new HashMap<>();
+
+            private Atom(final Traversal.Admin<Object, Object> traversal, final int start, final int end) {
+                this.start = start;
+                this.end = end;
+                this.traversal = traversal.clone();
+                this.firstStep = (Step) this.traversal.getStartStep().getNextStep();
+                this.lastStep = (Step) this.traversal.getEndStep().getPreviousStep();
+            }
+
+            private BulkSet<Object> ends(final Object start) {
+                BulkSet<Object> ends = this.ends.get(start);
+                if (null != ends)
+                    return ends;
+                ends = new BulkSet<>();
+                if (this.firstStep instanceof MatchEndStep)
+                    ends.add(start, 1l);
+                else {
+                    if (null == this.generator)
+                        this.generator = this.traversal.getTraverserGenerator();
+                    this.traversal.reset();
+                    this.firstStep.addStart(this.generator.generate(start, this.firstStep, 1l));
+                    while (this.lastStep.hasNext()) {
+                        final Traverser<Object> traverser = this.lastStep.next();
+                        ends.add(traverser.get(), traverser.bulk());
+                    }
+                }
+                if (this.ends.size() >= MAX_CACHED_STARTS)
+                    this.ends.clear();
+                this.ends.put(start, ends);
+                return ends;
+            }
+
+            private void clear() {
+                this.ends.clear();
+                this.traversal.reset();
+            }
+
+            private boolean isBound(final BitSet bound) {
+                return bound.get(this.start) && (this.end < 0 || bound.get(this.end));
+            }
+
+            private long count(final Object[] tuple) {
+                final BulkSet<Object> ends = this.ends(tuple[this.start]);
+                return this.end < 0 ? ends.longSize() : ends.get(tuple[this.end]);
+            }
+
+            private static boolean isJoinable(final Traversal.Admin<Object, Object> traversal) {
+                if (!(traversal.getStartStep() instanceof MatchStartStep) || !((MatchStartStep) traversal.getStartStep()).getSelectKey().isPresent() ||
+                        !(traversal.getEndStep() instanceof MatchEndStep) ||
+                        Helper.getTraversalType(traversal) != TraversalType.MATCH_TRAVERSAL)
+                    return false;
+                for (Step<?, ?> step = traversal.getStartStep().getNextStep(); step != traversal.getEndStep(); step = step.getNextStep()) {
+                    if (!Atom.isLocal(step, true))
+                        return false;
+                }
+                return true;
+            }
+
+            /**
+             * Determines if what the step emits for a traverser only depends on the object of the traverser, where
+             * global steps must also not depend on the other traversers of the step.
+             */
+            private static boolean isLocal(final Step<?, ?> step, final boolean global) {
+                if ((step instanceof Scoping && !((Scoping) step).getScopeKeys().isEmpty()) ||
+                        step instanceof SideEffectCapable || step instanceof Mutating || step instanceof MatchStep ||
+                        (global && (step instanceof Barrier || step instanceof Ranging || step instanceof TailGlobalStep || step instanceof DedupGlobalStep)))
+                    return false;
+                final Set<TraverserRequirement> requirements = step.getRequirements();
+                if (requirements.contains(TraverserRequirement.PATH) || requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                        requirements.contains(TraverserRequirement.SACK) || requirements.contains(TraverserRequirement.SIDE_EFFECTS))
+                    return false;
+                if (step instanceof TraversalParent) {
+                    for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                        for (final Step<?, ?> childStep : child.getSteps()) {
+                            if (!Atom.isLocal(childStep, global))
+                                return false;
+                        }
+                    }
+                    for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                        for (final Step<?, ?> childStep : child.getSteps()) {
+                            if (!Atom.isLocal(childStep, false))
+                                return false;
+                        }
+                    }
+                }
+                return true;
+            }
+        }
+    }
 }
@@ -20,20 +20,33 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComparatorTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.TraversalComparator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.ExternalTraverserSorter;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TopKTraverserSelector;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.io.IoCore;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.structure.util.Attachable;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.function.ChainedComparator;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -44,6 +57,11 @@ public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implement
 
     private List<Comparator<S>> comparators = new ArrayList<>();
     private ChainedComparator chainedComparator = null;
+    private long limit = Long.MAX_VALUE;
+    private int maxInMemory = Integer.MAX_VALUE;
+    private File spillDirectory = null;
+    private transient ExternalTraverserSorter<S> sorter = null;
+    private transient Iterator<Traverser.Admin<S>> sorted = null;
 
     public OrderGlobalStep(final Traversal.Admin traversal) {
         super(traversal);
@@ -51,14 +69,105 @@ public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implement
 
     @Override
     public void barrierConsumer(final TraverserSet<S> traverserSet) {
-        if (null == this.chainedComparator)
-            this.chainedComparator = new ChainedComparator<>(ComparatorTraverser.convertComparator((List) this.getComparators()));
-        if (this.chainedComparator.isShuffle())
+        if (this.getChainedComparator().isShuffle())
             traverserSet.shuffle();
         else
             traverserSet.sort(this.chainedComparator);
     }
 
+    @Override
+    public void processAllStarts() {
+        if (!this.isBounded()) {
+            super.processAllStarts();
+        } else if (this.limit <= this.maxInMemory) {
+            final TopKTraverserSelector<S> selector = new TopKTraverserSelector<>(this.chainedComparator, this.limit);
+            this.starts.forEachRemaining(selector::add);
+            this.sorted = selector.drain().iterator();
+        } else {
+            this.closeSorter();
+            this.sorter = new ExternalTraverserSorter<>(this.chainedComparator, this.maxInMemory, this.spillDirectory, this::createKryo, this::attach);
+            this.starts.forEachRemaining(this.sorter::add);
+            this.sorted = this.sorter.iterator();
+        }
+    }
+
+    @Override
+    public Traverser<S> processNextStart() {
+        if (!this.isBounded())
+            return super.processNextStart();
+        if (null == this.sorted || !this.sorted.hasNext()) {
+            this.closeSorter();
+            this.sorted = EmptyIterator.instance();
+            if (this.starts.hasNext())
+                this.processAllStarts();
+        }
+        return this.sorted.next();
+    }
+
+    /**
+     * Sets the number of traversers, by bulk, that are needed of this step, as is the case when it is followed by a
+     * {@code range()}.  Only that many traversers are then kept and sorted.
+     */
+    public void setLimit(final long limit) {
+        this.limit = limit;
+    }
+
+    public long getLimit() {
+        return this.limit;
+    }
+
+    /**
+     * Sets the number of distinct traversers that are held in memory before they are sorted and spilled to disk.
+     */
+    public void setMaxInMemory(final int maxInMemory) {
+        this.maxInMemory = maxInMemory;
+    }
+
+    public int getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    /**
+     * Sets the directory that spilled traversers are written to, where {@code null} is the default temporary-file
+     * directory.
+     */
+    public void setSpillDirectory(final File spillDirectory) {
+        this.spillDirectory = spillDirectory;
+    }
+
+    public File getSpillDirectory() {
+        return this.spillDirectory;
+    }
+
+    private ChainedComparator getChainedComparator() {
+        if (null == this.chainedComparator)
+            this.chainedComparator = new ChainedComparator<>(ComparatorTraverser.convertComparator((List) this.getComparators()));
+        return this.chainedComparator;
+    }
+
+    private boolean isBounded() {
+        return (Long.MAX_VALUE != this.limit || Integer.MAX_VALUE != this.maxInMemory) && !this.getChainedComparator().isShuffle();
+    }
+
+    private Kryo createKryo() {
+        final Optional<Graph> graph = TraversalHelper.getRootTraversal(this.getTraversal()).getGraph();
+        return (graph.isPresent() ? graph.get().io(IoCore.gryo()).mapper() : GryoMapper.build()).create().createMapper();
+    }
+
+    private void attach(final Traverser.Admin<S> traverser) {
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(this.getTraversal());
+        traverser.setSideEffects(this.getTraversal().getSideEffects());
+        if (root.getGraph().isPresent())
+            traverser.attach(Attachable.Method.get(root.getGraph().get()));
+    }
+
+    private void closeSorter() {
+        if (null != this.sorter) {
+            this.sorter.close();
+            this.sorter = null;
+        }
+    }
+
     @Override
     public void addComparator(final Comparator<S> comparator) {
         if (comparator instanceof TraversalComparator)
@@ -82,6 +191,8 @@ public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implement
         for (final Comparator<S> comparator : this.comparators) {
             result ^= comparator.hashCode();
         }
+        if (Long.MAX_VALUE != this.limit)
+            result ^= Long.hashCode(this.limit);
         return result;
     }
 
@@ -111,9 +222,18 @@ public final class OrderGlobalStep<S> extends CollectingBarrierStep<S> implement
             clone.addComparator(comparator instanceof TraversalComparator ? ((TraversalComparator) comparator).clone() : comparator);
         }
         clone.chainedComparator = null;
+        clone.sorter = null;
+        clone.sorted = null;
         return clone;
     }
 
+    @Override
+    public void reset() {
+        super.reset();
+        this.closeSorter();
+        this.sorted = null;
+    }
+
     /////
 
 
@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.PropertyType;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
@@ -33,7 +35,7 @@ import java.util.Set;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class PropertiesStep<E> extends FlatMapStep<Element, E> {
+public class PropertiesStep<E> extends FlatMapStep<Element, E> implements Batchable<Element, E> {
 
     protected final String[] propertyKeys;
     protected final PropertyType returnType;
@@ -51,6 +53,14 @@ public class PropertiesStep<E> extends FlatMapStep<Element, E> {
                 (Iterator) traverser.get().properties(this.propertyKeys);
     }
 
+    @Override
+    public void processBatch(final TraverserBatch<Element> starts, final TraverserBatch<E> ends) {
+        if (this.returnType.equals(PropertyType.VALUE))
+            starts.flatMap(ends, this, element -> element.values(this.propertyKeys));
+        else
+            starts.flatMap(ends, this, element -> (Iterator) element.properties(this.propertyKeys));
+    }
+
     public PropertyType getReturnType() {
         return this.returnType;
     }
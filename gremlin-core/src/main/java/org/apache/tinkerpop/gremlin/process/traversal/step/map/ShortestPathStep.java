@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.GraphSearch;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalUtil;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.apache.tinkerpop.gremlin.util.iterator.EmptyIterator;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Maps a vertex to the {@link Path} of vertices with the fewest edges to a target vertex or, when the step is
+ * {@code by()}-modulated with the weight of an edge, with the least total weight.  The path is searched for from both
+ * ends at once with {@link GraphSearch} and vertices without a path to the target are filtered.
+ */
+public final class ShortestPathStep extends FlatMapStep<Vertex, Path> implements TraversalParent {
+
+    private final Direction direction;
+    private final Object targetVertexIdOrVertex;
+    private final String[] edgeLabels;
+    private Traversal.Admin<Edge, Number> weightTraversal = null;
+
+    public ShortestPathStep(final Traversal.Admin traversal, final Direction direction, final Object targetVertexIdOrVertex, final String... edgeLabels) {
+        super(traversal);
+        this.direction = direction;
+        this.targetVertexIdOrVertex = targetVertexIdOrVertex;
+        this.edgeLabels = edgeLabels;
+    }
+
+    @Override
+    protected Iterator<Path> flatMap(final Traverser.Admin<Vertex> traverser) {
+        final Vertex source = traverser.get();
+        final Vertex target;
+        if (this.targetVertexIdOrVertex instanceof Vertex)
+            target = (Vertex) this.targetVertexIdOrVertex;
+        else {
+            final Iterator<Vertex> targets = source.graph().vertices(this.targetVertexIdOrVertex);
+            if (!targets.hasNext())
+                return EmptyIterator.instance();
+            target = targets.next();
+        }
+        final List<Vertex> vertices = null == this.weightTraversal ?
+                GraphSearch.shortestPath(source, target, this.direction, this.edgeLabels) :
+                GraphSearch.shortestPath(source, target, this.direction, edge -> TraversalUtil.apply(edge, this.weightTraversal), this.edgeLabels);
+        if (null == vertices)
+            return EmptyIterator.instance();
+        final Path path = MutablePath.make();
+        for (final Vertex vertex : vertices) {
+            path.extend(vertex, Collections.emptySet());
+        }
+        return IteratorUtils.of(path);
+    }
+
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    public Object getTargetVertexIdOrVertex() {
+        return this.targetVertexIdOrVertex;
+    }
+
+    public String[] getEdgeLabels() {
+        return this.edgeLabels;
+    }
+
+    @Override
+    public void addLocalChild(final Traversal.Admin<?, ?> weightTraversal) {
+        if (null != this.weightTraversal)
+            throw new IllegalStateException("The edge weight of the shortestPath()-step has already been declared: " + this);
+        this.weightTraversal = this.integrateChild(weightTraversal);
+    }
+
+    @Override
+    public List<Traversal.Admin<Edge, Number>> getLocalChildren() {
+        return null == this.weightTraversal ? Collections.emptyList() : Collections.singletonList(this.weightTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements(TraverserRequirement.OBJECT);
+    }
+
+    @Override
+    public ShortestPathStep clone() {
+        final ShortestPathStep clone = (ShortestPathStep) super.clone();
+        if (null != this.weightTraversal)
+            clone.weightTraversal = clone.integrateChild(this.weightTraversal.clone());
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.direction, this.targetVertexIdOrVertex, Arrays.asList(this.edgeLabels), this.weightTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.direction.hashCode() ^ this.targetVertexIdOrVertex.hashCode();
+        for (final String edgeLabel : this.edgeLabels) {
+            result ^= edgeLabel.hashCode();
+        }
+        if (null != this.weightTraversal)
+            result ^= this.weightTraversal.hashCode();
+        return result;
+    }
+}
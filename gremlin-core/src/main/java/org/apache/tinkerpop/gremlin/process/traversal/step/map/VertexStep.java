@@ -20,7 +20,9 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
@@ -35,7 +37,7 @@ import java.util.Set;
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
-public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> {
+public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> implements Batchable<Vertex, E> {
 
     private final String[] edgeLabels;
     private Direction direction;
@@ -55,6 +57,14 @@ public class VertexStep<E extends Element> extends FlatMapStep<Vertex, E> {
                 (Iterator<E>) traverser.get().edges(this.direction, this.edgeLabels);
     }
 
+    @Override
+    public void processBatch(final TraverserBatch<Vertex> starts, final TraverserBatch<E> ends) {
+        if (Vertex.class.isAssignableFrom(this.returnClass))
+            starts.flatMap(ends, this, vertex -> (Iterator<E>) vertex.vertices(this.direction, this.edgeLabels));
+        else
+            starts.flatMap(ends, this, vertex -> (Iterator<E>) vertex.edges(this.direction, this.edgeLabels));
+    }
+
     public Direction getDirection() {
         return this.direction;
     }
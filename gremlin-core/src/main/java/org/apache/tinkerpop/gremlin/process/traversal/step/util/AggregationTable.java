@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.traversal.NumberHelper;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A group-by table that reduces the values of each key with one of the common {@link GroupStepHelper.Aggregation}s.
+ * Keys are held in a single open-addressing (linear probing) array and each key's running state in parallel
+ * primitive arrays, so that {@code group().by(k).by(count())} and the like cost a few array slots per key rather than
+ * a cloned child traversal per key.  The final values are identical (in both value and {@link Number} type) to those
+ * produced by the corresponding reducing steps.  The table is not thread-safe.
+ */
+public final class AggregationTable<K, V> implements FinalGet<Map<K, V>>, Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private static final byte SEED = 0;
+    private static final byte INTEGRAL = 1;
+    private static final byte NUMBER = 2;
+
+    private final GroupStepHelper.Aggregation aggregation;
+
+    private Object[] keys;
+    private byte[] states;
+    private long[] longs;
+    private long[] counts;
+    private Object[] objects;
+    private int mask;
+    private int size = 0;
+
+    public AggregationTable(final GroupStepHelper.Aggregation aggregation) {
+        this(aggregation, DEFAULT_CAPACITY);
+    }
+
+    public AggregationTable(final GroupStepHelper.Aggregation aggregation, final int expectedSize) {
+        if (null == aggregation)
+            throw new IllegalArgumentException("The aggregation of the table can not be null");
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("The expected size can not be negative: " + expectedSize);
+        this.aggregation = aggregation;
+        final long needed = Math.max(DEFAULT_CAPACITY, ((long) expectedSize << 2) / 3 + 1);
+        this.allocate(needed >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    public GroupStepHelper.Aggregation getAggregation() {
+        return this.aggregation;
+    }
+
+    /**
+     * Ensures that the key is in the table, holding the seed of the aggregation if it has not seen a value yet.
+     */
+    public void touch(final K key) {
+        this.slotOf(key);
+    }
+
+    /**
+     * Reduces the value, weighted by its bulk, into the state of the key.  A {@link GroupStepHelper.Aggregation#COUNT}
+     * ignores the value.
+     */
+    public void add(final K key, final Object value, final long bulk) {
+        final int slot = this.slotOf(key);
+        switch (this.aggregation) {
+            case COUNT:
+                this.longs[slot] += bulk;
+                break;
+            case MEAN:
+                this.counts[slot] += bulk;
+                // the running sum of a mean is maintained the same way as a sum
+            case SUM:
+                if (this.states[slot] != NUMBER && isIntegral(value)) {
+                    this.longs[slot] += ((Number) value).longValue() * bulk;
+                    this.states[slot] = INTEGRAL;
+                } else {
+                    this.objects[slot] = NumberHelper.add(this.sum(slot), NumberHelper.mul((Number) value, bulk));
+                    this.states[slot] = NUMBER;
+                }
+                break;
+            case MIN:
+            case MAX:
+                final Object current = this.objects[slot];
+                if (null == current)
+                    this.objects[slot] = value;
+                else if (current.getClass() == value.getClass() && (value instanceof Long || value instanceof Integer)) {
+                    final long a = ((Number) current).longValue(), b = ((Number) value).longValue();
+                    if (this.aggregation == GroupStepHelper.Aggregation.MIN ? b < a : b > a)
+                        this.objects[slot] = value;
+                } else
+                    this.objects[slot] = this.aggregation == GroupStepHelper.Aggregation.MIN ?
+                            NumberHelper.min((Number) current, (Number) value) :
+                            NumberHelper.max((Number) current, (Number) value);
+                break;
+            case FOLD:
+                final List<Object> list = (List<Object>) this.objects[slot];
+                for (long i = 0; i < bulk; i++) {
+                    list.add(value);
+                }
+                break;
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public boolean containsKey(final K key) {
+        return this.keys[this.findSlot(key)] != null;
+    }
+
+    /**
+     * Returns the final value of the key or {@code null} if the key is not in the table.
+     */
+    public V get(final K key) {
+        final int slot = this.findSlot(key);
+        return null == this.keys[slot] ? null : this.value(slot);
+    }
+
+    /**
+     * Returns the values which, when added to an empty table of the same aggregation, produce the same state as the
+     * key has in this table.  This is how partial aggregates are combined before they are shuffled in OLAP.
+     */
+    public BulkSet<Object> getPartial(final K key) {
+        if (!this.aggregation.isCombinable())
+            throw new IllegalStateException("The partial state of a " + this.aggregation + " aggregation can not be combined");
+        final BulkSet<Object> partial = new BulkSet<>();
+        final int slot = this.findSlot(key);
+        if (null == this.keys[slot])
+            return partial;
+        if (GroupStepHelper.Aggregation.COUNT == this.aggregation) {
+            if (0l != this.longs[slot])
+                partial.add(MapReduce.NullObject.instance(), this.longs[slot]);
+        } else if (GroupStepHelper.Aggregation.SUM == this.aggregation) {
+            if (SEED != this.states[slot])
+                partial.add(this.sum(slot), 1l);
+        } else if (null != this.objects[slot])
+            partial.add(this.objects[slot], 1l);
+        return partial;
+    }
+
+    @Override
+    public Map<K, V> getFinal() {
+        final Map<K, V> map = new HashMap<>(Math.max(DEFAULT_CAPACITY, (int) Math.min(MAXIMUM_CAPACITY, ((long) this.size << 2) / 3 + 1)));
+        for (int slot = 0; slot < this.keys.length; slot++) {
+            if (null != this.keys[slot])
+                map.put(this.keys[slot] == Null.INSTANCE ? null : (K) this.keys[slot], this.value(slot));
+        }
+        return map;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.states, SEED);
+        Arrays.fill(this.longs, 0l);
+        if (null != this.counts)
+            Arrays.fill(this.counts, 0l);
+        Arrays.fill(this.objects, null);
+        this.size = 0;
+    }
+
+    @Override
+    public String toString() {
+        return this.getFinal().toString();
+    }
+
+    ///////////
+
+    private V value(final int slot) {
+        switch (this.aggregation) {
+            case COUNT:
+                return (V) Long.valueOf(this.longs[slot]);
+            case SUM:
+                return (V) this.sum(slot);
+            case MEAN:
+                // the seed sum of MeanGlobalStep.MeanNumber is a long zero
+                return (V) NumberHelper.div(SEED == this.states[slot] ? 0l : this.sum(slot), this.counts[slot], true);
+            default:
+                return (V) this.objects[slot];
+        }
+    }
+
+    private Number sum(final int slot) {
+        switch (this.states[slot]) {
+            case SEED:
+                return 0;
+            case INTEGRAL:
+                return this.longs[slot];
+            default:
+                return (Number) this.objects[slot];
+        }
+    }
+
+    private int findSlot(final K key) {
+        final Object object = null == key ? Null.INSTANCE : key;
+        int slot = spread(object.hashCode()) & this.mask;
+        while (null != this.keys[slot] && !this.keys[slot].equals(object)) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    private int slotOf(final K key) {
+        final int slot = this.findSlot(key);
+        if (null != this.keys[slot])
+            return slot;
+        this.keys[slot] = null == key ? Null.INSTANCE : key;
+        if (GroupStepHelper.Aggregation.FOLD == this.aggregation)
+            this.objects[slot] = new ArrayList<>();
+        if (++this.size > (this.keys.length >>> 1) + (this.keys.length >>> 2)) {
+            this.grow();
+            return this.findSlot(key);
+        }
+        return slot;
+    }
+
+    private void grow() {
+        if (this.keys.length >= MAXIMUM_CAPACITY)
+            throw new IllegalStateException("The table can not hold more than " + this.size + " keys");
+        final Object[] oldKeys = this.keys;
+        final byte[] oldStates = this.states;
+        final long[] oldLongs = this.longs;
+        final long[] oldCounts = this.counts;
+        final Object[] oldObjects = this.objects;
+        this.allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (null != oldKeys[i]) {
+                int slot = spread(oldKeys[i].hashCode()) & this.mask;
+                while (null != this.keys[slot]) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.states[slot] = oldStates[i];
+                this.longs[slot] = oldLongs[i];
+                if (null != oldCounts)
+                    this.counts[slot] = oldCounts[i];
+                this.objects[slot] = oldObjects[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.states = new byte[capacity];
+        this.longs = new long[capacity];
+        this.counts = GroupStepHelper.Aggregation.MEAN == this.aggregation ? new long[capacity] : null;
+        this.objects = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private enum Null {
+        INSTANCE
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Executes a chain of {@link Batchable} steps a batch of traversers at a time.  The ends of the last step are filled
+ * by pulling on the chain: each step processes the batch of the step before it until its own batch is full, and a
+ * batch that has been consumed is refilled from the step before it, or from the previous step for the first batch.
+ * Every batch thus holds at most {@code batchSize} traversers however much the steps expand their starts, and no more
+ * than one batch of ends is computed ahead of the steps that follow.  The ends are emitted one at a time so that the
+ * steps before and after the chain are unaware of the batching.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.engine.BatchTraversalEngine
+ */
+public final class BatchStep<S, E> extends AbstractStep<S, E> {
+
+    private List<Batchable<?, ?>> batchSteps;
+    private final int batchSize;
+    private TraverserBatch[] batches;
+    private int position = 0;
+
+    public BatchStep(final Traversal.Admin traversal, final List<Batchable<?, ?>> batchSteps, final int batchSize) {
+        super(traversal);
+        this.batchSteps = new ArrayList<>(batchSteps);
+        this.batchSize = batchSize;
+        this.batches = createBatches(this.batchSteps.size(), batchSize);
+    }
+
+    public List<Batchable<?, ?>> getBatchSteps() {
+        return Collections.unmodifiableList(this.batchSteps);
+    }
+
+    public int getBatchSize() {
+        return this.batchSize;
+    }
+
+    @Override
+    protected Traverser<E> processNextStart() throws NoSuchElementException {
+        while (true) {
+            final TraverserBatch<E> ends = this.batches[this.batchSteps.size()];
+            if (this.position < ends.size())
+                return ends.get(this.position++);
+            this.processNextBatch();
+        }
+    }
+
+    private void processNextBatch() {
+        this.position = 0;
+        if (!this.fill(this.batchSteps.size()))
+            throw FastNoSuchElementException.instance();
+    }
+
+    /**
+     * Refill the batch at the index once it has been consumed and return whether it holds any traversers.
+     */
+    private boolean fill(final int index) {
+        final TraverserBatch ends = this.batches[index];
+        ends.clear();
+        if (0 == index) {
+            while (!ends.isFull() && this.starts.hasNext()) {
+                ends.add(this.starts.next());
+            }
+        } else {
+            final TraverserBatch starts = this.batches[index - 1];
+            while (!ends.isFull()) {
+                if (starts.isConsumed() && !this.fill(index - 1))
+                    break;
+                this.batchSteps.get(index - 1).processBatch(starts, ends);
+            }
+        }
+        return !ends.isEmpty();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        for (final TraverserBatch batch : this.batches) {
+            batch.clear();
+        }
+        this.position = 0;
+        this.batchSteps.forEach(Batchable::reset);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        final Set<TraverserRequirement> requirements = EnumSet.noneOf(TraverserRequirement.class);
+        this.batchSteps.forEach(step -> requirements.addAll(step.getRequirements()));
+        return requirements;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.batchSteps);
+    }
+
+    @Override
+    public BatchStep<S, E> clone() {
+        final BatchStep<S, E> clone = (BatchStep<S, E>) super.clone();
+        clone.batchSteps = new ArrayList<>(this.batchSteps.size());
+        for (final Batchable<?, ?> step : this.batchSteps) {
+            clone.batchSteps.add((Batchable<?, ?>) step.clone());
+        }
+        clone.batches = createBatches(this.batchSteps.size(), this.batchSize);
+        clone.position = 0;
+        return clone;
+    }
+
+    @Override
+    public void setTraversal(final Traversal.Admin<?, ?> parentTraversal) {
+        super.setTraversal(parentTraversal);
+        this.batchSteps.forEach(step -> step.setTraversal(parentTraversal));
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode() ^ this.batchSize;
+        for (final Batchable<?, ?> step : this.batchSteps) {
+            result ^= step.hashCode();
+        }
+        return result;
+    }
+
+    private static TraverserBatch[] createBatches(final int numberOfSteps, final int batchSize) {
+        final TraverserBatch[] batches = new TraverserBatch[numberOfSteps + 1];
+        for (int i = 0; i < batches.length; i++) {
+            batches[i] = new TraverserBatch<>(batchSize);
+        }
+        return batches;
+    }
+}
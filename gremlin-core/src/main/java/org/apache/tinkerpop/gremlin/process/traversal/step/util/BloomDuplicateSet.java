@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An approximate {@link DuplicateSet} backed by a Bloom filter, which holds a fixed number of bits however many
+ * objects are added to it.  An object that has not been seen before is taken for a duplicate with a probability that
+ * stays below the configured false positive rate as long as no more than the expected number of objects are added,
+ * while an object that has been seen before is always recognized as such.  Used for deduplication, the filter may
+ * therefore drop some distinct objects but never lets a duplicate through.
+ * <p/>
+ * The filter is sized with the usual {@code m = -n ln(p) / ln(2)^2} bits and {@code k = m / n ln(2)} hash functions,
+ * which are derived from two 64-bit hashes of the object.  Elements are hashed by their id and all other objects by
+ * their {@code hashCode()}.  The bits are allocated when the first object is added and only cleared if an object was
+ * added since they were last cleared.
+ */
+public final class BloomDuplicateSet implements DuplicateSet {
+
+    private long[] bits = null;
+    private boolean empty = true;
+    private final int words;
+    private final long bitSize;
+    private final int hashes;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    public BloomDuplicateSet(final long expectedInsertions, final double falsePositiveRate) {
+        if (expectedInsertions < 1)
+            throw new IllegalArgumentException("The expected number of insertions must be greater than zero: " + expectedInsertions);
+        if (falsePositiveRate <= 0.0d || falsePositiveRate >= 1.0d)
+            throw new IllegalArgumentException("The false positive rate must be between zero and one: " + falsePositiveRate);
+        final double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        final long words = Math.max(1l, (long) Math.ceil(bits / Long.SIZE));
+        if (words > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("A Bloom filter for " + expectedInsertions + " insertions at a false positive rate of " + falsePositiveRate + " is too large");
+        this.words = (int) words;
+        this.bitSize = words * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) this.bitSize / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @Override
+    public boolean add(final Object object) {
+        final long hash = hash(object);
+        final long hash1 = mix(hash);
+        final long hash2 = mix(hash ^ 0x5DEECE66Dl) | 1l;
+        if (null == this.bits)
+            this.bits = new long[this.words];
+        this.empty = false;
+        boolean added = false;
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % this.bitSize;
+            final int word = (int) (bit >>> 6);
+            final long mask = 1l << bit;
+            if (0l == (this.bits[word] & mask)) {
+                this.bits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        if (this.empty)
+            return false;
+        final long hash = hash(object);
+        final long hash1 = mix(hash);
+        final long hash2 = mix(hash ^ 0x5DEECE66Dl) | 1l;
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % this.bitSize;
+            if (0l == (this.bits[(int) (bit >>> 6)] & (1l << bit)))
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        if (!this.empty)
+            Arrays.fill(this.bits, 0l);
+        this.empty = true;
+    }
+
+    public long getExpectedInsertions() {
+        return this.expectedInsertions;
+    }
+
+    public double getFalsePositiveRate() {
+        return this.falsePositiveRate;
+    }
+
+    public int getHashes() {
+        return this.hashes;
+    }
+
+    public long getBitSize() {
+        return this.bitSize;
+    }
+
+    private static long hash(final Object object) {
+        if (object instanceof Element) {
+            final Object id = ((Element) object).id();
+            final long kind = object instanceof Vertex ? 1l : object instanceof Edge ? 2l : 3l;
+            return (id instanceof Number ? ((Number) id).longValue() : Objects.hashCode(id)) * 31l + kind;
+        }
+        return Objects.hashCode(object);
+    }
+
+    /**
+     * The finalizer of the 64-bit MurmurHash3.
+     */
+    private static long mix(final long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDl;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53l;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import java.io.Serializable;
+
+/**
+ * The objects that a step such as {@link org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep}
+ * has seen so far.  An implementation only has to answer whether an object has been seen, which lets it hold the
+ * objects in a more compact form than a {@code java.util.Set} or, in the case of {@link BloomDuplicateSet}, not hold
+ * them at all.
+ */
+public interface DuplicateSet extends Serializable {
+
+    /**
+     * Adds the object to the set, returning {@code true} if it had not been seen before.
+     */
+    public boolean add(final Object object);
+
+    /**
+     * Determines whether the object has been seen before.
+     */
+    public boolean contains(final Object object);
+
+    public void clear();
+}
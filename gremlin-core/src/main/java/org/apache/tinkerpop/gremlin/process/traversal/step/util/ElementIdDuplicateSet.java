@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.util.LongHashSet;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * An exact {@link DuplicateSet} that holds the ids of vertices, edges and vertex properties in a primitive
+ * {@link LongHashSet} when they are {@code Long} or {@code Integer} values, and any other object in a {@code HashSet}.
+ * As elements are equal when they are of the same kind and have equal ids, the set behaves like a {@code HashSet} of
+ * the objects themselves.  Each kind of element and each type of id has a set of its own, so that a vertex with the id
+ * {@code 1} is not taken for an edge with the id {@code 1} or a vertex with the id {@code 1l}.
+ */
+public final class ElementIdDuplicateSet implements DuplicateSet {
+
+    private final LongHashSet[] ids = new LongHashSet[6];
+    private final Set<Object> objects = new HashSet<>();
+
+    @Override
+    public boolean add(final Object object) {
+        final int kind = kindOf(object);
+        if (kind < 0)
+            return this.objects.add(object);
+        if (null == this.ids[kind])
+            this.ids[kind] = new LongHashSet();
+        return this.ids[kind].add(((Number) ((Element) object).id()).longValue());
+    }
+
+    @Override
+    public boolean contains(final Object object) {
+        final int kind = kindOf(object);
+        if (kind < 0)
+            return this.objects.contains(object);
+        return null != this.ids[kind] && this.ids[kind].contains(((Number) ((Element) object).id()).longValue());
+    }
+
+    public int size() {
+        int size = this.objects.size();
+        for (final LongHashSet set : this.ids) {
+            if (null != set)
+                size = size + set.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < this.ids.length; i++) {
+            this.ids[i] = null;
+        }
+        this.objects.clear();
+    }
+
+    /**
+     * Gets the index of the id set of the object or -1 if the object is not an element with a {@code Long} or
+     * {@code Integer} id.
+     */
+    private static int kindOf(final Object object) {
+        final int kind;
+        if (object instanceof Vertex)
+            kind = 0;
+        else if (object instanceof Edge)
+            kind = 2;
+        else if (object instanceof VertexProperty)
+            kind = 4;
+        else
+            return -1;
+        final Object id = ((Element) object).id();
+        return id instanceof Long ? kind : id instanceof Integer ? kind + 1 : -1;
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Searches of the graph around a vertex that do not track the path of every traverser.  Each vertex that a search
+ * reaches is given an {@code int} index and the search trees are held as arrays of parent indices and distances,
+ * so that a path is only materialized for the result.
+ */
+public final class GraphSearch {
+
+    private static final int UNSEEN = -1;
+
+    private GraphSearch() {
+    }
+
+    /**
+     * Counts the distinct vertices, other than the source, that are at most {@code maxDepth} hops from the source.
+     */
+    public static long countWithin(final Vertex source, final int maxDepth, final Direction direction, final String... edgeLabels) {
+        final DuplicateSet visited = new ElementIdDuplicateSet();
+        visited.add(source);
+        List<Vertex> frontier = Collections.singletonList(source);
+        long count = 0l;
+        for (int depth = 0; depth < maxDepth && !frontier.isEmpty(); depth++) {
+            final List<Vertex> next = new ArrayList<>();
+            for (final Vertex vertex : frontier) {
+                final Iterator<Vertex> adjacents = vertex.vertices(direction, edgeLabels);
+                while (adjacents.hasNext()) {
+                    final Vertex adjacent = adjacents.next();
+                    if (visited.add(adjacent))
+                        next.add(adjacent);
+                }
+            }
+            count = count + next.size();
+            frontier = next;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the vertices of a path with the fewest hops from the source to the target or {@code null} if there is no
+     * such path.  The search runs breadth-first from both ends, a whole depth at a time, and always grows the smaller
+     * of the two frontiers.
+     */
+    public static List<Vertex> shortestPath(final Vertex source, final Vertex target, final Direction direction, final String... edgeLabels) {
+        if (source.equals(target))
+            return Collections.singletonList(source);
+        final Index index = new Index();
+        final Tree forward = new Tree(index.indexOf(source));
+        final Tree backward = new Tree(index.indexOf(target));
+        int[] forwardFrontier = {forward.root};
+        int[] backwardFrontier = {backward.root};
+        final Meeting meeting = new Meeting();
+        while (forwardFrontier.length > 0 && backwardFrontier.length > 0) {
+            final boolean forwards = forwardFrontier.length <= backwardFrontier.length;
+            final Tree tree = forwards ? forward : backward;
+            final Tree other = forwards ? backward : forward;
+            final int[] frontier = forwards ? forwardFrontier : backwardFrontier;
+            final Direction searchDirection = forwards ? direction : direction.opposite();
+            int[] next = new int[frontier.length];
+            int size = 0;
+            for (final int parent : frontier) {
+                final Iterator<Vertex> adjacents = index.vertexAt(parent).vertices(searchDirection, edgeLabels);
+                while (adjacents.hasNext()) {
+                    final int child = index.indexOf(adjacents.next());
+                    final double distance = tree.distance(parent) + 1.0d;
+                    if (!tree.contains(child)) {
+                        tree.put(child, parent, distance);
+                        if (size == next.length)
+                            next = Arrays.copyOf(next, size << 1);
+                        next[size++] = child;
+                    }
+                    if (other.contains(child))
+                        meeting.offer(distance + other.distance(child), parent, child, forwards);
+                }
+            }
+            // all the meetings found while growing a whole depth are equally short or shorter than any found later
+            if (meeting.found())
+                return meeting.path(index, forward, backward);
+            if (forwards)
+                forwardFrontier = Arrays.copyOf(next, size);
+            else
+                backwardFrontier = Arrays.copyOf(next, size);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the vertices of a path with the least total edge weight from the source to the target or {@code null} if
+     * there is no such path.  The search is Dijkstra's algorithm run from both ends, which stops once the closest
+     * unsettled vertices of the two ends are together no closer than the best meeting so far.  Edge weights must not be
+     * negative.
+     */
+    public static List<Vertex> shortestPath(final Vertex source, final Vertex target, final Direction direction, final Function<Edge, Number> weight, final String... edgeLabels) {
+        if (source.equals(target))
+            return Collections.singletonList(source);
+        final Index index = new Index();
+        final Tree forward = new Tree(index.indexOf(source));
+        final Tree backward = new Tree(index.indexOf(target));
+        final PriorityQueue<Entry> forwardQueue = new PriorityQueue<>();
+        final PriorityQueue<Entry> backwardQueue = new PriorityQueue<>();
+        forwardQueue.add(new Entry(forward.root, 0.0d));
+        backwardQueue.add(new Entry(backward.root, 0.0d));
+        final Meeting meeting = new Meeting();
+        while (!forwardQueue.isEmpty() && !backwardQueue.isEmpty()) {
+            if (forwardQueue.peek().distance + backwardQueue.peek().distance >= meeting.distance)
+                break;
+            final boolean forwards = forwardQueue.size() <= backwardQueue.size();
+            final Tree tree = forwards ? forward : backward;
+            final Tree other = forwards ? backward : forward;
+            final PriorityQueue<Entry> queue = forwards ? forwardQueue : backwardQueue;
+            final Direction searchDirection = forwards ? direction : direction.opposite();
+            final Entry entry = queue.poll();
+            if (entry.distance > tree.distance(entry.index))
+                continue;   // a shorter distance to the vertex was already settled
+            final Vertex vertex = index.vertexAt(entry.index);
+            final Iterator<Edge> edges = vertex.edges(searchDirection, edgeLabels);
+            while (edges.hasNext()) {
+                final Edge edge = edges.next();
+                final double edgeWeight = weight.apply(edge).doubleValue();
+                if (edgeWeight < 0.0d || Double.isNaN(edgeWeight))
+                    throw new IllegalStateException("The weight of an edge can not be negative: " + edge + '=' + edgeWeight);
+                final Vertex outVertex = edge.outVertex();
+                final int child = index.indexOf(outVertex.equals(vertex) ? edge.inVertex() : outVertex);
+                final double distance = entry.distance + edgeWeight;
+                if (!tree.contains(child) || distance < tree.distance(child)) {
+                    tree.put(child, entry.index, distance);
+                    queue.add(new Entry(child, distance));
+                }
+                if (other.contains(child))
+                    meeting.offer(distance + other.distance(child), entry.index, child, forwards);
+            }
+        }
+        return meeting.found() ? meeting.path(index, forward, backward) : null;
+    }
+
+    ///////////
+
+    private static final class Index {
+
+        private final Map<Object, Integer> indices = new HashMap<>();
+        private final List<Vertex> vertices = new ArrayList<>();
+
+        private int indexOf(final Vertex vertex) {
+            final Integer index = this.indices.get(vertex.id());
+            if (null != index)
+                return index;
+            this.indices.put(vertex.id(), this.vertices.size());
+            this.vertices.add(vertex);
+            return this.vertices.size() - 1;
+        }
+
+        private Vertex vertexAt(final int index) {
+            return this.vertices.get(index);
+        }
+    }
+
+    private static final class Tree {
+
+        private final int root;
+        private int[] parents = new int[16];
+        private double[] distances = new double[16];
+
+        private Tree(final int root) {
+            Arrays.fill(this.parents, UNSEEN);
+            this.root = root;
+            this.put(root, root, 0.0d);
+        }
+
+        private boolean contains(final int index) {
+            return index < this.parents.length && UNSEEN != this.parents[index];
+        }
+
+        private double distance(final int index) {
+            return this.distances[index];
+        }
+
+        private void put(final int index, final int parent, final double distance) {
+            if (index >= this.parents.length) {
+                final int length = Math.max(index + 1, this.parents.length << 1);
+                final int oldLength = this.parents.length;
+                this.parents = Arrays.copyOf(this.parents, length);
+                this.distances = Arrays.copyOf(this.distances, length);
+                Arrays.fill(this.parents, oldLength, length, UNSEEN);
+            }
+            this.parents[index] = parent;
+            this.distances[index] = distance;
+        }
+
+        /**
+         * Appends the indices from the index up to the root of the tree.
+         */
+        private void walk(final int index, final List<Integer> path) {
+            int current = index;
+            path.add(current);
+            while (current != this.root) {
+                current = this.parents[current];
+                path.add(current);
+            }
+        }
+    }
+
+    private static final class Meeting {
+
+        private double distance = Double.POSITIVE_INFINITY;
+        private int forwardIndex;
+        private int backwardIndex;
+
+        private void offer(final double distance, final int parent, final int child, final boolean forwards) {
+            if (distance < this.distance) {
+                this.distance = distance;
+                this.forwardIndex = forwards ? parent : child;
+                this.backwardIndex = forwards ? child : parent;
+            }
+        }
+
+        private boolean found() {
+            return this.distance < Double.POSITIVE_INFINITY;
+        }
+
+        private List<Vertex> path(final Index index, final Tree forward, final Tree backward) {
+            final List<Integer> head = new ArrayList<>();
+            forward.walk(this.forwardIndex, head);
+            Collections.reverse(head);
+            backward.walk(this.backwardIndex, head);
+            final List<Vertex> path = new ArrayList<>(head.size());
+            for (final int i : head) {
+                path.add(index.vertexAt(i));
+            }
+            return path;
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        private final int index;
+        private final double distance;
+
+        private Entry(final int index, final double distance) {
+            this.index = index;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            return Double.compare(this.distance, other.distance);
+        }
+    }
+}
@@ -27,8 +27,18 @@ import org.apache.tinkerpop.gremlin.process.traversal.lambda.FunctionTraverser;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.IdentityTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.lambda.TokenTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.TailGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FoldStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MaxGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MeanGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MinGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.SumGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.util.function.ArrayListSupplier;
 
 import java.io.Serializable;
 import java.util.Arrays;
@@ -76,6 +86,67 @@ public final class GroupStepHelper {
         }
     }
 
+    /**
+     * Determines if the traversal holds no state from one traverser to the next, so that a single copy of it can be
+     * used for the traversers of all keys rather than a copy per key.
+     */
+    public static boolean isStateless(final Traversal.Admin<?, ?> valueTraversal) {
+        return !TraversalHelper.hasStepOfAssignableClassRecursively(Arrays.<Class>asList(Barrier.class, Ranging.class, TailGlobalStep.class), valueTraversal);
+    }
+
+    public static boolean isIdentity(final Traversal.Admin<?, ?> valueTraversal) {
+        for (final Step<?, ?> step : valueTraversal.getSteps()) {
+            if (!(step instanceof IdentityStep))
+                return false;
+        }
+        return true;
+    }
+
+    /////////
+
+    /**
+     * The reductions that an {@link AggregationTable} maintains as primitive state per key.
+     */
+    public enum Aggregation {
+        COUNT, SUM, MIN, MAX, MEAN, FOLD;
+
+        /**
+         * Determines if the partial aggregates of a key can be combined into fewer values before being reduced.
+         */
+        public boolean isCombinable() {
+            return MEAN != this && FOLD != this;
+        }
+
+        /**
+         * Returns the aggregation computed by the reduce traversal of a group (i.e. the portion of its value traversal
+         * that starts at the first {@link Barrier}) or {@code null} if it is not exactly one of the common reductions.
+         */
+        public static Aggregation of(final Traversal.Admin<?, ?> reduceTraversal) {
+            Step<?, ?> reducer = null;
+            for (final Step<?, ?> step : reduceTraversal.getSteps()) {
+                if (step instanceof IdentityStep)
+                    continue;
+                if (null != reducer)
+                    return null;
+                reducer = step;
+            }
+            if (reducer instanceof CountGlobalStep)
+                return COUNT;
+            else if (reducer instanceof SumGlobalStep)
+                return SUM;
+            else if (reducer instanceof MinGlobalStep)
+                return MIN;
+            else if (reducer instanceof MaxGlobalStep)
+                return MAX;
+            else if (reducer instanceof MeanGlobalStep)
+                return MEAN;
+            else if (reducer instanceof FoldStep && ((FoldStep) reducer).getSeedSupplier() instanceof ArrayListSupplier)
+                return FOLD;
+            else
+                return null;
+        }
+    }
+
 
     /////////
 
@@ -101,4 +172,18 @@ public final class GroupStepHelper {
             return new GroupMap<>(new HashMap<>());
         }
     }
+
+    public static class AggregationTableSupplier implements Supplier<AggregationTable>, Serializable {
+
+        private final Aggregation aggregation;
+
+        public AggregationTableSupplier(final Aggregation aggregation) {
+            this.aggregation = aggregation;
+        }
+
+        @Override
+        public AggregationTable get() {
+            return new AggregationTable<>(this.aggregation);
+        }
+    }
 }
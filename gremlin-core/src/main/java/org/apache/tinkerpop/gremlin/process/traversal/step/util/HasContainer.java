@@ -43,7 +43,10 @@ public final class HasContainer implements Serializable, Cloneable, Predicate<El
     public HasContainer(final String key, final P<?> predicate) {
         this.key = key;
         this.predicate = predicate;
+        this.initializeIdTesting();
+    }
 
+    private void initializeIdTesting() {
         if (!this.key.equals(T.id.getAccessor()))
             testingIdString = false;
         else {
@@ -124,6 +127,14 @@ public final class HasContainer implements Serializable, Cloneable, Predicate<El
         return this.predicate;
     }
 
+    /**
+     * Replaces the predicate, which is prepared for the key in the same way as the predicate given on construction.
+     */
+    public void setPredicate(final P<?> predicate) {
+        this.predicate = predicate;
+        this.initializeIdTesting();
+    }
+
     public BiPredicate<?, ?> getBiPredicate() {
         return this.predicate.getBiPredicate();
     }
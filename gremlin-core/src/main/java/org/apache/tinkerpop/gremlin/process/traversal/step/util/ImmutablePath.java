@@ -76,6 +76,19 @@ public class ImmutablePath implements Path, ImmutablePathImpl, Serializable, Clo
         return new ImmutablePath(this.previousPath, this.currentObject, temp);
     }
 
+    @Override
+    public Path retract(final Set<String> labels) {
+        final List<Object> objects = this.objects();
+        final List<Set<String>> labelPath = this.labels();
+        Path path = TailPath.instance();
+        for (int i = 0; i < objects.size(); i++) {
+            final Set<String> temp = new LinkedHashSet<>(labelPath.get(i));
+            if (!temp.removeAll(labels) || !temp.isEmpty())
+                path = path.extend(objects.get(i), temp);
+        }
+        return path;
+    }
+
     @Override
     public <A> A get(final int index) {
         return (this.size() - 1) == index ? (A) this.currentObject : this.previousPath.get(index);
@@ -199,6 +212,11 @@ public class ImmutablePath implements Path, ImmutablePathImpl, Serializable, Clo
             throw new UnsupportedOperationException("A head path can not have labels added to it");
         }
 
+        @Override
+        public Path retract(final Set<String> labels) {
+            return this;
+        }
+
         @Override
         public <A> A get(final String label) {
             throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
@@ -0,0 +1,412 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable {@link Path} whose extensions share the steps of the path they extend.  A head path made with
+ * {@link #make(Set)} assigns ids to the labels of a traversal, and every path extended from that head shares the ids.
+ * The labels of a step are interned into a canonical label set that carries a bitset of the label ids, and every step
+ * holds an index from label id to the first and last step holding that label.  The index arrays are shared between
+ * steps until a step introduces or repeats a label, so selecting a label, whether first or last, and testing for a
+ * label do not walk the path.  Only the first 64 labels of a traversal get an id, the steps of any other label are
+ * found by walking the path.  A serialized {@code IndexedPath} is written as flat arrays of its objects and labels.
+ */
+public final class IndexedPath implements Path, Serializable {
+
+    private static final int MAX_LABEL_IDS = Long.SIZE;
+    private static final int MAX_LABEL_SETS = 1024;
+    private static final IndexedPath[] NO_STEPS = new IndexedPath[0];
+    private static final IndexedPath EMPTY = new IndexedPath(LabelIndex.NONE);
+
+    private final transient LabelIndex index;
+    private final transient IndexedPath previous;
+    private final transient Object object;
+    private final transient LabelSet labels;
+    private final transient int size;
+    private final transient int hash;
+    private final transient long pathBits;
+    private final transient boolean unindexedLabels;
+    private final transient IndexedPath[] firsts;
+    private final transient IndexedPath[] lasts;
+
+    private IndexedPath(final LabelIndex index) {
+        this.index = index;
+        this.previous = null;
+        this.object = null;
+        this.labels = LabelSet.NONE;
+        this.size = 0;
+        this.hash = 1;
+        this.pathBits = 0l;
+        this.unindexedLabels = false;
+        this.firsts = NO_STEPS;
+        this.lasts = NO_STEPS;
+    }
+
+    private IndexedPath(final IndexedPath previous, final Object object, final LabelSet labels) {
+        this.index = previous.index;
+        this.previous = previous;
+        this.object = object;
+        this.labels = labels;
+        this.size = previous.size + 1;
+        // the same hash as the list of objects of the path
+        this.hash = 31 * previous.hash + (null == object ? 0 : object.hashCode());
+        this.pathBits = previous.pathBits | labels.bits;
+        this.unindexedLabels = previous.unindexedLabels || labels.unindexed;
+        if (0l == labels.bits) {
+            this.firsts = previous.firsts;
+            this.lasts = previous.lasts;
+        } else {
+            final int length = Math.max(previous.lasts.length, labels.maxId + 1);
+            this.lasts = Arrays.copyOf(previous.lasts, length);
+            final boolean newLabels = 0l != (labels.bits & ~previous.pathBits);
+            this.firsts = newLabels ? Arrays.copyOf(previous.firsts, length) : previous.firsts;
+            for (final int id : labels.ids) {
+                if (id < 0)
+                    continue;
+                this.lasts[id] = this;
+                if (newLabels && null == this.firsts[id])
+                    this.firsts[id] = this;
+            }
+        }
+    }
+
+    /**
+     * Makes a head path that indexes no labels, so the steps of every label are found by walking the path.
+     */
+    public static Path make() {
+        return EMPTY;
+    }
+
+    /**
+     * Makes a head path that indexes the provided labels, which are usually all the labels of a traversal.
+     */
+    public static Path make(final Set<String> labels) {
+        return labels.isEmpty() ? EMPTY : new IndexedPath(new LabelIndex(labels));
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone,CloneDoesntDeclareCloneNotSupportedException")
+    @Override
+    public IndexedPath clone() {
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Path extend(final Object object, final Set<String> labels) {
+        return new IndexedPath(this, object, this.index.labelSet(labels));
+    }
+
+    @Override
+    public Path extend(final Set<String> labels) {
+        if (0 == this.size)
+            throw new UnsupportedOperationException("A head path can not have labels added to it");
+        if (this.labels.set.containsAll(labels))
+            return this;
+        final Set<String> temp = new LinkedHashSet<>(this.labels.set);
+        temp.addAll(labels);
+        return new IndexedPath(this.previous, this.object, this.index.labelSet(temp));
+    }
+
+    @Override
+    public Path retract(final Set<String> labels) {
+        // the steps before the first step holding one of the labels are shared with the retracted path
+        IndexedPath first = null;
+        for (final String label : labels) {
+            final IndexedPath step = this.getFirst(label);
+            if (null != step && (null == first || step.size < first.size))
+                first = step;
+        }
+        if (null == first)
+            return this;
+        final IndexedPath[] steps = new IndexedPath[this.size - first.size + 1];
+        IndexedPath step = this;
+        for (int i = steps.length - 1; i >= 0; i--) {
+            steps[i] = step;
+            step = step.previous;
+        }
+        IndexedPath path = first.previous;
+        for (final IndexedPath retract : steps) {
+            if (Collections.disjoint(retract.labels.set, labels))
+                path = new IndexedPath(path, retract.object, retract.labels);
+            else {
+                final Set<String> temp = new LinkedHashSet<>(retract.labels.set);
+                temp.removeAll(labels);
+                if (!temp.isEmpty())
+                    path = new IndexedPath(path, retract.object, this.index.labelSet(temp));
+            }
+        }
+        return path;
+    }
+
+    @Override
+    public <A> A get(final int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        IndexedPath step = this;
+        for (int i = this.size - 1; i > index; i--) {
+            step = step.previous;
+        }
+        return (A) step.object;
+    }
+
+    @Override
+    public <A> A get(final String label) throws IllegalArgumentException {
+        final List<Object> objects = this.getAll(label);
+        if (objects.isEmpty())
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        return 1 == objects.size() ? (A) objects.get(0) : (A) objects;
+    }
+
+    @Override
+    public <A> A get(final Pop pop, final String label) throws IllegalArgumentException {
+        if (Pop.all == pop)
+            return (A) this.getAll(label);
+        final IndexedPath step = Pop.first == pop ? this.getFirst(label) : this.getLast(label);
+        if (null == step)
+            throw Path.Exceptions.stepWithProvidedLabelDoesNotExist(label);
+        return (A) step.object;
+    }
+
+    @Override
+    public boolean hasLabel(final String label) {
+        final int id = this.index.id(label);
+        if (id >= 0)
+            return 0l != (this.pathBits & (1l << id));
+        return this.unindexedLabels && null != this.getLast(label);
+    }
+
+    @Override
+    public List<Object> objects() {
+        final Object[] objects = new Object[this.size];
+        IndexedPath step = this;
+        for (int i = this.size - 1; i >= 0; i--) {
+            objects[i] = step.object;
+            step = step.previous;
+        }
+        return Collections.unmodifiableList(Arrays.asList(objects));
+    }
+
+    @Override
+    public List<Set<String>> labels() {
+        final Set<String>[] labels = new Set[this.size];
+        IndexedPath step = this;
+        for (int i = this.size - 1; i >= 0; i--) {
+            labels[i] = step.labels.set;
+            step = step.previous;
+        }
+        return Collections.unmodifiableList(Arrays.asList(labels));
+    }
+
+    @Override
+    public boolean isSimple() {
+        final Set<Object> objects = new HashSet<>();
+        for (IndexedPath step = this; step.size > 0; step = step.previous) {
+            if (!objects.add(step.object))
+                return false;
+        }
+        return true;
+    }
+
+    private IndexedPath getLast(final String label) {
+        final int id = this.index.id(label);
+        if (id >= 0)
+            return id < this.lasts.length ? this.lasts[id] : null;
+        if (this.unindexedLabels) {
+            for (IndexedPath step = this; step.size > 0; step = step.previous) {
+                if (step.labels.set.contains(label))
+                    return step;
+            }
+        }
+        return null;
+    }
+
+    private IndexedPath getFirst(final String label) {
+        final int id = this.index.id(label);
+        if (id >= 0)
+            return id < this.firsts.length ? this.firsts[id] : null;
+        IndexedPath first = null;
+        if (this.unindexedLabels) {
+            for (IndexedPath step = this; step.size > 0; step = step.previous) {
+                if (step.labels.set.contains(label))
+                    first = step;
+            }
+        }
+        return first;
+    }
+
+    private List<Object> getAll(final String label) {
+        final List<Object> objects = new ArrayList<>();
+        final IndexedPath last = this.getLast(label);
+        if (null != last) {
+            final int id = this.index.id(label);
+            final long bit = id < 0 ? 0l : 1l << id;
+            for (IndexedPath step = last; step.size > 0 && (0l == bit || 0l != (step.pathBits & bit)); step = step.previous) {
+                if (step.labels.set.contains(label))
+                    objects.add(step.object);
+            }
+            Collections.reverse(objects);
+        }
+        return objects;
+    }
+
+    @Override
+    public String toString() {
+        return this.objects().toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hash;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Path))
+            return false;
+        final Path otherPath = (Path) other;
+        return otherPath.size() == this.size &&
+                otherPath.objects().equals(this.objects()) &&
+                otherPath.labels().equals(this.labels());
+    }
+
+    private Object writeReplace() {
+        return new SerializedPath(this);
+    }
+
+    /**
+     * The ids of the labels of a traversal along with the canonical label sets of the paths of that traversal.
+     */
+    private static final class LabelIndex {
+
+        private static final LabelIndex NONE = new LabelIndex(Collections.emptySet());
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final Map<List<String>, LabelSet> labelSets = new ConcurrentHashMap<>();
+
+        private LabelIndex(final Set<String> labels) {
+            for (final String label : labels) {
+                if (this.ids.size() == MAX_LABEL_IDS)
+                    break;
+                this.ids.put(label, this.ids.size());
+            }
+        }
+
+        private int id(final String label) {
+            final Integer id = this.ids.get(label);
+            return null == id ? -1 : id;
+        }
+
+        private LabelSet labelSet(final Set<String> labels) {
+            if (labels.isEmpty())
+                return LabelSet.NONE;
+            final List<String> key = new ArrayList<>(labels);
+            LabelSet labelSet = this.labelSets.get(key);
+            if (null == labelSet) {
+                labelSet = new LabelSet(key, this);
+                if (this.labelSets.size() < MAX_LABEL_SETS)
+                    this.labelSets.putIfAbsent(key, labelSet);
+            }
+            return labelSet;
+        }
+    }
+
+    /**
+     * The canonical instance of an ordered set of labels along with the ids of those labels.
+     */
+    private static final class LabelSet {
+
+        private static final LabelSet NONE = new LabelSet(Collections.emptyList(), LabelIndex.NONE);
+
+        private final Set<String> set;
+        private final int[] ids;
+        private final long bits;
+        private final int maxId;
+        private final boolean unindexed;
+
+        private LabelSet(final List<String> labels, final LabelIndex index) {
+            this.set = labels.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(new LinkedHashSet<>(labels));
+            this.ids = new int[labels.size()];
+            long bits = 0l;
+            int maxId = -1;
+            boolean unindexed = false;
+            for (int i = 0; i < this.ids.length; i++) {
+                this.ids[i] = index.id(labels.get(i));
+                if (this.ids[i] < 0)
+                    unindexed = true;
+                else {
+                    bits = bits | (1l << this.ids[i]);
+                    maxId = Math.max(maxId, this.ids[i]);
+                }
+            }
+            this.bits = bits;
+            this.maxId = maxId;
+            this.unindexed = unindexed;
+        }
+    }
+
+    /**
+     * The flat form in which an {@link IndexedPath} is serialized.
+     */
+    private static final class SerializedPath implements Serializable {
+
+        private final Object[] objects;
+        private final String[][] labels;
+
+        private SerializedPath(final IndexedPath path) {
+            this.objects = path.objects().toArray();
+            this.labels = new String[path.size][];
+            IndexedPath step = path;
+            for (int i = path.size - 1; i >= 0; i--) {
+                this.labels[i] = step.labels.set.toArray(new String[step.labels.set.size()]);
+                step = step.previous;
+            }
+        }
+
+        private Object readResolve() {
+            final Set<String> labels = new LinkedHashSet<>();
+            for (final String[] stepLabels : this.labels) {
+                labels.addAll(Arrays.asList(stepLabels));
+            }
+            Path path = IndexedPath.make(labels);
+            for (int i = 0; i < this.objects.length; i++) {
+                path = path.extend(this.objects[i], new LinkedHashSet<>(Arrays.asList(this.labels[i])));
+            }
+            return path;
+        }
+    }
+}
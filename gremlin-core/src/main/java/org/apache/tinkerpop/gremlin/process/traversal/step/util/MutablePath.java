@@ -84,6 +84,17 @@ public class MutablePath implements Path, Serializable {
         return this;
     }
 
+    @Override
+    public Path retract(final Set<String> labels) {
+        for (int i = this.labels.size() - 1; i >= 0; i--) {
+            if (this.labels.get(i).removeAll(labels) && this.labels.get(i).isEmpty()) {
+                this.labels.remove(i);
+                this.objects.remove(i);
+            }
+        }
+        return this;
+    }
+
     @Override
     public <A> A get(int index) {
         return (A) this.objects.get(index);
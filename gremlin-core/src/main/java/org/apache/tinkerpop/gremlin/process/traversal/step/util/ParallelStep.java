@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Splits its starts into partitions and processes each partition with its own clone of the parallel traversal on the
+ * {@link ForkJoinPool#commonPool()}.  The ends of the partitions are emitted in the order in which the partitions
+ * produce them, so every partition keeps working while the step that follows consumes the ends of the others.  As the
+ * step that follows is a {@link org.apache.tinkerpop.gremlin.process.traversal.step.Barrier}, the order of its starts
+ * does not change its result.  All partitions stream their ends through one queue that holds at most
+ * {@code bufferSize} traversers per partition.  The threads of a partition only block when that queue is full, which
+ * is when the step that follows is the bottleneck, and do so through {@link ForkJoinPool#managedBlock} so that the
+ * pool can compensate for them.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.ParallelStrategy
+ */
+public final class ParallelStep<S, E> extends AbstractStep<S, E> implements TraversalParent {
+
+    private Traversal.Admin<S, E> parallelTraversal;
+    private final int parallelism;
+    private final int bufferSize;
+    private List<Partition> partitions = null;
+    private BlockingQueue<Object> ends = null;
+    private int runningPartitions = 0;
+
+    public ParallelStep(final Traversal.Admin traversal, final Traversal.Admin<S, E> parallelTraversal, final int parallelism, final int bufferSize) {
+        super(traversal);
+        this.parallelTraversal = this.integrateChild(parallelTraversal);
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    /**
+     * The number of partitions that the starts were split into, which is zero until the first end is requested.
+     */
+    public int getPartitionCount() {
+        return null == this.partitions ? 0 : this.partitions.size();
+    }
+
+    @Override
+    protected Traverser<E> processNextStart() throws NoSuchElementException {
+        if (null == this.partitions)
+            this.startPartitions();
+        while (this.runningPartitions > 0) {
+            final Object end = take(this.ends);
+            if (!(end instanceof Partition))
+                return (Traverser<E>) end;
+            final Partition partition = (Partition) end; // a partition hands itself over once it has no more ends
+            if (null != partition.failure) {
+                this.cancelPartitions();
+                if (partition.failure instanceof RuntimeException)
+                    throw (RuntimeException) partition.failure;
+                else if (partition.failure instanceof Error)
+                    throw (Error) partition.failure;
+                else
+                    throw new IllegalStateException(partition.failure.getMessage(), partition.failure);
+            }
+            this.runningPartitions--;
+        }
+        throw FastNoSuchElementException.instance();
+    }
+
+    private void startPartitions() {
+        final List<Traverser.Admin<S>> starts = new ArrayList<>();
+        while (this.starts.hasNext()) {
+            starts.add(this.starts.next());
+        }
+        this.partitions = new ArrayList<>(this.parallelism);
+        if (starts.isEmpty())
+            return;
+
+        final int partitionSize = (starts.size() + this.parallelism - 1) / this.parallelism;
+        final int partitionCount = (starts.size() + partitionSize - 1) / partitionSize;
+        this.ends = new ArrayBlockingQueue<>(this.bufferSize * partitionCount);
+        for (int i = 0; i < starts.size(); i = i + partitionSize) {
+            this.partitions.add(new Partition(this.parallelTraversal.clone(), starts.subList(i, Math.min(i + partitionSize, starts.size())), this.ends));
+        }
+        this.runningPartitions = this.partitions.size();
+        this.partitions.forEach(ForkJoinPool.commonPool()::execute);
+    }
+
+    private void cancelPartitions() {
+        if (null != this.partitions)
+            this.partitions.forEach(Partition::cancel);
+        if (null != this.ends)
+            this.ends.clear(); // release the partitions that are blocked on a full queue
+        this.partitions = null;
+        this.ends = null;
+        this.runningPartitions = 0;
+    }
+
+    private static Object take(final BlockingQueue<Object> queue) {
+        final Object[] end = new Object[1];
+        managedBlock(new ForkJoinPool.ManagedBlocker() {
+            @Override
+            public boolean block() throws InterruptedException {
+                end[0] = queue.take();
+                return true;
+            }
+
+            @Override
+            public boolean isReleasable() {
+                return null != end[0] || null != (end[0] = queue.poll());
+            }
+        });
+        return end[0];
+    }
+
+    private static void managedBlock(final ForkJoinPool.ManagedBlocker blocker) {
+        try {
+            ForkJoinPool.managedBlock(blocker);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public List<Traversal.Admin<S, E>> getGlobalChildren() {
+        return Collections.singletonList(this.parallelTraversal);
+    }
+
+    @Override
+    public Set<TraverserRequirement> getRequirements() {
+        return this.getSelfAndChildRequirements();
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.parallelTraversal.reset();
+        this.cancelPartitions();
+    }
+
+    @Override
+    public ParallelStep<S, E> clone() {
+        final ParallelStep<S, E> clone = (ParallelStep<S, E>) super.clone();
+        clone.parallelTraversal = clone.integrateChild(this.parallelTraversal.clone());
+        clone.partitions = null;
+        clone.ends = null;
+        clone.runningPartitions = 0;
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.parallelism, this.parallelTraversal);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.parallelism ^ this.bufferSize ^ this.parallelTraversal.hashCode();
+    }
+
+    /**
+     * Processes one partition of the starts with its own clone of the parallel traversal and hands its ends to the
+     * {@link ParallelStep} through the queue that all partitions share, followed by the partition itself once it has
+     * no more ends.
+     */
+    private static final class Partition implements Runnable {
+
+        private final Traversal.Admin<?, ?> traversal;
+        private final List<? extends Traverser.Admin<?>> starts;
+        private final BlockingQueue<Object> queue;
+        private volatile boolean cancelled = false;
+        private volatile Throwable failure = null;
+
+        private Partition(final Traversal.Admin<?, ?> traversal, final List<? extends Traverser.Admin<?>> starts, final BlockingQueue<Object> queue) {
+            this.traversal = traversal;
+            this.starts = starts;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.traversal.addStarts((Iterator) this.starts.iterator());
+                final Step<?, ?> endStep = this.traversal.getEndStep();
+                while (!this.cancelled && endStep.hasNext()) {
+                    this.put(endStep.next());
+                }
+            } catch (final Throwable t) {
+                this.failure = t;
+            } finally {
+                this.put(this);
+            }
+        }
+
+        private void put(final Object end) {
+            managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    if (!Partition.this.cancelled)
+                        Partition.this.queue.put(end);
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return Partition.this.cancelled || Partition.this.queue.offer(end);
+                }
+            });
+        }
+
+        /**
+         * Stops the partition after the end that it is processing.
+         */
+        private void cancel() {
+            this.cancelled = true;
+        }
+    }
+}
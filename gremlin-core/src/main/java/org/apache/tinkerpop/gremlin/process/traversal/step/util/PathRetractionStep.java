@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Drops labels that no later step refers to from the path of each traverser that passes through it.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.PathRetractionStrategy
+ */
+public final class PathRetractionStep<S> extends AbstractStep<S, S> {
+
+    private final Set<String> retractLabels;
+
+    public PathRetractionStep(final Traversal.Admin traversal, final Set<String> retractLabels) {
+        super(traversal);
+        this.retractLabels = Collections.unmodifiableSet(new LinkedHashSet<>(retractLabels));
+    }
+
+    public Set<String> getRetractLabels() {
+        return this.retractLabels;
+    }
+
+    @Override
+    protected Traverser<S> processNextStart() throws NoSuchElementException {
+        final Traverser.Admin<S> traverser = this.starts.next();
+        traverser.dropLabels(this.retractLabels);
+        return traverser;
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, this.retractLabels);
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ this.retractLabels.hashCode();
+    }
+}
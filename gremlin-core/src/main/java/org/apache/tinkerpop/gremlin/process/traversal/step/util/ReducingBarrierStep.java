@@ -63,6 +63,10 @@ public abstract class ReducingBarrierStep<S, E> extends AbstractStep<S, E> imple
         this.seedSupplier = seedSupplier;
     }
 
+    public Supplier<E> getSeedSupplier() {
+        return this.seedSupplier;
+    }
+
     public void setBiFunction(final BiFunction<E, Traverser<S>, E> reducingBiFunction) {
         this.reducingBiFunction = reducingBiFunction;
     }
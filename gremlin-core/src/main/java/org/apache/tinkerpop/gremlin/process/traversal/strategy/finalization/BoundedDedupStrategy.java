@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BloomDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * Bounds the memory used by each {@link DedupGlobalStep} of the root traversal in one of two ways.  The steps of child
+ * traversals, which are reset for every start of a local traversal, hold no more objects than the children emit for
+ * a start and are left as they are.
+ * <p/>
+ * In the approximate mode, each step holds the objects it has seen in a {@link BloomDuplicateSet} of a fixed size,
+ * which never lets a duplicate through but drops distinct objects at about the configured false positive rate.  It
+ * suits exploratory analysis where a few missing results do not matter.
+ * <p/>
+ * In the spill mode, each step holds a maximum number of objects in memory and writes the traversers with any other
+ * object to partition files on disk, which are deduplicated one at a time once the step has run out of starts.  The
+ * result is exact, but the spilled traversers come after all the others.  Elements are detached when they are
+ * written and re-attached to the graph of the traversal when they are read, so the mode only applies to traversals
+ * that require neither a path nor a sack.
+ * <p/>
+ * Neither mode applies to traversals on a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}.
+ */
+public final class BoundedDedupStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final int maxInMemory;
+    private final int partitions;
+    private final File spillDirectory;
+
+    private BoundedDedupStrategy(final Builder builder) {
+        this.expectedInsertions = builder.expectedInsertions;
+        this.falsePositiveRate = builder.falsePositiveRate;
+        this.maxInMemory = builder.maxInMemory;
+        this.partitions = builder.partitions;
+        this.spillDirectory = builder.spillDirectory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer() || !(traversal.getParent() instanceof EmptyStep))
+            return;
+
+        if (this.expectedInsertions > 0l) {
+            for (final DedupGlobalStep<?> dedupStep : TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal)) {
+                dedupStep.setApproximate(this.expectedInsertions, this.falsePositiveRate);
+            }
+            return;
+        }
+
+        final Set<TraverserRequirement> requirements = traversal.getTraverserRequirements();
+        if (requirements.contains(TraverserRequirement.PATH) ||
+                requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                requirements.contains(TraverserRequirement.SACK))
+            return;
+        for (final DedupGlobalStep<?> dedupStep : TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal)) {
+            dedupStep.setSpill(this.maxInMemory, this.partitions, this.spillDirectory);
+        }
+    }
+
+    public boolean isApproximate() {
+        return this.expectedInsertions > 0l;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public final static class Builder {
+
+        private long expectedInsertions = 0l;
+        private double falsePositiveRate = 0.0d;
+        private int maxInMemory = 1000000;
+        private int partitions = 16;
+        private File spillDirectory = null;
+
+        private Builder() {
+        }
+
+        /**
+         * Deduplicates approximately with a Bloom filter sized for the expected number of distinct objects and the
+         * rate at which distinct objects may be taken for duplicates.
+         */
+        public Builder approximate(final long expectedInsertions, final double falsePositiveRate) {
+            if (expectedInsertions < 1l)
+                throw new IllegalArgumentException("The expected number of insertions must be greater than zero: " + expectedInsertions);
+            if (falsePositiveRate <= 0.0d || falsePositiveRate >= 1.0d)
+                throw new IllegalArgumentException("The false positive rate must be between zero and one: " + falsePositiveRate);
+            this.expectedInsertions = expectedInsertions;
+            this.falsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        /**
+         * The number of distinct objects that a {@link DedupGlobalStep} holds in memory before it spills traversers.
+         */
+        public Builder maxInMemory(final int maxInMemory) {
+            if (maxInMemory < 1)
+                throw new IllegalArgumentException("The maximum number of objects in memory must be greater than zero: " + maxInMemory);
+            this.maxInMemory = maxInMemory;
+            return this;
+        }
+
+        /**
+         * The number of partition files that the spilled traversers are spread over.
+         */
+        public Builder partitions(final int partitions) {
+            if (partitions < 1)
+                throw new IllegalArgumentException("The number of partitions must be greater than zero: " + partitions);
+            this.partitions = partitions;
+            return this;
+        }
+
+        /**
+         * The directory that the partition files are written to, which defaults to the temporary-file directory.
+         */
+        public Builder spillDirectory(final File spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        public BoundedDedupStrategy create() {
+            return new BoundedDedupStrategy(this);
+        }
+    }
+}
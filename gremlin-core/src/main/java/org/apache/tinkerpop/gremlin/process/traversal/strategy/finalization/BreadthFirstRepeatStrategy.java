@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+/**
+ * Has each {@link RepeatStep} of a traversal loop breadth-first: every depth of the loop is gathered into a frontier,
+ * where traversers at the same object are bulked, before any of them loops again.  On dense graphs this keeps
+ * {@code repeat(out()).times(n)} from looping the same vertex once per path that reaches it.
+ * <p/>
+ * With {@code pruneVisited}, a traverser that reaches an object that was already reached at a lower depth is dropped,
+ * so each object is looped at most once and at the depth of its shortest path from the starts.  This changes the
+ * result of the traversal (much like a {@code dedup()} in the loop that does not need paths) and suits k-hop
+ * neighborhood and shortest path queries such as {@code g.V(1).repeat(both()).until(hasId(5))}.
+ * <p/>
+ * Traversals on a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer} already loop one depth per
+ * iteration and are left as they are.
+ */
+public final class BreadthFirstRepeatStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private final boolean pruneVisited;
+
+    private BreadthFirstRepeatStrategy(final Builder builder) {
+        this.pruneVisited = builder.pruneVisited;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer())
+            return;
+
+        for (final RepeatStep<?> repeatStep : TraversalHelper.getStepsOfClass(RepeatStep.class, traversal)) {
+            repeatStep.setBreadthFirst(true);
+            repeatStep.setPruneVisited(this.pruneVisited);
+        }
+    }
+
+    public boolean isPruneVisited() {
+        return this.pruneVisited;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public final static class Builder {
+
+        private boolean pruneVisited = false;
+
+        private Builder() {
+        }
+
+        /**
+         * Drops the traversers that reach an object that was already reached at a lower depth of the loop.
+         */
+        public Builder pruneVisited(final boolean pruneVisited) {
+            this.pruneVisited = pruneVisited;
+            return this;
+        }
+
+        public BreadthFirstRepeatStrategy create() {
+            return new BreadthFirstRepeatStrategy(this);
+        }
+    }
+}
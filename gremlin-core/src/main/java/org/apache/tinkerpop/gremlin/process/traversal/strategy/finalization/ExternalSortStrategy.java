@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.io.File;
+import java.util.Set;
+
+/**
+ * Bounds the memory used by each {@link OrderGlobalStep} of a traversal.  Once a step holds the maximum number of
+ * distinct traversers, it sorts them and writes them, Gryo-serialized, to a run file in the spill directory.  The
+ * runs are merged lazily as the ordered traversers are read, so a following {@code limit()} only reads what it needs
+ * from disk.  Elements are detached to references when they are written and re-attached to the graph of the traversal
+ * when they are read.  As the path and the sack of a traverser may hold objects that can not be re-attached, traversals
+ * that require either are left as they are, as are traversals on a {@link org.apache.tinkerpop.gremlin.process.computer.GraphComputer}.
+ * The objects being ordered must be serializable with the Gryo mapper of the graph.
+ */
+public final class ExternalSortStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private final int maxInMemory;
+    private final File spillDirectory;
+
+    private ExternalSortStrategy(final int maxInMemory, final File spillDirectory) {
+        this.maxInMemory = maxInMemory;
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer())
+            return;
+
+        final Set<TraverserRequirement> requirements = TraversalHelper.getRootTraversal(traversal).getTraverserRequirements();
+        if (requirements.contains(TraverserRequirement.PATH) ||
+                requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                requirements.contains(TraverserRequirement.SACK))
+            return;
+
+        for (final OrderGlobalStep<?> orderStep : TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal)) {
+            orderStep.setMaxInMemory(this.maxInMemory);
+            orderStep.setSpillDirectory(this.spillDirectory);
+        }
+    }
+
+    public int getMaxInMemory() {
+        return this.maxInMemory;
+    }
+
+    public File getSpillDirectory() {
+        return this.spillDirectory;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public final static class Builder {
+
+        private int maxInMemory = 100000;
+        private File spillDirectory = null;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of distinct traversers that an {@link OrderGlobalStep} holds in memory before it spills them.
+         */
+        public Builder maxInMemory(final int maxInMemory) {
+            if (maxInMemory < 1)
+                throw new IllegalArgumentException("The maximum number of traversers in memory must be greater than zero: " + maxInMemory);
+            this.maxInMemory = maxInMemory;
+            return this;
+        }
+
+        /**
+         * The directory that the run files are written to, which defaults to the temporary-file directory.
+         */
+        public Builder spillDirectory(final File spillDirectory) {
+            this.spillDirectory = spillDirectory;
+            return this;
+        }
+
+        public ExternalSortStrategy create() {
+            return new ExternalSortStrategy(this.maxInMemory, this.spillDirectory);
+        }
+    }
+}
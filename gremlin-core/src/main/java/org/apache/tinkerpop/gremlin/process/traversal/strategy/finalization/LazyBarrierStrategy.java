@@ -23,22 +23,25 @@ import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.AdaptiveBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.CollectingBarrierStep;
-import org.apache.tinkerpop.gremlin.process.traversal.step.map.LambdaCollectingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ReducingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.SupplyingBarrierStep;
 import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
-import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.function.Consumer;
 
 /**
+ * Inserts an {@link AdaptiveBarrierStep} after the steps of a traversal where traversers are likely to converge on the
+ * same objects.  The barriers size themselves between {@link #MIN_BARRIER_SIZE} and {@link #MAX_BARRIER_SIZE} from
+ * the bulking they observe, so a barrier that does not bulk stays small or lets traversers pass through it.  Traversers
+ * with paths only merge when their paths are equal, so they are bulked only as far as that happens.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class LazyBarrierStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
@@ -49,7 +52,8 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
 
     private static final int REQUIRED_DEPTH = 2;
     private static final int BIG_START_SIZE = 5;
-    protected static final int MAX_BARRIER_SIZE = 10000;
+    protected static final int MIN_BARRIER_SIZE = 128;
+    protected static final int MAX_BARRIER_SIZE = 100000;
 
     static {
         POSTS.add(ProfileStrategy.class);
@@ -64,9 +68,6 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
         if (traversal.getEngine().isComputer())
             return;
 
-        if (traversal.getTraverserRequirements().contains(TraverserRequirement.PATH))
-            return;
-
         int depth = 0;
         for (final Step<?, ?> step : traversal.getSteps()) {
             if (step instanceof VertexStep)
@@ -83,10 +84,11 @@ public final class LazyBarrierStrategy extends AbstractTraversalStrategy<Travers
                 else if ('v' == foundVertexStep || bigStart) {
                     if (!(step instanceof FilterStep) &&
                             !(step instanceof CollectingBarrierStep) &&
+                            !(step instanceof AdaptiveBarrierStep) &&
                             !(step instanceof SupplyingBarrierStep) &&
                             !(step instanceof ReducingBarrierStep) &&
                             !(step instanceof VertexStep && ((VertexStep) step).returnsEdge())) {
-                        TraversalHelper.insertAfterStep(new LambdaCollectingBarrierStep<>(traversal, (Consumer) LambdaCollectingBarrierStep.Consumers.noOp, MAX_BARRIER_SIZE), step, traversal);
+                        TraversalHelper.insertAfterStep(new AdaptiveBarrierStep<>(traversal, MIN_BARRIER_SIZE, MAX_BARRIER_SIZE), step, traversal);
                     }
                 }
 
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.engine.BatchTraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Barrier;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Mutating;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Ranging;
+import org.apache.tinkerpop.gremlin.process.traversal.step.SideEffectCapable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Executes the steps between the {@link GraphStep} at the start of a traversal and its first {@link Barrier} on
+ * multiple threads by moving them into a {@link ParallelStep}.  The steps must be maps and filters that do not depend
+ * on any traverser but the one they process, so a traversal with side-effects, mutations, lambdas or global ranges
+ * before its first barrier executes as it would without this strategy.  The barrier itself and the steps that follow
+ * it execute on the calling thread and so see the same traversers that they would have without this strategy, albeit in
+ * the order in which the partitions produce them.  The partitions stream their ends to the barrier so at most
+ * {@code bufferSize} traversers per partition are held ahead of the barrier.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource#withParallel(int)
+ */
+public final class ParallelStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>();
+    private static final Set<Class<? extends FinalizationStrategy>> POSTS = new HashSet<>();
+
+    static {
+        PRIORS.add(LazyBarrierStrategy.class);
+        PRIORS.add(BatchTraversalEngine.BatchStrategy.class);
+        POSTS.add(ProfileStrategy.class);
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private final int parallelism;
+    private final int bufferSize;
+
+    private ParallelStrategy(final int parallelism, final int bufferSize) {
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep) || traversal.getEngine().isComputer() || this.parallelism < 2)
+            return;
+
+        if (!(traversal.getStartStep() instanceof GraphStep) ||
+                TraversalHelper.anyStepRecursively(step -> step instanceof SideEffectCapable || step instanceof Mutating, traversal))
+            return;
+
+        final Step<?, ?> firstStep = traversal.getStartStep().getNextStep();
+        Step<?, ?> barrier = firstStep;
+        while (isParallelizable(barrier)) {
+            barrier = barrier.getNextStep();
+        }
+        if (barrier == firstStep || !(barrier instanceof Barrier))
+            return;
+
+        final Traversal.Admin<?, ?> parallelTraversal = new DefaultTraversal<>();
+        TraversalHelper.removeToTraversal((Step) firstStep, barrier, (Traversal.Admin) parallelTraversal);
+        TraversalHelper.insertBeforeStep((Step) new ParallelStep<>(traversal, parallelTraversal, this.parallelism, this.bufferSize), (Step) barrier, traversal);
+    }
+
+    private static boolean isParallelizable(final Step<?, ?> step) {
+        if (!(step instanceof MapStep || step instanceof FlatMapStep || step instanceof FilterStep || step instanceof BatchStep))
+            return false;
+        if (step instanceof Barrier || step instanceof Ranging || step instanceof LambdaHolder)
+            return false;
+        if (step instanceof TraversalParent) {
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                if (TraversalHelper.anyStepRecursively(s -> s instanceof LambdaHolder, child))
+                    return false;
+            }
+            for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                if (TraversalHelper.anyStepRecursively(s -> s instanceof LambdaHolder || s instanceof Barrier || s instanceof Ranging, child))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static Builder build() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.traversalStrategyString(this);
+    }
+
+    public final static class Builder {
+
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * The number of partitions that the starts of the traversal are split into.
+         */
+        public Builder parallelism(final int parallelism) {
+            if (parallelism < 1)
+                throw new IllegalArgumentException("The parallelism must be greater than zero: " + parallelism);
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * The number of traversers that each partition may hold ahead of the barrier before it waits for them to be
+         * taken.
+         */
+        public Builder bufferSize(final int bufferSize) {
+            if (bufferSize < 1)
+                throw new IllegalArgumentException("The buffer size must be greater than zero: " + bufferSize);
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public ParallelStrategy create() {
+            return new ParallelStrategy(this.parallelism, this.bufferSize);
+        }
+    }
+}
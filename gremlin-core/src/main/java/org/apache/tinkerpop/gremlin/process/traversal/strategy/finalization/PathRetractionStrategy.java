@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Scoping;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.PathRetractionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * {@code PathRetractionStrategy} computes the last step of a traversal that refers to each path label, either as a
+ * {@link Scoping} key, a step label or a label within a child traversal of the step, and inserts a
+ * {@link PathRetractionStep} after it that drops the label from the path of the traversers.  Traversers that only
+ * differ in dropped labels can then be bulked and carry less history.  Only the root traversal is altered, as the
+ * steps of a child traversal may be repeated or may hand their traversers back to the parent.  Traversals that
+ * require the full path or that have lambda steps, which may access any label of the path, are left as they are.
+ *
+ * @example <pre>
+ * __.as("a").out().as("b").where("a", P.neq("b")).out().dedup()     // is replaced by __.as("a").out().as("b").where("a", P.neq("b")).retract(a,b).out().dedup()
+ * __.as("a").out().as("b").select("a").out().select("b")           // is replaced by __.as("a").out().as("b").select("a").retract(a).out().select("b")
+ * </pre>
+ */
+public final class PathRetractionStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final PathRetractionStrategy INSTANCE = new PathRetractionStrategy();
+    private static final Set<Class<? extends FinalizationStrategy>> PRIORS = new HashSet<>();
+    private static final Set<Class<? extends FinalizationStrategy>> POSTS = new HashSet<>();
+
+    static {
+        POSTS.add(LazyBarrierStrategy.class);
+        POSTS.add(ProfileStrategy.class);
+    }
+
+    private PathRetractionStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!(traversal.getParent() instanceof EmptyStep))
+            return;
+
+        final Set<TraverserRequirement> requirements = traversal.getTraverserRequirements();
+        if (!requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                requirements.contains(TraverserRequirement.PATH) ||
+                hasLambda(traversal))
+            return;
+
+        final Set<String> pathLabels = TraversalHelper.getLabels(traversal);
+        final List<Step> steps = new ArrayList<>(traversal.getSteps());
+        final Map<String, Integer> lastUses = new HashMap<>();
+        for (int i = 0; i < steps.size(); i++) {
+            for (final String label : getReferencedLabels(steps.get(i))) {
+                if (pathLabels.contains(label))
+                    lastUses.put(label, i);
+            }
+        }
+
+        // insert from the end of the traversal so that the indices of the remaining steps stay valid
+        final TreeMap<Integer, Set<String>> retractions = new TreeMap<>();
+        lastUses.forEach((label, index) -> {
+            if (index < steps.size() - 1)
+                retractions.computeIfAbsent(index, i -> new TreeSet<>()).add(label);
+        });
+        retractions.descendingMap().forEach((index, labels) ->
+                TraversalHelper.insertAfterStep(new PathRetractionStep<>(traversal, labels), steps.get(index), traversal));
+    }
+
+    private static Set<String> getReferencedLabels(final Step<?, ?> step) {
+        final Set<String> labels = new HashSet<>(step.getLabels());
+        if (step instanceof Scoping)
+            labels.addAll(((Scoping) step).getScopeKeys());
+        if (step instanceof MatchStep.MatchEndStep)
+            ((MatchStep.MatchEndStep) step).getMatchKey().ifPresent(labels::add);
+        if (step instanceof TraversalParent) {
+            final List<Traversal.Admin<?, ?>> children = new ArrayList<>(((TraversalParent) step).getLocalChildren());
+            children.addAll(((TraversalParent) step).getGlobalChildren());
+            for (final Traversal.Admin<?, ?> child : children) {
+                for (final Step<?, ?> childStep : child.getSteps()) {
+                    labels.addAll(getReferencedLabels(childStep));
+                }
+            }
+        }
+        return labels;
+    }
+
+    private static boolean hasLambda(final Traversal.Admin<?, ?> traversal) {
+        if (traversal instanceof LambdaHolder)
+            return true;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof LambdaHolder)
+                return true;
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    if (hasLambda(child))
+                        return true;
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    if (hasLambda(child))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    @Override
+    public Set<Class<? extends FinalizationStrategy>> applyPost() {
+        return POSTS;
+    }
+
+    public static PathRetractionStrategy instance() {
+        return INSTANCE;
+    }
+}
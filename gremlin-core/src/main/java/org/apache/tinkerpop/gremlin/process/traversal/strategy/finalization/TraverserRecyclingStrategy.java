@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+import java.util.Set;
+
+/**
+ * {@code TraverserRecyclingStrategy} lets the {@link MapStep} instances of a traversal set their mapped object on the
+ * incoming traverser rather than split it into a new one.  A map step consumes each traverser it is handed and barriers
+ * take ownership of the traversers they hold, so reusing the traverser is safe as long as the traverser carries no
+ * path or sack that a split would extend.  The strategy therefore only applies to standard traversals whose root
+ * traversal does not require {@link TraverserRequirement#PATH}, {@link TraverserRequirement#LABELED_PATH} or
+ * {@link TraverserRequirement#SACK}, and which have no lambda steps that could retain a reference to a traverser.
+ *
+ * @example <pre>
+ * __.out().label().count()              // label() sets the vertex label on the traverser it was handed
+ * __.out().as("a").label().select("a")   // is not altered as the traverser requires a labeled path
+ * </pre>
+ */
+public final class TraverserRecyclingStrategy extends AbstractTraversalStrategy<TraversalStrategy.FinalizationStrategy> implements TraversalStrategy.FinalizationStrategy {
+
+    private static final TraverserRecyclingStrategy INSTANCE = new TraverserRecyclingStrategy();
+
+    private TraverserRecyclingStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer())
+            return;
+
+        final Traversal.Admin<?, ?> root = TraversalHelper.getRootTraversal(traversal);
+        final Set<TraverserRequirement> requirements = root.getTraverserRequirements();
+        if (requirements.contains(TraverserRequirement.PATH) ||
+                requirements.contains(TraverserRequirement.LABELED_PATH) ||
+                requirements.contains(TraverserRequirement.SACK) ||
+                hasLambdaStep(root))
+            return;
+
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof MapStep)
+                ((MapStep<?, ?>) step).setRecycleTraversers(true);
+            else if (step instanceof BatchStep) {
+                for (final Batchable<?, ?> batchStep : ((BatchStep<?, ?>) step).getBatchSteps()) {
+                    if (batchStep instanceof MapStep)
+                        ((MapStep<?, ?>) batchStep).setRecycleTraversers(true);
+                }
+            }
+        }
+    }
+
+    private static boolean hasLambdaStep(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof LambdaHolder)
+                return true;
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getGlobalChildren()) {
+                    if (hasLambdaStep(child))
+                        return true;
+                }
+                for (final Traversal.Admin<?, ?> child : ((TraversalParent) step).getLocalChildren()) {
+                    if (hasLambdaStep(child))
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public static TraverserRecyclingStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.FilterStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeOtherVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.EdgeVertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * CostBasedStrategy uses the {@link Graph.Statistics} of the graph that the traversal is over to order the work of
+ * the traversal so that the most selective work is done first.  The {@link HasContainer}s of a {@link HasStep} and
+ * runs of adjacent unlabeled {@link HasStep}s are ordered by increasing selectivity and each {@link MatchStep} has its
+ * {@link MatchStep.MatchAlgorithm} seeded with the estimated number of results per start of each of its patterns.  The
+ * strategy does nothing for a graph that does not provide statistics.
+ *
+ * @example <pre>
+ * g.V().has("age", gt(20)).has("name", "marko")   // is replaced by g.V().has("name", "marko").has("age", gt(20))
+ * g.V().has("age", gt(20), "name", "marko")       // is replaced by g.V().has("name", "marko", "age", gt(20))
+ * </pre>
+ */
+public final class CostBasedStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final CostBasedStrategy INSTANCE = new CostBasedStrategy();
+    private static final Set<Class<? extends OptimizationStrategy>> PRIORS = new HashSet<>();
+
+    private static final double UNKNOWN_FILTER_SELECTIVITY = 0.5d;
+
+    static {
+        PRIORS.add(IdentityRemovalStrategy.class);
+        PRIORS.add(FilterRankingStrategy.class);
+        PRIORS.add(MatchPredicateStrategy.class);
+    }
+
+    private CostBasedStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        final Optional<Graph.Statistics> statistics = traversal.getGraph().flatMap(Graph::statistics);
+        if (!statistics.isPresent())
+            return;
+
+        for (final HasStep<?> hasStep : TraversalHelper.getStepsOfClass(HasStep.class, traversal)) {
+            final Class<? extends Element> elementClass = CostBasedStrategy.getElementClass(hasStep.getPreviousStep());
+            if (null != elementClass && hasStep.getHasContainers().size() > 1)
+                CostBasedStrategy.orderHasContainers(hasStep, elementClass, statistics.get(), traversal);
+        }
+        CostBasedStrategy.orderHasSteps(traversal, statistics.get());
+
+        for (final MatchStep<?, ?> matchStep : TraversalHelper.getStepsOfClass(MatchStep.class, traversal)) {
+            final List<Double> estimates = new ArrayList<>();
+            for (final Traversal.Admin<?, ?> matchTraversal : matchStep.getGlobalChildren()) {
+                estimates.add(CostBasedStrategy.estimateMultiplicity(matchTraversal, statistics.get()));
+            }
+            matchStep.setEstimatedMultiplicities(estimates);
+        }
+    }
+
+    private static void orderHasContainers(final HasStep<?> hasStep, final Class<? extends Element> elementClass,
+                                           final Graph.Statistics statistics, final Traversal.Admin<?, ?> traversal) {
+        final List<HasContainer> hasContainers = new ArrayList<>(hasStep.getHasContainers());
+        hasContainers.sort(Comparator.comparingDouble(hasContainer -> statistics.selectivity(elementClass, hasContainer.getKey(), hasContainer.getPredicate())));
+        if (hasContainers.equals(hasStep.getHasContainers()))
+            return;
+        final HasStep<?> orderedHasStep = new HasStep<>(traversal, hasContainers.toArray(new HasContainer[hasContainers.size()]));
+        hasStep.getLabels().forEach(orderedHasStep::addLabel);
+        TraversalHelper.replaceStep((Step) hasStep, orderedHasStep, traversal);
+    }
+
+    /**
+     * Sorts each run of adjacent unlabeled {@link HasStep}s by selectivity.  The steps of a run all filter the same
+     * elements so the order in which they are applied does not change the result.
+     */
+    private static void orderHasSteps(final Traversal.Admin<?, ?> traversal, final Graph.Statistics statistics) {
+        final List<Step> steps = traversal.getSteps();
+        int i = 0;
+        while (i < steps.size()) {
+            final Class<? extends Element> elementClass = steps.get(i) instanceof HasStep ? CostBasedStrategy.getElementClass(steps.get(i).getPreviousStep()) : null;
+            int j = i;
+            while (j < steps.size() && steps.get(j) instanceof HasStep && steps.get(j).getLabels().isEmpty()) {
+                j++;
+            }
+            if (null == elementClass || j - i < 2) {
+                i = Math.max(j, i + 1);
+                continue;
+            }
+            final List<HasStep<?>> run = new ArrayList<>();
+            for (int k = i; k < j; k++) {
+                run.add((HasStep<?>) steps.get(k));
+            }
+            final List<HasStep<?>> ordered = new ArrayList<>(run);
+            ordered.sort(Comparator.comparingDouble(hasStep -> CostBasedStrategy.selectivity(hasStep, elementClass, statistics)));
+            if (!ordered.equals(run)) {
+                for (final HasStep<?> hasStep : run) {
+                    traversal.removeStep(hasStep);
+                }
+                for (int k = 0; k < ordered.size(); k++) {
+                    traversal.addStep(i + k, ordered.get(k));
+                }
+            }
+            i = j;
+        }
+    }
+
+    /**
+     * Estimates the number of traversers that the traversal emits for each traverser that it is given.  Match
+     * patterns start from bound objects of unknown class which are taken to be vertices.
+     */
+    private static double estimateMultiplicity(final Traversal.Admin<?, ?> traversal, final Graph.Statistics statistics) {
+        double multiplicity = 1.0d;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof VertexStep) {
+                final VertexStep<?> vertexStep = (VertexStep<?>) step;
+                multiplicity = multiplicity * statistics.averageDegree(vertexStep.getDirection(), vertexStep.getEdgeLabels());
+            } else if (step instanceof HasStep) {
+                final Class<? extends Element> elementClass = CostBasedStrategy.getElementClass(step.getPreviousStep());
+                multiplicity = multiplicity * CostBasedStrategy.selectivity((HasStep<?>) step, null == elementClass ? Vertex.class : elementClass, statistics);
+            } else if (step instanceof FilterStep) {
+                multiplicity = multiplicity * UNKNOWN_FILTER_SELECTIVITY;
+            }
+        }
+        return multiplicity;
+    }
+
+    private static double selectivity(final HasStep<?> hasStep, final Class<? extends Element> elementClass, final Graph.Statistics statistics) {
+        double selectivity = 1.0d;
+        for (final HasContainer hasContainer : hasStep.getHasContainers()) {
+            selectivity = selectivity * statistics.selectivity(elementClass, hasContainer.getKey(), hasContainer.getPredicate());
+        }
+        return selectivity;
+    }
+
+    /**
+     * Gets the class of the elements that the step emits, looking through filters, or {@code null} if it is not known.
+     */
+    private static Class<? extends Element> getElementClass(Step<?, ?> step) {
+        while (step instanceof FilterStep) {
+            step = step.getPreviousStep();
+        }
+        if (step instanceof GraphStep)
+            return ((GraphStep<?, ?>) step).getReturnClass();
+        else if (step instanceof VertexStep)
+            return ((VertexStep<?>) step).getReturnClass();
+        else if (step instanceof EdgeVertexStep || step instanceof EdgeOtherVertexStep)
+            return Vertex.class;
+        else
+            return null;
+    }
+
+    @Override
+    public Set<Class<? extends OptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static CostBasedStrategy instance() {
+        return INSTANCE;
+    }
+}
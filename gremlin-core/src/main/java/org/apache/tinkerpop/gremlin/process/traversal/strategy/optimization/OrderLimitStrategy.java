@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+
+/**
+ * This strategy finds any {@link OrderGlobalStep} that is followed by a {@link RangeGlobalStep} and tells it the
+ * high range of the {@link RangeGlobalStep}.  The {@link OrderGlobalStep} then keeps only that many traversers in a
+ * bounded heap rather than collecting and sorting all of them.  The {@link RangeGlobalStep} remains in place, as the
+ * last of the kept traversers may carry more bulk than the range needs.
+ *
+ * @example <pre>
+ * __.order().by("age").limit(10)       // the order() keeps the 10 youngest traversers
+ * __.order().by("age").range(10, 20)   // the order() keeps the 20 youngest traversers
+ * </pre>
+ */
+public final class OrderLimitStrategy extends AbstractTraversalStrategy<TraversalStrategy.OptimizationStrategy> implements TraversalStrategy.OptimizationStrategy {
+
+    private static final OrderLimitStrategy INSTANCE = new OrderLimitStrategy();
+
+    private OrderLimitStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer())
+            return;
+
+        for (final OrderGlobalStep<?> orderStep : TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal)) {
+            final Step<?, ?> nextStep = orderStep.getNextStep();
+            if (nextStep instanceof RangeGlobalStep && ((RangeGlobalStep) nextStep).getHighRange() >= 0)
+                orderStep.setLimit(((RangeGlobalStep) nextStep).getHighRange());
+        }
+    }
+
+    public static OrderLimitStrategy instance() {
+        return INSTANCE;
+    }
+}
@@ -18,9 +18,11 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.IndexedPath;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -40,12 +42,22 @@ public final class B_LP_O_P_S_SE_SL_TraverserGenerator implements TraverserGener
             TraverserRequirement.SIDE_EFFECTS,
             TraverserRequirement.SINGLE_LOOP);
 
+    private final transient Path head;
+
     private B_LP_O_P_S_SE_SL_TraverserGenerator() {
+        this.head = IndexedPath.make();
+    }
+
+    /**
+     * Creates a generator whose traversers index the provided labels in their paths.
+     */
+    public B_LP_O_P_S_SE_SL_TraverserGenerator(final Set<String> labels) {
+        this.head = IndexedPath.make(labels);
     }
 
     @Override
     public <S> Traverser.Admin<S> generate(final S start, final Step<S, ?> startStep, final long initialBulk) {
-        return new B_LP_O_P_S_SE_SL_Traverser<>(start, startStep, initialBulk);
+        return new B_LP_O_P_S_SE_SL_Traverser<>(start, startStep, initialBulk, this.head);
     }
 
     @Override
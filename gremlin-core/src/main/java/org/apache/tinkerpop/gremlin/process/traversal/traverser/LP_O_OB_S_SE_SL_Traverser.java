@@ -23,7 +23,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
-import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.IndexedPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferenceFactory;
 
 import java.util.Set;
@@ -36,8 +36,12 @@ public class LP_O_OB_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
     protected Path path;
 
     public LP_O_OB_S_SE_SL_Traverser(final T t, final Step<T, ?> step) {
+        this(t, step, IndexedPath.make());
+    }
+
+    public LP_O_OB_S_SE_SL_Traverser(final T t, final Step<T, ?> step, final Path head) {
         super(t, step);
-        this.path = ImmutablePath.make();
+        this.path = head;
         if (!step.getLabels().isEmpty()) this.path = this.path.extend(t, step.getLabels());
     }
 
@@ -82,6 +86,12 @@ public class LP_O_OB_S_SE_SL_Traverser<T> extends O_OB_S_SE_SL_Traverser<T> {
                     this.path.extend(labels);
     }
 
+    @Override
+    public void dropLabels(final Set<String> labels) {
+        if (!labels.isEmpty())
+            this.path = this.path.retract(labels);
+    }
+
     @Override
     public int hashCode() {
         return super.hashCode() + this.path.hashCode();
@@ -19,9 +19,11 @@
 
 package org.apache.tinkerpop.gremlin.process.traversal.traverser;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Step;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.IndexedPath;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -42,12 +44,22 @@ public final class LP_O_OB_S_SE_SL_TraverserGenerator implements TraverserGenera
 
     private static final LP_O_OB_S_SE_SL_TraverserGenerator INSTANCE = new LP_O_OB_S_SE_SL_TraverserGenerator();
 
+    private final transient Path head;
+
     private LP_O_OB_S_SE_SL_TraverserGenerator() {
+        this.head = IndexedPath.make();
+    }
+
+    /**
+     * Creates a generator whose traversers index the provided labels in their paths.
+     */
+    public LP_O_OB_S_SE_SL_TraverserGenerator(final Set<String> labels) {
+        this.head = IndexedPath.make(labels);
     }
 
     @Override
     public <S> Traverser.Admin<S> generate(final S start, final Step<S, ?> startStep, final long initialBulk) {
-        return new LP_O_OB_S_SE_SL_Traverser<>(start, startStep);
+        return new LP_O_OB_S_SE_SL_Traverser<>(start, startStep, this.head);
     }
 
     @Override
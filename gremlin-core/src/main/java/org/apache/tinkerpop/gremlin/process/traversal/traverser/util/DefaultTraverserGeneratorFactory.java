@@ -27,9 +27,11 @@ import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_TraverserGen
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.LP_O_OB_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.O_OB_S_SE_SL_TraverserGenerator;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.O_OB_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.O_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserGeneratorFactory;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.TraverserRequirement;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 
 import java.util.Set;
 
@@ -52,14 +54,18 @@ public class DefaultTraverserGeneratorFactory implements TraverserGeneratorFacto
         final Set<TraverserRequirement> requirements = traversal.getTraverserRequirements();
 
         if (requirements.contains(TraverserRequirement.ONE_BULK)) {
+            // a graph computer moves traversers between vertices by their step id, which only the larger traversers hold
+            if (!traversal.getEngine().isComputer() && O_OB_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
+                return O_OB_TraverserGenerator.instance();
+
             if (O_OB_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
                 return O_OB_S_SE_SL_TraverserGenerator.instance();
 
             if (LP_O_OB_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
-                return LP_O_OB_S_SE_SL_TraverserGenerator.instance();
+                return new LP_O_OB_S_SE_SL_TraverserGenerator(labels(traversal));
 
             if (LP_O_OB_P_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
-                return LP_O_OB_P_S_SE_SL_TraverserGenerator.instance();
+                return new LP_O_OB_P_S_SE_SL_TraverserGenerator(labels(traversal));
         } else {
             if (O_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
                 return O_TraverserGenerator.instance();
@@ -71,12 +77,19 @@ public class DefaultTraverserGeneratorFactory implements TraverserGeneratorFacto
                 return B_O_S_SE_SL_TraverserGenerator.instance();
 
             if (B_LP_O_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
-                return B_LP_O_S_SE_SL_TraverserGenerator.instance();
+                return new B_LP_O_S_SE_SL_TraverserGenerator(labels(traversal));
 
             if (B_LP_O_P_S_SE_SL_TraverserGenerator.instance().getProvidedRequirements().containsAll(requirements))
-                return B_LP_O_P_S_SE_SL_TraverserGenerator.instance();
+                return new B_LP_O_P_S_SE_SL_TraverserGenerator(labels(traversal));
         }
 
         throw new IllegalStateException("The provided traverser generator factory does not support the requirements of the traversal: " + this.getClass().getCanonicalName() + requirements);
     }
+
+    /**
+     * The labels of the root traversal, which the paths of the traversers of all its children index.
+     */
+    private static Set<String> labels(final Traversal.Admin<?, ?> traversal) {
+        return TraversalHelper.getLabels(TraversalHelper.getRootTraversal(traversal));
+    }
 }
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementIdDuplicateSet;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Deduplicates traversers by a key while holding at most a fixed number of keys in memory.  The first keys are held
+ * in an {@link ElementIdDuplicateSet} and the traversers with a new one of them are let through right away.  Once the
+ * set is full, a traverser whose key is not in it is written, detached and Gryo-serialized, to one of a number of
+ * partition files chosen by the hash of its key, so that all the traversers with equal keys end up in the same
+ * partition.  {@link #spilled()} then reads the partitions back one at a time, re-attaching their traversers, and
+ * deduplicates each of them in memory.  The spilled traversers thus come after all the others and each partition
+ * needs no more memory than the keys of its own traversers.
+ */
+public final class ExternalTraverserDeduplicator<S> implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final int maxInMemory;
+    private final File directory;
+    private final Function<Traverser.Admin<S>, Object> keyFunction;
+    private final Supplier<Kryo> kryoSupplier;
+    private final Consumer<Traverser.Admin<S>> attacher;
+    private final ElementIdDuplicateSet inMemory = new ElementIdDuplicateSet();
+    private final Partition[] partitions;
+    private int inMemorySize = 0;
+    private Kryo kryo = null;
+
+    /**
+     * @param maxInMemory  the number of keys to hold in memory before traversers are spilled
+     * @param partitions   the number of partition files the spilled traversers are spread over
+     * @param directory    the directory of the partition files or {@code null} for the default temporary-file directory
+     * @param keyFunction  computes the key of a traverser
+     * @param kryoSupplier supplies the {@code Kryo} that the partitions are written and read with
+     * @param attacher     is handed every traverser read from a partition before its key is computed
+     */
+    public ExternalTraverserDeduplicator(final int maxInMemory, final int partitions, final File directory,
+                                         final Function<Traverser.Admin<S>, Object> keyFunction,
+                                         final Supplier<Kryo> kryoSupplier, final Consumer<Traverser.Admin<S>> attacher) {
+        if (maxInMemory < 1)
+            throw new IllegalArgumentException("The maximum number of keys in memory must be greater than zero: " + maxInMemory);
+        if (partitions < 1)
+            throw new IllegalArgumentException("The number of partitions must be greater than zero: " + partitions);
+        this.maxInMemory = maxInMemory;
+        this.directory = directory;
+        this.keyFunction = keyFunction;
+        this.kryoSupplier = kryoSupplier;
+        this.attacher = attacher;
+        this.partitions = new Partition[partitions];
+    }
+
+    /**
+     * Adds the traverser, returning {@code true} if its key has not been seen before and it can be let through right
+     * away.  A traverser for which {@code false} is returned is either a duplicate or has been spilled.
+     */
+    public boolean add(final Traverser.Admin<S> traverser) {
+        final Object key = this.keyFunction.apply(traverser);
+        if (this.inMemorySize < this.maxInMemory) {
+            if (!this.inMemory.add(key))
+                return false;
+            this.inMemorySize++;
+            return true;
+        }
+        if (!this.inMemory.contains(key))
+            this.spill(traverser, key);
+        return false;
+    }
+
+    /**
+     * Determines whether any traverser has been spilled.
+     */
+    public boolean hasSpilled() {
+        for (final Partition partition : this.partitions) {
+            if (null != partition)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the first spilled traverser of each key, reading the partitions lazily.  No traverser should be added once
+     * the spilled traversers are read.
+     */
+    public Iterator<Traverser.Admin<S>> spilled() {
+        if (!this.hasSpilled())
+            return Collections.emptyIterator();
+        for (final Partition partition : this.partitions) {
+            if (null != partition)
+                partition.closeOutput();
+        }
+        return new Iterator<Traverser.Admin<S>>() {
+            private int index = -1;
+            private Partition partition = null;
+            private ElementIdDuplicateSet seen = null;
+            private Traverser.Admin<S> next = null;
+
+            @Override
+            public boolean hasNext() {
+                this.advance();
+                return null != this.next;
+            }
+
+            @Override
+            public Traverser.Admin<S> next() {
+                this.advance();
+                if (null == this.next)
+                    throw FastNoSuchElementException.instance();
+                final Traverser.Admin<S> traverser = this.next;
+                this.next = null;
+                return traverser;
+            }
+
+            private void advance() {
+                while (null == this.next) {
+                    if (null == this.partition || !this.partition.hasNext()) {
+                        if (null != this.partition)
+                            this.partition.close();
+                        this.partition = null;
+                        this.seen = null;
+                        while (null == this.partition && ++this.index < partitions.length) {
+                            this.partition = partitions[this.index];
+                        }
+                        if (null == this.partition)
+                            return;
+                        this.partition.openInput();
+                        this.seen = new ElementIdDuplicateSet();
+                    } else {
+                        final Traverser.Admin<S> traverser = this.partition.read();
+                        attacher.accept(traverser);
+                        if (this.seen.add(keyFunction.apply(traverser)))
+                            this.next = traverser;
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Closes and deletes the partitions and clears the keys held in memory.
+     */
+    @Override
+    public void close() {
+        for (int i = 0; i < this.partitions.length; i++) {
+            if (null != this.partitions[i]) {
+                this.partitions[i].close();
+                this.partitions[i] = null;
+            }
+        }
+        this.inMemory.clear();
+        this.inMemorySize = 0;
+    }
+
+    private void spill(final Traverser.Admin<S> traverser, final Object key) {
+        final int index = (int) ((key == null ? 0 : key.hashCode() & Integer.MAX_VALUE) % this.partitions.length);
+        if (null == this.partitions[index])
+            this.partitions[index] = new Partition();
+        this.partitions[index].write(traverser);
+    }
+
+    private final class Partition {
+        private final File file;
+        private Output output;
+        private Input input = null;
+        private long size = 0l;
+
+        private Partition() {
+            try {
+                this.file = File.createTempFile("gremlin-dedup-", ".gryo", directory);
+                this.output = new Output(new FileOutputStream(this.file), BUFFER_SIZE);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        private void write(final Traverser.Admin<S> traverser) {
+            if (null == kryo)
+                kryo = kryoSupplier.get();
+            kryo.writeClassAndObject(this.output, traverser.detach());
+            this.size++;
+        }
+
+        private void closeOutput() {
+            if (null != this.output) {
+                this.output.close();
+                this.output = null;
+            }
+        }
+
+        private void openInput() {
+            try {
+                this.input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+        }
+
+        private boolean hasNext() {
+            return this.size > 0l;
+        }
+
+        private Traverser.Admin<S> read() {
+            this.size--;
+            return (Traverser.Admin<S>) kryo.readClassAndObject(this.input);
+        }
+
+        private void close() {
+            this.closeOutput();
+            if (null != this.input) {
+                this.input.close();
+                this.input = null;
+            }
+            this.file.delete();
+        }
+    }
+}
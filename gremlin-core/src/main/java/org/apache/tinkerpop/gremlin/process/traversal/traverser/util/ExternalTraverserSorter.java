@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.FastNoSuchElementException;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sorts traversers while holding at most a fixed number of them in memory.  Traversers are bulked in a
+ * {@link TraverserSet} until it holds the maximum, at which point they are sorted and written, detached and
+ * Gryo-serialized, to a temporary file as a sorted run.  {@link #iterator()} merges the runs and the traversers still
+ * in memory lazily, reading one traverser of each run at a time, and hands every traverser read back to the attacher
+ * so that its elements can be re-attached.  Runs are merged in the order they were written, so traversers that
+ * compare as equal come out in the order they were added.
+ */
+public final class ExternalTraverserSorter<S> implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Comparator<Traverser<S>> comparator;
+    private final int maxInMemory;
+    private final File directory;
+    private final Supplier<Kryo> kryoSupplier;
+    private final Consumer<Traverser.Admin<S>> attacher;
+    private final TraverserSet<S> buffer = new TraverserSet<>();
+    private final List<Run> runs = new ArrayList<>();
+    private Kryo kryo = null;
+
+    /**
+     * @param comparator   the order of the traversers
+     * @param maxInMemory  the number of distinct traversers to hold before a run is written
+     * @param directory    the directory of the run files or {@code null} for the default temporary-file directory
+     * @param kryoSupplier supplies the {@code Kryo} that the runs are written and read with
+     * @param attacher     is handed every traverser read from a run
+     */
+    public ExternalTraverserSorter(final Comparator<Traverser<S>> comparator, final int maxInMemory, final File directory,
+                                   final Supplier<Kryo> kryoSupplier, final Consumer<Traverser.Admin<S>> attacher) {
+        if (maxInMemory < 1)
+            throw new IllegalArgumentException("The maximum number of traversers in memory must be greater than zero: " + maxInMemory);
+        this.comparator = comparator;
+        this.maxInMemory = maxInMemory;
+        this.directory = directory;
+        this.kryoSupplier = kryoSupplier;
+        this.attacher = attacher;
+    }
+
+    public void add(final Traverser.Admin<S> traverser) {
+        this.buffer.add(traverser);
+        if (this.buffer.size() >= this.maxInMemory)
+            this.spill();
+    }
+
+    /**
+     * Gets the number of runs that have been written to disk.
+     */
+    public int getRunCount() {
+        return this.runs.size();
+    }
+
+    /**
+     * Gets the traversers added so far in sort order.  The sorter should not be added to while the iterator is in use.
+     */
+    public Iterator<Traverser.Admin<S>> iterator() {
+        final List<Traverser.Admin<S>> inMemory = this.sortBuffer();
+        if (this.runs.isEmpty())
+            return inMemory.iterator();
+        final List<Iterator<Traverser.Admin<S>>> sources = new ArrayList<>(this.runs.size() + 1);
+        for (final Run run : this.runs) {
+            sources.add(run.open());
+        }
+        sources.add(inMemory.iterator());
+        return new MergeIterator<>(sources, this.comparator);
+    }
+
+    /**
+     * Closes and deletes the runs written so far and clears the traversers held in memory.
+     */
+    @Override
+    public void close() {
+        for (final Run run : this.runs) {
+            run.close();
+        }
+        this.runs.clear();
+        this.buffer.clear();
+    }
+
+    private List<Traverser.Admin<S>> sortBuffer() {
+        final List<Traverser.Admin<S>> traversers = new ArrayList<>(this.buffer);
+        this.buffer.clear();
+        Collections.sort(traversers, this.comparator);
+        return traversers;
+    }
+
+    private void spill() {
+        final List<Traverser.Admin<S>> traversers = this.sortBuffer();
+        if (null == this.kryo)
+            this.kryo = this.kryoSupplier.get();
+        try {
+            final Run run = new Run(File.createTempFile("gremlin-order-", ".gryo", this.directory), traversers.size());
+            this.runs.add(run);
+            try (final Output output = new Output(new FileOutputStream(run.file), BUFFER_SIZE)) {
+                for (final Traverser.Admin<S> traverser : traversers) {
+                    this.kryo.writeClassAndObject(output, traverser.detach());
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private final class Run {
+        private final File file;
+        private final int size;
+        private Input input = null;
+
+        private Run(final File file, final int size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        private Iterator<Traverser.Admin<S>> open() {
+            try {
+                this.input = new Input(new FileInputStream(this.file), BUFFER_SIZE);
+            } catch (final IOException e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+            return new Iterator<Traverser.Admin<S>>() {
+                private int remaining = size;
+
+                @Override
+                public boolean hasNext() {
+                    return this.remaining > 0;
+                }
+
+                @Override
+                public Traverser.Admin<S> next() {
+                    if (this.remaining <= 0)
+                        throw FastNoSuchElementException.instance();
+                    final Traverser.Admin<S> traverser = (Traverser.Admin<S>) kryo.readClassAndObject(input);
+                    if (0 == --this.remaining)
+                        Run.this.close();
+                    attacher.accept(traverser);
+                    return traverser;
+                }
+            };
+        }
+
+        private void close() {
+            if (null != this.input) {
+                this.input.close();
+                this.input = null;
+            }
+            this.file.delete();
+        }
+    }
+
+    private static final class MergeIterator<S> implements Iterator<Traverser.Admin<S>> {
+
+        private final List<Iterator<Traverser.Admin<S>>> sources;
+        private final PriorityQueue<Head<S>> heads;
+
+        private MergeIterator(final List<Iterator<Traverser.Admin<S>>> sources, final Comparator<Traverser<S>> comparator) {
+            this.sources = sources;
+            this.heads = new PriorityQueue<>(sources.size(), (a, b) -> {
+                final int comparison = comparator.compare(a.traverser, b.traverser);
+                return 0 != comparison ? comparison : Integer.compare(a.source, b.source);
+            });
+            for (int i = 0; i < sources.size(); i++) {
+                this.advance(i);
+            }
+        }
+
+        private void advance(final int source) {
+            final Iterator<Traverser.Admin<S>> iterator = this.sources.get(source);
+            if (iterator.hasNext())
+                this.heads.add(new Head<>(iterator.next(), source));
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.heads.isEmpty();
+        }
+
+        @Override
+        public Traverser.Admin<S> next() {
+            final Head<S> head = this.heads.poll();
+            if (null == head)
+                throw FastNoSuchElementException.instance();
+            this.advance(head.source);
+            return head.traverser;
+        }
+    }
+
+    private static final class Head<S> {
+        private final Traverser.Admin<S> traverser;
+        private final int source;
+
+        private Head(final Traverser.Admin<S> traverser, final int source) {
+            this.traverser = traverser;
+            this.source = source;
+        }
+    }
+}
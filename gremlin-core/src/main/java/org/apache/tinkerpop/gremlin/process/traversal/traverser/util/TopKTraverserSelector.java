@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first traversers of a sort order, up to a total bulk, without sorting or holding all the traversers it
+ * is handed.  The traversers are kept in a heap with the last of them at its head, which is dropped as soon as the
+ * bulk of the others reaches the limit.  Traversers that compare as equal are kept in the order they were added, so
+ * the selection is the prefix that a stable sort of all the traversers would have produced.
+ */
+public final class TopKTraverserSelector<S> {
+
+    private final Comparator<Traverser<S>> comparator;
+    private final long limit;
+    private final PriorityQueue<Ranked<S>> heap;
+    private long bulkSize = 0l;
+    private long sequence = 0l;
+
+    public TopKTraverserSelector(final Comparator<Traverser<S>> comparator, final long limit) {
+        if (limit < 0l)
+            throw new IllegalArgumentException("The limit must not be negative: " + limit);
+        this.comparator = comparator;
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(11, (a, b) -> this.compare(b, a));
+    }
+
+    public void add(final Traverser.Admin<S> traverser) {
+        if (0l == this.limit)
+            return;
+        final Ranked<S> ranked = new Ranked<>(traverser, this.sequence++);
+        if (this.bulkSize >= this.limit && this.compare(ranked, this.heap.peek()) > 0)
+            return;
+        this.heap.add(ranked);
+        this.bulkSize = this.bulkSize + traverser.bulk();
+        while (this.bulkSize - this.heap.peek().traverser.bulk() >= this.limit) {
+            this.bulkSize = this.bulkSize - this.heap.poll().traverser.bulk();
+        }
+    }
+
+    public int size() {
+        return this.heap.size();
+    }
+
+    /**
+     * Drains the selected traversers into a list in sort order.
+     */
+    public List<Traverser.Admin<S>> drain() {
+        final List<Traverser.Admin<S>> traversers = new ArrayList<>(this.heap.size());
+        while (!this.heap.isEmpty()) {
+            traversers.add(this.heap.poll().traverser);
+        }
+        Collections.reverse(traversers);
+        this.bulkSize = 0l;
+        return traversers;
+    }
+
+    private int compare(final Ranked<S> a, final Ranked<S> b) {
+        final int comparison = this.comparator.compare(a.traverser, b.traverser);
+        return 0 != comparison ? comparison : Long.compare(a.sequence, b.sequence);
+    }
+
+    private static final class Ranked<S> {
+        private final Traverser.Admin<S> traverser;
+        private final long sequence;
+
+        private Ranked(final Traverser.Admin<S> traverser, final long sequence) {
+            this.traverser = traverser;
+            this.sequence = sequence;
+        }
+    }
+}
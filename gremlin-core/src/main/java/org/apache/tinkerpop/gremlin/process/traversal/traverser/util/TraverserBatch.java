@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * A bounded array of traversers that batch-processing steps pass between each other.  Unlike a {@link TraverserSet}
+ * it does not merge equal traversers as bulking a batch would cost more than it saves.  A batch is consumed through a
+ * cursor so that a step which fills its ends before it has processed all of its starts can resume where it stopped,
+ * which keeps every batch of a chain at no more than its capacity however much a step expands its starts.
+ *
+ * @see org.apache.tinkerpop.gremlin.process.traversal.step.Batchable
+ */
+public final class TraverserBatch<S> implements Serializable {
+
+    private final int capacity;
+    private Traverser.Admin<S>[] traversers;
+    private int size = 0;
+    private int cursor = 0;
+    private transient Traverser.Admin<S> expanding = null;
+    private transient Iterator<?> expansion = null;
+
+    public TraverserBatch(final int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.traversers = new Traverser.Admin[this.capacity];
+    }
+
+    public void add(final Traverser.Admin<S> traverser) {
+        if (this.size == this.traversers.length)
+            this.traversers = Arrays.copyOf(this.traversers, this.size << 1);
+        this.traversers[this.size++] = traverser;
+    }
+
+    public Traverser.Admin<S> get(final int index) {
+        return this.traversers[index];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size;
+    }
+
+    public boolean isFull() {
+        return this.size >= this.capacity;
+    }
+
+    /**
+     * Whether there is a traverser that has not been taken with {@link #next()}.
+     */
+    public boolean hasNext() {
+        return this.cursor < this.size;
+    }
+
+    public Traverser.Admin<S> next() {
+        return this.traversers[this.cursor++];
+    }
+
+    /**
+     * Whether every traverser has been taken and no expansion of {@link #flatMap} is left to resume.
+     */
+    public boolean isConsumed() {
+        return this.cursor == this.size && null == this.expansion;
+    }
+
+    /**
+     * Splits the remaining traversers of this batch onto the objects that the function returns for them and adds the
+     * splits to the ends until the ends are full.  An iterator that was not drained when the ends filled up is kept
+     * and resumed by the next call.
+     */
+    public <E> void flatMap(final TraverserBatch<E> ends, final Step<S, E> step, final Function<S, Iterator<? extends E>> function) {
+        while (!ends.isFull()) {
+            if (null == this.expansion) {
+                if (this.cursor == this.size)
+                    return;
+                this.expanding = this.traversers[this.cursor++];
+                this.expansion = function.apply(this.expanding.get());
+            }
+            if (this.expansion.hasNext())
+                ends.add(this.expanding.split((E) this.expansion.next(), step));
+            else {
+                this.expanding = null;
+                this.expansion = null;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(this.traversers, 0, this.size, null);
+        this.size = 0;
+        this.cursor = 0;
+        this.expanding = null;
+        this.expansion = null;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(Arrays.copyOf(this.traversers, this.size));
+    }
+}
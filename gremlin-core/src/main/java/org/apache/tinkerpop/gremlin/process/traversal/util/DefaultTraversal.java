@@ -24,6 +24,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSideEffects;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
@@ -59,6 +60,8 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     protected TraversalEngine traversalEngine = StandardTraversalEngine.instance(); // necessary for strategies that need the engine in OLAP message passing (not so bueno)
     protected boolean locked = false;
     protected Set<TraverserRequirement> traverserRequirements = new HashSet<>();
+    // the generator of a locked traversal is kept as its traversers share the label ids of its paths
+    private transient TraverserGenerator generator = null;
 
     public DefaultTraversal() {
         this.graph = null;
@@ -80,23 +83,32 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     public void applyStrategies() throws IllegalStateException {
         if (this.locked) throw Traversal.Exceptions.traversalIsLocked();
         TraversalHelper.reIdSteps(this.stepPosition, this);
-        this.strategies.applyStrategies(this);
-        boolean hasGraph = null != this.graph;
-        for (final Step<?, ?> step : this.getSteps()) {
-            if (step instanceof TraversalParent) {
-                for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
-                    globalChild.setStrategies(this.strategies);
-                    globalChild.setEngine(this.traversalEngine);
-                    if (hasGraph) globalChild.setGraph(this.graph);
-                    globalChild.applyStrategies();
-                }
-                for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
-                    localChild.setStrategies(this.strategies);
-                    localChild.setEngine(StandardTraversalEngine.instance());
-                    if (hasGraph) localChild.setGraph(this.graph);
-                    localChild.applyStrategies();
+        // the plan of a root traversal includes the plans of its children so only root traversals are cached
+        final TraversalPlanCache.Lookup lookup = this.traversalParent instanceof EmptyStep ?
+                this.strategies.getPlanCache().map(planCache -> planCache.lookup(this)).orElse(null) :
+                null;
+        if (null != lookup && lookup.isHit())
+            lookup.instantiate(this);
+        else {
+            this.strategies.applyStrategies(this);
+            boolean hasGraph = null != this.graph;
+            for (final Step<?, ?> step : this.getSteps()) {
+                if (step instanceof TraversalParent) {
+                    for (final Traversal.Admin<?, ?> globalChild : ((TraversalParent) step).getGlobalChildren()) {
+                        globalChild.setStrategies(this.strategies);
+                        globalChild.setEngine(this.traversalEngine);
+                        if (hasGraph) globalChild.setGraph(this.graph);
+                        globalChild.applyStrategies();
+                    }
+                    for (final Traversal.Admin<?, ?> localChild : ((TraversalParent) step).getLocalChildren()) {
+                        localChild.setStrategies(this.strategies);
+                        localChild.setEngine(StandardTraversalEngine.instance());
+                        if (hasGraph) localChild.setGraph(this.graph);
+                        localChild.applyStrategies();
+                    }
                 }
             }
+            if (null != lookup) lookup.store(this);
         }
         this.finalEndStep = this.getEndStep();
         this.locked = true;
@@ -110,6 +122,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     @Override
     public void setEngine(final TraversalEngine engine) {
         this.traversalEngine = engine;
+        this.generator = null;
     }
 
     @Override
@@ -134,6 +147,16 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     @Override
     public void addTraverserRequirement(final TraverserRequirement traverserRequirement) {
         this.traverserRequirements.add(traverserRequirement);
+        this.generator = null;
+    }
+
+    @Override
+    public TraverserGenerator getTraverserGenerator() {
+        if (!this.locked)
+            return this.strategies.getTraverserGeneratorFactory().getTraverserGenerator(this);
+        if (null == this.generator)
+            this.generator = this.strategies.getTraverserGeneratorFactory().getTraverserGenerator(this);
+        return this.generator;
     }
 
     @Override
@@ -209,6 +232,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
             clone.strategies = this.strategies.clone();
             clone.lastEnd = null;
             clone.lastEndCount = 0l;
+            clone.generator = null;
             for (final Step<?, ?> step : this.steps) {
                 final Step<?, ?> clonedStep = step.clone();
                 clonedStep.setTraversal(clone);
@@ -232,6 +256,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     @Override
     public void setSideEffects(final TraversalSideEffects sideEffects) {
         this.sideEffects = sideEffects;
+        this.generator = null;
     }
 
     @Override
@@ -242,6 +267,7 @@ public class DefaultTraversal<S, E> implements Traversal.Admin<S, E> {
     @Override
     public void setStrategies(final TraversalStrategies strategies) {
         this.strategies = strategies.clone();
+        this.generator = null;
     }
 
     @Override
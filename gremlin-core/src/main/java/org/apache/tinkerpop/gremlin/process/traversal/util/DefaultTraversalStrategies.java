@@ -37,6 +37,7 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
 
     protected List<TraversalStrategy<?>> traversalStrategies = new ArrayList<>();
     protected TraverserGeneratorFactory traverserGeneratorFactory = DefaultTraverserGeneratorFactory.instance();
+    protected transient TraversalPlanCache planCache = null;
 
     @Override
     public TraversalStrategies addStrategies(final TraversalStrategy<?>... strategies) {
@@ -88,6 +89,16 @@ public class DefaultTraversalStrategies implements TraversalStrategies {
         this.traverserGeneratorFactory = traverserGeneratorFactory;
     }
 
+    @Override
+    public Optional<TraversalPlanCache> getPlanCache() {
+        return Optional.ofNullable(this.planCache);
+    }
+
+    @Override
+    public void setPlanCache(final TraversalPlanCache planCache) {
+        this.planCache = planCache;
+    }
+
     @Override
     public DefaultTraversalStrategies clone() {
         try {
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A set of primitive {@code long} values held in a single open-addressing (linear probing) array, so that it costs
+ * eight to sixteen bytes per value rather than the boxed key and entry of a {@code HashSet<Long>}.  A zero value marks
+ * an empty slot and so the value zero itself is tracked by a flag.  The set is not thread-safe.
+ */
+public final class LongHashSet implements Serializable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private long[] slots;
+    private int mask;
+    private int size = 0;
+    private boolean containsZero = false;
+
+    public LongHashSet() {
+        this.allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a set that can hold the expected number of values without growing.
+     */
+    public LongHashSet(final int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("The expected size can not be negative: " + expectedSize);
+        this.allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Adds the value to the set, returning {@code true} if it was not in the set already.
+     */
+    public boolean add(final long value) {
+        if (0l == value) {
+            if (this.containsZero)
+                return false;
+            this.containsZero = true;
+            return true;
+        }
+        int slot = slotOf(value, this.mask);
+        while (0l != this.slots[slot]) {
+            if (value == this.slots[slot])
+                return false;
+            slot = (slot + 1) & this.mask;
+        }
+        this.slots[slot] = value;
+        if (++this.size > (this.slots.length >>> 1) + (this.slots.length >>> 2))
+            this.grow();
+        return true;
+    }
+
+    public boolean contains(final long value) {
+        if (0l == value)
+            return this.containsZero;
+        int slot = slotOf(value, this.mask);
+        while (0l != this.slots[slot]) {
+            if (value == this.slots[slot])
+                return true;
+            slot = (slot + 1) & this.mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return this.containsZero ? this.size + 1 : this.size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == this.size();
+    }
+
+    public void clear() {
+        Arrays.fill(this.slots, 0l);
+        this.size = 0;
+        this.containsZero = false;
+    }
+
+    private void grow() {
+        if (this.slots.length >= MAXIMUM_CAPACITY)
+            throw new IllegalStateException("The set can not hold more than " + this.size + " values");
+        final long[] old = this.slots;
+        this.allocate(old.length << 1);
+        for (final long value : old) {
+            if (0l != value) {
+                int slot = slotOf(value, this.mask);
+                while (0l != this.slots[slot]) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.slots[slot] = value;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.slots = new long[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        final long needed = Math.max(DEFAULT_CAPACITY, ((long) expectedSize << 2) / 3 + 1);
+        return needed >= MAXIMUM_CAPACITY ? MAXIMUM_CAPACITY : Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private static int slotOf(final long value, final int mask) {
+        final long hash = value * 0x9E3779B97F4A7C15l;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,392 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.ComparatorHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.HasContainerHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.LambdaHolder;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ComparatorTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ElementValueComparator;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.TraversalComparator;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CostBasedStrategy;
+import org.apache.tinkerpop.gremlin.structure.T;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, least recently used cache of the plans that {@link TraversalStrategies} produce for root traversals.
+ * A plan is found by the shape of a traversal before its strategies are applied, which is made of the strategies,
+ * the requirements, the side-effect keys and the steps of the traversal, except that the predicates of the
+ * {@link HasStep} filters of the root traversal are left out of the shape.  On a hit the cached plan is cloned into
+ * the traversal and the predicates of those filters are put in place of the ones in the plan, so traversals that
+ * only differ by those constants share a plan and skip the strategies.
+ * <p/>
+ * Traversals with lambdas, traversals on a {@link org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine.Type#COMPUTER}
+ * engine and traversals whose filters are not carried through the strategies unchanged are never cached.  Comparators
+ * and predicates are only cached when they are made of the enums and comparator classes of Gremlin, as any other
+ * implementation may be a lambda whose identity the shape can not capture.  Strategies like the
+ * {@link CostBasedStrategy} choose a plan based on the values of the predicates, so when one of them is registered the
+ * predicates remain part of the shape and only traversals with the same constants share a plan.
+ */
+public final class TraversalPlanCache {
+
+    private static final Set<Class<? extends TraversalStrategy>> VALUE_DEPENDENT_STRATEGIES = Collections.singleton(CostBasedStrategy.class);
+
+    private final int maxSize;
+    private final Map<Key, Plan> plans;
+    private final AtomicLong hits = new AtomicLong(0l);
+    private final AtomicLong misses = new AtomicLong(0l);
+    private final AtomicLong evictions = new AtomicLong(0l);
+
+    public TraversalPlanCache(final int maxSize) {
+        if (maxSize < 1)
+            throw new IllegalArgumentException("The maximum size of a plan cache must be at least 1: " + maxSize);
+        this.maxSize = maxSize;
+        this.plans = new LinkedHashMap<Key, Plan>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Plan> eldest) {
+                if (this.size() <= TraversalPlanCache.this.maxSize)
+                    return false;
+                TraversalPlanCache.this.evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets the number of traversals that were given a cached plan.
+     */
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    /**
+     * Gets the number of cacheable traversals that had their strategies applied because no plan was cached.
+     */
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * Gets the number of plans that were removed to keep the cache within its maximum size.
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public int size() {
+        synchronized (this.plans) {
+            return this.plans.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (this.plans) {
+            this.plans.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "traversalplancache[size:" + this.size() + ", hits:" + this.hits + ", misses:" + this.misses + ", evictions:" + this.evictions + "]";
+    }
+
+    /**
+     * Finds the plan of the traversal, which must not have had its strategies applied, or returns {@code null} if
+     * the traversal can not be cached.
+     */
+    Lookup lookup(final Traversal.Admin<?, ?> traversal) {
+        if (traversal.getEngine().isComputer() || !TraversalPlanCache.isCacheable(traversal))
+            return null;
+        final List<HasContainer> parameters = new ArrayList<>();
+        final Key key = new Key(traversal, parameters);
+        final Plan plan;
+        synchronized (this.plans) {
+            plan = this.plans.get(key);
+        }
+        (null == plan ? this.misses : this.hits).incrementAndGet();
+        return new Lookup(key, parameters, plan);
+    }
+
+    /**
+     * The result of looking up a traversal which either instantiates the cached plan into the traversal or stores
+     * the plan that the traversal ends up with.
+     */
+    final class Lookup {
+
+        private final Key key;
+        private final List<HasContainer> parameters;
+        private final Plan plan;
+
+        private Lookup(final Key key, final List<HasContainer> parameters, final Plan plan) {
+            this.key = key;
+            this.parameters = parameters;
+            this.plan = plan;
+        }
+
+        boolean isHit() {
+            return null != this.plan;
+        }
+
+        /**
+         * Replaces the steps of the traversal with a copy of the cached plan that holds the predicates of the
+         * traversal.
+         */
+        void instantiate(final Traversal.Admin<?, ?> traversal) {
+            final Traversal.Admin<?, ?> planned = this.plan.template.clone();
+            for (int i = 0; i < this.parameters.size(); i++) {
+                TraversalPlanCache.getHasContainer(planned, this.plan.locations.get(i)).setPredicate(this.parameters.get(i).getPredicate());
+            }
+            while (!traversal.getSteps().isEmpty()) {
+                traversal.removeStep(0);
+            }
+            for (final Step<?, ?> step : new ArrayList<>(planned.getSteps())) {
+                final String id = step.getId();
+                traversal.addStep(step);
+                step.setId(id);
+            }
+            TraversalPlanCache.integrateChildren(traversal);
+        }
+
+        /**
+         * Caches the plan of the traversal, which must have had its strategies applied, if all of the filters
+         * whose predicates were left out of its shape are still in it.
+         */
+        void store(final Traversal.Admin<?, ?> traversal) {
+            final List<int[]> locations = new ArrayList<>(this.parameters.size());
+            for (final HasContainer parameter : this.parameters) {
+                final int[] location = TraversalPlanCache.locate(traversal, parameter);
+                if (null == location)
+                    return;
+                locations.add(location);
+            }
+            final Plan plan = new Plan(traversal.clone(), locations);
+            synchronized (TraversalPlanCache.this.plans) {
+                TraversalPlanCache.this.plans.put(this.key, plan);
+            }
+        }
+    }
+
+    private static final class Plan {
+        private final Traversal.Admin<?, ?> template;
+        private final List<int[]> locations;
+
+        private Plan(final Traversal.Admin<?, ?> template, final List<int[]> locations) {
+            this.template = template;
+            this.locations = locations;
+        }
+    }
+
+    /**
+     * The shape of a traversal along with the strategies that plan it, which are compared by identity as strategies
+     * of the same class may be configured differently.
+     */
+    private static final class Key {
+        private final List<TraversalStrategy<?>> strategies;
+        private final String shape;
+        private final int hashCode;
+
+        private Key(final Traversal.Admin<?, ?> traversal, final List<HasContainer> parameters) {
+            this.strategies = traversal.getStrategies().toList();
+            final boolean parameterized = this.strategies.stream().noneMatch(strategy -> VALUE_DEPENDENT_STRATEGIES.contains(strategy.getClass()));
+            final StringBuilder shape = new StringBuilder(traversal.getClass().getName());
+            shape.append('|').append(traversal.getGraph().isPresent() ? traversal.getGraph().get().getClass().getName() : "");
+            shape.append('|').append(new TreeSet<>(traversal.getTraverserRequirements()));
+            shape.append('|').append(new TreeSet<>(traversal.getSideEffects().keys()));
+            shape.append('|').append(null != traversal.getSideEffects().getSackInitialValue());
+            for (final Step<?, ?> step : traversal.getSteps()) {
+                shape.append('|').append(step.getClass().getName()).append(new TreeSet<>(step.getLabels()));
+                if (step.getClass().equals(HasStep.class)) {
+                    for (final HasContainer hasContainer : ((HasStep<?>) step).getHasContainers()) {
+                        if (parameterized && TraversalPlanCache.isParameter(hasContainer)) {
+                            shape.append('[').append(hasContainer.getKey()).append('.').append(hasContainer.getBiPredicate()).append(']');
+                            parameters.add(hasContainer);
+                        } else
+                            shape.append('[').append(hasContainer).append(']');
+                    }
+                } else
+                    shape.append(step).append('#').append(step.hashCode());
+            }
+            this.shape = shape.toString();
+            this.hashCode = this.shape.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (!(other instanceof Key))
+                return false;
+            final Key key = (Key) other;
+            if (this.hashCode != key.hashCode || this.strategies.size() != key.strategies.size() || !this.shape.equals(key.shape))
+                return false;
+            for (int i = 0; i < this.strategies.size(); i++) {
+                if (this.strategies.get(i) != key.strategies.get(i))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private static boolean isParameter(final HasContainer hasContainer) {
+        final P<?> predicate = hasContainer.getPredicate();
+        return !hasContainer.getKey().equals(T.id.getAccessor()) && predicate.getClass().equals(P.class) &&
+                (predicate.getBiPredicate() instanceof Compare || predicate.getBiPredicate() instanceof Contains);
+    }
+
+    /**
+     * Determines if the traversal is free of lambdas, whose identity the shape of the traversal can not capture.
+     */
+    private static boolean isCacheable(final Traversal.Admin<?, ?> traversal) {
+        if (traversal instanceof LambdaHolder)
+            return false;
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof LambdaHolder)
+                return false;
+            if (step instanceof ComparatorHolder) {
+                for (final Comparator<?> comparator : ((ComparatorHolder<?>) step).getComparators()) {
+                    if (!TraversalPlanCache.isCacheable(comparator))
+                        return false;
+                }
+            }
+            if (step instanceof HasContainerHolder) {
+                for (final HasContainer hasContainer : ((HasContainerHolder) step).getHasContainers()) {
+                    if (!TraversalPlanCache.isCacheable(hasContainer.getPredicate()))
+                        return false;
+                }
+            }
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : TraversalPlanCache.getChildren((TraversalParent) step)) {
+                    if (!TraversalPlanCache.isCacheable(child))
+                        return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCacheable(final Comparator<?> comparator) {
+        if (comparator instanceof Enum)
+            return true;
+        else if (comparator instanceof ElementValueComparator)
+            return TraversalPlanCache.isCacheable(((ElementValueComparator<?>) comparator).getValueComparator());
+        else if (comparator instanceof ComparatorTraverser)
+            return TraversalPlanCache.isCacheable(((ComparatorTraverser<?>) comparator).getComparator());
+        else if (comparator instanceof TraversalComparator)
+            return TraversalPlanCache.isCacheable(((TraversalComparator<?, ?>) comparator).getComparator()) &&
+                    TraversalPlanCache.isCacheable(((TraversalComparator<?, ?>) comparator).getTraversal());
+        else
+            return false;
+    }
+
+    private static boolean isCacheable(final P<?> predicate) {
+        if (predicate instanceof ConnectiveP)
+            return ((ConnectiveP<?>) predicate).getPredicates().stream().allMatch(TraversalPlanCache::isCacheable);
+        else
+            return predicate.getBiPredicate() instanceof Enum;
+    }
+
+    private static List<Traversal.Admin<Object, Object>> getChildren(final TraversalParent parent) {
+        final List<Traversal.Admin<Object, Object>> children = new ArrayList<>(parent.getGlobalChildren());
+        children.addAll(parent.getLocalChildren());
+        return children;
+    }
+
+    /**
+     * Finds the {@link HasContainer} in the traversal or its children and returns the indices of the steps and the
+     * children that lead to it followed by its index in its step, or {@code null} if it is not in the traversal.
+     */
+    private static int[] locate(final Traversal.Admin<?, ?> traversal, final HasContainer hasContainer) {
+        final List<Step> steps = traversal.getSteps();
+        for (int i = 0; i < steps.size(); i++) {
+            final Step<?, ?> step = steps.get(i);
+            if (step instanceof HasContainerHolder) {
+                final List<HasContainer> hasContainers = ((HasContainerHolder) step).getHasContainers();
+                for (int j = 0; j < hasContainers.size(); j++) {
+                    if (hasContainers.get(j) == hasContainer)
+                        return new int[]{i, j};
+                }
+            }
+            if (step instanceof TraversalParent) {
+                final List<Traversal.Admin<Object, Object>> children = TraversalPlanCache.getChildren((TraversalParent) step);
+                for (int j = 0; j < children.size(); j++) {
+                    final int[] location = TraversalPlanCache.locate(children.get(j), hasContainer);
+                    if (null != location) {
+                        final int[] path = new int[location.length + 2];
+                        path[0] = i;
+                        path[1] = j;
+                        System.arraycopy(location, 0, path, 2, location.length);
+                        return path;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static HasContainer getHasContainer(Traversal.Admin<?, ?> traversal, final int[] location) {
+        int i = 0;
+        while (i < location.length - 2) {
+            traversal = TraversalPlanCache.getChildren((TraversalParent) traversal.getSteps().get(location[i])).get(location[i + 1]);
+            i = i + 2;
+        }
+        return ((HasContainerHolder) traversal.getSteps().get(location[i])).getHasContainers().get(location[i + 1]);
+    }
+
+    /**
+     * Binds the children of the steps of the traversal to its side-effects and graph.
+     */
+    private static void integrateChildren(final Traversal.Admin<?, ?> traversal) {
+        for (final Step<?, ?> step : traversal.getSteps()) {
+            if (step instanceof TraversalParent) {
+                for (final Traversal.Admin<?, ?> child : TraversalPlanCache.getChildren((TraversalParent) step)) {
+                    child.setParent((TraversalParent) step);
+                    child.setSideEffects(traversal.getSideEffects());
+                    traversal.getGraph().ifPresent(child::setGraph);
+                    TraversalPlanCache.integrateChildren(child);
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.tinkerpop.gremlin.structure;
 
 import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.process.computer.GraphComputer;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalSource;
@@ -377,6 +378,67 @@ public interface Graph extends AutoCloseable, Host {
 
     }
 
+    /**
+     * Gets the {@link Statistics} that describe the shape of the graph, which traversal strategies may use to estimate
+     * the cost of alternative plans.  The default implementation returns {@code Optional.empty()} for graphs that do
+     * not maintain statistics.
+     */
+    public default Optional<Statistics> statistics() {
+        return Optional.empty();
+    }
+
+    /**
+     * Estimates of the size and shape of a graph.  The values are not required to be exact or current as they only
+     * guide the choice between equivalent ways of executing a traversal.
+     */
+    public interface Statistics {
+
+        /**
+         * Gets the number of vertices with the label or of all vertices if the label is {@code null}.
+         */
+        public long vertexCount(final String label);
+
+        /**
+         * Gets the number of edges with the label or of all edges if the label is {@code null}.
+         */
+        public long edgeCount(final String label);
+
+        /**
+         * Gets the average number of edges with any of the labels, or with any label if none are given, that a vertex
+         * has in the direction.
+         */
+        public default double averageDegree(final Direction direction, final String... edgeLabels) {
+            final long vertexCount = this.vertexCount(null);
+            if (0 == vertexCount)
+                return 0.0d;
+            long edgeCount = 0;
+            if (0 == edgeLabels.length)
+                edgeCount = this.edgeCount(null);
+            else {
+                for (final String edgeLabel : edgeLabels) {
+                    edgeCount = edgeCount + this.edgeCount(edgeLabel);
+                }
+            }
+            return (Direction.BOTH == direction ? 2.0d : 1.0d) * edgeCount / vertexCount;
+        }
+
+        /**
+         * Gets the largest number of edges that a single vertex has in the direction.
+         */
+        public long maximumDegree(final Direction direction);
+
+        /**
+         * Gets the estimated fraction of the elements of the class that have a value for the key which satisfies the
+         * predicate.  The key may be the accessor of {@link T#label} or {@link T#id}.
+         */
+        public double selectivity(final Class<? extends Element> elementClass, final String key, final P<?> predicate);
+
+        /**
+         * Determines if the elements of the class can be looked up by their values for the key without a scan.
+         */
+        public boolean isIndexed(final Class<? extends Element> elementClass, final String key);
+    }
+
     /**
      * Gets the {@link Features} exposed by the underlying {@code Graph} implementation.
      */
@@ -19,9 +19,11 @@
 package org.apache.tinkerpop.gremlin.process.traversal;
 
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.ImmutablePath;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.IndexedPath;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.MutablePath;
 import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedPath;
 import org.apache.tinkerpop.gremlin.structure.util.reference.ReferencePath;
+import org.apache.tinkerpop.gremlin.util.Serializer;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -30,6 +32,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -41,7 +44,8 @@ import static org.junit.Assert.*;
 public class PathTest {
 
     private final static List<Supplier<Path>> PATH_SUPPLIERS =
-            Arrays.asList(MutablePath::make, ImmutablePath::make, DetachedPath::make, ReferencePath::make);
+            Arrays.asList(MutablePath::make, ImmutablePath::make, IndexedPath::make, () -> IndexedPath.make(new HashSet<>(Arrays.asList("a", "b", "c"))),
+                    DetachedPath::make, ReferencePath::make);
 
     @Test
     public void shouldHaveStandardSemanticsImplementedCorrectly() {
@@ -334,4 +338,68 @@ public class PathTest {
             }
         }
     }
+
+    @Test
+    public void shouldShareStepsOfExtendedIndexedPath() {
+        final Path path = IndexedPath.make(new HashSet<>(Arrays.asList("a", "b"))).extend("marko", Collections.singleton("a")).extend("josh", Collections.singleton("b"));
+        final Path pathA = path.extend("ripple", Collections.singleton("a"));
+        final Path pathB = path.extend("lop", new LinkedHashSet<>(Arrays.asList("c", "a")));
+        assertEquals(2, path.size());
+        assertEquals("marko", path.get("a"));
+        assertFalse(path.hasLabel("c"));
+        assertEquals(Arrays.asList("marko", "josh", "ripple"), pathA.objects());
+        assertEquals("marko", pathA.get(Pop.first, "a"));
+        assertEquals("ripple", pathA.get(Pop.last, "a"));
+        assertFalse(pathA.hasLabel("c"));
+        assertEquals(Arrays.asList("marko", "josh", "lop"), pathB.objects());
+        assertEquals("lop", pathB.get(Pop.last, "a"));
+        assertEquals("lop", pathB.get(Pop.first, "c"));
+        assertEquals(Arrays.asList("marko", "lop"), pathB.get(Pop.all, "a"));
+        final Path pathC = pathB.extend(Collections.singleton("d"));
+        assertEquals("lop", pathC.get("d"));
+        assertFalse(pathB.hasLabel("d"));
+    }
+
+    @Test
+    public void shouldFindLabelsOfIndexedPathWhetherIndexedOrNot() {
+        final Set<String> labels = new LinkedHashSet<>();
+        for (int i = 0; i < 100; i++) {
+            labels.add("x" + i);
+        }
+        final Path head = IndexedPath.make(labels);
+        Path path = head;
+        Path unindexedPath = IndexedPath.make();
+        for (int i = 0; i < 100; i++) {
+            path = path.extend(i, Collections.singleton("x" + i));
+            unindexedPath = unindexedPath.extend(i, Collections.singleton("x" + i));
+        }
+        path = path.extend(100, Collections.singleton("x0")).extend(101, Collections.singleton("x99"));
+        unindexedPath = unindexedPath.extend(100, Collections.singleton("x0")).extend(101, Collections.singleton("x99"));
+        assertEquals(unindexedPath, path);
+        assertEquals(path.objects().hashCode(), path.hashCode());
+        assertEquals(unindexedPath.hashCode(), path.hashCode());
+        for (final Pop pop : Pop.values()) {
+            assertEquals(unindexedPath.<Object>get(pop, "x0"), path.get(pop, "x0"));
+            assertEquals(unindexedPath.<Object>get(pop, "x99"), path.get(pop, "x99"));
+        }
+        assertEquals(Integer.valueOf(0), path.get(Pop.first, "x0"));
+        assertEquals(Integer.valueOf(101), path.get(Pop.last, "x99"));
+        assertTrue(path.hasLabel("x50"));
+        assertFalse(path.hasLabel("y"));
+        assertEquals(0, head.size());
+        assertFalse(head.hasLabel("x0"));
+    }
+
+    @Test
+    public void shouldSerializeIndexedPath() throws Exception {
+        Path path = IndexedPath.make();
+        for (int i = 0; i < 10000; i++) {
+            path = path.extend(i, i % 2 == 0 ? Collections.singleton("even") : Collections.emptySet());
+        }
+        final Path deserialized = (Path) Serializer.deserializeObject(Serializer.serializeObject(path));
+        assertEquals(path, deserialized);
+        assertEquals(path.labels(), deserialized.labels());
+        assertEquals(Integer.valueOf(9998), deserialized.get(Pop.last, "even"));
+        assertEquals(5000, deserialized.<List>get(Pop.all, "even").size());
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.engine;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.IdStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertiesStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BatchTraversalEngineTest {
+
+    @Test
+    public void shouldReplaceChainOfBatchableSteps() {
+        final Traversal.Admin<?, ?> traversal = applyBatchStrategy(__.out().out().has("age", 32).values("name").count());
+        assertEquals(2, traversal.getSteps().size());
+        assertThat(traversal.getStartStep(), instanceOf(BatchStep.class));
+        assertThat(traversal.getEndStep(), instanceOf(CountGlobalStep.class));
+
+        final BatchStep<?, ?> batchStep = (BatchStep<?, ?>) traversal.getStartStep();
+        assertEquals(BatchTraversalEngine.BatchStrategy.DEFAULT_BATCH_SIZE, batchStep.getBatchSize());
+        assertEquals(4, batchStep.getBatchSteps().size());
+        assertThat(batchStep.getBatchSteps().get(0), instanceOf(VertexStep.class));
+        assertThat(batchStep.getBatchSteps().get(1), instanceOf(VertexStep.class));
+        assertThat(batchStep.getBatchSteps().get(2), instanceOf(HasStep.class));
+        assertThat(batchStep.getBatchSteps().get(3), instanceOf(PropertiesStep.class));
+    }
+
+    @Test
+    public void shouldNotReplaceSingleBatchableStep() {
+        final Traversal.Admin<?, ?> traversal = applyBatchStrategy(__.out().count());
+        assertEquals(2, traversal.getSteps().size());
+        assertThat(traversal.getStartStep(), instanceOf(VertexStep.class));
+    }
+
+    @Test
+    public void shouldEndChainAtLabeledStep() {
+        final Traversal.Admin<?, ?> traversal = applyBatchStrategy(__.out().out().as("a").out().id());
+        assertEquals(2, traversal.getSteps().size());
+        final BatchStep<?, ?> first = (BatchStep<?, ?>) traversal.getSteps().get(0);
+        final BatchStep<?, ?> second = (BatchStep<?, ?>) traversal.getSteps().get(1);
+        assertEquals(Collections.singleton("a"), first.getLabels());
+        assertTrue(first.getBatchSteps().get(1).getLabels().isEmpty());
+        assertEquals(2, first.getBatchSteps().size());
+        assertTrue(second.getLabels().isEmpty());
+        assertThat(second.getBatchSteps().get(1), instanceOf(IdStep.class));
+    }
+
+    @Test
+    public void shouldBatchWithConfiguredSize() {
+        final BatchTraversalEngine.Builder builder = BatchTraversalEngine.build().batchSize(16);
+        final Traversal.Admin<?, ?> traversal = __.out().out().asAdmin();
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        builder.getWithStrategies().forEach(strategies::addStrategies);
+        traversal.setStrategies(strategies);
+        traversal.setEngine(BatchTraversalEngine.instance());
+        traversal.applyStrategies();
+        assertEquals(16, ((BatchStep<?, ?>) traversal.getStartStep()).getBatchSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowEmptyBatches() {
+        BatchTraversalEngine.build().batchSize(0);
+    }
+
+    private static Traversal.Admin<?, ?> applyBatchStrategy(final Traversal<?, ?> traversal) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(BatchTraversalEngine.BatchStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(BatchTraversalEngine.instance());
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+}
@@ -18,15 +18,21 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.branch;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.hasLabel;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -42,4 +48,43 @@ public class RepeatStepTest extends StepTest {
                 __.repeat(out()).until(hasLabel("x"))
         );
     }
+
+    @Test
+    public void shouldBulkTraversersAtTheSameObjectWhenBreadthFirst() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(0).repeat(ring()).times(10).asAdmin();
+        ((RepeatStep<Integer>) traversal.getEndStep()).setBreadthFirst(true);
+        traversal.applyStrategies();
+        int traversers = 0;
+        long bulk = 0l;
+        while (traversal.getEndStep().hasNext()) {
+            bulk += traversal.getEndStep().next().bulk();
+            traversers++;
+        }
+        assertEquals(1024l, bulk);
+        // the last depth loops at most one traverser per object of the ring, each of which has two successors
+        assertTrue(traversers <= 10);
+    }
+
+    @Test
+    public void shouldLoopEachObjectOnceWhenPruningVisitedObjects() {
+        Traversal.Admin<Integer, Integer> traversal = __.inject(0).repeat(ring()).emit().asAdmin();
+        ((RepeatStep<Integer>) traversal.getEndStep()).setPruneVisited(true);
+        final List<Integer> emitted = traversal.toList();
+        Collections.sort(emitted);
+        // both shortest paths to 3 are kept while the longer paths to 2 and to 0 are dropped
+        assertEquals(Arrays.asList(1, 2, 3, 3, 4), emitted);
+        traversal = __.inject(0).repeat(ring()).until(__.is(4)).asAdmin();
+        ((RepeatStep<Integer>) traversal.getEndStep()).setPruneVisited(true);
+        assertEquals(Collections.singletonList(4), traversal.toList());
+        final Traversal.Admin<Integer, Path> pathTraversal = __.inject(0).repeat(ring()).until(__.is(4)).path().asAdmin();
+        ((RepeatStep<Integer>) pathTraversal.getSteps().get(1)).setPruneVisited(true);
+        assertEquals(Arrays.asList(0, 2, 4), pathTraversal.next().objects());
+    }
+
+    /**
+     * Loops around a ring of five objects, where each object is followed by the next two.
+     */
+    private static GraphTraversal<Integer, Integer> ring() {
+        return __.<Integer, Integer>flatMap(t -> Arrays.asList((t.get() + 1) % 5, (t.get() + 2) % 5).iterator());
+    }
 }
@@ -21,9 +21,20 @@ package org.apache.tinkerpop.gremlin.process.traversal.step.filter;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -37,4 +48,49 @@ public class DedupGlobalStepTest extends StepTest {
                 __.dedup().by("name")
         );
     }
+
+    @Test
+    public void shouldSpillToPartitionsWhenExceedingMaxInMemory() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-dedup-test").toFile();
+        final List<Integer> values = values(100);
+        final Traversal.Admin<?, Integer> traversal = __.inject(values).<Integer>unfold().dedup().asAdmin();
+        final DedupGlobalStep<Integer> dedupStep = (DedupGlobalStep<Integer>) traversal.getEndStep();
+        dedupStep.setSpill(4, 8, directory);
+        final List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            results.add(traversal.next());
+        }
+        // the first four objects were let through and the traversers of the other 96 were spread over eight partitions
+        assertEquals(new ArrayList<>(new LinkedHashSet<>(values)).subList(0, 4), results.subList(0, 4));
+        assertEquals(8, directory.listFiles().length);
+        results.addAll(traversal.toList());
+        assertEquals(100, results.size());
+        assertEquals(new HashSet<>(values), new HashSet<>(results));
+        assertEquals(0, directory.listFiles().length);
+        directory.delete();
+    }
+
+    @Test
+    public void shouldNeverLetDuplicatesThroughWhenApproximate() {
+        final List<Integer> values = values(100);
+        final Traversal.Admin<?, Integer> traversal = __.inject(values).<Integer>unfold().dedup().asAdmin();
+        final DedupGlobalStep<Integer> dedupStep = (DedupGlobalStep<Integer>) traversal.getEndStep();
+        dedupStep.setApproximate(1000l, 0.001d);
+        assertTrue(dedupStep.isApproximate());
+        final List<Integer> results = traversal.toList();
+        assertEquals(results.size(), new HashSet<>(results).size());
+        assertTrue(values.containsAll(results));
+        // distinct objects are only dropped at about the false positive rate
+        assertTrue(results.size() > 95);
+    }
+
+    private static List<Integer> values(final int size) {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(123l));
+        return values;
+    }
 }
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AdaptiveBarrierStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                adaptiveBarrier(__.identity().asAdmin(), 16, 1000),
+                adaptiveBarrier(__.identity().asAdmin(), 32, 1000),
+                adaptiveBarrier(__.identity().asAdmin(), 16, 2000)
+        );
+    }
+
+    @Test
+    public void shouldGrowWhileTraversersBulkAndShrinkWhenTheyStop() {
+        final List<Integer> objects = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            for (int j = 0; j < 4; j++) {
+                objects.add(i);
+            }
+        }
+        final Traversal.Admin<Integer, Integer> traversal = adaptiveBarrier(__.inject(objects.toArray(new Integer[objects.size()])).asAdmin(), 4, 64);
+        final AdaptiveBarrierStep<Integer> barrier = (AdaptiveBarrierStep<Integer>) traversal.getEndStep();
+        final List<Integer> results = new ArrayList<>();
+        for (int i = 0; i < 4000; i++) {
+            results.add(traversal.next());
+        }
+        assertEquals(64, barrier.getBarrierSize());
+
+        for (int i = 2000; i < 10000; i++) {
+            objects.add(i);
+        }
+        final Traversal.Admin<Integer, Integer> distinct = adaptiveBarrier(__.inject(objects.toArray(new Integer[objects.size()])).asAdmin(), 4, 64);
+        results.clear();
+        distinct.forEachRemaining(results::add);
+        assertEquals(4, ((AdaptiveBarrierStep<Integer>) distinct.getEndStep()).getBarrierSize());
+        Collections.sort(results);
+        assertEquals(objects, results);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowMinimumLargerThanMaximum() {
+        adaptiveBarrier(__.identity().asAdmin(), 10, 5);
+    }
+
+    private static <S> Traversal.Admin<S, S> adaptiveBarrier(final Traversal.Admin<S, S> traversal, final int minBarrierSize, final int maxBarrierSize) {
+        return traversal.addStep(new AdaptiveBarrierStep<>(traversal, minBarrierSize, maxBarrierSize));
+    }
+}
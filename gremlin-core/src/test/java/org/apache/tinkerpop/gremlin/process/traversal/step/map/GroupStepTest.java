@@ -18,16 +18,27 @@
  */
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
+import org.apache.tinkerpop.gremlin.process.computer.MapReduce;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.Scope;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.BulkSet;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.javatuples.Pair;
+import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.count;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -42,4 +53,65 @@ public class GroupStepTest extends StepTest {
                 __.group().by(T.label).by(__.values("name").count())
         );
     }
+
+    private static final Number[] NUMBERS = {1, 2, 3l, 4, 5.5d, 6, 7, 8l, 9, 10};
+
+    @Test
+    public void shouldAggregateGroupValuesLikeTheirReducingSteps() {
+        for (final int parity : Arrays.asList(0, 1)) {
+            assertEquals(numbers(parity).count().next(), groupByParity(__.count()).get(parity));
+            assertEquals(numbers(parity).sum().next(), groupByParity(__.sum()).get(parity));
+            assertEquals(numbers(parity).min().next(), groupByParity(__.min()).get(parity));
+            assertEquals(numbers(parity).max().next(), groupByParity(__.max()).get(parity));
+            assertEquals(numbers(parity).mean().next(), groupByParity(__.mean()).get(parity));
+            assertEquals(numbers(parity).fold().next(), groupByParity(__.fold()).get(parity));
+            assertEquals(numbers(parity).is(P.gt(4)).sum().next(), groupByParity(__.is(P.gt(4)).sum()).get(parity));
+            assertEquals(numbers(parity).count().next(), __.__(NUMBERS).groupCount().by((Number n) -> n.intValue() % 2).next().get(parity));
+        }
+        assertEquals(2, groupByParity(__.limit(1).count()).size());
+        assertEquals(1l, groupByParity(__.limit(1).count()).get(1));
+    }
+
+    @Test
+    public void shouldCombinePartialAggregatesLikeTheReduce() {
+        final Object[] all = {1, 2l, 3, 3, 4, 5.5d, 6, 7};
+        final BulkSet<Object> first = new BulkSet<>();
+        first.add(1, 1l);
+        first.add(2l, 1l);
+        first.add(3, 2l);
+        final BulkSet<Object> second = new BulkSet<>();
+        second.add(4, 1l);
+        second.add(5.5d, 1l);
+        final List<Collection<?>> values = Arrays.asList(first, second, Arrays.asList(6, 7));
+        for (final Pair<Traversal<?, ?>, Object> reduction : Arrays.<Pair<Traversal<?, ?>, Object>>asList(
+                Pair.with(__.count(), __.__(all).count().next()),
+                Pair.with(__.sum(), __.__(all).sum().next()),
+                Pair.with(__.min(), __.__(all).min().next()),
+                Pair.with(__.max(), __.__(all).max().next()))) {
+            final MapReduce<String, Collection<?>, String, Object, ?> mapReduce = getMapReduce(reduction.getValue0());
+            assertTrue(mapReduce.doStage(MapReduce.Stage.COMBINE));
+            final List<Object> reduced = new ArrayList<>();
+            mapReduce.reduce("a", values.iterator(), (key, value) -> reduced.add(value));
+            // the first two workers combine their values before the shuffle and the third does not
+            final List<Collection<?>> combined = new ArrayList<>();
+            mapReduce.combine("a", values.subList(0, 2).iterator(), (key, value) -> combined.add((Collection<?>) value));
+            combined.add(values.get(2));
+            mapReduce.reduce("a", combined.iterator(), (key, value) -> reduced.add(value));
+            assertEquals(Arrays.asList(reduction.getValue1(), reduction.getValue1()), reduced);
+        }
+        assertFalse(getMapReduce(__.mean()).doStage(MapReduce.Stage.COMBINE));
+        assertFalse(getMapReduce(__.fold()).doStage(MapReduce.Stage.COMBINE));
+    }
+
+    private static Traversal<Number, Number> numbers(final int parity) {
+        return __.__(NUMBERS).filter(traverser -> traverser.get().intValue() % 2 == parity);
+    }
+
+    private static Map<Integer, ?> groupByParity(final Traversal<?, ?> valueTraversal) {
+        return __.__(NUMBERS).<Integer, Object>group().by((Number n) -> n.intValue() % 2).by(valueTraversal).next();
+    }
+
+    private static MapReduce<String, Collection<?>, String, Object, ?> getMapReduce(final Traversal<?, ?> valueTraversal) {
+        return ((GroupStep<Object, String, Object>) __.group().by(T.label).by(valueTraversal).asAdmin().getEndStep()).getMapReduce();
+    }
 }
@@ -19,8 +19,10 @@
 package org.apache.tinkerpop.gremlin.process.traversal.step.map;
 
 import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
@@ -29,16 +31,29 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.filter.ConnectiveStep
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WherePredicateStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.filter.WhereTraversalStep;
 import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization.MatchAlgorithmStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.MatchPredicateStrategy;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_LP_O_P_S_SE_SL_TraverserGenerator;
 import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.EmptyTraverser;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.structure.T;
+import org.javatuples.Pair;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.P.eq;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.*;
@@ -312,6 +327,39 @@ public class MatchStepTest extends StepTest {
         assertEquals(secondPattern, countMatchAlgorithm.bundles.get(2).traversal);
     }
 
+    @Test
+    public void testCountMatchAlgorithmSeededWithEstimates() {
+        final Traversal.Admin<?, ?> traversal = __.match(as("a").out().as("b"), as("c").in().as("d")).asAdmin();
+        final MatchStep<?, ?> matchStep = (MatchStep<?, ?>) traversal.getStartStep();
+        final Traversal.Admin<Object, Object> firstPattern = matchStep.getGlobalChildren().get(0);
+        final Traversal.Admin<Object, Object> secondPattern = matchStep.getGlobalChildren().get(1);
+        matchStep.setEstimatedMultiplicities(Arrays.asList(3.0d, 0.5d));
+        final MatchStep.CountMatchAlgorithm countMatchAlgorithm = (MatchStep.CountMatchAlgorithm) matchStep.getMatchAlgorithm();
+        assertEquals(secondPattern, countMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(firstPattern, countMatchAlgorithm.bundles.get(1).traversal);
+        assertEquals(3.0d, countMatchAlgorithm.getBundle(firstPattern).multiplicity, 0.0d);
+        assertEquals(0.5d, countMatchAlgorithm.getBundle(secondPattern).multiplicity, 0.0d);
+        // THE ESTIMATES ARE OUTWEIGHED BY WHAT IS OBSERVED
+        for (int i = 0; i < 20; i++) {
+            countMatchAlgorithm.recordStart(EmptyTraverser.instance(), secondPattern);
+            countMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+            countMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+            countMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+            countMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+            countMatchAlgorithm.recordEnd(EmptyTraverser.instance(), secondPattern);
+        }
+        assertEquals(firstPattern, countMatchAlgorithm.bundles.get(0).traversal);
+        assertEquals(secondPattern, countMatchAlgorithm.bundles.get(1).traversal);
+        // THE ESTIMATES SURVIVE CLONING
+        assertEquals(Arrays.asList(3.0d, 0.5d), matchStep.clone().getEstimatedMultiplicities());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAnEstimateForEachMatchTraversal() {
+        final MatchStep<?, ?> matchStep = (MatchStep<?, ?>) __.match(as("a").out().as("b"), as("c").in().as("d")).asAdmin().getStartStep();
+        matchStep.setEstimatedMultiplicities(Collections.singletonList(1.0d));
+    }
+
     @Test
     public void testComputerAwareCountMatchAlgorithm() {
         // MAKE SURE OLAP JOBS ARE BIASED TOWARDS STAR GRAPH DATA
@@ -410,4 +458,140 @@ public class MatchStepTest extends StepTest {
                 as("b").in("created").count().is(P.gt(1))).asAdmin();
         assertEquals("a", MatchStep.Helper.computeStartLabel(((MatchStep<?, ?>) traversal.getStartStep()).getGlobalChildren()));
     }
+
+    @Test
+    public void shouldJoinMatchPatternsLikeCountMatchAlgorithm() {
+        final List<Supplier<Traversal<Integer, ?>>> traversals = Arrays.asList(
+                () -> __.inject(0, 1, 2, 3, 4).match(as("a").flatMap(ring(5)).as("b"), as("b").flatMap(ring(5)).as("c"), as("a").flatMap(ring(5)).as("c")),
+                () -> __.inject(0, 1, 2, 3, 4).match(as("a").flatMap(ring(5)).flatMap(ring(5)).as("b"), as("b").flatMap(ring(5)).as("a")),
+                () -> __.inject(0, 1, 2, 3, 4).match(as("a").flatMap(ring(5)).as("b"), as("a").flatMap(ring(5))),
+                () -> __.inject(0, 1, 2, 3, 4).match(as("a").flatMap(ring(5)).as("b"), as("a").flatMap(ring(5))).dedup("a", "b").count(),
+                () -> __.inject(0, 1, 2, 3, 4).as("a").flatMap(ring(5)).as("b").match(as("a").flatMap(ring(5)).flatMap(ring(5)).as("b")));
+        for (final Supplier<Traversal<Integer, ?>> supplier : traversals) {
+            final Traversal.Admin<Integer, ?> joined = applyStrategies(supplier.get(), MatchStep.GenericJoinMatchAlgorithm.class);
+            final Traversal.Admin<Integer, ?> counted = applyStrategies(supplier.get(), MatchStep.CountMatchAlgorithm.class);
+            assertEquals(results(counted), results(joined));
+            assertJoined(joined);
+        }
+        assertEquals(5, applyStrategies(traversals.get(0).get(), MatchStep.GenericJoinMatchAlgorithm.class).toList().size());
+        assertEquals(Collections.singletonList(10l), applyStrategies(traversals.get(3).get(), MatchStep.GenericJoinMatchAlgorithm.class).toList());
+    }
+
+    @Test
+    public void shouldJoinMoreStartsThanAreCached() {
+        final int size = MatchStep.GenericJoinMatchAlgorithm.MAX_CACHED_STARTS + 2000;
+        final Integer[] starts = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        final Supplier<Traversal<Integer, Long>> supplier = () -> __.inject(starts)
+                .match(as("a").flatMap(ring(size)).as("b"), as("b").flatMap(ring(size)).as("c"), as("a").flatMap(ring(size)).as("c")).count();
+        final Traversal.Admin<Integer, Long> joined = applyStrategies(supplier.get(), MatchStep.GenericJoinMatchAlgorithm.class);
+        assertEquals(Long.valueOf(size), joined.next());
+        assertJoined(joined);
+        assertEquals(Long.valueOf(size), applyStrategies(supplier.get(), MatchStep.CountMatchAlgorithm.class).next());
+    }
+
+    @Test
+    public void shouldLabelThePathWithTheJoinedVariables() {
+        final List<List<Object>> bindings = new ArrayList<>();
+        for (final Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass : Arrays.asList(MatchStep.CountMatchAlgorithm.class, MatchStep.GenericJoinMatchAlgorithm.class)) {
+            final Traversal.Admin<Integer, Map<String, Object>> traversal = applyStrategies(
+                    __.inject(0, 1, 2, 3, 4).match(as("a").flatMap(ring(5)).as("b"), as("b").flatMap(ring(5)).as("c")), matchAlgorithmClass);
+            final List<Object> objects = new ArrayList<>();
+            while (traversal.getEndStep().hasNext()) {
+                final Traverser<Map<String, Object>> traverser = traversal.getEndStep().next();
+                for (final String label : Arrays.asList("a", "b", "c")) {
+                    assertEquals(traverser.get().get(label), traverser.path().get(Pop.last, label));
+                    objects.add(traverser.path().get(Pop.last, label));
+                }
+                assertEquals(1l, traverser.bulk());
+            }
+            assertEquals(60, objects.size());
+            bindings.add(objects);
+        }
+        assertEquals(bindings.get(0).stream().map(Object::toString).sorted().collect(Collectors.toList()),
+                bindings.get(1).stream().map(Object::toString).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldForgetTheJoinedEndsOnReset() {
+        final List<Integer> successors = new ArrayList<>(Collections.singletonList(1));
+        final Traversal.Admin<?, ?> traversal = __.match(as("a").flatMap(t -> successors.iterator()).as("b")).asAdmin();
+        final MatchStep<?, ?> matchStep = (MatchStep<?, ?>) traversal.getStartStep();
+        matchStep.setMatchAlgorithm(MatchStep.GenericJoinMatchAlgorithm.class);
+        final MatchStep.GenericJoinMatchAlgorithm joinMatchAlgorithm = (MatchStep.GenericJoinMatchAlgorithm) matchStep.getMatchAlgorithm();
+        assertTrue(joinMatchAlgorithm.isJoinable());
+        final int b = joinMatchAlgorithm.getVariables().indexOf("b");
+        final List<Object> ends = new ArrayList<>();
+        assertTrue(joinMatchAlgorithm.join(Collections.singletonMap("a", 0), (tuple, bulk) -> ends.add(tuple[b])));
+        assertEquals(Collections.singletonList(1), ends);
+        // THE ENDS OF A START ARE CACHED
+        successors.set(0, 2);
+        ends.clear();
+        joinMatchAlgorithm.join(Collections.singletonMap("a", 0), (tuple, bulk) -> ends.add(tuple[b]));
+        assertEquals(Collections.singletonList(1), ends);
+        // UNTIL THE STEP IS RESET
+        matchStep.reset();
+        ends.clear();
+        joinMatchAlgorithm.join(Collections.singletonMap("a", 0), (tuple, bulk) -> ends.add(tuple[b]));
+        assertEquals(Collections.singletonList(2), ends);
+    }
+
+    @Test
+    public void shouldJoinAsTheBindingsAreIterated() {
+        final List<Object> starts = new ArrayList<>();
+        final Traversal.Admin<?, ?> traversal = __.match(
+                as("a").flatMap(t -> IntStream.range(0, 100).boxed().iterator()).as("b"),
+                as("b").flatMap(t -> {
+                    starts.add(t.get());
+                    return Collections.singletonList(t.get()).iterator();
+                }).as("c")).asAdmin();
+        final MatchStep<?, ?> matchStep = (MatchStep<?, ?>) traversal.getStartStep();
+        matchStep.setMatchAlgorithm(MatchStep.GenericJoinMatchAlgorithm.class);
+        final MatchStep.GenericJoinMatchAlgorithm joinMatchAlgorithm = (MatchStep.GenericJoinMatchAlgorithm) matchStep.getMatchAlgorithm();
+        final Iterator<Pair<Object[], Long>> extensions = joinMatchAlgorithm.join(Collections.singletonMap("a", 0));
+        assertTrue(extensions.hasNext());
+        extensions.next();
+        // ONLY THE CANDIDATES ALONG THE FIRST BINDING ARE EVALUATED
+        assertEquals(Collections.singletonList(0), starts);
+        int bindings = 1;
+        while (extensions.hasNext()) {
+            extensions.next();
+            bindings++;
+        }
+        assertEquals(100, bindings);
+        assertEquals(100, starts.size());
+    }
+
+    private static <S, E> Traversal.Admin<S, E> applyStrategies(final Traversal<S, E> traversal, final Class<? extends MatchStep.MatchAlgorithm> matchAlgorithmClass) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(MatchPredicateStrategy.instance(), MatchAlgorithmStrategy.build().algorithm(matchAlgorithmClass).create());
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+
+    private static List<String> results(final Traversal.Admin<?, ?> traversal) {
+        return traversal.toList().stream()
+                .map(result -> result instanceof Map ? new TreeMap<>((Map<?, ?>) result).toString() : result.toString())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Asserts that the match traversals were joined rather than each given traversers.
+     */
+    private static void assertJoined(final Traversal.Admin<?, ?> traversal) {
+        final MatchStep<?, ?> matchStep = TraversalHelper.getStepsOfClass(MatchStep.class, traversal).get(0);
+        final MatchStep.GenericJoinMatchAlgorithm joinMatchAlgorithm = (MatchStep.GenericJoinMatchAlgorithm) matchStep.getMatchAlgorithm();
+        assertTrue(joinMatchAlgorithm.isJoinable());
+        for (final MatchStep.CountMatchAlgorithm.Bundle bundle : joinMatchAlgorithm.bundles) {
+            assertEquals(0l, bundle.startsCount);
+        }
+    }
+
+    /**
+     * Steps around a ring of objects, where each object is followed by the next two.
+     */
+    private static <S> Function<Traverser<S>, Iterator<Integer>> ring(final int size) {
+        return t -> Arrays.asList(((Integer) t.get() + 1) % size, ((Integer) t.get() + 2) % size).iterator();
+    }
 }
@@ -25,11 +25,16 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.outE;
+import static org.junit.Assert.assertEquals;
 
 /**
  * @author Daniel Kuppitz (http://gremlin.guru)
@@ -69,4 +74,46 @@ public class OrderGlobalStepTest extends StepTest {
             __.inject(list).unfold().order().by(__.identity(), Order.shuffle).by().iterate();
         }
     }
+
+    @Test
+    public void shouldSpillSortedRunsWhenExceedingMaxInMemory() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-order-test").toFile();
+        final Traversal.Admin<?, Integer> traversal = __.inject(shuffledValues(100)).<Integer>unfold().order().by(Order.decr).asAdmin();
+        final OrderGlobalStep<Integer> orderStep = (OrderGlobalStep<Integer>) traversal.getEndStep();
+        orderStep.setMaxInMemory(8);
+        orderStep.setSpillDirectory(directory);
+        assertEquals(Integer.valueOf(99), traversal.next());
+        // twelve runs of eight were spilled and the last four traversers are still in memory
+        assertEquals(12, directory.listFiles().length);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 98; i >= 0; i--) {
+            expected.add(i);
+        }
+        assertEquals(expected, traversal.toList());
+        assertEquals(0, directory.listFiles().length);
+        directory.delete();
+    }
+
+    @Test
+    public void shouldOnlyHoldTheFirstTraversersWhenLimited() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-order-test").toFile();
+        final Traversal.Admin<?, Integer> traversal = __.inject(shuffledValues(100)).<Integer>unfold().order().asAdmin();
+        final OrderGlobalStep<Integer> orderStep = (OrderGlobalStep<Integer>) traversal.getEndStep();
+        orderStep.setLimit(3);
+        orderStep.setMaxInMemory(8);
+        orderStep.setSpillDirectory(directory);
+        assertEquals(Arrays.asList(0, 1, 2), traversal.toList());
+        // a limit within the memory bound keeps the first traversers in a heap instead of spilling
+        assertEquals(0, directory.listFiles().length);
+        directory.delete();
+    }
+
+    private static List<Integer> shuffledValues(final int size) {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(i);
+        }
+        Collections.shuffle(values, new Random(123l));
+        return values;
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AggregationTableTest {
+
+    @Test
+    public void shouldCountManyKeys() {
+        final AggregationTable<Integer, Long> table = new AggregationTable<>(GroupStepHelper.Aggregation.COUNT);
+        for (int i = 0; i < 100000; i++) {
+            table.add(i % 10000, null, 2l);
+        }
+        table.add(null, null, 1l);
+        assertEquals(10001, table.size());
+        final Map<Integer, Long> map = table.getFinal();
+        assertEquals(10001, map.size());
+        assertEquals(Long.valueOf(20l), map.get(0));
+        assertEquals(Long.valueOf(20l), map.get(9999));
+        assertEquals(Long.valueOf(1l), map.get(null));
+        assertTrue(table.containsKey(null));
+        assertFalse(table.containsKey(10000));
+    }
+
+    @Test
+    public void shouldSumWithTheTypesOfSumGlobalStep() {
+        final AggregationTable<String, Number> table = new AggregationTable<>(GroupStepHelper.Aggregation.SUM);
+        table.touch("empty");
+        table.add("integers", 1, 3l);
+        table.add("integers", 2, 1l);
+        table.add("mixed", 1, 1l);
+        table.add("mixed", 2.5d, 2l);
+        table.add("mixed", 3, 1l);
+        assertEquals(Integer.valueOf(0), table.get("empty"));
+        assertEquals(Long.valueOf(5l), table.get("integers"));
+        assertEquals(Double.valueOf(9.0d), table.get("mixed"));
+        assertNull(table.get("missing"));
+    }
+
+    @Test
+    public void shouldMinMaxAndMeanWithTheTypesOfTheirSteps() {
+        final AggregationTable<String, Number> min = new AggregationTable<>(GroupStepHelper.Aggregation.MIN);
+        final AggregationTable<String, Number> max = new AggregationTable<>(GroupStepHelper.Aggregation.MAX);
+        final AggregationTable<String, Number> mean = new AggregationTable<>(GroupStepHelper.Aggregation.MEAN);
+        for (final AggregationTable<String, Number> table : Arrays.asList(min, max, mean)) {
+            table.touch("empty");
+            table.add("a", 3, 1l);
+            table.add("a", 1, 2l);
+            table.add("a", 2, 1l);
+            table.add("b", 4, 1l);
+            table.add("b", 2l, 1l);
+        }
+        assertNull(min.get("empty"));
+        assertEquals(Integer.valueOf(1), min.get("a"));
+        assertEquals(Long.valueOf(2l), min.get("b"));
+        assertNull(max.get("empty"));
+        assertEquals(Integer.valueOf(3), max.get("a"));
+        assertEquals(Long.valueOf(4l), max.get("b"));
+        assertTrue(Double.isNaN(mean.get("empty").doubleValue()));
+        assertEquals(Double.valueOf(7.0d / 4), mean.get("a"));
+        assertEquals(Double.valueOf(3.0d), mean.get("b"));
+    }
+
+    @Test
+    public void shouldFoldValuesByBulk() {
+        final AggregationTable<String, Object> table = new AggregationTable<>(GroupStepHelper.Aggregation.FOLD);
+        table.touch("empty");
+        table.add("a", "x", 2l);
+        table.add("a", "y", 1l);
+        assertEquals(Collections.emptyList(), table.get("empty"));
+        assertEquals(Arrays.asList("x", "x", "y"), table.get("a"));
+    }
+
+    @Test
+    public void shouldCombinePartialAggregates() {
+        for (final GroupStepHelper.Aggregation aggregation : Arrays.asList(GroupStepHelper.Aggregation.COUNT, GroupStepHelper.Aggregation.SUM, GroupStepHelper.Aggregation.MIN, GroupStepHelper.Aggregation.MAX)) {
+            final AggregationTable<String, Object> first = new AggregationTable<>(aggregation);
+            final AggregationTable<String, Object> second = new AggregationTable<>(aggregation);
+            final AggregationTable<String, Object> all = new AggregationTable<>(aggregation);
+            first.add("a", 3, 2l);
+            first.add("a", 5, 1l);
+            second.add("a", 1, 4l);
+            all.add("a", 3, 2l);
+            all.add("a", 5, 1l);
+            all.add("a", 1, 4l);
+            second.touch("empty");
+            all.touch("empty");
+            final AggregationTable<String, Object> combined = new AggregationTable<>(aggregation);
+            for (final AggregationTable<String, Object> table : Arrays.asList(first, second)) {
+                for (final String key : Arrays.asList("a", "empty")) {
+                    combined.touch(key);
+                    table.getPartial(key).forEach((value, bulk) -> combined.add(key, value, bulk));
+                }
+            }
+            assertEquals(aggregation.toString(), all.getFinal(), combined.getFinal());
+        }
+    }
+
+    @Test
+    public void shouldRecognizeCommonReductions() {
+        assertEquals(GroupStepHelper.Aggregation.COUNT, GroupStepHelper.Aggregation.of(__.count().asAdmin()));
+        assertEquals(GroupStepHelper.Aggregation.SUM, GroupStepHelper.Aggregation.of(__.identity().sum().asAdmin()));
+        assertEquals(GroupStepHelper.Aggregation.MIN, GroupStepHelper.Aggregation.of(__.min().asAdmin()));
+        assertEquals(GroupStepHelper.Aggregation.MAX, GroupStepHelper.Aggregation.of(__.max().asAdmin()));
+        assertEquals(GroupStepHelper.Aggregation.MEAN, GroupStepHelper.Aggregation.of(__.mean().asAdmin()));
+        assertEquals(GroupStepHelper.Aggregation.FOLD, GroupStepHelper.Aggregation.of(__.fold().asAdmin()));
+        assertNull(GroupStepHelper.Aggregation.of(__.fold(0, (a, b) -> a).asAdmin()));
+        assertNull(GroupStepHelper.Aggregation.of(__.count().is(0).asAdmin()));
+        assertNull(GroupStepHelper.Aggregation.of(__.out().count().asAdmin()));
+        assertNull(GroupStepHelper.Aggregation.of(__.identity().asAdmin()));
+    }
+}
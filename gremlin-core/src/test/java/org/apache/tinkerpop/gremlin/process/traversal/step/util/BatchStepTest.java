@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Batchable;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.FlatMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.util.TraverserBatch;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchStepTest {
+
+    @Test
+    public void shouldKeepBatchesBoundedWhenStepsExpandTheirStarts() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).asAdmin();
+        final RepeatStep first = new RepeatStep(traversal, 3);
+        final RepeatStep second = new RepeatStep(traversal, 3);
+        traversal.addStep(new BatchStep<>(traversal, Arrays.asList(first, second), 4));
+
+        final List<Integer> results = new ArrayList<>();
+        traversal.forEachRemaining(results::add);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            expected.addAll(Collections.nCopies(9, i));
+        }
+        assertEquals(expected, results);
+        assertEquals(10, first.expanded);
+        assertEquals(30, second.expanded);
+        assertTrue(first.largestBatch <= 4);
+        assertTrue(second.largestBatch <= 4);
+    }
+
+    @Test
+    public void shouldOnlyComputeOneBatchAhead() {
+        final Traversal.Admin<Integer, Integer> traversal = __.inject(1, 2, 3, 4, 5, 6, 7, 8, 9, 10).asAdmin();
+        final RepeatStep first = new RepeatStep(traversal, 3);
+        final RepeatStep second = new RepeatStep(traversal, 3);
+        traversal.addStep(new BatchStep<>(traversal, Arrays.asList(first, second), 4));
+
+        assertEquals(1, traversal.next().intValue());
+        // each step fills its batch of four after expanding two of its starts
+        assertEquals(2, first.expanded);
+        assertEquals(2, second.expanded);
+    }
+
+    private static final class RepeatStep extends FlatMapStep<Integer, Integer> implements Batchable<Integer, Integer> {
+
+        private final int times;
+        private int expanded = 0;
+        private int largestBatch = 0;
+
+        private RepeatStep(final Traversal.Admin traversal, final int times) {
+            super(traversal);
+            this.times = times;
+        }
+
+        @Override
+        protected Iterator<Integer> flatMap(final Traverser.Admin<Integer> traverser) {
+            return Collections.nCopies(this.times, traverser.get()).iterator();
+        }
+
+        @Override
+        public void processBatch(final TraverserBatch<Integer> starts, final TraverserBatch<Integer> ends) {
+            starts.flatMap(ends, this, start -> {
+                this.expanded++;
+                return Collections.nCopies(this.times, start).iterator();
+            });
+            this.largestBatch = Math.max(this.largestBatch, Math.max(starts.size(), ends.size()));
+        }
+    }
+}
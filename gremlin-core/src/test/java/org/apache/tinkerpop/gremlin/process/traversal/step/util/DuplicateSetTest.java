@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedEdge;
+import org.apache.tinkerpop.gremlin.structure.util.detached.DetachedVertex;
+import org.javatuples.Pair;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DuplicateSetTest {
+
+    @Test
+    public void shouldDeduplicateElementsById() {
+        final ElementIdDuplicateSet set = new ElementIdDuplicateSet();
+        for (long id = 0; id < 10000; id++) {
+            assertTrue(set.add(vertex(id)));
+        }
+        for (long id = 0; id < 10000; id++) {
+            assertFalse(set.add(vertex(id)));
+            assertTrue(set.contains(vertex(id)));
+        }
+        assertFalse(set.contains(vertex(10000l)));
+        assertEquals(10000, set.size());
+    }
+
+    @Test
+    public void shouldKeepElementKindsAndIdTypesApart() {
+        final ElementIdDuplicateSet set = new ElementIdDuplicateSet();
+        assertTrue(set.add(vertex(1l)));
+        assertTrue(set.add(vertex(1)));
+        assertTrue(set.add(edge(1l)));
+        assertTrue(set.add(1l));
+        assertTrue(set.add("1"));
+        assertTrue(set.add(vertex("1")));
+        assertFalse(set.add(vertex(1l)));
+        assertFalse(set.add(vertex(1)));
+        assertFalse(set.add(edge(1l)));
+        assertFalse(set.add(1l));
+        assertFalse(set.add(vertex("1")));
+        assertTrue(set.add(null));
+        assertFalse(set.add(null));
+        assertEquals(7, set.size());
+        set.clear();
+        assertEquals(0, set.size());
+        assertTrue(set.add(vertex(1l)));
+    }
+
+    @Test
+    public void shouldNeverLetDuplicatesThroughBloomFilter() {
+        final BloomDuplicateSet set = new BloomDuplicateSet(10000l, 0.01d);
+        int distinct = 0;
+        for (long id = 0; id < 10000; id++) {
+            if (set.add(vertex(id)))
+                distinct++;
+        }
+        for (long id = 0; id < 10000; id++) {
+            assertFalse(set.add(vertex(id)));
+            assertTrue(set.contains(vertex(id)));
+        }
+        // the rate at which distinct objects are taken for duplicates stays near the configured rate
+        assertTrue(distinct > 9800);
+    }
+
+    @Test
+    public void shouldClearBloomFilter() {
+        final BloomDuplicateSet set = new BloomDuplicateSet(1000l, 0.01d);
+        assertFalse(set.contains(vertex(1l)));
+        set.clear();
+        assertTrue(set.add(vertex(1l)));
+        assertTrue(set.contains(vertex(1l)));
+        set.clear();
+        assertFalse(set.contains(vertex(1l)));
+        assertTrue(set.add(vertex(1l)));
+        assertFalse(set.add(vertex(1l)));
+    }
+
+    @Test
+    public void shouldSizeBloomFilter() {
+        final BloomDuplicateSet set = new BloomDuplicateSet(1000000l, 0.01d);
+        assertEquals(7, set.getHashes());
+        assertTrue(set.getBitSize() >= 9585058l && set.getBitSize() < 9585058l + 64);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowInvalidFalsePositiveRate() {
+        new BloomDuplicateSet(1000l, 1.0d);
+    }
+
+    private static DetachedVertex vertex(final Object id) {
+        return new DetachedVertex(id, "person", Collections.emptyMap());
+    }
+
+    private static DetachedEdge edge(final Object id) {
+        return new DetachedEdge(id, "knows", Collections.emptyMap(), Pair.with(1l, "person"), Pair.with(2l, "person"));
+    }
+}
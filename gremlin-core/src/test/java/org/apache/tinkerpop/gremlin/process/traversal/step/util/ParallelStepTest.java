@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.StepTest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class ParallelStepTest extends StepTest {
+
+    @Override
+    protected List<Traversal> getTraversals() {
+        return Arrays.asList(
+                parallel(__.identity().asAdmin(), __.is(1).asAdmin(), 2, 16),
+                parallel(__.identity().asAdmin(), __.is(1).asAdmin(), 4, 16),
+                parallel(__.identity().asAdmin(), __.is(1).asAdmin(), 2, 32),
+                parallel(__.identity().asAdmin(), __.is(2).asAdmin(), 2, 16)
+        );
+    }
+
+    @Test
+    public void shouldStreamManyPartitionsThroughSmallBuffers() {
+        final Integer[] objects = new Integer[10000];
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = i;
+            expected.add(i);
+            expected.add(i);
+        }
+        // more partitions than the common pool has threads, each of which can only hold one traverser ahead
+        final GraphTraversal.Admin<Integer, Integer> traversal = parallel(__.inject(objects).asAdmin(),
+                __.<Integer>start().is(P.gte(0)).flatMap(t -> Arrays.asList(t.get(), t.get()).iterator()).asAdmin(), 64, 1);
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getEndStep();
+        final List<Integer> actual = traversal.fold().next();
+        Collections.sort(actual);
+        assertEquals(expected, actual);
+        assertEquals(64, parallelStep.getPartitionCount());
+    }
+
+    @Test
+    public void shouldKeepProcessingEveryPartitionWhileTheFirstIsBlocked() {
+        final Integer[] objects = new Integer[1000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = i;
+        }
+        // the first partition can only finish once the second has processed all of its starts, which it can only do
+        // if its ends are taken while the first partition has not produced any
+        final CountDownLatch lastProcessed = new CountDownLatch(1);
+        final GraphTraversal.Admin<Integer, Integer> traversal = parallel(__.inject(objects).asAdmin(), __.<Integer>start().map(t -> {
+            if (t.get() == 0)
+                await(lastProcessed);
+            else if (t.get() == objects.length - 1)
+                lastProcessed.countDown();
+            return t.get();
+        }).asAdmin(), 2, 1);
+        assertEquals(Long.valueOf(objects.length), traversal.count().next());
+    }
+
+    @Test
+    public void shouldProcessFewerStartsThanPartitions() {
+        final GraphTraversal.Admin<Integer, Integer> traversal = parallel(__.inject(1, 2, 3).asAdmin(), __.<Integer>start().is(P.gt(1)).asAdmin(), 8, 4);
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getEndStep();
+        assertEquals(Arrays.asList(2, 3), traversal.toList());
+        assertEquals(3, parallelStep.getPartitionCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRethrowFailureOfPartition() {
+        final Integer[] objects = new Integer[1000];
+        for (int i = 0; i < objects.length; i++) {
+            objects[i] = i;
+        }
+        parallel(__.inject(objects).asAdmin(), __.<Integer>start().map(t -> {
+            if (t.get() == 600)
+                throw new IllegalStateException("partition failed");
+            return t.get();
+        }).asAdmin(), 8, 2).iterate();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    if (!latch.await(10, TimeUnit.SECONDS))
+                        throw new IllegalStateException("The partitions were processed one after the other");
+                    return true;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return 0 == latch.getCount();
+                }
+            });
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    private static <S, E> GraphTraversal.Admin<S, E> parallel(final GraphTraversal.Admin<S, S> traversal, final Traversal.Admin<S, E> parallelTraversal,
+                                                              final int parallelism, final int bufferSize) {
+        return (GraphTraversal.Admin<S, E>) traversal.addStep(new ParallelStep<>(traversal, parallelTraversal, parallelism, bufferSize));
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.DedupGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BoundedDedupStrategyTest {
+
+    private static final BoundedDedupStrategy SPILL = BoundedDedupStrategy.build().maxInMemory(2).partitions(64).create();
+    private static final BoundedDedupStrategy APPROXIMATE = BoundedDedupStrategy.build().approximate(1000l, 0.001d).create();
+
+    @Test
+    public void shouldSpillDedupOfRootTraversal() {
+        final Traversal<?, ?> traversal = __.out().dedup().local(__.out().dedup());
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, SPILL);
+        assertEquals(2, getDedupStep(traversal).getMaxInMemory());
+        final List<DedupGlobalStep> dedupSteps = TraversalHelper.getStepsOfAssignableClassRecursively(DedupGlobalStep.class, traversal.asAdmin());
+        assertEquals(2, dedupSteps.size());
+        assertEquals(1, dedupSteps.stream().filter(dedupStep -> 2 == dedupStep.getMaxInMemory()).count());
+    }
+
+    @Test
+    public void shouldNotSpillDedupWithPaths() {
+        final Traversal<?, ?> traversal = __.out().as("a").out().dedup().select("a");
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, SPILL);
+        assertEquals(Integer.MAX_VALUE, getDedupStep(traversal).getMaxInMemory());
+    }
+
+    @Test
+    public void shouldApproximateDedupOfRootTraversal() {
+        final Traversal<?, ?> traversal = __.out().as("a").out().dedup().local(__.out().dedup()).select("a");
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, APPROXIMATE);
+        assertTrue(getDedupStep(traversal).isApproximate());
+        final List<DedupGlobalStep> dedupSteps = TraversalHelper.getStepsOfAssignableClassRecursively(DedupGlobalStep.class, traversal.asAdmin());
+        assertEquals(2, dedupSteps.size());
+        assertEquals(1, dedupSteps.stream().filter(DedupGlobalStep::isApproximate).count());
+    }
+
+    @Test
+    public void shouldNotBoundDedupOnComputer() {
+        for (final BoundedDedupStrategy strategy : Arrays.asList(SPILL, APPROXIMATE)) {
+            final Traversal<?, ?> traversal = __.out().dedup();
+            applyStrategies(traversal, TraversalEngine.Type.COMPUTER, strategy);
+            assertEquals(Integer.MAX_VALUE, getDedupStep(traversal).getMaxInMemory());
+            assertFalse(getDedupStep(traversal).isApproximate());
+        }
+    }
+
+    @Test
+    public void shouldProduceSameResultsWithBoundedDedup() {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            values.add(i % 70);
+        }
+        Collections.shuffle(values, new Random(123l));
+        final List<Supplier<Traversal<?, ?>>> traversals = Arrays.asList(
+                () -> __.inject(values).unfold().dedup(),
+                () -> __.inject(values).unfold().dedup().count(),
+                () -> __.inject(values).unfold().dedup().fold().count(Scope.local),
+                () -> __.inject(values).unfold().dedup().is(7));
+        for (final BoundedDedupStrategy strategy : Arrays.asList(SPILL, APPROXIMATE)) {
+            for (final Supplier<Traversal<?, ?>> supplier : traversals) {
+                final Traversal<?, ?> bounded = supplier.get();
+                applyStrategies(bounded, TraversalEngine.Type.STANDARD, strategy);
+                final DedupGlobalStep<?> dedupStep = getDedupStep(bounded);
+                assertTrue(strategy.isApproximate() ? dedupStep.isApproximate() : 2 == dedupStep.getMaxInMemory());
+                final Traversal<?, ?> original = supplier.get();
+                applyStrategies(original, TraversalEngine.Type.STANDARD);
+                // spilled traversers come after all the others so only the objects are compared
+                final List<?> results = bounded.toList();
+                final List<?> expected = original.toList();
+                assertEquals(expected.size(), results.size());
+                assertEquals(new HashSet<>(expected), new HashSet<>(results));
+            }
+        }
+    }
+
+    private static DedupGlobalStep<?> getDedupStep(final Traversal<?, ?> traversal) {
+        return TraversalHelper.getStepsOfClass(DedupGlobalStep.class, traversal.asAdmin()).get(0);
+    }
+
+    private static void applyStrategies(final Traversal<?, ?> traversal, final TraversalEngine.Type type, final TraversalStrategy<?>... traversalStrategies) {
+        final TraversalEngine engine = mock(TraversalEngine.class);
+        when(engine.getType()).thenReturn(type);
+        when(engine.isComputer()).thenReturn(TraversalEngine.Type.COMPUTER == type);
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(traversalStrategies);
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(engine);
+        traversal.asAdmin().applyStrategies();
+    }
+}
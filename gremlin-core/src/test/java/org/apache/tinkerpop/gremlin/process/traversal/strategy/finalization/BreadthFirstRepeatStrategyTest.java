@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.branch.RepeatStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BreadthFirstRepeatStrategyTest {
+
+    @Test
+    public void shouldLoopBreadthFirst() {
+        final Traversal<?, ?> traversal = __.out().repeat(__.out()).times(2);
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, BreadthFirstRepeatStrategy.build().create());
+        assertTrue(getRepeatStep(traversal).isBreadthFirst());
+        assertFalse(getRepeatStep(traversal).isPruneVisited());
+    }
+
+    @Test
+    public void shouldPruneVisitedObjects() {
+        final Traversal<?, ?> traversal = __.out().repeat(__.out()).times(2);
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, BreadthFirstRepeatStrategy.build().pruneVisited(true).create());
+        assertTrue(getRepeatStep(traversal).isBreadthFirst());
+        assertTrue(getRepeatStep(traversal).isPruneVisited());
+    }
+
+    @Test
+    public void shouldNotLoopBreadthFirstOnComputer() {
+        final Traversal<?, ?> traversal = __.out().repeat(__.out()).times(2);
+        applyStrategies(traversal, TraversalEngine.Type.COMPUTER, BreadthFirstRepeatStrategy.build().pruneVisited(true).create());
+        assertFalse(getRepeatStep(traversal).isBreadthFirst());
+        assertFalse(getRepeatStep(traversal).isPruneVisited());
+    }
+
+    @Test
+    public void shouldProduceSameResultsWithBreadthFirstRepeat() {
+        final List<Supplier<Traversal<?, ?>>> traversals = Arrays.asList(
+                () -> __.inject(0).repeat(ring()).times(4),
+                () -> __.inject(0).repeat(ring()).emit().times(3),
+                () -> __.inject(0, 1).emit().repeat(ring()).times(2),
+                () -> __.inject(0).until(__.is(P.gte(8))).repeat(ladder()),
+                () -> __.inject(0).repeat(ladder()).emit(),
+                () -> __.inject(0).repeat(ring()).times(3).path(),
+                () -> __.inject(0).repeat(ring()).times(6).count());
+        for (final Supplier<Traversal<?, ?>> supplier : traversals) {
+            final Traversal<?, ?> breadthFirst = supplier.get();
+            applyStrategies(breadthFirst, TraversalEngine.Type.STANDARD, BreadthFirstRepeatStrategy.build().create());
+            assertTrue(getRepeatStep(breadthFirst).isBreadthFirst());
+            final Traversal<?, ?> original = supplier.get();
+            applyStrategies(original, TraversalEngine.Type.STANDARD);
+            // the depths of a breadth-first loop come out one after the other so only the counts of the results are compared
+            assertEquals(counts(original.toList()), counts(breadthFirst.toList()));
+        }
+    }
+
+    /**
+     * Loops around a ring of five objects, where each object is followed by the next two.
+     */
+    private static GraphTraversal<Integer, Integer> ring() {
+        return __.<Integer, Integer>flatMap(t -> Arrays.asList((t.get() + 1) % 5, (t.get() + 2) % 5).iterator());
+    }
+
+    /**
+     * Climbs a ladder of objects up to 8, where each object below 8 is followed by the next two.
+     */
+    private static GraphTraversal<Integer, Integer> ladder() {
+        return __.<Integer, Integer>flatMap(t -> t.get() < 8 ? Arrays.asList(t.get() + 1, t.get() + 2).iterator() : Collections.<Integer>emptyIterator());
+    }
+
+    private static Map<Object, Long> counts(final List<?> results) {
+        final Map<Object, Long> counts = new HashMap<>();
+        results.forEach(result -> counts.merge(result, 1l, Long::sum));
+        return counts;
+    }
+
+    private static RepeatStep<?> getRepeatStep(final Traversal<?, ?> traversal) {
+        return TraversalHelper.getStepsOfClass(RepeatStep.class, traversal.asAdmin()).get(0);
+    }
+
+    private static void applyStrategies(final Traversal<?, ?> traversal, final TraversalEngine.Type type, final TraversalStrategy<?>... traversalStrategies) {
+        final TraversalEngine engine = mock(TraversalEngine.class);
+        when(engine.getType()).thenReturn(type);
+        when(engine.isComputer()).thenReturn(TraversalEngine.Type.COMPUTER == type);
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(traversalStrategies);
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(engine);
+        traversal.asAdmin().applyStrategies();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ExternalSortStrategyTest {
+
+    private static final ExternalSortStrategy STRATEGY = ExternalSortStrategy.build().maxInMemory(2).create();
+
+    @Test
+    public void shouldBoundTheMemoryOfOrder() {
+        final Traversal<?, ?> traversal = __.out().order().by("age").out().order();
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, STRATEGY);
+        for (final OrderGlobalStep<?> orderStep : TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal.asAdmin())) {
+            assertEquals(2, orderStep.getMaxInMemory());
+        }
+    }
+
+    @Test
+    public void shouldNotBoundTheMemoryOfOrderWithPaths() {
+        final Traversal<?, ?> traversal = __.out().as("a").order().by("age").select("a");
+        applyStrategies(traversal, TraversalEngine.Type.STANDARD, STRATEGY);
+        assertEquals(Integer.MAX_VALUE, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal.asAdmin()).get(0).getMaxInMemory());
+    }
+
+    @Test
+    public void shouldNotBoundTheMemoryOfOrderOnComputer() {
+        final Traversal<?, ?> traversal = __.out().order().by("age");
+        applyStrategies(traversal, TraversalEngine.Type.COMPUTER, STRATEGY);
+        assertEquals(Integer.MAX_VALUE, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal.asAdmin()).get(0).getMaxInMemory());
+    }
+
+    @Test
+    public void shouldProduceSameResultsWithExternalSort() {
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            values.add(i % 20);
+        }
+        Collections.shuffle(values, new Random(123l));
+        final List<Supplier<Traversal<?, ?>>> traversals = Arrays.asList(
+                () -> __.inject(values).unfold().order(),
+                () -> __.inject(values).unfold().order().by(Order.decr),
+                () -> __.inject(values).unfold().order().by(Order.decr).is(7),
+                () -> __.inject(values).unfold().order().limit(7));
+        for (final Supplier<Traversal<?, ?>> supplier : traversals) {
+            final Traversal<?, ?> sorted = supplier.get();
+            applyStrategies(sorted, TraversalEngine.Type.STANDARD, STRATEGY);
+            assertEquals(2, TraversalHelper.getStepsOfClass(OrderGlobalStep.class, sorted.asAdmin()).get(0).getMaxInMemory());
+            final Traversal<?, ?> original = supplier.get();
+            applyStrategies(original, TraversalEngine.Type.STANDARD);
+            assertEquals(original.toList(), sorted.toList());
+        }
+    }
+
+    private static void applyStrategies(final Traversal<?, ?> traversal, final TraversalEngine.Type type, final TraversalStrategy<?>... traversalStrategies) {
+        final TraversalEngine engine = mock(TraversalEngine.class);
+        when(engine.getType()).thenReturn(type);
+        when(engine.isComputer()).thenReturn(TraversalEngine.Type.COMPUTER == type);
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(traversalStrategies);
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(engine);
+        traversal.asAdmin().applyStrategies();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.engine.StandardTraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.CountGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GraphStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.ParallelStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+
+public class ParallelStrategyTest {
+
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    public void shouldMoveStepsBeforeFirstBarrierIntoParallelStep() {
+        final Traversal.Admin<?, ?> traversal = applyParallelStrategy(g.V().out().out().count(), ParallelStrategy.build().parallelism(8).bufferSize(16).create());
+        assertEquals(3, traversal.getSteps().size());
+        assertThat(traversal.getStartStep(), instanceOf(GraphStep.class));
+        assertThat(traversal.getEndStep(), instanceOf(CountGlobalStep.class));
+
+        final ParallelStep<?, ?> parallelStep = (ParallelStep<?, ?>) traversal.getSteps().get(1);
+        assertEquals(8, parallelStep.getParallelism());
+        assertEquals(16, parallelStep.getBufferSize());
+        assertEquals(2, parallelStep.getGlobalChildren().get(0).getSteps().size());
+        assertThat(parallelStep.getGlobalChildren().get(0).getStartStep(), instanceOf(VertexStep.class));
+    }
+
+    @Test
+    public void shouldLeaveTraversalsThatCannotBeSplitUnchanged() {
+        final ParallelStrategy strategy = ParallelStrategy.build().parallelism(8).create();
+        assertFalse(hasParallelStep(applyParallelStrategy(g.V().out().limit(2).count(), strategy)));
+        assertFalse(hasParallelStep(applyParallelStrategy(g.V().out().aggregate("x").count(), strategy)));
+        assertFalse(hasParallelStep(applyParallelStrategy(g.V().out().map(t -> t.get()).count(), strategy)));
+        assertFalse(hasParallelStep(applyParallelStrategy(g.V().out().out(), strategy)));
+        assertFalse(hasParallelStep(applyParallelStrategy(__.out().out().count(), strategy)));
+        assertFalse(hasParallelStep(applyParallelStrategy(g.V().out().out().count(), ParallelStrategy.build().parallelism(1).create())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowEmptyBuffers() {
+        ParallelStrategy.build().bufferSize(0);
+    }
+
+    private static boolean hasParallelStep(final Traversal.Admin<?, ?> traversal) {
+        return traversal.getSteps().stream().anyMatch(step -> step instanceof ParallelStep);
+    }
+
+    private static Traversal.Admin<?, ?> applyParallelStrategy(final Traversal<?, ?> traversal, final ParallelStrategy strategy) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(strategy);
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(StandardTraversalEngine.instance());
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+}
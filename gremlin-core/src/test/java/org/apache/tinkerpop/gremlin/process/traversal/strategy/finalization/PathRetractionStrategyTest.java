@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.PathRetractionStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(Enclosed.class)
+public class PathRetractionStrategyTest {
+
+    @RunWith(Parameterized.class)
+    public static class StandardTest {
+
+        @Parameterized.Parameters(name = "{0}")
+        public static Iterable<Object[]> data() {
+            return Arrays.asList(new Traversal[][]{
+                    {__.V().as("a").out().as("b").where("a", P.neq("b")).out(), retract(__.V().as("a").out().as("b").where("a", P.neq("b")), "a", "b").out()},
+                    {__.V().as("a").out().select("a").out(), retract(__.V().as("a").out().select("a"), "a").out()},
+                    {__.V().as("a").out().as("b").select("b").out(), retract(retract(__.V().as("a"), "a").out().as("b").select("b"), "b").out()},
+                    {__.V().as("a").out().where(__.as("a").out()).out().count(), retract(__.V().as("a").out().where(__.as("a").out()), "a").out().count()},
+                    {__.V().as("a").out().select("a"), __.V().as("a").out().select("a")},
+                    {__.V().as("a").out().select("a").out().path(), __.V().as("a").out().select("a").out().path()},
+                    {__.V().as("a").out().select("a").filter(t -> true).out(), __.V().as("a").out().select("a").filter(t -> true).out()},
+            });
+        }
+
+        @Parameterized.Parameter(value = 0)
+        public Traversal original;
+
+        @Parameterized.Parameter(value = 1)
+        public Traversal optimized;
+
+        @Test
+        public void shouldApplyStrategy() {
+            applyStrategies(this.original, PathRetractionStrategy.instance());
+            assertEquals(this.optimized, this.original);
+        }
+    }
+
+    public static class ResultTest {
+
+        @Test
+        public void shouldProduceSameResultsWithPathRetraction() {
+            final List<Supplier<Traversal<?, ?>>> traversals = Arrays.asList(
+                    () -> __.inject(1, 2, 3, 2).as("a").constant(2).as("b").where("a", P.neq("b")).select("a").fold(),
+                    () -> __.inject(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(1, 2)).as("a").unfold().select("a").count(Scope.local),
+                    () -> __.inject(1, 2, 3).as("a").constant(1).where(__.as("a").is(P.gt(1))).count(),
+                    () -> __.inject(1, 2, 1).as("a").constant(3).as("b").select("a").as("c").constant(4).select("b", "c"));
+            for (final Supplier<Traversal<?, ?>> supplier : traversals) {
+                final Traversal<?, ?> retracted = supplier.get();
+                applyStrategies(retracted, PathRetractionStrategy.instance());
+                assertFalse(TraversalHelper.getStepsOfClass(PathRetractionStep.class, retracted.asAdmin()).isEmpty());
+                final Traversal<?, ?> original = supplier.get();
+                applyStrategies(original);
+                assertEquals(original.toList(), retracted.toList());
+            }
+        }
+    }
+
+    private static void applyStrategies(final Traversal traversal, final TraversalStrategy<?>... traversalStrategies) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(traversalStrategies);
+        final TraversalEngine traversalEngine = mock(TraversalEngine.class);
+        when(traversalEngine.getType()).thenReturn(TraversalEngine.Type.STANDARD);
+
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(traversalEngine);
+        traversal.asAdmin().applyStrategies();
+    }
+
+    private static <S, E> GraphTraversal<S, E> retract(final GraphTraversal<S, E> traversal, final String... labels) {
+        return traversal.asAdmin().addStep(new PathRetractionStep<>(traversal.asAdmin(), new LinkedHashSet<>(Arrays.asList(labels))));
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.finalization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TraverserRecyclingStrategyTest {
+
+    private static void applyTraverserRecyclingStrategy(final Traversal traversal, final TraversalEngine.Type type) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(TraverserRecyclingStrategy.instance());
+        final TraversalEngine traversalEngine = mock(TraversalEngine.class);
+        when(traversalEngine.getType()).thenReturn(type);
+        when(traversalEngine.isComputer()).thenReturn(type == TraversalEngine.Type.COMPUTER);
+
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(traversalEngine);
+        traversal.asAdmin().applyStrategies();
+    }
+
+    private static List<MapStep> getMapSteps(final Traversal traversal) {
+        return TraversalHelper.getStepsOfAssignableClassRecursively(MapStep.class, traversal.asAdmin());
+    }
+
+    @Test
+    public void shouldRecycleTraversersOfMapSteps() {
+        final Traversal traversal = __.out().union(__.label(), __.outE().id());
+        applyTraverserRecyclingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertEquals(2, getMapSteps(traversal).size());
+        getMapSteps(traversal).forEach(step -> assertTrue(step.isRecycleTraversers()));
+    }
+
+    @Test
+    public void shouldProduceSameResultsWhenRecyclingTraversers() {
+        final Traversal traversal = __.inject(Arrays.asList(1, 2), Arrays.asList(3), Arrays.asList(1, 2), Arrays.asList(4, 5)).count(Scope.local).groupCount();
+        applyTraverserRecyclingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        assertTrue(getMapSteps(traversal).get(0).isRecycleTraversers());
+        final Map<Long, Long> expected = new HashMap<>();
+        expected.put(1l, 1l);
+        expected.put(2l, 3l);
+        assertEquals(expected, traversal.next());
+    }
+
+    @Test
+    public void shouldNotRecycleTraversersWithPaths() {
+        for (final Traversal traversal : new Traversal[]{__.out().label().path(), __.out().as("a").label().select("a"), __.out().union(__.outE().id()).path()}) {
+            applyTraverserRecyclingStrategy(traversal, TraversalEngine.Type.STANDARD);
+            getMapSteps(traversal).forEach(step -> assertFalse(step.isRecycleTraversers()));
+        }
+    }
+
+    @Test
+    public void shouldNotRecycleTraversersWithLambdas() {
+        final Traversal traversal = __.out().sideEffect(t -> {
+        }).label();
+        applyTraverserRecyclingStrategy(traversal, TraversalEngine.Type.STANDARD);
+        getMapSteps(traversal).forEach(step -> assertFalse(step.isRecycleTraversers()));
+    }
+
+    @Test
+    public void shouldNotRecycleTraversersOnComputer() {
+        final Traversal traversal = __.out().label();
+        applyTraverserRecyclingStrategy(traversal, TraversalEngine.Type.COMPUTER);
+        getMapSteps(traversal).forEach(step -> assertFalse(step.isRecycleTraversers()));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.MatchStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CostBasedStrategyTest {
+
+    private Graph graph;
+    private Graph.Statistics statistics;
+
+    @Before
+    public void setup() {
+        this.statistics = mock(Graph.Statistics.class);
+        when(this.statistics.selectivity(eq(Vertex.class), eq("name"), any(P.class))).thenReturn(0.1d);
+        when(this.statistics.selectivity(eq(Vertex.class), eq("age"), any(P.class))).thenReturn(0.5d);
+        when(this.statistics.selectivity(eq(Vertex.class), eq("lang"), any(P.class))).thenReturn(0.3d);
+        when(this.statistics.averageDegree(Direction.OUT, "knows")).thenReturn(2.0d);
+        this.graph = mock(Graph.class);
+        when(this.graph.statistics()).thenReturn(Optional.of(this.statistics));
+    }
+
+    private void applyCostBasedStrategy(final Traversal traversal, final Graph graph) {
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(CostBasedStrategy.instance());
+        final TraversalEngine traversalEngine = mock(TraversalEngine.class);
+        when(traversalEngine.getType()).thenReturn(TraversalEngine.Type.STANDARD);
+
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(traversalEngine);
+        traversal.asAdmin().setGraph(graph);
+        traversal.asAdmin().applyStrategies();
+    }
+
+    @Test
+    public void shouldOrderHasContainersBySelectivity() {
+        final Traversal.Admin<?, ?> traversal = __.out().asAdmin();
+        traversal.addStep(new HasStep<>(traversal, new HasContainer("age", P.gt(20)), new HasContainer("lang", P.eq("java")), new HasContainer("name", P.eq("marko"))));
+        applyCostBasedStrategy(traversal, this.graph);
+        final List<HasContainer> hasContainers = TraversalHelper.getStepsOfClass(HasStep.class, traversal).get(0).getHasContainers();
+        assertEquals(Arrays.asList("name", "lang", "age"), hasContainers.stream().map(HasContainer::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldOrderAdjacentHasStepsBySelectivity() {
+        final Traversal traversal = __.out().has("age", P.gt(20)).has("lang", "java").has("name", "marko");
+        applyCostBasedStrategy(traversal, this.graph);
+        assertEquals(__.out().has("name", "marko").has("lang", "java").has("age", P.gt(20)), traversal);
+    }
+
+    @Test
+    public void shouldOrderOnlyRunsOfHasStepsOnTheSameElements() {
+        final Traversal traversal = __.V().has("age", P.gt(20)).out().has("age", P.gt(20)).has("name", "marko");
+        applyCostBasedStrategy(traversal, this.graph);
+        assertEquals(__.V().has("age", P.gt(20)).out().has("name", "marko").has("age", P.gt(20)), traversal);
+    }
+
+    @Test
+    public void shouldNotMoveLabeledHasSteps() {
+        final Traversal traversal = __.out().has("age", P.gt(20)).as("a").has("name", "marko");
+        applyCostBasedStrategy(traversal, this.graph);
+        assertEquals(__.out().has("age", P.gt(20)).as("a").has("name", "marko"), traversal);
+    }
+
+    @Test
+    public void shouldNotChangeTraversalWithoutStatistics() {
+        final Graph graph = mock(Graph.class);
+        when(graph.statistics()).thenReturn(Optional.empty());
+        final Traversal traversal = __.out().has("age", P.gt(20)).has("name", "marko");
+        applyCostBasedStrategy(traversal, graph);
+        assertEquals(__.out().has("age", P.gt(20)).has("name", "marko"), traversal);
+    }
+
+    @Test
+    public void shouldEstimateMultiplicitiesOfMatchTraversals() {
+        final Traversal traversal = __.match(__.as("a").out("knows").as("b"), __.as("a").has("name", "marko"));
+        applyCostBasedStrategy(traversal, this.graph);
+        final MatchStep<?, ?> matchStep = TraversalHelper.getStepsOfClass(MatchStep.class, traversal.asAdmin()).get(0);
+        assertEquals(Arrays.asList(2.0d, 0.1d), matchStep.getEstimatedMultiplicities());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.OrderGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.DefaultTraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OrderLimitStrategyTest {
+
+    @Test
+    public void shouldLimitOrderFollowedByLimit() {
+        assertEquals(3l, getLimit(__.out().order().by("age").limit(3), TraversalEngine.Type.STANDARD));
+    }
+
+    @Test
+    public void shouldLimitOrderFollowedByRangeToItsHighRange() {
+        assertEquals(5l, getLimit(__.out().order().by("age").range(2, 5), TraversalEngine.Type.STANDARD));
+    }
+
+    @Test
+    public void shouldNotLimitOrderFollowedByUnboundedRange() {
+        assertEquals(Long.MAX_VALUE, getLimit(__.out().order().range(2, -1), TraversalEngine.Type.STANDARD));
+    }
+
+    @Test
+    public void shouldNotLimitOrderNotFollowedByRange() {
+        assertEquals(Long.MAX_VALUE, getLimit(__.out().order().by("age").out().limit(3), TraversalEngine.Type.STANDARD));
+    }
+
+    @Test
+    public void shouldNotLimitOrderOnComputer() {
+        assertEquals(Long.MAX_VALUE, getLimit(__.out().order().by("age").limit(3), TraversalEngine.Type.COMPUTER));
+    }
+
+    @Test
+    public void shouldOrderFirstTraversersWhenFollowedByRange() {
+        final List<Integer> values = Arrays.asList(7, 3, 9, 3, 1, 8, 5, 3, 6);
+        Traversal<?, Integer> traversal = __.inject(values).<Integer>unfold().order().limit(4);
+        assertEquals(4l, getLimit(traversal, TraversalEngine.Type.STANDARD));
+        assertEquals(Arrays.asList(1, 3, 3, 3), traversal.toList());
+        traversal = __.inject(values).<Integer>unfold().order().range(6, 8);
+        assertEquals(8l, getLimit(traversal, TraversalEngine.Type.STANDARD));
+        assertEquals(Arrays.asList(7, 8), traversal.toList());
+        traversal = __.inject(values).<Integer>unfold().order().by(Order.decr).limit(3);
+        assertEquals(3l, getLimit(traversal, TraversalEngine.Type.STANDARD));
+        assertEquals(Arrays.asList(9, 8, 7), traversal.toList());
+    }
+
+    private static long getLimit(final Traversal<?, ?> traversal, final TraversalEngine.Type type) {
+        final TraversalEngine engine = mock(TraversalEngine.class);
+        when(engine.getType()).thenReturn(type);
+        when(engine.isComputer()).thenReturn(TraversalEngine.Type.COMPUTER == type);
+        final TraversalStrategies strategies = new DefaultTraversalStrategies();
+        strategies.addStrategies(OrderLimitStrategy.instance());
+        traversal.asAdmin().setStrategies(strategies);
+        traversal.asAdmin().setEngine(engine);
+        traversal.asAdmin().applyStrategies();
+        return TraversalHelper.getStepsOfClass(OrderGlobalStep.class, traversal.asAdmin()).get(0).getLimit();
+    }
+}
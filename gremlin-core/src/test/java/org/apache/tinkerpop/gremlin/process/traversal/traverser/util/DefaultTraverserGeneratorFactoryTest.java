@@ -34,6 +34,7 @@ import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -71,6 +72,10 @@ public class DefaultTraverserGeneratorFactoryTest {
         //
         traversal = traversalSource.withBulk(false).V().out().asAdmin();
         traversal.applyStrategies();
+        assertEquals(O_Traverser.class, traversal.getTraverserGenerator().generate(start, traversal.getStartStep(), 1l).getClass());
+        //
+        traversal = traversalSource.withBulk(false).V().repeat(__.out()).times(10).asAdmin();
+        traversal.applyStrategies();
         assertEquals(O_OB_S_SE_SL_Traverser.class, traversal.getTraverserGenerator().generate(start, traversal.getStartStep(), 1l).getClass());
         //
         traversal = traversalSource.withBulk(false).V().as("a").out().select("a").asAdmin();
@@ -80,6 +85,7 @@ public class DefaultTraverserGeneratorFactoryTest {
         traversal = traversalSource.withBulk(false).V().out().path().asAdmin();
         traversal.applyStrategies();
         assertEquals(LP_O_OB_P_S_SE_SL_Traverser.class, traversal.getTraverserGenerator().generate(start, traversal.getStartStep(), 1l).getClass());
-
+        // the traversers of a locked traversal share the label ids of their paths through one generator
+        assertSame(traversal.getTraverserGenerator(), traversal.getTraverserGenerator());
     }
 }
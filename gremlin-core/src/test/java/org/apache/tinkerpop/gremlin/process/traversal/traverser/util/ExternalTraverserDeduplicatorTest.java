@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalTraverserDeduplicatorTest {
+
+    @Test
+    public void shouldDeduplicateWithoutSpilling() {
+        final ExternalTraverserDeduplicator<Integer> deduplicator = createDeduplicator(100, null);
+        assertTrue(deduplicator.add(new B_O_Traverser<>(1, 1l)));
+        assertTrue(deduplicator.add(new B_O_Traverser<>(2, 1l)));
+        assertFalse(deduplicator.add(new B_O_Traverser<>(1, 1l)));
+        assertFalse(deduplicator.hasSpilled());
+        assertFalse(deduplicator.spilled().hasNext());
+    }
+
+    @Test
+    public void shouldDeduplicateSpilledTraversers() {
+        final ExternalTraverserDeduplicator<Integer> deduplicator = createDeduplicator(50, null);
+        final Random random = new Random(123l);
+        final Set<Integer> expected = new HashSet<>();
+        final List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            final int value = random.nextInt(500);
+            expected.add(value);
+            if (deduplicator.add(new B_O_Traverser<>(value, 1l)))
+                values.add(value);
+        }
+        assertEquals(50, values.size());
+        assertTrue(deduplicator.hasSpilled());
+        deduplicator.spilled().forEachRemaining(traverser -> values.add(traverser.get()));
+        assertEquals(expected.size(), values.size());
+        assertEquals(expected, new HashSet<>(values));
+        deduplicator.close();
+    }
+
+    @Test
+    public void shouldDeletePartitionsOnClose() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-dedup-test").toFile();
+        final ExternalTraverserDeduplicator<Integer> deduplicator = createDeduplicator(1, directory);
+        for (int i = 0; i < 100; i++) {
+            deduplicator.add(new B_O_Traverser<>(i % 10, 1l));
+        }
+        assertEquals(4, directory.listFiles().length);
+        final Traverser.Admin<Integer> first = deduplicator.spilled().next();
+        assertTrue(first.get() > 0);
+        deduplicator.close();
+        assertEquals(0, directory.listFiles().length);
+        directory.delete();
+    }
+
+    private static ExternalTraverserDeduplicator<Integer> createDeduplicator(final int maxInMemory, final File directory) {
+        return new ExternalTraverserDeduplicator<>(maxInMemory, 4, directory, Traverser::get,
+                () -> GryoMapper.build().create().createMapper(), traverser -> {
+        });
+    }
+}
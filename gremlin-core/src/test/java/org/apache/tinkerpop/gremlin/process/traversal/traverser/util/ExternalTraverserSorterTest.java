@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExternalTraverserSorterTest {
+
+    private static final Comparator<Traverser<Integer>> BY_VALUE = (a, b) -> a.get().compareTo(b.get());
+
+    @Test
+    public void shouldSortWithoutSpilling() {
+        final ExternalTraverserSorter<Integer> sorter = createSorter(BY_VALUE, 100, null, new AtomicInteger());
+        for (final int i : new int[]{5, 3, 9, 1}) {
+            sorter.add(new B_O_Traverser<>(i, 1l));
+        }
+        assertEquals(0, sorter.getRunCount());
+        assertEquals(Arrays.asList(1, 3, 5, 9), values(sorter.iterator()));
+    }
+
+    @Test
+    public void shouldMergeSpilledRuns() {
+        final AtomicInteger attached = new AtomicInteger();
+        final ExternalTraverserSorter<Integer> sorter = createSorter(BY_VALUE, 16, null, attached);
+        final Random random = new Random(123l);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int value = random.nextInt(100000);
+            expected.add(value);
+            sorter.add(new B_O_Traverser<>(value, 1l));
+        }
+        Collections.sort(expected);
+        final int runs = sorter.getRunCount();
+        assertTrue(runs > 0);
+        assertEquals(expected, values(sorter.iterator()));
+        assertEquals(runs * 16, attached.get());
+        sorter.close();
+    }
+
+    @Test
+    public void shouldKeepEqualTraversersInInsertionOrder() {
+        final ExternalTraverserSorter<Integer> sorter = createSorter((a, b) -> Integer.compare(a.get() / 10, b.get() / 10), 4, null, new AtomicInteger());
+        for (final int i : new int[]{21, 11, 1, 22, 12, 2, 23, 13, 3}) {
+            sorter.add(new B_O_Traverser<>(i, 1l));
+        }
+        assertEquals(Arrays.asList(1, 2, 3, 11, 12, 13, 21, 22, 23), values(sorter.iterator()));
+        sorter.close();
+    }
+
+    @Test
+    public void shouldDeleteRunsOnClose() throws Exception {
+        final File directory = Files.createTempDirectory("gremlin-order-test").toFile();
+        final ExternalTraverserSorter<Integer> sorter = createSorter(BY_VALUE, 2, directory, new AtomicInteger());
+        for (int i = 10; i > 0; i--) {
+            sorter.add(new B_O_Traverser<>(i, 1l));
+        }
+        assertEquals(5, sorter.getRunCount());
+        assertEquals(5, directory.listFiles().length);
+        final Iterator<Traverser.Admin<Integer>> iterator = sorter.iterator();
+        assertEquals(1, iterator.next().get().intValue());
+        sorter.close();
+        assertEquals(0, directory.listFiles().length);
+        assertFalse(sorter.iterator().hasNext());
+        directory.delete();
+    }
+
+    private static ExternalTraverserSorter<Integer> createSorter(final Comparator<Traverser<Integer>> comparator, final int maxInMemory,
+                                                                final File directory, final AtomicInteger attached) {
+        return new ExternalTraverserSorter<>(comparator, maxInMemory, directory,
+                () -> GryoMapper.build().create().createMapper(), traverser -> attached.incrementAndGet());
+    }
+
+    private static List<Integer> values(final Iterator<Traverser.Admin<Integer>> iterator) {
+        final List<Integer> values = new ArrayList<>();
+        iterator.forEachRemaining(traverser -> {
+            for (long i = 0; i < traverser.bulk(); i++) {
+                values.add(traverser.get());
+            }
+        });
+        return values;
+    }
+}
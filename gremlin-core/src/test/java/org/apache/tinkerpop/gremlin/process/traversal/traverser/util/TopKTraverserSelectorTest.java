@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.traverser.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TopKTraverserSelectorTest {
+
+    @Test
+    public void shouldSelectFirstTraversersOfSortOrder() {
+        final TopKTraverserSelector<Integer> selector = new TopKTraverserSelector<>((a, b) -> a.get().compareTo(b.get()), 10);
+        final Random random = new Random(123l);
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            final int value = random.nextInt();
+            expected.add(value);
+            selector.add(new B_O_Traverser<>(value, 1l));
+            assertTrue(selector.size() <= 10);
+        }
+        Collections.sort(expected);
+        assertEquals(expected.subList(0, 10), values(selector.drain()));
+        assertEquals(0, selector.size());
+    }
+
+    @Test
+    public void shouldSelectByBulk() {
+        final TopKTraverserSelector<Integer> selector = new TopKTraverserSelector<>((a, b) -> a.get().compareTo(b.get()), 5);
+        selector.add(new B_O_Traverser<>(7, 1l));
+        selector.add(new B_O_Traverser<>(2, 3l));
+        selector.add(new B_O_Traverser<>(5, 4l));
+        selector.add(new B_O_Traverser<>(9, 2l));
+        selector.add(new B_O_Traverser<>(1, 1l));
+        final List<Traverser.Admin<Integer>> traversers = selector.drain();
+        assertEquals(3, traversers.size());
+        assertEquals(Arrays.asList(1, 2, 5), Arrays.asList(traversers.get(0).get(), traversers.get(1).get(), traversers.get(2).get()));
+        assertEquals(4l, traversers.get(2).bulk());
+    }
+
+    @Test
+    public void shouldKeepEqualTraversersInInsertionOrder() {
+        final TopKTraverserSelector<Integer> selector = new TopKTraverserSelector<>((a, b) -> Integer.compare(a.get() / 10, b.get() / 10), 3);
+        for (final int i : new int[]{21, 11, 1, 22, 12, 2, 13}) {
+            selector.add(new B_O_Traverser<>(i, 1l));
+        }
+        assertEquals(Arrays.asList(1, 2, 11), values(selector.drain()));
+    }
+
+    @Test
+    public void shouldSelectNothingForZeroLimit() {
+        final TopKTraverserSelector<Integer> selector = new TopKTraverserSelector<>((a, b) -> a.get().compareTo(b.get()), 0);
+        selector.add(new B_O_Traverser<>(1, 1l));
+        assertEquals(0, selector.size());
+        assertTrue(selector.drain().isEmpty());
+    }
+
+    private static List<Integer> values(final List<Traverser.Admin<Integer>> traversers) {
+        final List<Integer> values = new ArrayList<>();
+        for (final Traverser.Admin<Integer> traverser : traversers) {
+            values.add(traverser.get());
+        }
+        return values;
+    }
+}
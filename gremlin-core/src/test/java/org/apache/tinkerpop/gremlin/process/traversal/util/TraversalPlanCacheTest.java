@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.util;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalParent;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CostBasedStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.FilterRankingStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.IdentityRemovalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.RangeByIsCountStrategy;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class TraversalPlanCacheTest {
+
+    private TraversalPlanCache planCache;
+    private TraversalStrategies strategies;
+
+    @Before
+    public void setup() {
+        this.planCache = new TraversalPlanCache(2);
+        this.strategies = new DefaultTraversalStrategies();
+        this.strategies.addStrategies(IdentityRemovalStrategy.instance(), FilterRankingStrategy.instance(), RangeByIsCountStrategy.instance());
+        this.strategies.setPlanCache(this.planCache);
+    }
+
+    private Traversal.Admin<?, ?> plan(final Traversal<?, ?> traversal) {
+        traversal.asAdmin().setStrategies(this.strategies);
+        traversal.asAdmin().applyStrategies();
+        return traversal.asAdmin();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAPositiveMaximumSize() {
+        new TraversalPlanCache(0);
+    }
+
+    @Test
+    public void shouldShareThePlanOfTraversalsThatOnlyDifferInTheirFilterValues() {
+        final Traversal.Admin<?, ?> first = plan(__.out().identity().dedup().has("name", "marko"));
+        assertEquals(__.out().has("name", "marko").dedup(), first);
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(1l, this.planCache.getMisses());
+        assertEquals(1, this.planCache.size());
+
+        final Traversal.Admin<?, ?> second = plan(__.out().identity().dedup().has("name", "josh"));
+        assertEquals(__.out().has("name", "josh").dedup(), second);
+        assertNotEquals(first, second);
+        assertEquals(1l, this.planCache.getHits());
+        assertEquals(1l, this.planCache.getMisses());
+        assertEquals(1, this.planCache.size());
+        assertEquals(second, second.getSteps().get(1).getTraversal());
+        assertEquals(true, second.isLocked());
+
+        final Traversal.Admin<?, ?> third = plan(__.out().identity().dedup().has("name", P.within("josh", "peter")));
+        assertEquals(__.out().has("name", P.within("josh", "peter")).dedup(), third);
+        assertEquals(1l, this.planCache.getHits());
+        assertEquals(2l, this.planCache.getMisses());
+    }
+
+    @Test
+    public void shouldNotShareThePlanOfTraversalsThatDifferInOtherValues() {
+        plan(__.count().is(0));
+        plan(__.count().is(1));
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(2l, this.planCache.getMisses());
+
+        plan(__.out().where(__.has("name", "marko")));
+        plan(__.out().where(__.has("name", "josh")));
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(4l, this.planCache.getMisses());
+    }
+
+    @Test
+    public void shouldSubstituteFilterValuesOfChildTraversals() {
+        final Traversal.Admin<?, ?> first = plan(__.out().has("age", P.gt(30)).union(__.identity(), __.in()));
+        final Traversal.Admin<?, ?> second = plan(__.out().has("age", P.gt(20)).union(__.identity(), __.in()));
+        assertEquals(1l, this.planCache.getHits());
+        assertEquals(P.gt(30), ((HasStep<?>) first.getSteps().get(1)).getHasContainers().get(0).getPredicate());
+        assertEquals(P.gt(20), ((HasStep<?>) second.getSteps().get(1)).getHasContainers().get(0).getPredicate());
+        assertSame(second.getSideEffects(), ((TraversalParent) second.getSteps().get(2)).getGlobalChildren().get(0).getSideEffects());
+    }
+
+    @Test
+    public void shouldNotCacheTraversalsWithLambdas() {
+        plan(__.out().map(t -> t).has("name", "marko"));
+        plan(__.out().has("name", P.test((a, b) -> true, "marko")));
+        plan(__.out().order().by("name", (a, b) -> 0).has("name", "marko"));
+        plan(__.out().order().by(__.values("name").map(t -> t.get()), Order.decr));
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(0l, this.planCache.getMisses());
+        assertEquals(0, this.planCache.size());
+    }
+
+    @Test
+    public void shouldCacheTraversalsWithKnownComparatorsAndPredicates() {
+        plan(__.out().order().by("name", Order.decr).has("age", P.gt(30).and(P.lt(40))));
+        plan(__.out().order().by("name", Order.decr).has("age", P.gt(20).and(P.lt(40))));
+        plan(__.out().order().by(__.values("name"), Order.incr));
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(3l, this.planCache.getMisses());
+        plan(__.out().order().by(__.values("name"), Order.incr));
+        assertEquals(1l, this.planCache.getHits());
+    }
+
+    @Test
+    public void shouldNotShareThePlanOfTraversalsThatDifferInFilterValuesWithValueDependentStrategies() {
+        this.strategies.addStrategies(CostBasedStrategy.instance());
+        plan(__.out().has("name", "marko").has("age", 29));
+        plan(__.out().has("name", "josh").has("age", 29));
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(2l, this.planCache.getMisses());
+        plan(__.out().has("name", "josh").has("age", 29));
+        assertEquals(1l, this.planCache.getHits());
+    }
+
+    @Test
+    public void shouldEvictTheLeastRecentlyUsedPlan() {
+        plan(__.out());
+        plan(__.in());
+        plan(__.out());
+        plan(__.both());
+        assertEquals(2, this.planCache.size());
+        assertEquals(1l, this.planCache.getEvictions());
+        plan(__.out());
+        assertEquals(2l, this.planCache.getHits());
+        plan(__.in());
+        assertEquals(2l, this.planCache.getHits());
+        assertEquals(2l, this.planCache.getEvictions());
+    }
+
+    @Test
+    public void shouldNotShareThePlanOfDifferentStrategies() {
+        plan(__.out().has("name", "marko"));
+        final TraversalStrategies strategies = this.strategies.clone();
+        strategies.removeStrategies(FilterRankingStrategy.class);
+        final Traversal.Admin<?, ?> traversal = __.out().has("name", "marko").asAdmin();
+        traversal.setStrategies(strategies);
+        traversal.applyStrategies();
+        assertEquals(0l, this.planCache.getHits());
+        assertEquals(2l, this.planCache.getMisses());
+    }
+}
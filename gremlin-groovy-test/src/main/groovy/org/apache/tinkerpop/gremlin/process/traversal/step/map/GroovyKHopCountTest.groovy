@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map
+
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalScriptHelper
+import org.apache.tinkerpop.gremlin.structure.Vertex
+
+public abstract class GroovyKHopCountTest {
+
+    public static class Traversals extends KHopCountTest {
+
+        @Override
+        Traversal<Vertex, Long> get_g_VX1X_kHopCountX0X(final Object v1Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).kHopCount(0)", g, "v1Id", v1Id)
+        }
+
+        @Override
+        Traversal<Vertex, Long> get_g_VX1X_kHopCountX2X(final Object v1Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).kHopCount(2)", g, "v1Id", v1Id)
+        }
+
+        @Override
+        Traversal<Vertex, Long> get_g_VX1X_kHopCountX3_OUTX(final Object v1Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).kHopCount(3, OUT)", g, "v1Id", v1Id)
+        }
+
+        @Override
+        Traversal<Vertex, Long> get_g_VX1X_kHopCountX2_OUT_knowsX(final Object v1Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).kHopCount(2, OUT, 'knows')", g, "v1Id", v1Id)
+        }
+
+        @Override
+        Traversal<Vertex, Long> get_g_V_kHopCountX1X() {
+            TraversalScriptHelper.compute("g.V.kHopCount(1)", g)
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map
+
+import org.apache.tinkerpop.gremlin.process.traversal.Path
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalScriptHelper
+import org.apache.tinkerpop.gremlin.structure.Vertex
+
+public abstract class GroovyShortestPathTest {
+
+    public static class Traversals extends ShortestPathTest {
+
+        @Override
+        Traversal<Vertex, Path> get_g_VX1X_shortestPathXv5IdX(final Object v1Id, final Object v5Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).shortestPath(v5Id)", g, "v1Id", v1Id, "v5Id", v5Id)
+        }
+
+        @Override
+        Traversal<Vertex, Path> get_g_VX1X_shortestPathXv5IdX_byXweightX(final Object v1Id, final Object v5Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).shortestPath(v5Id).by('weight')", g, "v1Id", v1Id, "v5Id", v5Id)
+        }
+
+        @Override
+        Traversal<Vertex, Path> get_g_VX1X_shortestPathXv1IdX(final Object v1Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).shortestPath(v1Id)", g, "v1Id", v1Id)
+        }
+
+        @Override
+        Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v6IdX(final Object v1Id, final Object v6Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).shortestPath(OUT, v6Id)", g, "v1Id", v1Id, "v6Id", v6Id)
+        }
+
+        @Override
+        Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v2Id_knowsX(final Object v1Id, final Object v2Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).shortestPath(OUT, v2Id, 'knows')", g, "v1Id", v1Id, "v2Id", v2Id)
+        }
+
+        @Override
+        Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v3Id_knowsX(final Object v1Id, final Object v3Id) {
+            TraversalScriptHelper.compute("g.V(v1Id).shortestPath(OUT, v3Id, 'knows')", g, "v1Id", v1Id, "v3Id", v3Id)
+        }
+    }
+}
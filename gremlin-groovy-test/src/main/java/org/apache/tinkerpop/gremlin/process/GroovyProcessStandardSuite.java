@@ -51,6 +51,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyCountTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyFlatMapTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyFoldTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyGraphTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyKHopCountTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyLoopsTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyMapKeysTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyMapTest;
@@ -63,6 +64,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyOrderTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyPathTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyPropertiesTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovySelectTest;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyShortestPathTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovySumTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyUnfoldTest;
 import org.apache.tinkerpop.gremlin.process.traversal.step.map.GroovyValueMapTest;
@@ -131,6 +133,7 @@ public class GroovyProcessStandardSuite extends ProcessStandardSuite {
             GroovyFoldTest.Traversals.class,
             GroovyFlatMapTest.Traversals.class,
             GroovyGraphTest.Traversals.class,
+            GroovyKHopCountTest.Traversals.class,
             GroovyLoopsTest.Traversals.class,
             GroovyMapTest.Traversals.class,
             GroovyMapKeysTest.Traversals.class,
@@ -144,6 +147,7 @@ public class GroovyProcessStandardSuite extends ProcessStandardSuite {
             GroovyPathTest.Traversals.class,
             GroovyPropertiesTest.Traversals.class,
             GroovySelectTest.Traversals.class,
+            GroovyShortestPathTest.Traversals.class,
             GroovySumTest.Traversals.class,
             GroovyUnfoldTest.Traversals.class,
             GroovyValueMapTest.Traversals.class,
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+
+@RunWith(GremlinProcessRunner.class)
+public abstract class KHopCountTest extends AbstractGremlinProcessTest {
+
+    public abstract Traversal<Vertex, Long> get_g_VX1X_kHopCountX0X(final Object v1Id);
+
+    public abstract Traversal<Vertex, Long> get_g_VX1X_kHopCountX2X(final Object v1Id);
+
+    public abstract Traversal<Vertex, Long> get_g_VX1X_kHopCountX3_OUTX(final Object v1Id);
+
+    public abstract Traversal<Vertex, Long> get_g_VX1X_kHopCountX2_OUT_knowsX(final Object v1Id);
+
+    public abstract Traversal<Vertex, Long> get_g_V_kHopCountX1X();
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_kHopCountX0X() {
+        final Traversal<Vertex, Long> traversal = get_g_VX1X_kHopCountX0X(convertToVertexId("marko"));
+        printTraversalForm(traversal);
+        checkResults(Collections.singletonList(0l), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_kHopCountX2X() {
+        final Traversal<Vertex, Long> traversal = get_g_VX1X_kHopCountX2X(convertToVertexId("marko"));
+        printTraversalForm(traversal);
+        checkResults(Collections.singletonList(5l), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_kHopCountX3_OUTX() {
+        final Traversal<Vertex, Long> traversal = get_g_VX1X_kHopCountX3_OUTX(convertToVertexId("marko"));
+        printTraversalForm(traversal);
+        checkResults(Collections.singletonList(4l), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_kHopCountX2_OUT_knowsX() {
+        final Traversal<Vertex, Long> traversal = get_g_VX1X_kHopCountX2_OUT_knowsX(convertToVertexId("marko"));
+        printTraversalForm(traversal);
+        checkResults(Collections.singletonList(2l), traversal);
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_V_kHopCountX1X() {
+        final Traversal<Vertex, Long> traversal = get_g_V_kHopCountX1X();
+        printTraversalForm(traversal);
+        checkResults(Arrays.asList(3l, 1l, 3l, 3l, 1l, 1l), traversal);
+    }
+
+    public static class Traversals extends KHopCountTest {
+
+        @Override
+        public Traversal<Vertex, Long> get_g_VX1X_kHopCountX0X(final Object v1Id) {
+            return g.V(v1Id).kHopCount(0);
+        }
+
+        @Override
+        public Traversal<Vertex, Long> get_g_VX1X_kHopCountX2X(final Object v1Id) {
+            return g.V(v1Id).kHopCount(2);
+        }
+
+        @Override
+        public Traversal<Vertex, Long> get_g_VX1X_kHopCountX3_OUTX(final Object v1Id) {
+            return g.V(v1Id).kHopCount(3, Direction.OUT);
+        }
+
+        @Override
+        public Traversal<Vertex, Long> get_g_VX1X_kHopCountX2_OUT_knowsX(final Object v1Id) {
+            return g.V(v1Id).kHopCount(2, Direction.OUT, "knows");
+        }
+
+        @Override
+        public Traversal<Vertex, Long> get_g_V_kHopCountX1X() {
+            return g.V().kHopCount(1);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.process.traversal.step.map;
+
+import org.apache.tinkerpop.gremlin.LoadGraphWith;
+import org.apache.tinkerpop.gremlin.process.AbstractGremlinProcessTest;
+import org.apache.tinkerpop.gremlin.process.GremlinProcessRunner;
+import org.apache.tinkerpop.gremlin.process.traversal.Path;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.LoadGraphWith.GraphData.MODERN;
+import static org.junit.Assert.*;
+
+@RunWith(GremlinProcessRunner.class)
+public abstract class ShortestPathTest extends AbstractGremlinProcessTest {
+
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPathXv5IdX(final Object v1Id, final Object v5Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPathXv5IdX_byXweightX(final Object v1Id, final Object v5Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPathXv1IdX(final Object v1Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v6IdX(final Object v1Id, final Object v6Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v2Id_knowsX(final Object v1Id, final Object v2Id);
+
+    public abstract Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v3Id_knowsX(final Object v1Id, final Object v3Id);
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPathXv5IdX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPathXv5IdX(convertToVertexId("marko"), convertToVertexId("ripple"));
+        printTraversalForm(traversal);
+        assertEquals(Arrays.asList("marko", "josh", "ripple"), names(traversal.next()));
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPathXv5IdX_byXweightX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPathXv5IdX_byXweightX(convertToVertexId("marko"), convertToVertexId("ripple"));
+        printTraversalForm(traversal);
+        assertEquals(Arrays.asList("marko", "lop", "josh", "ripple"), names(traversal.next()));
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPathXv1IdX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPathXv1IdX(convertToVertexId("marko"));
+        printTraversalForm(traversal);
+        assertEquals(Arrays.asList("marko"), names(traversal.next()));
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPathXOUT_v6IdX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPathXOUT_v6IdX(convertToVertexId("marko"), convertToVertexId("peter"));
+        printTraversalForm(traversal);
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPathXOUT_v2Id_knowsX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPathXOUT_v2Id_knowsX(convertToVertexId("marko"), convertToVertexId("vadas"));
+        printTraversalForm(traversal);
+        assertEquals(Arrays.asList("marko", "vadas"), names(traversal.next()));
+        assertFalse(traversal.hasNext());
+    }
+
+    @Test
+    @LoadGraphWith(MODERN)
+    public void g_VX1X_shortestPathXOUT_v3Id_knowsX() {
+        final Traversal<Vertex, Path> traversal = get_g_VX1X_shortestPathXOUT_v3Id_knowsX(convertToVertexId("marko"), convertToVertexId("lop"));
+        printTraversalForm(traversal);
+        assertFalse(traversal.hasNext());
+    }
+
+    private static List<String> names(final Path path) {
+        return path.objects().stream().map(vertex -> ((Vertex) vertex).<String>value("name")).collect(Collectors.toList());
+    }
+
+    public static class Traversals extends ShortestPathTest {
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPathXv5IdX(final Object v1Id, final Object v5Id) {
+            return g.V(v1Id).shortestPath(v5Id);
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPathXv5IdX_byXweightX(final Object v1Id, final Object v5Id) {
+            return g.V(v1Id).shortestPath(v5Id).by("weight");
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPathXv1IdX(final Object v1Id) {
+            return g.V(v1Id).shortestPath(v1Id);
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v6IdX(final Object v1Id, final Object v6Id) {
+            return g.V(v1Id).shortestPath(Direction.OUT, v6Id);
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v2Id_knowsX(final Object v1Id, final Object v2Id) {
+            return g.V(v1Id).shortestPath(Direction.OUT, v2Id, "knows");
+        }
+
+        @Override
+        public Traversal<Vertex, Path> get_g_VX1X_shortestPathXOUT_v3Id_knowsX(final Object v1Id, final Object v3Id) {
+            return g.V(v1Id).shortestPath(Direction.OUT, v3Id, "knows");
+        }
+    }
+}
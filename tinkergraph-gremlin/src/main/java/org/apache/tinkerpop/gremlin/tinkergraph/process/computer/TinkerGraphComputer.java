@@ -30,15 +30,18 @@ import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.ArrayList;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
@@ -52,7 +55,7 @@ public final class TinkerGraphComputer implements GraphComputer {
     private VertexProgram<?> vertexProgram;
     private final TinkerGraph graph;
     private TinkerMemory memory;
-    private final TinkerMessageBoard messageBoard = new TinkerMessageBoard();
+    private TinkerMessageBoard messageBoard;
     private boolean executed = false;
     private final Set<MapReduce> mapReducers = new HashSet<>();
     private int workers = Runtime.getRuntime().availableProcessors();
@@ -121,24 +124,29 @@ public final class TinkerGraphComputer implements GraphComputer {
         return CompletableFuture.<ComputerResult>supplyAsync(() -> {
             final long time = System.currentTimeMillis();
             try (final TinkerWorkerPool workers = new TinkerWorkerPool(this.workers)) {
+                // the vertex set can not change during the computation so it is only gathered once
+                final List<Vertex> allVertices = IteratorUtils.list(this.graph.vertices());
                 if (null != this.vertexProgram) {
                     TinkerHelper.createGraphComputerView(this.graph, this.vertexProgram.getElementComputeKeys());
+                    this.messageBoard = new TinkerMessageBoard(this.graph, allVertices.size(), this.vertexProgram.getMessageCombiner().isPresent());
                     // execute the vertex program
                     this.vertexProgram.setup(this.memory);
                     this.memory.completeSubRound();
                     while (true) {
                         workers.setVertexProgram(this.vertexProgram);
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final ChunkedIterator<Vertex> vertices = new ChunkedIterator<>(allVertices, this.workers);
                         workers.executeVertexProgram(vertexProgram -> {
                             vertexProgram.workerIterationStart(this.memory.asImmutable());
                             while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (null == vertex) break;
-                                vertexProgram.execute(
-                                        ComputerGraph.vertexProgram(vertex, vertexProgram),
-                                        new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
-                                        this.memory
-                                );
+                                final List<Vertex> chunk = vertices.nextChunk();
+                                if (null == chunk) break;
+                                for (final Vertex vertex : chunk) {
+                                    vertexProgram.execute(
+                                            ComputerGraph.vertexProgram(vertex, vertexProgram),
+                                            new TinkerMessenger<>(vertex, this.messageBoard, vertexProgram.getMessageCombiner()),
+                                            this.memory
+                                    );
+                                }
                             }
                             vertexProgram.workerIterationEnd(this.memory.asImmutable());
                         });
@@ -159,14 +167,16 @@ public final class TinkerGraphComputer implements GraphComputer {
                 for (final MapReduce mapReduce : mapReducers) {
                     if (mapReduce.doStage(MapReduce.Stage.MAP)) {
                         final TinkerMapEmitter<?, ?> mapEmitter = new TinkerMapEmitter<>(mapReduce.doStage(MapReduce.Stage.REDUCE));
-                        final SynchronizedIterator<Vertex> vertices = new SynchronizedIterator<>(this.graph.vertices());
+                        final ChunkedIterator<Vertex> vertices = new ChunkedIterator<>(allVertices, this.workers);
                         workers.setMapReduce(mapReduce);
                         workers.executeMapReduce(workerMapReduce -> {
                             workerMapReduce.workerStart(MapReduce.Stage.MAP);
                             while (true) {
-                                final Vertex vertex = vertices.next();
-                                if (null == vertex) break;
-                                workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                                final List<Vertex> chunk = vertices.nextChunk();
+                                if (null == chunk) break;
+                                for (final Vertex vertex : chunk) {
+                                    workerMapReduce.map(ComputerGraph.mapReduce(vertex), mapEmitter);
+                                }
                             }
                             workerMapReduce.workerEnd(MapReduce.Stage.MAP);
                         });
@@ -176,13 +186,15 @@ public final class TinkerGraphComputer implements GraphComputer {
                         // no need to run combiners as this is single machine
                         if (mapReduce.doStage(MapReduce.Stage.REDUCE)) {
                             final TinkerReduceEmitter<?, ?> reduceEmitter = new TinkerReduceEmitter<>();
-                            final SynchronizedIterator<Map.Entry<?, Queue<?>>> keyValues = new SynchronizedIterator((Iterator) mapEmitter.reduceMap.entrySet().iterator());
+                            final ChunkedIterator<Map.Entry<?, Queue<?>>> keyValues = new ChunkedIterator((List) new ArrayList<>(mapEmitter.reduceMap.entrySet()), this.workers);
                             workers.executeMapReduce(workerMapReduce -> {
                                 workerMapReduce.workerStart(MapReduce.Stage.REDUCE);
                                 while (true) {
-                                    final Map.Entry<?, Queue<?>> entry = keyValues.next();
-                                    if (null == entry) break;
-                                    workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
+                                    final List<Map.Entry<?, Queue<?>>> chunk = keyValues.nextChunk();
+                                    if (null == chunk) break;
+                                    for (final Map.Entry<?, Queue<?>> entry : chunk) {
+                                        workerMapReduce.reduce(entry.getKey(), entry.getValue().iterator(), reduceEmitter);
+                                    }
                                 }
                                 workerMapReduce.workerEnd(MapReduce.Stage.REDUCE);
                             });
@@ -213,16 +225,32 @@ public final class TinkerGraphComputer implements GraphComputer {
         return StringFactory.graphComputerString(this);
     }
 
-    private static class SynchronizedIterator<V> {
+    /**
+     * Hands the elements of a list out to workers in contiguous chunks.  A worker claims its next chunk with a single
+     * atomic increment, so workers only meet once per chunk rather than once per element and a worker that finishes
+     * its chunks early simply keeps claiming the ones the slower workers have not reached yet.  Chunks are sized so
+     * that each worker gets several of them which keeps the workers balanced when vertices vary in cost.
+     */
+    private static class ChunkedIterator<V> {
+
+        private static final int CHUNKS_PER_WORKER = 8;
+        private static final int MAX_CHUNK_SIZE = 4096;
 
-        private final Iterator<V> iterator;
+        private final List<V> elements;
+        private final int chunkSize;
+        private final AtomicInteger nextIndex = new AtomicInteger(0);
 
-        public SynchronizedIterator(final Iterator<V> iterator) {
-            this.iterator = iterator;
+        public ChunkedIterator(final List<V> elements, final int workers) {
+            this.elements = elements;
+            this.chunkSize = Math.max(1, Math.min(MAX_CHUNK_SIZE, elements.size() / (Math.max(1, workers) * CHUNKS_PER_WORKER)));
         }
 
-        public synchronized V next() {
-            return this.iterator.hasNext() ? this.iterator.next() : null;
+        public List<V> nextChunk() {
+            final int size = this.elements.size();
+            // check before claiming so that workers spinning at the end can not overflow the index
+            if (this.nextIndex.get() >= size) return null;
+            final int start = this.nextIndex.getAndAdd(this.chunkSize);
+            return start >= size ? null : this.elements.subList(start, Math.min(start + this.chunkSize, size));
         }
     }
 
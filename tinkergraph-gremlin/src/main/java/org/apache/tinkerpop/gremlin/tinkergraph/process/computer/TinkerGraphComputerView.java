@@ -32,42 +32,62 @@ import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
 import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertexProperty;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
+ * Holds the values of the element compute keys of a {@link TinkerGraphComputer} apart from the graph itself.  Each
+ * compute key has a column indexed by the computer slot of the vertex.  A vertex with a single value for a key and
+ * no properties on it stores just the value in its cell and a {@link VertexProperty} is created for it when it is
+ * read.  Only when a vertex has multiple values for a key, or properties are set on one, are the vertex properties
+ * kept as objects.  The vertex properties of compute keys take negative identifiers from the view rather than from the
+ * graph, where the one for the value in a cell is derived from the key and slot so that every read of it agrees.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 public final class TinkerGraphComputerView {
 
     private final TinkerGraph graph;
     protected final Set<String> computeKeys;
-    private Map<Element, Map<String, List<VertexProperty<?>>>> computeProperties;
+    private final List<Vertex> vertices;
+    private final Map<String, Object[]> columns = new HashMap<>();
+    private final Map<String, Integer> keyIndices = new HashMap<>();
+    private final AtomicLong nextId;
 
     public TinkerGraphComputerView(final TinkerGraph graph, final Set<String> computeKeys) {
         this.graph = graph;
         this.computeKeys = computeKeys;
-        this.computeProperties = new ConcurrentHashMap<>();
+        this.vertices = IteratorUtils.list(graph.vertices());
+        TinkerHelper.assignComputerSlots(this.vertices);
+        for (final String computeKey : computeKeys) {
+            this.keyIndices.put(computeKey, this.keyIndices.size());
+            this.columns.put(computeKey, new Object[this.vertices.size()]);
+        }
+        this.nextId = new AtomicLong(-1l - (long) computeKeys.size() * this.vertices.size());
     }
 
     public <V> Property<V> addProperty(final TinkerVertex vertex, final String key, final V value) {
         ElementHelper.validateProperty(key, value);
         if (isComputeKey(key)) {
-            final TinkerVertexProperty<V> property = new TinkerVertexProperty<V>((TinkerVertex) vertex, key, value) {
-                @Override
-                public void remove() {
-                    removeProperty(vertex, key, this);
-                }
-            };
-            this.addValue(vertex, key, property);
-            return property;
+            final Object[] column = this.columns.get(key);
+            final int slot = this.getSlot(vertex);
+            final Object cell = column[slot];
+            if (null == cell) {
+                column[slot] = value;
+                return new ComputeVertexProperty<>(this.cellId(key, slot), vertex, key, value);
+            } else {
+                final ComputeVertexProperty<V> property = new ComputeVertexProperty<>(this.nextId.getAndDecrement(), vertex, key, value);
+                this.materialize(vertex, key).add(property);
+                property.materialized = true;
+                return property;
+            }
         } else {
             throw GraphComputer.Exceptions.providedKeyIsNotAnElementComputeKey(key);
         }
@@ -78,11 +98,12 @@ public final class TinkerGraphComputerView {
     }
 
     public List<Property> getProperties(final TinkerVertex vertex) {
-        final Stream<Property> a = TinkerHelper.getProperties(vertex).values().stream().flatMap(list -> list.stream());
-        final Stream<Property> b = this.computeProperties.containsKey(vertex) ?
-                this.computeProperties.get(vertex).values().stream().flatMap(list -> list.stream()) :
-                Stream.empty();
-        return Stream.concat(a, b).collect(Collectors.toList());
+        final List<Property> properties = new ArrayList<>();
+        TinkerHelper.getProperties(vertex).values().forEach(properties::addAll);
+        for (final String computeKey : this.computeKeys) {
+            properties.addAll(this.getValue(vertex, computeKey));
+        }
+        return properties;
     }
 
     public void removeProperty(final TinkerVertex vertex, final String key, final VertexProperty property) {
@@ -146,17 +167,25 @@ public final class TinkerGraphComputerView {
 
     private void addPropertiesToOriginalGraph() {
         TinkerHelper.dropGraphComputerView(this.graph);
-        this.computeProperties.forEach((element, properties) -> {
-            properties.forEach((key, vertexProperties) -> {
-                vertexProperties.forEach(vertexProperty -> {
-                    final VertexProperty<?> newVertexProperty = ((Vertex) element).property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value(), T.id, vertexProperty.id());
-                    vertexProperty.properties().forEachRemaining(property -> {
-                        newVertexProperty.property(property.key(), property.value());
+        this.columns.forEach((key, column) -> {
+            for (int slot = 0; slot < column.length; slot++) {
+                final Object cell = column[slot];
+                if (null == cell) continue;
+                final Vertex vertex = this.vertices.get(slot);
+                if (cell instanceof ComputeProperties) {
+                    ((ComputeProperties) cell).forEach(vertexProperty -> {
+                        // the identifiers of the view are only unique to this computation so the graph assigns new ones
+                        final VertexProperty<?> newVertexProperty = vertex.property(VertexProperty.Cardinality.list, vertexProperty.key(), vertexProperty.value());
+                        vertexProperty.properties().forEachRemaining(property -> {
+                            newVertexProperty.property(property.key(), property.value());
+                        });
                     });
-                });
-            });
+                } else {
+                    vertex.property(VertexProperty.Cardinality.list, key, cell);
+                }
+                column[slot] = null;
+            }
         });
-        this.computeProperties.clear();
     }
 
     //////////////////////
@@ -165,26 +194,119 @@ public final class TinkerGraphComputerView {
         return this.computeKeys.contains(key);
     }
 
-    private void addValue(final Vertex vertex, final String key, final VertexProperty property) {
-        final Map<String, List<VertexProperty<?>>> elementProperties = this.computeProperties.computeIfAbsent(vertex, k -> new ConcurrentHashMap<>());
-        elementProperties.compute(key, (k, v) -> {
-            if (null == v) v = Collections.synchronizedList(new ArrayList<>());
-            v.add(property);
-            return v;
-        });
+    private int getSlot(final TinkerVertex vertex) {
+        final int slot = TinkerHelper.getComputerSlot(vertex);
+        if (slot < 0 || slot >= this.vertices.size() || this.vertices.get(slot) != vertex)
+            throw new IllegalStateException(String.format("The vertex %s was not part of the graph when the computation started", vertex));
+        return slot;
     }
 
-    private void removeValue(final Vertex vertex, final String key, final VertexProperty property) {
-        this.computeProperties.computeIfPresent(vertex, (k, v) -> {
-            v.computeIfPresent(key, (k1, v1) -> {
-                v1.remove(property);
-                return v1;
-            });
-            return v;
-        });
+    /**
+     * Ensure that the cell of the vertex for the key holds its vertex properties as objects and return them.
+     */
+    private ComputeProperties materialize(final TinkerVertex vertex, final String key) {
+        final Object[] column = this.columns.get(key);
+        final int slot = this.getSlot(vertex);
+        final Object cell = column[slot];
+        if (cell instanceof ComputeProperties)
+            return (ComputeProperties) cell;
+
+        final ComputeProperties properties = new ComputeProperties();
+        if (null != cell) {
+            final ComputeVertexProperty<?> property = new ComputeVertexProperty<>(this.cellId(key, slot), vertex, key, cell);
+            property.materialized = true;
+            property.fromCell = true;
+            properties.add(property);
+        }
+        column[slot] = properties;
+        return properties;
+    }
+
+    /**
+     * Store a vertex property that was a view of the value in a cell in place of that value.  If the value was
+     * already materialized by another view or by the addition of another value then the view replaces that.
+     */
+    private void materialize(final ComputeVertexProperty<?> view) {
+        final Object[] column = this.columns.get(view.key());
+        final int slot = this.getSlot((TinkerVertex) view.element());
+        final Object cell = column[slot];
+        if (cell instanceof ComputeProperties) {
+            final ComputeProperties properties = (ComputeProperties) cell;
+            for (int i = 0; i < properties.size(); i++) {
+                final VertexProperty<?> property = properties.get(i);
+                if (property instanceof ComputeVertexProperty && ((ComputeVertexProperty) property).fromCell && property.value() == view.value()) {
+                    properties.set(i, view);
+                    break;
+                }
+            }
+        } else if (null != cell && cell == view.value()) {
+            final ComputeProperties properties = new ComputeProperties();
+            properties.add(view);
+            column[slot] = properties;
+        }
+        view.materialized = true;
+    }
+
+    private void removeValue(final TinkerVertex vertex, final String key, final VertexProperty property) {
+        final Object[] column = this.columns.get(key);
+        final int slot = this.getSlot(vertex);
+        final Object cell = column[slot];
+        if (cell instanceof ComputeProperties) {
+            final ComputeProperties properties = (ComputeProperties) cell;
+            properties.remove(property);
+            if (properties.isEmpty())
+                column[slot] = null;
+        } else if (null != cell && cell.equals(property.value())) {
+            column[slot] = null;
+        }
     }
 
-    private List<VertexProperty<?>> getValue(final Vertex vertex, final String key) {
-        return this.computeProperties.getOrDefault(vertex, Collections.emptyMap()).getOrDefault(key, Collections.emptyList());
+    private List<VertexProperty<?>> getValue(final TinkerVertex vertex, final String key) {
+        final int slot = this.getSlot(vertex);
+        final Object cell = this.columns.get(key)[slot];
+        if (null == cell)
+            return Collections.emptyList();
+        else if (cell instanceof ComputeProperties)
+            return new ArrayList<>((ComputeProperties) cell);
+        else
+            return Collections.singletonList(new ComputeVertexProperty<>(this.cellId(key, slot), vertex, key, cell));
+    }
+
+    private long cellId(final String key, final int slot) {
+        return -1l - ((long) this.keyIndices.get(key) * this.vertices.size() + slot);
+    }
+
+    /**
+     * The vertex properties of a vertex for a compute key once they can no longer be represented by a single value.
+     */
+    private static final class ComputeProperties extends ArrayList<VertexProperty<?>> {
+        public ComputeProperties() {
+            super(2);
+        }
+    }
+
+    /**
+     * A vertex property of a compute key.  Until it is materialized it is only a view of the value in the column of
+     * the key and is materialized when a property is set on it.
+     */
+    private final class ComputeVertexProperty<V> extends TinkerVertexProperty<V> {
+
+        private boolean materialized = false;
+        private boolean fromCell = false;
+
+        public ComputeVertexProperty(final long id, final TinkerVertex vertex, final String key, final V value) {
+            super(id, vertex, key, value);
+        }
+
+        @Override
+        public <U> Property<U> property(final String key, final U value) {
+            if (!this.materialized) materialize(this);
+            return super.property(key, value);
+        }
+
+        @Override
+        public void remove() {
+            removeProperty((TinkerVertex) this.element(), this.key(), this);
+        }
     }
-}
\ No newline at end of file
+}
@@ -18,29 +18,128 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
 
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
 import org.apache.tinkerpop.gremlin.process.computer.MessageScope;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.VertexStep;
+import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.wrapped.WrappedVertex;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerHelper;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
+ * Holds the messages sent during the current iteration and those received from the previous one.  Messages are
+ * stored in arrays indexed by the computer slot of the receiving vertex.  When the vertex program has a
+ * {@link MessageCombiner} each slot holds the single combined message which is combined in place as messages
+ * arrive, otherwise each slot holds a queue of the messages.  At the end of an iteration the two arrays are swapped
+ * and the one that becomes the send side is cleared, so no storage is allocated per iteration.
+ *
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerMessageBoard<M> {
 
-    public Map<Vertex, Queue<M>> sendMessages = new ConcurrentHashMap<>();
-    public Map<Vertex, Queue<M>> receiveMessages = new ConcurrentHashMap<>();
-    public Set<MessageScope> previousMessageScopes = new HashSet<>();
-    public Set<MessageScope> currentMessageScopes = new HashSet<>();
+    public Set<MessageScope> previousMessageScopes = ConcurrentHashMap.newKeySet();
+    public Set<MessageScope> currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+    private final TinkerGraph graph;
+    private final boolean combining;
+    private Map<MessageScope, VertexStep<Edge>> incidentSteps = Collections.emptyMap();
+    private AtomicReferenceArray<Object> sendMessages;
+    private AtomicReferenceArray<Object> receiveMessages;
+
+    public TinkerMessageBoard(final TinkerGraph graph, final int numberOfVertices, final boolean combining) {
+        this.graph = graph;
+        this.combining = combining;
+        this.sendMessages = new AtomicReferenceArray<>(numberOfVertices);
+        this.receiveMessages = new AtomicReferenceArray<>(numberOfVertices);
+    }
+
+    public void sendMessage(final Vertex vertex, final M message, final MessageCombiner<M> combiner) {
+        final int slot = this.getSlot(vertex);
+        if (slot < 0) return;
+        if (this.combining) {
+            while (true) {
+                final Object current = this.sendMessages.get(slot);
+                final Object combined = null == current ? message : combiner.combine((M) current, message);
+                if (this.sendMessages.compareAndSet(slot, current, combined))
+                    return;
+            }
+        } else {
+            Queue<M> queue = (Queue<M>) this.sendMessages.get(slot);
+            if (null == queue) {
+                final Queue<M> newQueue = new ConcurrentLinkedQueue<>();
+                queue = this.sendMessages.compareAndSet(slot, null, newQueue) ? newQueue : (Queue<M>) this.sendMessages.get(slot);
+            }
+            queue.add(message);
+        }
+    }
+
+    public Iterator<M> receiveMessages(final Vertex vertex) {
+        final int slot = this.getSlot(vertex);
+        final Object messages = slot < 0 ? null : this.receiveMessages.get(slot);
+        if (null == messages)
+            return Collections.emptyIterator();
+        else
+            return this.combining ? IteratorUtils.of((M) messages) : ((Queue<M>) messages).iterator();
+    }
 
     public void completeIteration() {
+        final AtomicReferenceArray<Object> previousMessages = this.receiveMessages;
         this.receiveMessages = this.sendMessages;
-        this.sendMessages = new ConcurrentHashMap<>();
+        this.sendMessages = previousMessages;
+        for (int i = 0; i < previousMessages.length(); i++) {
+            previousMessages.lazySet(i, null);
+        }
         this.previousMessageScopes = this.currentMessageScopes;
-        this.currentMessageScopes = new HashSet<>();
+        this.currentMessageScopes = ConcurrentHashMap.newKeySet();
+
+        // compile the local message scopes once for the iteration rather than once for each receiving vertex
+        final Map<MessageScope, VertexStep<Edge>> steps = new HashMap<>();
+        for (final MessageScope messageScope : this.previousMessageScopes) {
+            if (messageScope instanceof MessageScope.Local) {
+                final VertexStep<Edge> step = getIncidentStep((MessageScope.Local<?>) messageScope);
+                if (null != step) steps.put(messageScope, step);
+            }
+        }
+        this.incidentSteps = steps;
+    }
+
+    /**
+     * Get the {@link VertexStep} that the incident traversal of a local message scope received in this iteration
+     * consists of, or {@code null} if the traversal is anything other than a single step to incident edges (e.g.
+     * {@code outE("knows")}).
+     */
+    public VertexStep<Edge> getIncidentStep(final MessageScope messageScope) {
+        return this.incidentSteps.get(messageScope);
+    }
+
+    private int getSlot(final Vertex vertex) {
+        final Vertex baseVertex = vertex instanceof WrappedVertex ? ((WrappedVertex<Vertex>) vertex).getBaseVertex() : vertex;
+        if (baseVertex instanceof TinkerVertex)
+            return TinkerHelper.getComputerSlot((TinkerVertex) baseVertex);
+        // a reference to a vertex rather than the vertex itself (e.g. given to a global message scope)
+        final Iterator<Vertex> vertices = this.graph.vertices(baseVertex.id());
+        return vertices.hasNext() ? TinkerHelper.getComputerSlot((TinkerVertex) vertices.next()) : -1;
+    }
+
+    private static VertexStep<Edge> getIncidentStep(final MessageScope.Local<?> messageScope) {
+        final Traversal.Admin<Vertex, Edge> incidentTraversal = messageScope.getIncidentTraversal().get().asAdmin();
+        if (1 != incidentTraversal.getSteps().size() || !(incidentTraversal.getStartStep() instanceof VertexStep))
+            return null;
+        final VertexStep<?> step = (VertexStep<?>) incidentTraversal.getStartStep();
+        return step.returnsEdge() ? (VertexStep<Edge>) step : null;
     }
 }
@@ -18,7 +18,6 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
-import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -28,6 +27,7 @@ import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -48,7 +48,6 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         super(id, label);
         this.outVertex = outVertex;
         this.inVertex = inVertex;
-        TinkerHelper.autoUpdateIndex(this, T.label.getAccessor(), this.label, null);
     }
 
     @Override
@@ -60,6 +59,10 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         if (null == this.properties) this.properties = new HashMap<>();
         this.properties.put(key, newProperty);
         TinkerHelper.autoUpdateIndex(this, key, value, oldProperty.isPresent() ? oldProperty.value() : null);
+        // properties attached while the edge is being added are logged along with the edge itself
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.log && graph.edges.containsKey(this.id))
+            graph.log.addProperty((TinkerProperty<V>) newProperty);
         return newProperty;
 
     }
@@ -80,20 +83,23 @@ public final class TinkerEdge extends TinkerElement implements Edge {
         final TinkerVertex inVertex = (TinkerVertex) this.inVertex;
 
         if (null != outVertex && null != outVertex.outEdges) {
-            final Set<Edge> edges = outVertex.outEdges.get(this.label());
+            final Collection<Edge> edges = outVertex.outEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
         if (null != inVertex && null != inVertex.inEdges) {
-            final Set<Edge> edges = inVertex.inEdges.get(this.label());
+            final Collection<Edge> edges = inVertex.inEdges.get(this.label());
             if (null != edges)
                 edges.remove(this);
         }
 
         TinkerHelper.removeElementIndex(this);
-        ((TinkerGraph) this.graph()).edges.remove(this.id());
+        if (null != ((TinkerGraph) this.graph()).edges.remove(this.id()))
+            ((TinkerGraph) this.graph()).elementChanges.incrementAndGet();
         this.properties = null;
         this.removed = true;
+        final TinkerGraph graph = (TinkerGraph) this.graph();
+        if (null != graph.log) graph.log.removeEdge(this);
     }
 
     @Override
@@ -25,6 +25,7 @@ import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Transaction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
@@ -39,10 +40,17 @@ import org.apache.tinkerpop.gremlin.tinkergraph.process.traversal.strategy.optim
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -115,10 +123,14 @@ public final class TinkerGraph implements Graph {
     public static final String GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY = "gremlin.tinkergraph.defaultVertexPropertyCardinality";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_LOCATION = "gremlin.tinkergraph.graphLocation";
     public static final String GREMLIN_TINKERGRAPH_GRAPH_FORMAT = "gremlin.tinkergraph.graphFormat";
+    public static final String GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE = "gremlin.tinkergraph.adjacencyStorage";
+    public static final String GREMLIN_TINKERGRAPH_GRAPH_LOG = "gremlin.tinkergraph.graphLog";
+    public static final String GREMLIN_TINKERGRAPH_GRAPH_LOG_COMPACTION_THRESHOLD = "gremlin.tinkergraph.graphLogCompactionThreshold";
 
     private final TinkerGraphFeatures features = new TinkerGraphFeatures();
 
     protected AtomicLong currentId = new AtomicLong(-1l);
+    protected final AtomicLong elementChanges = new AtomicLong(0l);
     protected Map<Object, Vertex> vertices = new ConcurrentHashMap<>();
     protected Map<Object, Edge> edges = new ConcurrentHashMap<>();
 
@@ -126,11 +138,14 @@ public final class TinkerGraph implements Graph {
     protected TinkerGraphComputerView graphComputerView = null;
     protected TinkerIndex<TinkerVertex> vertexIndex = null;
     protected TinkerIndex<TinkerEdge> edgeIndex = null;
+    protected TinkerGraphLog log = null;
+    private volatile TinkerGraphStatistics statistics = null;
 
     protected final IdManager<?> vertexIdManager;
     protected final IdManager<?> edgeIdManager;
     protected final IdManager<?> vertexPropertyIdManager;
     protected final VertexProperty.Cardinality defaultVertexPropertyCardinality;
+    protected final AdjacencyStorage adjacencyStorage;
 
     private final Configuration configuration;
     private final String graphLocation;
@@ -146,6 +161,8 @@ public final class TinkerGraph implements Graph {
         vertexPropertyIdManager = selectIdManager(configuration, GREMLIN_TINKERGRAPH_VERTEX_PROPERTY_ID_MANAGER, VertexProperty.class);
         defaultVertexPropertyCardinality = VertexProperty.Cardinality.valueOf(
                 configuration.getString(GREMLIN_TINKERGRAPH_DEFAULT_VERTEX_PROPERTY_CARDINALITY, VertexProperty.Cardinality.single.name()));
+        adjacencyStorage = AdjacencyStorage.valueOf(
+                configuration.getString(GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, AdjacencyStorage.HASH.name()));
 
         graphLocation = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_LOCATION, null);
         graphFormat = configuration.getString(GREMLIN_TINKERGRAPH_GRAPH_FORMAT, null);
@@ -154,7 +171,24 @@ public final class TinkerGraph implements Graph {
             throw new IllegalStateException(String.format("The %s and %s must both be specified if either is present",
                     GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
 
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_GRAPH_LOG, false) && null == graphLocation)
+            throw new IllegalStateException(String.format("The %s must be specified if %s is enabled",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOCATION, GREMLIN_TINKERGRAPH_GRAPH_LOG));
+
+        // graphml keeps neither the identifiers of elements and vertex properties nor meta-properties so the records
+        // of the log could not be replayed over it
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_GRAPH_LOG, false) && "graphml".equals(graphFormat))
+            throw new IllegalStateException(String.format("The %s can not be enabled with a %s of graphml",
+                    GREMLIN_TINKERGRAPH_GRAPH_LOG, GREMLIN_TINKERGRAPH_GRAPH_FORMAT));
+
         if (graphLocation != null) loadGraph();
+
+        if (configuration.getBoolean(GREMLIN_TINKERGRAPH_GRAPH_LOG, false)) {
+            final TinkerGraphLog graphLog = new TinkerGraphLog(this, graphLocation,
+                    configuration.getLong(GREMLIN_TINKERGRAPH_GRAPH_LOG_COMPACTION_THRESHOLD, 1000000l));
+            graphLog.replay();
+            this.log = graphLog;
+        }
     }
 
     /**
@@ -201,8 +235,11 @@ public final class TinkerGraph implements Graph {
             idValue = vertexIdManager.getNextId(this);
         }
 
-        final Vertex vertex = new TinkerVertex(idValue, label, this);
+        final TinkerVertex vertex = new TinkerVertex(idValue, label, this);
         this.vertices.put(vertex.id(), vertex);
+        this.elementChanges.incrementAndGet();
+        TinkerHelper.autoUpdateIndex(vertex, T.label.getAccessor(), label, null);
+        if (null != this.log) this.log.addVertex(vertex);
 
         ElementHelper.attachProperties(vertex, VertexProperty.Cardinality.list, keyValues);
         return vertex;
@@ -245,11 +282,32 @@ public final class TinkerGraph implements Graph {
         this.vertexIndex = null;
         this.edgeIndex = null;
         this.graphComputerView = null;
+        this.statistics = null;
+        if (null != this.log) this.log.clear();
     }
 
     @Override
     public void close() {
-        if (graphLocation != null) saveGraph();
+        if (null != this.log)
+            this.log.compact();
+        else if (graphLocation != null)
+            saveGraph();
+    }
+
+    /**
+     * Gets a snapshot of the statistics of the graph, taking a new one once the vertices and edges that were added or
+     * removed since the last snapshot amount to a tenth of the elements that it counted.  Smaller changes do not pay
+     * for a pass over the graph as they barely move the estimates, and changes to property values alone do not
+     * refresh the snapshot.
+     */
+    @Override
+    public Optional<Statistics> statistics() {
+        TinkerGraphStatistics current = this.statistics;
+        if (null == current || !current.isCurrent(this)) {
+            current = new TinkerGraphStatistics(this);
+            this.statistics = current;
+        }
+        return Optional.of(current);
     }
 
     @Override
@@ -291,27 +349,34 @@ public final class TinkerGraph implements Graph {
         }
     }
 
-    private void saveGraph() {
+    /**
+     * Write the graph to the {@code graphLocation}.  The graph is first written to a temporary file which then
+     * replaces the previous file so that a failure part way through does not lose the graph that was there.
+     */
+    void saveGraph() {
         final File f = new File(graphLocation);
-        if (f.exists()) {
-            f.delete();
-        } else {
-            final File parent = f.getParentFile();
-            if (!parent.exists()) {
-                parent.mkdirs();
-            }
+        final File parent = f.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
         }
 
+        final File temp = new File(graphLocation + ".tmp");
+        if (temp.exists()) temp.delete();
+
         try {
             if (graphFormat.equals("graphml")) {
-                io(IoCore.graphml()).writeGraph(graphLocation);
+                io(IoCore.graphml()).writeGraph(temp.getPath());
             } else if (graphFormat.equals("graphson")) {
-                io(IoCore.graphson()).writeGraph(graphLocation);
+                io(IoCore.graphson()).writeGraph(temp.getPath());
             } else if (graphFormat.equals("gryo")) {
-                io(IoCore.gryo()).writeGraph(graphLocation);
+                io(IoCore.gryo()).writeGraph(temp.getPath());
             } else {
-                io(IoCore.createIoBuilder(graphFormat)).writeGraph(graphLocation);
+                io(IoCore.createIoBuilder(graphFormat)).writeGraph(temp.getPath());
             }
+            // the previous file is only replaced once the new one was written in full
+            if (!temp.exists())
+                throw new IllegalStateException(String.format("No graph was written to %s", temp));
+            Files.move(temp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (Exception ex) {
             throw new RuntimeException(String.format("Could not save graph at %s with %s", graphLocation, graphFormat), ex);
         }
@@ -477,6 +542,7 @@ public final class TinkerGraph implements Graph {
      * Create an index for said element class ({@link Vertex} or {@link Edge}) and said property key.
      * Whenever an element has the specified key mutated, the index is updated.
      * When the index is created, all existing elements are indexed to ensure that they are captured by the index.
+     * Element labels can be indexed by using {@code T.label.getAccessor()} as the key.
      *
      * @param key          the property key to index
      * @param elementClass the element class to index
@@ -494,6 +560,49 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Create a sorted index for said element class ({@link Vertex} or {@link Edge}) and said property key. In
+     * addition to exact matches, a sorted index can answer {@code gt}, {@code gte}, {@code lt}, {@code lte},
+     * {@code between}, {@code inside} and {@code outside} predicates. If the key is already indexed without sorting,
+     * that index is replaced.
+     *
+     * @param key          the property key to index
+     * @param elementClass the element class to index
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createSortedIndex(final String key, final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createKeyIndex(key, true);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createKeyIndex(key, true);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Create a composite index for said element class ({@link Vertex} or {@link Edge}) over several keys. The index
+     * is used when a traversal has an exact match on every one of the keys, for example a label and a name when
+     * created with {@code createCompositeIndex(Vertex.class, T.label.getAccessor(), "name")}.
+     *
+     * @param elementClass the element class to index
+     * @param keys         the keys to index together which must be at least two
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void createCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null == this.vertexIndex) this.vertexIndex = new TinkerIndex<>(this, TinkerVertex.class);
+            this.vertexIndex.createCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null == this.edgeIndex) this.edgeIndex = new TinkerIndex<>(this, TinkerEdge.class);
+            this.edgeIndex.createCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * Drop the index for the specified element class ({@link Vertex} or {@link Edge}) and key.
      *
@@ -511,6 +620,23 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Drop the composite index for the specified element class ({@link Vertex} or {@link Edge}) and keys.
+     *
+     * @param elementClass the element class of the index to drop
+     * @param keys         the keys of the composite index in the order they were indexed
+     * @param <E>          The type of the element class
+     */
+    public <E extends Element> void dropCompositeIndex(final Class<E> elementClass, final String... keys) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            if (null != this.vertexIndex) this.vertexIndex.dropCompositeKeyIndex(keys);
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            if (null != this.edgeIndex) this.edgeIndex.dropCompositeKeyIndex(keys);
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * Return all the keys currently being index for said element class  ({@link Vertex} or {@link Edge}).
      *
@@ -528,6 +654,41 @@ public final class TinkerGraph implements Graph {
         }
     }
 
+    /**
+     * Return the keys currently being indexed with a sorted index for said element class ({@link Vertex} or
+     * {@link Edge}). These keys are a subset of those returned by {@link #getIndexedKeys(Class)}.
+     *
+     * @param elementClass the element class to get the sorted keys for
+     * @param <E>          The type of the element class
+     * @return the set of keys currently being indexed with a sorted index
+     */
+    public <E extends Element> Set<String> getSortedIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getSortedIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getSortedIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
+    /**
+     * Return the key lists of the composite indices for said element class ({@link Vertex} or {@link Edge}).
+     *
+     * @param elementClass the element class to get the composite keys for
+     * @param <E>          The type of the element class
+     * @return the set of key lists currently being indexed together
+     */
+    public <E extends Element> Set<List<String>> getCompositeIndexedKeys(final Class<E> elementClass) {
+        if (Vertex.class.isAssignableFrom(elementClass)) {
+            return null == this.vertexIndex ? Collections.emptySet() : this.vertexIndex.getCompositeIndexedKeys();
+        } else if (Edge.class.isAssignableFrom(elementClass)) {
+            return null == this.edgeIndex ? Collections.emptySet() : this.edgeIndex.getCompositeIndexedKeys();
+        } else {
+            throw new IllegalArgumentException("Class is not indexable: " + elementClass);
+        }
+    }
+
     /**
      * Construct an {@link TinkerGraph.IdManager} from the TinkerGraph {@code Configuration}.
      */
@@ -685,4 +846,38 @@ public final class TinkerGraph implements Graph {
             }
         }
     }
+
+    /**
+     * The data structure a {@link TinkerVertex} uses to hold its incident edges for a particular edge label.
+     */
+    public enum AdjacencyStorage {
+        /**
+         * Holds incident edges in a {@code HashSet} which gives constant time edge removal at the cost of a hash
+         * entry per edge.  This represents the default way {@link TinkerGraph} has always worked.
+         */
+        HASH {
+            @Override
+            public Collection<Edge> createEdgeCollection() {
+                return new HashSet<>();
+            }
+        },
+
+        /**
+         * Holds incident edges in an array-backed list which costs a single reference per edge and is cheaper to
+         * iterate during adjacency expansion. Edge removal becomes linear in the number of edges the vertex has
+         * with the removed edge's label, so this storage is best suited to graphs that are loaded and then mostly
+         * read.
+         */
+        ARRAY {
+            @Override
+            public Collection<Edge> createEdgeCollection() {
+                return new ArrayList<>(1);
+            }
+        };
+
+        /**
+         * Create the collection that holds the edges of a single label for a single vertex direction.
+         */
+        public abstract Collection<Edge> createEdgeCollection();
+    }
 }
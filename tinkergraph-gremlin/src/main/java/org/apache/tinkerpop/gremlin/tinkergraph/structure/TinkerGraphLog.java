@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.structure.io.gryo.GryoMapper;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.shaded.kryo.Kryo;
+import org.apache.tinkerpop.shaded.kryo.KryoException;
+import org.apache.tinkerpop.shaded.kryo.io.Input;
+import org.apache.tinkerpop.shaded.kryo.io.Output;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+/**
+ * An append-only log of the mutations made to a persisted {@link TinkerGraph} since its last snapshot was written
+ * to the {@code graphLocation}.  Each mutation is appended as a Gryo encoded record and flushed as it happens, so a
+ * graph that is not closed cleanly can be recovered by loading the snapshot and replaying the log over it.  Once the
+ * log reaches the configured number of records it is compacted by writing a new snapshot and discarding the log.
+ * <p/>
+ * The log starts with the checksum of the snapshot it applies to.  A log whose checksum does not match the current
+ * snapshot was already folded into that snapshot by a compaction that did not get to delete it and is ignored.
+ * <p/>
+ * Compaction does not hold up the mutation that reaches the threshold.  The log is set aside as the
+ * {@code .log.compacting} file and a new log is started while the snapshot is written on a background thread.  The new
+ * log starts with {@link #UNBOUND} as the snapshot it applies to may or may not already hold some of its records, and
+ * it is bound to the new snapshot once that has been written.  An unbound log is always replayed, which is harmless
+ * as replaying a record that the snapshot already holds does not change the graph.
+ * <p/>
+ * Vertex properties are addressed by their identifier and value, so a record still finds its vertex property in a
+ * snapshot format that does not keep the identifiers of vertex properties.
+ */
+final class TinkerGraphLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TinkerGraphLog.class);
+
+    private static final byte ADD_VERTEX = 1;
+    private static final byte ADD_EDGE = 2;
+    private static final byte ADD_VERTEX_PROPERTY = 3;
+    private static final byte ADD_EDGE_PROPERTY = 4;
+    private static final byte ADD_META_PROPERTY = 5;
+    private static final byte REMOVE_VERTEX = 6;
+    private static final byte REMOVE_EDGE = 7;
+    private static final byte REMOVE_VERTEX_PROPERTY = 8;
+    private static final byte REMOVE_EDGE_PROPERTY = 9;
+    private static final byte REMOVE_META_PROPERTY = 10;
+    private static final byte CLEAR = 11;
+
+    private static final long UNBOUND = -1l;
+    private static final int COMPACTION_ATTEMPTS = 3;
+
+    private final TinkerGraph graph;
+    private final File snapshotFile;
+    private final File logFile;
+    private final File compactingFile;
+    private final long compactionThreshold;
+    private final Kryo kryo = GryoMapper.build().addRegistry(TinkerIoRegistry.getInstance()).create().createMapper();
+
+    private Output output = null;
+    private long snapshotChecksum;
+    private long records = 0;
+    private boolean compacting = false;
+    private ExecutorService compactor = null;
+
+    TinkerGraphLog(final TinkerGraph graph, final String graphLocation, final long compactionThreshold) {
+        this.graph = graph;
+        this.snapshotFile = new File(graphLocation);
+        this.logFile = new File(graphLocation + ".log");
+        this.compactingFile = new File(graphLocation + ".log.compacting");
+        this.compactionThreshold = compactionThreshold;
+        this.snapshotChecksum = checksum(this.snapshotFile);
+    }
+
+    /**
+     * Apply the records of the logs to the graph which is expected to hold the contents of the snapshot, starting with
+     * the log of a compaction that did not complete.  A record that was only partially written before the graph went
+     * down is discarded.
+     */
+    void replay() {
+        this.replay(this.compactingFile);
+        this.replay(this.logFile);
+    }
+
+    private void replay(final File file) {
+        if (!file.exists()) return;
+
+        long validLength = 0;
+        try (final Input input = new Input(new FileInputStream(file))) {
+            final boolean applies;
+            if (input.eof())
+                applies = false;
+            else {
+                final long checksum = input.readLong();
+                applies = checksum == this.snapshotChecksum || checksum == UNBOUND;
+            }
+            if (!applies) {
+                input.close();
+                file.delete();
+                return;
+            }
+            validLength = input.total();
+            while (!input.eof()) {
+                try {
+                    this.apply(input.readByte(), input);
+                } catch (final KryoException ke) {
+                    break;
+                }
+                validLength = input.total();
+                this.records++;
+            }
+        } catch (final KryoException | IOException ex) {
+            // the header itself was torn so the whole log is discarded
+        }
+
+        if (validLength < file.length()) {
+            try (final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                randomAccessFile.setLength(validLength);
+            } catch (final IOException ioe) {
+                throw new RuntimeException(String.format("Could not truncate the graph log at %s", file), ioe);
+            }
+        }
+    }
+
+    /**
+     * Write a new snapshot of the graph and discard the logs that it now includes, once any compaction that is
+     * running in the background has finished.
+     */
+    void compact() {
+        this.awaitCompaction();
+        synchronized (this) {
+            this.closeOutput();
+            this.graph.saveGraph();
+            this.snapshotChecksum = checksum(this.snapshotFile);
+            this.logFile.delete();
+            this.compactingFile.delete();
+            this.records = 0;
+        }
+    }
+
+    /**
+     * Wait for a compaction that is running in the background to finish.
+     */
+    void awaitCompaction() {
+        final ExecutorService compactor;
+        synchronized (this) {
+            compactor = this.compactor;
+            this.compactor = null;
+        }
+        if (null == compactor) return;
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Set the log aside and write a new snapshot on a background thread.  The caller must hold the lock of the log.
+     */
+    private void startCompaction() {
+        if (this.compacting) return;
+        this.compacting = true;
+        this.closeOutput();
+        try {
+            if (this.logFile.exists()) {
+                if (this.compactingFile.exists()) {
+                    // a compaction that failed left its log behind so this log is appended to it
+                    final byte[] log = Files.readAllBytes(this.logFile.toPath());
+                    if (log.length > 8)
+                        Files.write(this.compactingFile.toPath(), Arrays.copyOfRange(log, 8, log.length), StandardOpenOption.APPEND);
+                    this.logFile.delete();
+                } else if (!this.logFile.renameTo(this.compactingFile))
+                    throw new IOException(String.format("Could not move the graph log to %s", this.compactingFile));
+            }
+        } catch (final IOException ioe) {
+            this.compacting = false;
+            throw new RuntimeException(String.format("Could not set the graph log at %s aside for compaction", this.logFile), ioe);
+        }
+        this.records = 0;
+        if (null == this.compactor) {
+            this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "tinkergraph-log-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.compactor.submit(this::compactInBackground);
+    }
+
+    private void compactInBackground() {
+        for (int attempt = 0; attempt < COMPACTION_ATTEMPTS; attempt++) {
+            try {
+                // the graph may be mutated while it is written, which can fail the write and is then tried again
+                this.graph.saveGraph();
+                this.completeCompaction();
+                return;
+            } catch (final RuntimeException ex) {
+                if (attempt == COMPACTION_ATTEMPTS - 1)
+                    LOGGER.warn(String.format("Could not compact the graph log at %s, it will be compacted along with the next one", this.logFile), ex);
+            }
+        }
+        synchronized (this) {
+            this.compacting = false;
+        }
+    }
+
+    private synchronized void completeCompaction() {
+        final long checksum = checksum(this.snapshotFile);
+        if (this.logFile.exists() && this.logFile.length() >= 8) {
+            try (final RandomAccessFile randomAccessFile = new RandomAccessFile(this.logFile, "rw")) {
+                randomAccessFile.writeLong(checksum);
+            } catch (final IOException ioe) {
+                throw new RuntimeException(String.format("Could not bind the graph log at %s to its snapshot", this.logFile), ioe);
+            }
+        }
+        this.snapshotChecksum = checksum;
+        this.compactingFile.delete();
+        this.compacting = false;
+    }
+
+    void addVertex(final TinkerVertex vertex) {
+        this.append(output -> {
+            output.writeByte(ADD_VERTEX);
+            this.kryo.writeClassAndObject(output, vertex.id());
+            output.writeString(vertex.label());
+        });
+    }
+
+    void addEdge(final TinkerEdge edge) {
+        this.append(output -> {
+            output.writeByte(ADD_EDGE);
+            this.kryo.writeClassAndObject(output, edge.id());
+            output.writeString(edge.label());
+            this.kryo.writeClassAndObject(output, edge.outVertex().id());
+            this.kryo.writeClassAndObject(output, edge.inVertex().id());
+            final List<Property> properties = null == edge.properties ? new ArrayList<>() : new ArrayList<>(edge.properties.values());
+            output.writeInt(properties.size());
+            for (final Property property : properties) {
+                output.writeString(property.key());
+                this.kryo.writeClassAndObject(output, property.value());
+            }
+        });
+    }
+
+    void addVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.append(output -> {
+            output.writeByte(ADD_VERTEX_PROPERTY);
+            this.kryo.writeClassAndObject(output, vertexProperty.element().id());
+            this.kryo.writeClassAndObject(output, vertexProperty.id());
+            output.writeString(vertexProperty.key());
+            this.kryo.writeClassAndObject(output, vertexProperty.value());
+        });
+    }
+
+    void addProperty(final TinkerProperty<?> property) {
+        this.append(output -> {
+            if (property.element() instanceof Edge) {
+                output.writeByte(ADD_EDGE_PROPERTY);
+                this.kryo.writeClassAndObject(output, property.element().id());
+            } else {
+                final VertexProperty<?> vertexProperty = (VertexProperty) property.element();
+                output.writeByte(ADD_META_PROPERTY);
+                this.writeVertexProperty(output, vertexProperty);
+            }
+            output.writeString(property.key());
+            this.kryo.writeClassAndObject(output, property.value());
+        });
+    }
+
+    void removeVertex(final TinkerVertex vertex) {
+        this.append(output -> {
+            output.writeByte(REMOVE_VERTEX);
+            this.kryo.writeClassAndObject(output, vertex.id());
+        });
+    }
+
+    void removeEdge(final TinkerEdge edge) {
+        this.append(output -> {
+            output.writeByte(REMOVE_EDGE);
+            this.kryo.writeClassAndObject(output, edge.id());
+        });
+    }
+
+    void removeVertexProperty(final TinkerVertexProperty<?> vertexProperty) {
+        this.append(output -> {
+            output.writeByte(REMOVE_VERTEX_PROPERTY);
+            this.writeVertexProperty(output, vertexProperty);
+        });
+    }
+
+    void removeProperty(final TinkerProperty<?> property) {
+        this.append(output -> {
+            if (property.element() instanceof Edge) {
+                output.writeByte(REMOVE_EDGE_PROPERTY);
+                this.kryo.writeClassAndObject(output, property.element().id());
+            } else {
+                final VertexProperty<?> vertexProperty = (VertexProperty) property.element();
+                output.writeByte(REMOVE_META_PROPERTY);
+                this.writeVertexProperty(output, vertexProperty);
+            }
+            output.writeString(property.key());
+        });
+    }
+
+    void clear() {
+        this.append(output -> output.writeByte(CLEAR));
+    }
+
+    private synchronized void append(final Consumer<Output> record) {
+        try {
+            if (null == this.output) {
+                final boolean newLog = !this.logFile.exists() || 0 == this.logFile.length();
+                if (newLog && null != this.logFile.getParentFile()) this.logFile.getParentFile().mkdirs();
+                this.output = new Output(new FileOutputStream(this.logFile, true));
+                if (newLog) this.output.writeLong(this.compacting ? UNBOUND : this.snapshotChecksum);
+            }
+            record.accept(this.output);
+            this.output.flush();
+        } catch (final IOException | KryoException ex) {
+            throw new RuntimeException(String.format("Could not write to the graph log at %s", this.logFile), ex);
+        }
+
+        if (this.compactionThreshold > 0 && ++this.records >= this.compactionThreshold)
+            this.startCompaction();
+    }
+
+    private void closeOutput() {
+        if (null != this.output) {
+            this.output.close();
+            this.output = null;
+        }
+    }
+
+    /**
+     * Apply a single record to the graph.  All of the fields of the record are read before the graph is touched
+     * so that a torn record leaves the graph as it was.  Records that refer to elements which are already gone or
+     * that add elements which already exist are skipped, which keeps a replay over a snapshot that already holds
+     * some of the mutations harmless.
+     */
+    private void apply(final byte type, final Input input) {
+        switch (type) {
+            case ADD_VERTEX: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                if (!this.graph.vertices.containsKey(id))
+                    this.graph.addVertex(T.id, id, T.label, label);
+                break;
+            }
+            case ADD_EDGE: {
+                final Object id = this.kryo.readClassAndObject(input);
+                final String label = input.readString();
+                final Vertex outVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Vertex inVertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final int size = input.readInt();
+                final List<Object> keyValues = new ArrayList<>(2 * size + 2);
+                keyValues.add(T.id);
+                keyValues.add(id);
+                for (int i = 0; i < size; i++) {
+                    keyValues.add(input.readString());
+                    keyValues.add(this.kryo.readClassAndObject(input));
+                }
+                if (null != outVertex && null != inVertex && !this.graph.edges.containsKey(id))
+                    outVertex.addEdge(label, inVertex, keyValues.toArray());
+                break;
+            }
+            case ADD_VERTEX_PROPERTY: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                final Object id = this.kryo.readClassAndObject(input);
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != vertex && null == findVertexProperty(vertex, key, id))
+                    vertex.property(VertexProperty.Cardinality.list, key, value, T.id, id);
+                break;
+            }
+            case ADD_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != edge) edge.property(key, value);
+                break;
+            }
+            case ADD_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.readVertexProperty(input);
+                final String key = input.readString();
+                final Object value = this.kryo.readClassAndObject(input);
+                if (null != vertexProperty) vertexProperty.property(key, value);
+                break;
+            }
+            case REMOVE_VERTEX: {
+                final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+                if (null != vertex) vertex.remove();
+                break;
+            }
+            case REMOVE_EDGE: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                if (null != edge) edge.remove();
+                break;
+            }
+            case REMOVE_VERTEX_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.readVertexProperty(input);
+                if (null != vertexProperty) vertexProperty.remove();
+                break;
+            }
+            case REMOVE_EDGE_PROPERTY: {
+                final Edge edge = this.graph.edges.get(this.kryo.readClassAndObject(input));
+                final String key = input.readString();
+                if (null != edge) edge.property(key).remove();
+                break;
+            }
+            case REMOVE_META_PROPERTY: {
+                final VertexProperty<?> vertexProperty = this.readVertexProperty(input);
+                final String key = input.readString();
+                if (null != vertexProperty) vertexProperty.property(key).remove();
+                break;
+            }
+            case CLEAR:
+                this.graph.clear();
+                break;
+            default:
+                throw new KryoException(String.format("Unknown graph log record type %s", type));
+        }
+    }
+
+    private void writeVertexProperty(final Output output, final VertexProperty<?> vertexProperty) {
+        this.kryo.writeClassAndObject(output, vertexProperty.element().id());
+        output.writeString(vertexProperty.key());
+        this.kryo.writeClassAndObject(output, vertexProperty.id());
+        this.kryo.writeClassAndObject(output, vertexProperty.value());
+    }
+
+    /**
+     * Reads a vertex property written by {@link #writeVertexProperty} and finds it by its identifier or, if the
+     * snapshot did not keep that identifier, by its value.
+     */
+    private VertexProperty<?> readVertexProperty(final Input input) {
+        final Vertex vertex = this.graph.vertices.get(this.kryo.readClassAndObject(input));
+        final String key = input.readString();
+        final Object id = this.kryo.readClassAndObject(input);
+        final Object value = this.kryo.readClassAndObject(input);
+        if (null == vertex) return null;
+        final VertexProperty<?> vertexProperty = findVertexProperty(vertex, key, id);
+        if (null != vertexProperty) return vertexProperty;
+        final Iterator<VertexProperty<Object>> vertexProperties = IteratorUtils.filter(vertex.<Object>properties(key), vp -> Objects.equals(vp.value(), value));
+        return vertexProperties.hasNext() ? vertexProperties.next() : null;
+    }
+
+    private static VertexProperty<?> findVertexProperty(final Vertex vertex, final String key, final Object id) {
+        final Iterator<VertexProperty<Object>> vertexProperties = IteratorUtils.filter(vertex.<Object>properties(key), vp -> vp.id().equals(id));
+        return vertexProperties.hasNext() ? vertexProperties.next() : null;
+    }
+
+    private static long checksum(final File file) {
+        if (!file.exists()) return 0l;
+        final CRC32 crc = new CRC32();
+        try (final InputStream stream = new CheckedInputStream(new FileInputStream(file), crc)) {
+            final byte[] buffer = new byte[65536];
+            while (stream.read(buffer) != -1) {
+                // the checksum is updated as the stream is read
+            }
+        } catch (final IOException ioe) {
+            throw new RuntimeException(String.format("Could not read the graph snapshot at %s", file), ioe);
+        }
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.structure;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Edge;
+import org.apache.tinkerpop.gremlin.structure.Element;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A snapshot of the {@link Graph.Statistics} of a {@link TinkerGraph} that is gathered by a single pass over its
+ * elements.  The label counts and degrees are exact at the time of the snapshot.  The selectivity of a predicate on an
+ * indexed key is answered exactly by the index for equality and is otherwise estimated from a uniform sample of the
+ * values of the key, which serves as its histogram.  {@link TinkerGraph#statistics()} takes a new snapshot once the
+ * vertices and edges added or removed since this one amount to {@link #STALE_RATIO} of the elements it counted.
+ */
+final class TinkerGraphStatistics implements Graph.Statistics {
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final long SEED = 2147483647l;
+    static final double STALE_RATIO = 0.1d;
+
+    private final TinkerGraph graph;
+    private final long vertexCount;
+    private final long edgeCount;
+    private final long elementChanges;
+    private final Map<String, Long> vertexLabelCounts = new HashMap<>();
+    private final Map<String, Long> edgeLabelCounts = new HashMap<>();
+    private final Map<String, Histogram> vertexHistograms = new HashMap<>();
+    private final Map<String, Histogram> edgeHistograms = new HashMap<>();
+    private long maximumOutDegree = 0;
+    private long maximumInDegree = 0;
+    private long maximumDegree = 0;
+
+    TinkerGraphStatistics(final TinkerGraph graph) {
+        this.graph = graph;
+        this.elementChanges = graph.elementChanges.get();
+        this.vertexCount = graph.vertices.size();
+        this.edgeCount = graph.edges.size();
+
+        final Random random = new Random(SEED);
+        for (final Vertex vertex : graph.vertices.values()) {
+            this.vertexLabelCounts.merge(vertex.label(), 1l, Long::sum);
+            final long outDegree = IteratorUtils.count(vertex.edges(Direction.OUT));
+            final long inDegree = IteratorUtils.count(vertex.edges(Direction.IN));
+            this.maximumOutDegree = Math.max(this.maximumOutDegree, outDegree);
+            this.maximumInDegree = Math.max(this.maximumInDegree, inDegree);
+            this.maximumDegree = Math.max(this.maximumDegree, outDegree + inDegree);
+            sample(vertex, this.vertexHistograms, random);
+        }
+        for (final Edge edge : graph.edges.values()) {
+            this.edgeLabelCounts.merge(edge.label(), 1l, Long::sum);
+            sample(edge, this.edgeHistograms, random);
+        }
+    }
+
+    /**
+     * Determines if the snapshot still describes the graph well enough, which is assumed until the number of vertices
+     * and edges added or removed since the snapshot exceeds {@link #STALE_RATIO} of the elements it counted.
+     */
+    boolean isCurrent(final TinkerGraph graph) {
+        final long changes = graph.elementChanges.get() - this.elementChanges;
+        return 0 == changes || changes < Math.max(1.0d, STALE_RATIO * (this.vertexCount + this.edgeCount));
+    }
+
+    @Override
+    public long vertexCount(final String label) {
+        return null == label ? this.vertexCount : this.vertexLabelCounts.getOrDefault(label, 0l);
+    }
+
+    @Override
+    public long edgeCount(final String label) {
+        return null == label ? this.edgeCount : this.edgeLabelCounts.getOrDefault(label, 0l);
+    }
+
+    @Override
+    public long maximumDegree(final Direction direction) {
+        return Direction.OUT == direction ? this.maximumOutDegree : Direction.IN == direction ? this.maximumInDegree : this.maximumDegree;
+    }
+
+    @Override
+    public double selectivity(final Class<? extends Element> elementClass, final String key, final P<?> predicate) {
+        final boolean vertices = Vertex.class.isAssignableFrom(elementClass);
+        final long count = vertices ? this.vertexCount : this.edgeCount;
+        if (0 == count)
+            return 0.0d;
+
+        if (key.equals(T.label.getAccessor())) {
+            long matches = 0;
+            for (final Map.Entry<String, Long> entry : (vertices ? this.vertexLabelCounts : this.edgeLabelCounts).entrySet()) {
+                if (test(predicate, entry.getKey()))
+                    matches = matches + entry.getValue();
+            }
+            return (double) matches / count;
+        } else if (key.equals(T.id.getAccessor())) {
+            final Object value = predicate.getValue();
+            final long ids = value instanceof Collection ? ((Collection) value).size() : 1;
+            return Math.min(1.0d, (double) ids / count);
+        }
+
+        final TinkerIndex<?> index = vertices ? this.graph.vertexIndex : this.graph.edgeIndex;
+        if (null != index && predicate.getBiPredicate() == Compare.eq && null != predicate.getValue() && index.getIndexedKeys().contains(key))
+            return (double) index.count(key, predicate.getValue()) / count;
+
+        final Histogram histogram = (vertices ? this.vertexHistograms : this.edgeHistograms).get(key);
+        return null == histogram ? 0.0d : histogram.selectivity(predicate, count);
+    }
+
+    @Override
+    public boolean isIndexed(final Class<? extends Element> elementClass, final String key) {
+        final TinkerIndex<?> index = Vertex.class.isAssignableFrom(elementClass) ? this.graph.vertexIndex : this.graph.edgeIndex;
+        return null != index && index.getIndexedKeys().contains(key);
+    }
+
+    private static void sample(final Element element, final Map<String, Histogram> histograms, final Random random) {
+        for (final String key : element.keys()) {
+            final List<Object> values = new ArrayList<>(1);
+            element.properties(key).forEachRemaining(property -> values.add(property.value()));
+            histograms.computeIfAbsent(key, k -> new Histogram()).add(values, random);
+        }
+    }
+
+    private static boolean test(final P<?> predicate, final Object value) {
+        try {
+            return ((P<Object>) predicate).test(value);
+        } catch (final RuntimeException e) {
+            // values that the predicate can not compare do not satisfy it
+            return false;
+        }
+    }
+
+    /**
+     * A uniform (reservoir) sample of the values of a key along with the number of elements that have the key.
+     */
+    private static final class Histogram {
+        private final List<List<Object>> sample = new ArrayList<>();
+        private long elements = 0;
+
+        private void add(final List<Object> values, final Random random) {
+            this.elements++;
+            if (this.sample.size() < SAMPLE_SIZE)
+                this.sample.add(values);
+            else {
+                final long slot = (long) (random.nextDouble() * this.elements);
+                if (slot < SAMPLE_SIZE)
+                    this.sample.set((int) slot, values);
+            }
+        }
+
+        private double selectivity(final P<?> predicate, final long count) {
+            if (this.sample.isEmpty())
+                return 0.0d;
+            long matches = 0;
+            for (final List<Object> values : this.sample) {
+                for (final Object value : values) {
+                    if (test(predicate, value)) {
+                        matches++;
+                        break;
+                    }
+                }
+            }
+            return ((double) this.elements / count) * ((double) matches / this.sample.size());
+        }
+    }
+}
@@ -18,18 +18,20 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.util.ElementHelper;
 import org.apache.tinkerpop.gremlin.tinkergraph.process.computer.TinkerGraphComputerView;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -60,19 +62,28 @@ public final class TinkerHelper {
         }
 
         edge = new TinkerEdge(idValue, outVertex, label, inVertex);
-        ElementHelper.attachProperties(edge, keyValues);
+        try {
+            ElementHelper.attachProperties(edge, keyValues);
+        } catch (final RuntimeException e) {
+            // drop the index entries of the properties attached before the failure as the edge is never added
+            TinkerHelper.removeElementIndex((TinkerEdge) edge);
+            throw e;
+        }
         graph.edges.put(edge.id(), edge);
+        graph.elementChanges.incrementAndGet();
         TinkerHelper.addOutEdge(outVertex, label, edge);
         TinkerHelper.addInEdge(inVertex, label, edge);
+        TinkerHelper.autoUpdateIndex((TinkerEdge) edge, T.label.getAccessor(), label, null);
+        if (null != graph.log) graph.log.addEdge((TinkerEdge) edge);
         return edge;
 
     }
 
     protected static void addOutEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         if (null == vertex.outEdges) vertex.outEdges = new HashMap<>();
-        Set<Edge> edges = vertex.outEdges.get(label);
+        Collection<Edge> edges = vertex.outEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = ((TinkerGraph) vertex.graph()).adjacencyStorage.createEdgeCollection();
             vertex.outEdges.put(label, edges);
         }
         edges.add(edge);
@@ -80,9 +91,9 @@ public final class TinkerHelper {
 
     protected static void addInEdge(final TinkerVertex vertex, final String label, final Edge edge) {
         if (null == vertex.inEdges) vertex.inEdges = new HashMap<>();
-        Set<Edge> edges = vertex.inEdges.get(label);
+        Collection<Edge> edges = vertex.inEdges.get(label);
         if (null == edges) {
-            edges = new HashSet<>();
+            edges = ((TinkerGraph) vertex.graph()).adjacencyStorage.createEdgeCollection();
             vertex.inEdges.put(label, edges);
         }
         edges.add(edge);
@@ -96,6 +107,22 @@ public final class TinkerHelper {
         return null == graph.edgeIndex ? Collections.emptyList() : graph.edgeIndex.get(key, value);
     }
 
+    /**
+     * Get the candidate vertices for the {@link HasContainer} filters from the most selective vertex index that can
+     * answer them or {@code null} if no index applies.
+     */
+    public static Iterator<TinkerVertex> queryVertexIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.vertexIndex ? null : graph.vertexIndex.lookup(hasContainers);
+    }
+
+    /**
+     * Get the candidate edges for the {@link HasContainer} filters from the most selective edge index that can
+     * answer them or {@code null} if no index applies.
+     */
+    public static Iterator<TinkerEdge> queryEdgeIndex(final TinkerGraph graph, final List<HasContainer> hasContainers) {
+        return null == graph.edgeIndex ? null : graph.edgeIndex.lookup(hasContainers);
+    }
+
     public static boolean inComputerMode(final TinkerGraph graph) {
         return null != graph.graphComputerView;
     }
@@ -112,6 +139,20 @@ public final class TinkerHelper {
         graph.graphComputerView = null;
     }
 
+    /**
+     * Number the vertices densely from zero in the order given so that a graph computer can hold the state of each
+     * vertex in arrays indexed by {@link #getComputerSlot(TinkerVertex)}.
+     */
+    public static void assignComputerSlots(final List<Vertex> vertices) {
+        for (int i = 0; i < vertices.size(); i++) {
+            ((TinkerVertex) vertices.get(i)).computerSlot = i;
+        }
+    }
+
+    public static int getComputerSlot(final TinkerVertex vertex) {
+        return vertex.computerSlot;
+    }
+
     public static Map<String, List<VertexProperty>> getProperties(final TinkerVertex vertex) {
         return null == vertex.properties ? Collections.emptyMap() : vertex.properties;
     }
@@ -143,13 +184,13 @@ public final class TinkerHelper {
     public static void removeIndex(final TinkerVertex vertex, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) vertex.graph();
         if (graph.vertexIndex != null)
-            graph.vertexIndex.remove(key, value, vertex);
+            graph.vertexIndex.autoRemove(key, value, vertex);
     }
 
     public static void removeIndex(final TinkerEdge edge, final String key, final Object value) {
         final TinkerGraph graph = (TinkerGraph) edge.graph();
         if (graph.edgeIndex != null)
-            graph.edgeIndex.remove(key, value, edge);
+            graph.edgeIndex.autoRemove(key, value, edge);
     }
 
     public static Iterator<TinkerEdge> getEdges(final TinkerVertex vertex, final Direction direction, final String... edgeLabels) {
@@ -159,7 +200,7 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.outEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
+                    edges.addAll(vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptyList()));
                 else
                     Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
@@ -169,7 +210,7 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.inEdges.values().forEach(edges::addAll);
                 else if (edgeLabels.length == 1)
-                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()));
+                    edges.addAll(vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptyList()));
                 else
                     Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).forEach(edges::addAll);
             }
@@ -184,9 +225,9 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.outEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    vertex.outEdges.getOrDefault(edgeLabels[0], Collections.emptyList()).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
+                    Stream.of(edgeLabels).map(vertex.outEdges::get).filter(Objects::nonNull).flatMap(Collection::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).inVertex));
             }
         }
         if (direction.equals(Direction.IN) || direction.equals(Direction.BOTH)) {
@@ -194,9 +235,9 @@ public final class TinkerHelper {
                 if (edgeLabels.length == 0)
                     vertex.inEdges.values().forEach(set -> set.forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex)));
                 else if (edgeLabels.length == 1)
-                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptySet()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    vertex.inEdges.getOrDefault(edgeLabels[0], Collections.emptyList()).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
                 else
-                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Set::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
+                    Stream.of(edgeLabels).map(vertex.inEdges::get).filter(Objects::nonNull).flatMap(Collection::stream).forEach(edge -> vertices.add(((TinkerEdge) edge).outVertex));
             }
         }
         return (Iterator) vertices.iterator();
@@ -18,47 +18,90 @@
  */
 package org.apache.tinkerpop.gremlin.tinkergraph.structure;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Compare;
+import org.apache.tinkerpop.gremlin.process.traversal.Contains;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.util.ConnectiveP;
+import org.apache.tinkerpop.gremlin.process.traversal.util.OrP;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Graph;
-import org.apache.tinkerpop.gremlin.structure.Property;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.util.iterator.IteratorUtils;
+import org.apache.tinkerpop.gremlin.util.iterator.MultiIterator;
 
+import java.math.BigDecimal;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
 
 /**
  * @author Marko A. Rodriguez (http://markorodriguez.com)
  */
 final class TinkerIndex<T extends Element> {
 
+    /**
+     * Orders the values of a sorted index. Numbers are compared by value regardless of their type (as {@link Compare}
+     * does) and sort before all other values, values of the same {@link Comparable} type use their natural order and
+     * everything else is grouped by type. Values that this comparator considers equal share an index bucket which is
+     * safe as index results are always re-tested against the original predicates.
+     */
+    static final Comparator<Object> SORTED_VALUE_COMPARATOR = (a, b) -> {
+        final boolean aNumber = a instanceof Number;
+        final boolean bNumber = b instanceof Number;
+        if (aNumber && bNumber)
+            return compareNumbers((Number) a, (Number) b);
+        else if (aNumber != bNumber)
+            return aNumber ? -1 : 1;
+        else if (a.getClass().equals(b.getClass()) && a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+
+        final int classComparison = a.getClass().getName().compareTo(b.getClass().getName());
+        if (classComparison != 0)
+            return classComparison;
+        final int hashComparison = Integer.compare(a.hashCode(), b.hashCode());
+        return hashComparison != 0 ? hashComparison : a.toString().compareTo(b.toString());
+    };
+
     protected Map<String, Map<Object, Set<T>>> index = new ConcurrentHashMap<>();
+    protected Map<List<String>, Map<List<Object>, Set<T>>> compositeIndex = new ConcurrentHashMap<>();
     protected final Class<T> indexClass;
-    private final Set<String> indexedKeys = new HashSet<>();
+    private final Set<String> indexedKeys = ConcurrentHashMap.newKeySet();
+    private final Set<String> sortedKeys = ConcurrentHashMap.newKeySet();
     private final TinkerGraph graph;
 
+    /**
+     * The reverse of the indices: for each element, the values it is currently indexed under keyed by either the
+     * indexed key or the keys of a composite index. This allows an element to be removed from the buckets that
+     * hold it without scanning every bucket of every index.
+     */
+    private final Map<T, Map<Object, Set<Object>>> entries = new ConcurrentHashMap<>();
+
     public TinkerIndex(final TinkerGraph graph, final Class<T> indexClass) {
         this.graph = graph;
         this.indexClass = indexClass;
     }
 
     protected void put(final String key, final Object value, final T element) {
-        Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (keyMap == null) {
-            keyMap = new ConcurrentHashMap<>();
-            this.index.put(key, keyMap);
-        }
-        Set<T> objects = keyMap.get(value);
-        if (null == objects) {
-            objects = new HashSet<>();
-            keyMap.put(value, objects);
-        }
-        objects.add(element);
-
+        final Map<Object, Set<T>> keyMap = this.index.computeIfAbsent(key, k -> this.sortedKeys.contains(k) ?
+                new ConcurrentSkipListMap<>(SORTED_VALUE_COMPARATOR) : new ConcurrentHashMap<>());
+        addToBucket(keyMap, value, element);
+        this.addEntry(element, key, value);
     }
 
     public List<T> get(final String key, final Object value) {
@@ -74,6 +117,48 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
+    /**
+     * Get the elements of a sorted index whose values fall within the specified range where a {@code null} bound
+     * leaves that side of the range open. The buckets of the range are walked lazily.
+     */
+    public Iterator<T> getRange(final String key, final Object low, final boolean lowInclusive, final Object high, final boolean highInclusive) {
+        final NavigableMap<Object, Set<T>> range = this.rangeBuckets(key, low, lowInclusive, high, highInclusive);
+        if (null == range)
+            return Collections.emptyIterator();
+
+        // a vertex with multiple values for the key may be in more than one bucket of the range
+        return distinct(IteratorUtils.flatMap(range.values().iterator(), Set::iterator));
+    }
+
+    /**
+     * Get the buckets of a sorted index whose values fall within the range or {@code null} if the key does not have
+     * a sorted index or the range is empty.
+     */
+    private NavigableMap<Object, Set<T>> rangeBuckets(final String key, final Object low, final boolean lowInclusive, final Object high, final boolean highInclusive) {
+        final Map<Object, Set<T>> keyMap = this.index.get(key);
+        if (!(keyMap instanceof NavigableMap) || (null != low && null != high && SORTED_VALUE_COMPARATOR.compare(low, high) > 0))
+            return null;
+
+        final NavigableMap<Object, Set<T>> sortedMap = (NavigableMap<Object, Set<T>>) keyMap;
+        if (null == low)
+            return null == high ? sortedMap : sortedMap.headMap(high, highInclusive);
+        else
+            return null == high ? sortedMap.tailMap(low, lowInclusive) : sortedMap.subMap(low, lowInclusive, high, highInclusive);
+    }
+
+    public List<T> getComposite(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(keys);
+        if (null == keyMap) {
+            return Collections.emptyList();
+        } else {
+            final Set<T> set = keyMap.get(values);
+            if (null == set)
+                return Collections.emptyList();
+            else
+                return new ArrayList<>(set);
+        }
+    }
+
     public long count(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
         if (null == keyMap) {
@@ -87,26 +172,217 @@ final class TinkerIndex<T extends Element> {
         }
     }
 
-    public void remove(final String key, final Object value, final T element) {
+    /**
+     * Get a live, weakly consistent view of the elements in an index bucket.
+     */
+    private Iterator<T> iterator(final String key, final Object value) {
         final Map<Object, Set<T>> keyMap = this.index.get(key);
-        if (null != keyMap) {
-            Set<T> objects = keyMap.get(value);
-            if (null != objects) {
-                objects.remove(element);
-                if (objects.size() == 0) {
-                    keyMap.remove(value);
+        if (null == keyMap) return Collections.emptyIterator();
+        final Set<T> set = keyMap.get(value);
+        return null == set ? Collections.emptyIterator() : set.iterator();
+    }
+
+    private Iterator<T> compositeIterator(final List<String> keys, final List<Object> values) {
+        final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(keys);
+        if (null == keyMap) return Collections.emptyIterator();
+        final Set<T> set = keyMap.get(values);
+        return null == set ? Collections.emptyIterator() : set.iterator();
+    }
+
+    /**
+     * Find the candidate elements for a list of {@link HasContainer} filters using the index that answers them with
+     * the fewest candidates. The candidates are a superset of the matching elements and must still be tested against
+     * the containers. A {@code null} is returned if none of the containers can be answered by an index or if no index
+     * would return fewer candidates than there are elements, in which case scanning the elements is cheaper. The
+     * candidates of each index are counted from the sizes of its buckets, giving up once the count exceeds the best
+     * one found so far, and the candidates of the chosen index are then read lazily from its buckets, which tolerate
+     * concurrent modification.
+     */
+    public Iterator<T> lookup(final List<HasContainer> hasContainers) {
+        long bestCount = Vertex.class.isAssignableFrom(this.indexClass) ? this.graph.vertices.size() : this.graph.edges.size();
+        Supplier<Iterator<T>> best = null;
+
+        // a composite index constrains several keys at once
+        for (final Map.Entry<List<String>, Map<List<Object>, Set<T>>> entry : this.compositeIndex.entrySet()) {
+            final List<String> compositeKeys = entry.getKey();
+            final List<Object> values = new ArrayList<>(compositeKeys.size());
+            for (final String key : compositeKeys) {
+                final HasContainer hasContainer = getEqualityContainer(hasContainers, key);
+                if (null == hasContainer) break;
+                values.add(hasContainer.getValue());
+            }
+            if (values.size() == compositeKeys.size()) {
+                final Set<T> bucket = entry.getValue().get(values);
+                final long count = null == bucket ? 0 : bucket.size();
+                if (count < bestCount) {
+                    bestCount = count;
+                    best = () -> this.compositeIterator(compositeKeys, values);
+                }
+            }
+        }
+
+        // then the exact match, within() and or()'d predicates and single bounds that an index can answer
+        for (final HasContainer hasContainer : hasContainers) {
+            final String key = hasContainer.getKey();
+            if (!this.indexedKeys.contains(key))
+                continue;
+            final P<?> predicate = hasContainer.getPredicate();
+            final long count = this.count(key, predicate, bestCount);
+            if (count >= 0 && count < bestCount) {
+                bestCount = count;
+                best = () -> this.lookup(key, predicate);
+            }
+        }
+
+        // then a range over a sorted index bounded by all the range predicates on its key
+        for (final String key : this.sortedKeys) {
+            final RangeBounds bounds = RangeBounds.of(key, hasContainers);
+            if (null == bounds)
+                continue;
+            final NavigableMap<Object, Set<T>> range = this.rangeBuckets(key, bounds.low, bounds.lowInclusive, bounds.high, bounds.highInclusive);
+            final long count = null == range ? 0 : countBuckets(range.values(), bestCount);
+            if (count < bestCount) {
+                bestCount = count;
+                best = () -> this.getRange(key, bounds.low, bounds.lowInclusive, bounds.high, bounds.highInclusive);
+            }
+        }
+        return null == best ? null : best.get();
+    }
+
+    /**
+     * Count the candidates that {@link #lookup(String, P)} would return for the predicate, giving up once the count
+     * exceeds the bound, or return {@code -1} if the predicate can not be answered by the index.
+     */
+    private long count(final String key, final P<?> predicate, final long bound) {
+        if (predicate instanceof OrP) {
+            long count = 0;
+            for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                final long orCount = this.count(key, p, bound - count);
+                if (orCount < 0) return -1;
+                count = count + orCount;
+                if (count > bound) return count;
+            }
+            return count;
+        } else if (predicate instanceof ConnectiveP) {
+            return -1;
+        }
+
+        final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+        final Object value = predicate.getValue();
+        if (null == value) {
+            return -1;
+        } else if (biPredicate == Compare.eq) {
+            return this.count(key, value);
+        } else if (biPredicate == Contains.within && value instanceof Collection) {
+            long count = 0;
+            for (final Object v : (Collection<Object>) value) {
+                if (null == v) return -1;
+                count = count + this.count(key, v);
+                if (count > bound) return count;
+            }
+            return count;
+        } else if (isRange(biPredicate) && this.sortedKeys.contains(key)) {
+            final NavigableMap<Object, Set<T>> range = biPredicate == Compare.gt || biPredicate == Compare.gte ?
+                    this.rangeBuckets(key, value, biPredicate == Compare.gte, null, true) :
+                    this.rangeBuckets(key, null, true, value, biPredicate == Compare.lte);
+            return null == range ? 0 : countBuckets(range.values(), bound);
+        }
+        return -1;
+    }
+
+    private Iterator<T> lookup(final String key, final P<?> predicate) {
+        if (predicate instanceof OrP) {
+            final MultiIterator<T> elements = new MultiIterator<>();
+            for (final P<?> p : ((OrP<?>) predicate).getPredicates()) {
+                final Iterator<T> orElements = this.lookup(key, p);
+                if (null == orElements) return null;
+                elements.addIterator(orElements);
+            }
+            return distinct(elements);
+        } else if (predicate instanceof ConnectiveP) {
+            return null;
+        }
+
+        final BiPredicate<?, ?> biPredicate = predicate.getBiPredicate();
+        final Object value = predicate.getValue();
+        if (biPredicate == Compare.eq) {
+            return this.iterator(key, value);
+        } else if (biPredicate == Contains.within && value instanceof Collection) {
+            return distinct(IteratorUtils.flatMap(((Collection<Object>) value).iterator(), v -> this.iterator(key, v)));
+        } else if (isRange(biPredicate) && this.sortedKeys.contains(key) && null != value) {
+            if (biPredicate == Compare.gt || biPredicate == Compare.gte)
+                return this.getRange(key, value, biPredicate == Compare.gte, null, true);
+            else
+                return this.getRange(key, null, true, value, biPredicate == Compare.lte);
+        }
+        return null;
+    }
+
+    /**
+     * Sum the sizes of the buckets, giving up once the sum exceeds the bound.
+     */
+    private static <T> long countBuckets(final Collection<Set<T>> buckets, final long bound) {
+        long count = 0;
+        for (final Set<T> bucket : buckets) {
+            count = count + bucket.size();
+            if (count > bound) break;
+        }
+        return count;
+    }
+
+    /**
+     * The tightest range that the range predicates on a key bound its values to.
+     */
+    private static final class RangeBounds {
+        private Object low = null;
+        private Object high = null;
+        private boolean lowInclusive = true;
+        private boolean highInclusive = true;
+
+        private static RangeBounds of(final String key, final List<HasContainer> hasContainers) {
+            final RangeBounds bounds = new RangeBounds();
+            for (final HasContainer hasContainer : hasContainers) {
+                final BiPredicate<?, ?> biPredicate = hasContainer.getBiPredicate();
+                final Object value = hasContainer.getValue();
+                if (!hasContainer.getKey().equals(key) || !isRange(biPredicate) || null == value)
+                    continue;
+                if (biPredicate == Compare.gt || biPredicate == Compare.gte) {
+                    final int comparison = null == bounds.low ? 1 : SORTED_VALUE_COMPARATOR.compare(value, bounds.low);
+                    if (comparison > 0 || (comparison == 0 && biPredicate == Compare.gt)) {
+                        bounds.low = value;
+                        bounds.lowInclusive = biPredicate == Compare.gte;
+                    }
+                } else {
+                    final int comparison = null == bounds.high ? -1 : SORTED_VALUE_COMPARATOR.compare(value, bounds.high);
+                    if (comparison < 0 || (comparison == 0 && biPredicate == Compare.lt)) {
+                        bounds.high = value;
+                        bounds.highInclusive = biPredicate == Compare.lte;
+                    }
                 }
             }
+            return null == bounds.low && null == bounds.high ? null : bounds;
         }
     }
 
+    public void remove(final String key, final Object value, final T element) {
+        removeFromBucket(this.index.get(key), value, element);
+        this.removeEntry(element, key, value);
+    }
+
     public void removeElement(final T element) {
         if (this.indexClass.isAssignableFrom(element.getClass())) {
-            for (Map<Object, Set<T>> map : index.values()) {
-                for (Set<T> set : map.values()) {
-                    set.remove(element);
+            final Map<Object, Set<Object>> elementEntries = this.entries.remove(element);
+            if (null == elementEntries)
+                return;
+            elementEntries.forEach((indexKey, values) -> {
+                if (indexKey instanceof String) {
+                    final Map<Object, Set<T>> keyMap = this.index.get(indexKey);
+                    values.forEach(value -> removeFromBucket(keyMap, value, element));
+                } else {
+                    final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.get(indexKey);
+                    values.forEach(value -> removeFromBucket(keyMap, (List<Object>) value, element));
                 }
-            }
+            });
         }
     }
 
@@ -116,29 +392,37 @@ final class TinkerIndex<T extends Element> {
                 this.remove(key, oldValue, element);
             this.put(key, newValue, element);
         }
+        this.updateComposites(key, element);
     }
 
     public void autoRemove(final String key, final Object oldValue, final T element) {
         if (this.indexedKeys.contains(key))
             this.remove(key, oldValue, element);
+        this.updateComposites(key, element);
     }
 
     public void createKeyIndex(final String key) {
+        this.createKeyIndex(key, false);
+    }
+
+    public void createKeyIndex(final String key, final boolean sorted) {
         if (null == key)
             throw Graph.Exceptions.argumentCanNotBeNull("key");
         if (key.isEmpty())
             throw new IllegalArgumentException("The key for the index cannot be an empty string");
 
-        if (this.indexedKeys.contains(key))
-            return;
+        if (this.indexedKeys.contains(key)) {
+            if (this.sortedKeys.contains(key) == sorted)
+                return;
+            this.dropKeyIndex(key);
+        }
         this.indexedKeys.add(key);
+        if (sorted) this.sortedKeys.add(key);
 
         (Vertex.class.isAssignableFrom(this.indexClass) ?
                 this.graph.vertices.values().<T>parallelStream() :
                 this.graph.edges.values().<T>parallelStream())
-                .map(e -> new Object[]{((T) e).property(key), e})
-                .filter(a -> ((Property) a[0]).isPresent())
-                .forEach(a -> this.put(key, ((Property) a[0]).value(), (T) a[1]));
+                .forEach(e -> indexValues(e, key).forEach(value -> this.put(key, value, (T) e)));
     }
 
     public void dropKeyIndex(final String key) {
@@ -146,9 +430,248 @@ final class TinkerIndex<T extends Element> {
             this.index.remove(key).clear();
 
         this.indexedKeys.remove(key);
+        this.sortedKeys.remove(key);
+        this.dropEntries(key);
+    }
+
+    public void createCompositeKeyIndex(final String... keys) {
+        if (keys.length < 2)
+            throw new IllegalArgumentException("A composite index requires at least two keys: " + keys.length);
+        for (final String key : keys) {
+            if (null == key)
+                throw Graph.Exceptions.argumentCanNotBeNull("key");
+            if (key.isEmpty())
+                throw new IllegalArgumentException("The key for the index cannot be an empty string");
+        }
+
+        final List<String> compositeKeys = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(keys)));
+        if (this.compositeIndex.containsKey(compositeKeys))
+            return;
+        final Map<List<Object>, Set<T>> keyMap = new ConcurrentHashMap<>();
+        this.compositeIndex.put(compositeKeys, keyMap);
+
+        (Vertex.class.isAssignableFrom(this.indexClass) ?
+                this.graph.vertices.values().<T>stream() :
+                this.graph.edges.values().<T>stream())
+                .forEach(e -> compositeValues(e, compositeKeys).forEach(values -> this.putComposite(compositeKeys, keyMap, values, (T) e)));
+    }
+
+    public void dropCompositeKeyIndex(final String... keys) {
+        final List<String> compositeKeys = Arrays.asList(keys);
+        final Map<List<Object>, Set<T>> keyMap = this.compositeIndex.remove(compositeKeys);
+        if (null != keyMap) {
+            keyMap.clear();
+            this.dropEntries(compositeKeys);
+        }
     }
 
     public Set<String> getIndexedKeys() {
         return this.indexedKeys;
     }
+
+    public Set<String> getSortedIndexedKeys() {
+        return this.sortedKeys;
+    }
+
+    public Set<List<String>> getCompositeIndexedKeys() {
+        return this.compositeIndex.keySet();
+    }
+
+    /**
+     * Bring the composite indices that include the key up to date with the current state of the element. The
+     * element is removed from the value combinations it was last indexed under and then added back under the
+     * combinations it currently has.
+     */
+    private void updateComposites(final String key, final T element) {
+        for (final Map.Entry<List<String>, Map<List<Object>, Set<T>>> entry : this.compositeIndex.entrySet()) {
+            if (!entry.getKey().contains(key))
+                continue;
+            final List<String> compositeKeys = entry.getKey();
+            final Map<List<Object>, Set<T>> keyMap = entry.getValue();
+            for (final Object values : this.getEntries(element, compositeKeys)) {
+                removeFromBucket(keyMap, (List<Object>) values, element);
+                this.removeEntry(element, compositeKeys, values);
+            }
+            for (final List<Object> values : compositeValues(element, compositeKeys)) {
+                this.putComposite(compositeKeys, keyMap, values, element);
+            }
+        }
+    }
+
+    private void putComposite(final List<String> compositeKeys, final Map<List<Object>, Set<T>> keyMap, final List<Object> values, final T element) {
+        addToBucket(keyMap, values, element);
+        this.addEntry(element, compositeKeys, values);
+    }
+
+    /**
+     * Record that the element is indexed under the value for the index key, which is either an indexed key or the
+     * keys of a composite index. The update happens within the lock of the element's entry in the map so that
+     * concurrent writers of different elements do not contend.
+     */
+    private void addEntry(final T element, final Object indexKey, final Object value) {
+        this.entries.compute(element, (e, elementEntries) -> {
+            final Map<Object, Set<Object>> updated = null == elementEntries ? new HashMap<>() : elementEntries;
+            updated.computeIfAbsent(indexKey, k -> new HashSet<>()).add(value);
+            return updated;
+        });
+    }
+
+    /**
+     * Get a copy of the values that the element is indexed under for the index key, taken within the lock of the
+     * element's entry.
+     */
+    private List<Object> getEntries(final T element, final Object indexKey) {
+        final List<Object> values = new ArrayList<>();
+        this.entries.computeIfPresent(element, (e, elementEntries) -> {
+            final Set<Object> indexValues = elementEntries.get(indexKey);
+            if (null != indexValues)
+                values.addAll(indexValues);
+            return elementEntries;
+        });
+        return values;
+    }
+
+    private void removeEntry(final T element, final Object indexKey, final Object value) {
+        this.entries.computeIfPresent(element, (e, elementEntries) -> {
+            final Set<Object> values = elementEntries.get(indexKey);
+            if (null != values && values.remove(value) && values.isEmpty())
+                elementEntries.remove(indexKey);
+            return elementEntries.isEmpty() ? null : elementEntries;
+        });
+    }
+
+    private void dropEntries(final Object indexKey) {
+        this.entries.keySet().forEach(element -> this.entries.computeIfPresent(element, (e, elementEntries) -> {
+            elementEntries.remove(indexKey);
+            return elementEntries.isEmpty() ? null : elementEntries;
+        }));
+    }
+
+    /**
+     * Add the element to the bucket of the value, creating the bucket if needed. The remapping functions of a
+     * {@link ConcurrentSkipListMap} are not applied atomically, so the bucket is rather modified under its own lock
+     * and a bucket that a concurrent removal discarded is replaced by a new one.
+     */
+    private static <K, E> void addToBucket(final Map<K, Set<E>> keyMap, final K value, final E element) {
+        while (true) {
+            final Bucket<E> bucket = (Bucket<E>) keyMap.computeIfAbsent(value, v -> new Bucket<>());
+            synchronized (bucket) {
+                if (!bucket.discarded) {
+                    bucket.elements.add(element);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static <K, E> void removeFromBucket(final Map<K, Set<E>> keyMap, final K value, final E element) {
+        if (null == keyMap)
+            return;
+        while (true) {
+            final Bucket<E> bucket = (Bucket<E>) keyMap.get(value);
+            if (null == bucket)
+                return;
+            synchronized (bucket) {
+                if (!bucket.discarded) {
+                    if (bucket.elements.remove(element) && bucket.elements.isEmpty()) {
+                        bucket.discarded = true;
+                        keyMap.remove(value, bucket);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The elements indexed under a value. Elements are only added and removed while holding the lock of the bucket
+     * and a bucket that became empty is discarded from its index under that lock, after which nothing is added to it.
+     * Readers iterate the elements without locking.
+     */
+    private static final class Bucket<E> extends AbstractSet<E> {
+
+        private final Set<E> elements = ConcurrentHashMap.newKeySet();
+        private boolean discarded = false;
+
+        @Override
+        public Iterator<E> iterator() {
+            return Collections.unmodifiableSet(this.elements).iterator();
+        }
+
+        @Override
+        public int size() {
+            return this.elements.size();
+        }
+
+        @Override
+        public boolean contains(final Object element) {
+            return this.elements.contains(element);
+        }
+    }
+
+    /**
+     * Get every combination of values the element has for the keys of a composite index.
+     */
+    private static List<List<Object>> compositeValues(final Element element, final List<String> keys) {
+        List<List<Object>> combinations = Collections.singletonList(Collections.emptyList());
+        for (final String key : keys) {
+            final List<Object> values = indexValues(element, key);
+            if (values.isEmpty())
+                return Collections.emptyList();
+
+            final List<List<Object>> next = new ArrayList<>(combinations.size() * values.size());
+            for (final List<Object> combination : combinations) {
+                for (final Object value : values) {
+                    final List<Object> extended = new ArrayList<>(combination);
+                    extended.add(value);
+                    next.add(extended);
+                }
+            }
+            combinations = next;
+        }
+        return combinations;
+    }
+
+    private static List<Object> indexValues(final Element element, final String key) {
+        final List<Object> values = new ArrayList<>();
+        if (key.equals(T.label.getAccessor()))
+            values.add(element.label());
+        else
+            element.properties(key).forEachRemaining(property -> values.add(property.value()));
+        return values;
+    }
+
+    /**
+     * Filter out elements that were already returned, which can happen when the candidates span several buckets.
+     */
+    private static <T> Iterator<T> distinct(final Iterator<T> iterator) {
+        final Set<T> seen = new HashSet<>();
+        return IteratorUtils.filter(iterator, seen::add);
+    }
+
+    private static HasContainer getEqualityContainer(final List<HasContainer> hasContainers, final String key) {
+        for (final HasContainer hasContainer : hasContainers) {
+            if (hasContainer.getKey().equals(key) && hasContainer.getBiPredicate() == Compare.eq)
+                return hasContainer;
+        }
+        return null;
+    }
+
+    private static boolean isRange(final BiPredicate<?, ?> biPredicate) {
+        return biPredicate == Compare.gt || biPredicate == Compare.gte || biPredicate == Compare.lt || biPredicate == Compare.lte;
+    }
+
+    private static int compareNumbers(final Number a, final Number b) {
+        if (a.getClass().equals(b.getClass()) && a instanceof Comparable)
+            return ((Comparable) a).compareTo(b);
+        else if (isNonFinite(a) || isNonFinite(b))
+            return Double.compare(a.doubleValue(), b.doubleValue());
+        else
+            return new BigDecimal(a.toString()).compareTo(new BigDecimal(b.toString()));
+    }
+
+    private static boolean isNonFinite(final Number number) {
+        return (number instanceof Double && (((Double) number).isNaN() || ((Double) number).isInfinite())) ||
+                (number instanceof Float && (((Float) number).isNaN() || ((Float) number).isInfinite()));
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.tinkerpop.gremlin.tinkergraph.process.computer;
+
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerFactory;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerGraph;
+import org.apache.tinkerpop.gremlin.tinkergraph.structure.TinkerVertex;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TinkerGraphComputerViewTest {
+
+    @Test
+    public void shouldKeepIdentifiersOfComputeKeysStableAndApartFromTheGraph() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final TinkerGraphComputerView view = new TinkerGraphComputerView(graph, new HashSet<>(Arrays.asList("rank", "path")));
+        final TinkerVertex marko = (TinkerVertex) graph.vertices(1).next();
+        final TinkerVertex vadas = (TinkerVertex) graph.vertices(2).next();
+
+        view.addProperty(marko, "rank", 0.15d);
+        view.addProperty(vadas, "rank", 0.15d);
+        final Object markoRankId = view.getProperty(marko, "rank").get(0).id();
+        assertEquals(markoRankId, view.getProperty(marko, "rank").get(0).id());
+        assertNotEquals(markoRankId, view.getProperty(vadas, "rank").get(0).id());
+        assertTrue((Long) markoRankId < 0l);
+
+        // a second value materializes the cell which keeps the identifier of the first value
+        view.addProperty(marko, "rank", 0.2d);
+        final List<VertexProperty<?>> markoRanks = view.getProperty(marko, "rank");
+        assertEquals(2, markoRanks.size());
+        assertEquals(markoRankId, markoRanks.get(0).id());
+        assertNotEquals(markoRankId, markoRanks.get(1).id());
+        assertEquals(markoRanks.get(1).id(), view.getProperty(marko, "rank").get(1).id());
+
+        // reading and writing compute keys does not take identifiers from the graph
+        assertEquals(TinkerFactory.createModern().addVertex().id(), graph.addVertex().id());
+    }
+}
@@ -23,10 +23,15 @@ import org.apache.commons.configuration.Configuration;
 import org.apache.tinkerpop.gremlin.TestHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.engine.BatchTraversalEngine;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.optimization.CostBasedStrategy;
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Graph;
 import org.apache.tinkerpop.gremlin.structure.T;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.apache.tinkerpop.gremlin.structure.io.Io;
 import org.apache.tinkerpop.gremlin.structure.io.GraphReader;
 import org.apache.tinkerpop.gremlin.structure.io.GraphWriter;
@@ -63,9 +68,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -297,6 +305,255 @@ public class TinkerGraphTest {
         }, 0.5)).has("oid", "1").count().next());
     }
 
+    @Test
+    public void shouldUseSortedVertexIndexForRangeQueries() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createSortedIndex("age", Vertex.class);
+        assertEquals(1, g.getSortedIndexedKeys(Vertex.class).size());
+        assertTrue(g.getIndexedKeys(Vertex.class).contains("age"));
+
+        final Vertex marko = g.addVertex("name", "marko", "age", 29);
+        g.addVertex("name", "vadas", "age", 27);
+        g.addVertex("name", "josh", "age", 32l);
+        final Vertex peter = g.addVertex("name", "peter", "age", 35);
+        g.addVertex("name", "lop", "lang", "java");
+
+        // a spy into the pipeline for index check.  in this case, we know that the sorted index is used because
+        // only the names of vertices with an age in the range should pass through the pipeline.
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("marko") || t.equals("josh"));
+            return true;
+        }, "x")).has("age", P.between(28, 35)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("name", P.test((t, u) -> {
+            assertTrue(t.equals("vadas") || t.equals("peter"));
+            return true;
+        }, "x")).has("age", P.outside(28, 33)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", P.test((t, u) -> {
+            assertEquals("marko", t);
+            return true;
+        }, "x")).has("age", P.inside(27, 32)).count().next());
+        assertEquals(new Long(2), g.traversal().V().has("age", P.within(27, 35)).count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", P.lt(29)).count().next());
+        assertEquals(new Long(3), g.traversal().V().has("age", P.gte(29)).count().next());
+
+        marko.property("age", 40);
+        assertEquals(new Long(1), g.traversal().V().has("age", P.gt(36)).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("age", P.eq(29)).count().next());
+
+        peter.remove();
+        assertEquals(new Long(2), g.traversal().V().has("age", P.gt(30)).count().next());
+    }
+
+    @Test
+    public void shouldUseSortedEdgeIndexForRangeQueries() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createSortedIndex("weight", Edge.class);
+
+        final Vertex v = g.addVertex();
+        v.addEdge("friend", v, "oid", "1", "weight", 0.5f);
+        v.addEdge("friend", v, "oid", "2", "weight", 0.6d);
+        v.addEdge("friend", v, "oid", "3", "weight", 1.0d);
+
+        assertEquals(new Long(2), g.traversal().E().has("oid", P.test((t, u) -> {
+            assertTrue(t.equals("2") || t.equals("3"));
+            return true;
+        }, "x")).has("weight", P.gt(0.5)).count().next());
+    }
+
+    @Test
+    public void shouldUseLabelAndCompositeVertexIndices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex(T.label.getAccessor(), Vertex.class);
+        g.createCompositeIndex(Vertex.class, T.label.getAccessor(), "name");
+        assertEquals(1, g.getCompositeIndexedKeys(Vertex.class).size());
+
+        g.addVertex(T.label, "person", "name", "marko", "age", 29);
+        g.addVertex(T.label, "software", "name", "marko", "age", 1);
+        final Vertex stephen = g.addVertex(T.label, "person", "name", "stephen", "age", 35);
+
+        // spies into the pipeline for index check.  only vertices with a matching label, and with a matching label
+        // and name respectively, should reach the filter on "age"
+        assertEquals(new Long(2), g.traversal().V().has("age", P.test((t, u) -> {
+            assertTrue(t.equals(29) || t.equals(35));
+            return true;
+        }, 0)).hasLabel("person").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("age", P.test((t, u) -> {
+            assertEquals(29, t);
+            return true;
+        }, 0)).has("person", "name", "marko").count().next());
+
+        stephen.property("name", "marko");
+        assertEquals(new Long(2), g.traversal().V().has("person", "name", "marko").count().next());
+        assertEquals(new Long(0), g.traversal().V().has("person", "name", "stephen").count().next());
+
+        stephen.remove();
+        assertEquals(new Long(1), g.traversal().V().has("person", "name", "marko").count().next());
+
+        g.dropCompositeIndex(Vertex.class, T.label.getAccessor(), "name");
+        assertEquals(0, g.getCompositeIndexedKeys(Vertex.class).size());
+        assertEquals(new Long(1), g.traversal().V().has("person", "name", "marko").count().next());
+    }
+
+    @Test
+    public void shouldLazilyFilterIndexedVertices() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("type", Vertex.class);
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("type", "x", "i", i);
+        }
+
+        // a spy into the pipeline to ensure that a limit() only pulls the vertices it needs through the filters
+        final AtomicInteger tested = new AtomicInteger(0);
+        assertEquals(10, g.traversal().V().has("type", "x").has("i", P.test((t, u) -> {
+            tested.incrementAndGet();
+            return true;
+        }, 0)).limit(10).toList().size());
+        assertTrue(tested.get() < 20);
+
+        // mutating traversals see a snapshot of the matching vertices
+        g.traversal().V().has("type", "x").property("type", "y").iterate();
+        assertEquals(new Long(0), g.traversal().V().has("type", "x").count().next());
+        assertEquals(new Long(1000), g.traversal().V().has("type", "y").count().next());
+        g.traversal().V().has("type", "y").drop().iterate();
+        assertEquals(new Long(0), g.traversal().V().count().next());
+    }
+
+    @Test
+    public void shouldKeepIndicesConsistentWhenElementsAreUpdatedAndRemoved() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("name", Vertex.class);
+        g.createSortedIndex("age", Vertex.class);
+        g.createCompositeIndex(Vertex.class, "name", "age");
+        for (int i = 0; i < 100; i++) {
+            g.addVertex("name", "v" + (i % 10), "age", i);
+        }
+
+        g.traversal().V().has("age", P.lt(50)).property("name", "x").iterate();
+        assertEquals(new Long(50), g.traversal().V().has("name", "x").count().next());
+        assertEquals(new Long(5), g.traversal().V().has("name", "v0").count().next());
+        assertEquals(new Long(1), g.traversal().V().has("name", "x").has("age", 10).count().next());
+        assertEquals(new Long(0), g.traversal().V().has("name", "v0").has("age", 10).count().next());
+
+        g.traversal().V().has("name", "x").drop().iterate();
+        assertEquals(new Long(50), g.traversal().V().count().next());
+        assertEquals(0, g.vertexIndex.count("name", "x"));
+        assertEquals(0, g.vertexIndex.get("age", 10).size());
+        assertEquals(0, g.vertexIndex.getComposite(Arrays.asList("name", "age"), Arrays.asList("x", 10)).size());
+
+        g.traversal().V().drop().iterate();
+        assertTrue(g.vertexIndex.index.values().stream().allMatch(Map::isEmpty));
+        assertTrue(g.vertexIndex.compositeIndex.values().stream().allMatch(Map::isEmpty));
+    }
+
+    @Test
+    public void shouldKeepSortedIndexConsistentUnderConcurrentAddsAndRemoves() throws Exception {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createSortedIndex("age", Vertex.class);
+        final int threads = 8;
+        final int iterations = 1000;
+        // every vertex that is kept shares its bucket with vertices that are removed concurrently, which empties and
+        // discards the bucket while other threads add to it
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < iterations; i++) {
+                    g.addVertex("age", i % 2);
+                    g.addVertex("age", i % 2).remove();
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+        assertEquals(threads * iterations / 2, g.vertexIndex.get("age", 0).size());
+        assertEquals(threads * iterations / 2, g.vertexIndex.get("age", 1).size());
+        assertEquals(new Long(threads * iterations), g.traversal().V().has("age", P.gte(0)).count().next());
+    }
+
+    @Test
+    public void shouldProduceSameResultsWithBatchTraversalEngine() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource b = graph.traversal(GraphTraversalSource.build().engine(BatchTraversalEngine.build().batchSize(2)));
+
+        assertEquals(g.V().out().out().values("name").toList(), b.V().out().out().values("name").toList());
+        assertEquals(g.V().outE().inV().has("age", P.gt(30)).id().toList(), b.V().outE().inV().has("age", P.gt(30)).id().toList());
+        assertEquals(g.V().out().as("a").out().as("b").select("a", "b").toList(), b.V().out().as("a").out().as("b").select("a", "b").toList());
+        assertEquals(g.V().out().out().path().toList(), b.V().out().out().path().toList());
+        assertEquals(g.V().repeat(__.both().has("age")).times(2).values("age").toList(), b.V().repeat(__.both().has("age")).times(2).values("age").toList());
+        assertEquals(g.V().both().both().groupCount().by("name").next(), b.V().both().both().groupCount().by("name").next());
+    }
+
+    @Test
+    public void shouldProvideStatistics() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final Graph.Statistics statistics = graph.statistics().get();
+        assertEquals(6l, statistics.vertexCount(null));
+        assertEquals(4l, statistics.vertexCount("person"));
+        assertEquals(0l, statistics.vertexCount("dog"));
+        assertEquals(6l, statistics.edgeCount(null));
+        assertEquals(4l, statistics.edgeCount("created"));
+        assertEquals(3l, statistics.maximumDegree(Direction.OUT));
+        assertEquals(3l, statistics.maximumDegree(Direction.IN));
+        assertEquals(2.0d / 6.0d, statistics.averageDegree(Direction.OUT, "knows"), 0.0001d);
+        assertEquals(2.0d, statistics.averageDegree(Direction.BOTH), 0.0001d);
+        assertEquals(1.0d / 6.0d, statistics.selectivity(Vertex.class, "name", P.eq("marko")), 0.0001d);
+        assertEquals(4.0d / 6.0d, statistics.selectivity(Vertex.class, T.label.getAccessor(), P.eq("person")), 0.0001d);
+        assertEquals(2.0d / 6.0d, statistics.selectivity(Vertex.class, "age", P.gt(30)), 0.0001d);
+        assertEquals(0.0d, statistics.selectivity(Vertex.class, "weight", P.gt(0.5)), 0.0001d);
+        assertEquals(2.0d / 6.0d, statistics.selectivity(Edge.class, "weight", P.gt(0.5)), 0.0001d);
+        assertEquals(false, statistics.isIndexed(Vertex.class, "name"));
+
+        graph.createIndex("name", Vertex.class);
+        assertTrue(graph.statistics().get().isIndexed(Vertex.class, "name"));
+
+        // property writes and a single new vertex in a graph of twelve elements are within the tolerance of the snapshot
+        graph.vertices(1).next().property("age", 30);
+        graph.addVertex(T.label, "person", "name", "marko");
+        assertSame(statistics, graph.statistics().get());
+        assertEquals(6l, graph.statistics().get().vertexCount(null));
+
+        graph.addVertex(T.label, "person", "name", "marko");
+        assertNotSame(statistics, graph.statistics().get());
+        assertEquals(8l, graph.statistics().get().vertexCount(null));
+        assertEquals(3.0d / 8.0d, graph.statistics().get().selectivity(Vertex.class, "name", P.eq("marko")), 0.0001d);
+
+        graph.clear();
+        assertEquals(0l, graph.statistics().get().vertexCount(null));
+    }
+
+    @Test
+    public void shouldLookupTheMostSelectiveIndex() {
+        final TinkerGraph g = TinkerGraph.open();
+        g.createIndex("type", Vertex.class);
+        g.createIndex("name", Vertex.class);
+        for (int i = 0; i < 1000; i++) {
+            g.addVertex("type", "x", "name", "v" + i, "i", i);
+        }
+
+        // a spy into the pipeline for index check.  the index on "name" narrows the candidates to a single vertex
+        // whereas the index on "type" that comes first in the traversal matches every vertex
+        final AtomicInteger tested = new AtomicInteger(0);
+        assertEquals(new Long(1), g.traversal().V().has("type", "x").has("name", "v5").has("i", P.test((t, u) -> {
+            tested.incrementAndGet();
+            return true;
+        }, 0)).count().next());
+        assertEquals(1, tested.get());
+    }
+
+    @Test
+    public void shouldProduceSameResultsWithCostBasedStrategy() {
+        final TinkerGraph graph = TinkerFactory.createModern();
+        final GraphTraversalSource g = graph.traversal();
+        final GraphTraversalSource c = g.asBuilder().with(CostBasedStrategy.instance()).create(graph);
+
+        assertEquals(g.V().has("age", P.gt(20)).has("name", "marko").toList(), c.V().has("age", P.gt(20)).has("name", "marko").toList());
+        assertEquals(g.V().out().has("lang", "java").has(T.label, "software").values("name").toList(), c.V().out().has("lang", "java").has(T.label, "software").values("name").toList());
+        assertEquals(g.V().match(__.as("a").out("created").as("b"), __.as("a").has("name", "josh")).select("a", "b").by("name").toList(),
+                c.V().match(__.as("a").out("created").as("b"), __.as("a").has("name", "josh")).select("a", "b").by("name").toList());
+    }
+
     @Test
     public void shouldSerializeTinkerGraphToGryo() throws Exception {
         final TinkerGraph graph = TinkerFactory.createModern();
@@ -385,6 +642,28 @@ public class TinkerGraphTest {
         TinkerGraph.open(conf);
     }
 
+    @Test
+    public void shouldTraverseAndRemoveEdgesWithArrayAdjacencyStorage() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_ADJACENCY_STORAGE, TinkerGraph.AdjacencyStorage.ARRAY.name());
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        IoTest.assertModernGraph(graph, true, false);
+
+        final GraphTraversalSource g = graph.traversal();
+        assertEquals(new Long(3), g.V(1).out().count().next());
+        assertEquals(new Long(2), g.V(1).out("knows").out("created").count().next());
+        assertEquals(new Long(3), g.V(3).in("created").count().next());
+
+        g.E(7).next().remove();
+        assertEquals(new Long(1), g.V(1).out("knows").count().next());
+        assertEquals(new Long(0), g.V(2).inE().count().next());
+
+        g.V(4).next().remove();
+        assertEquals(new Long(0), g.V(1).out("knows").count().next());
+        assertEquals(new Long(2), g.V(3).in("created").count().next());
+    }
+
     @Test
     public void shouldPersistToGraphML() {
         final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldPersistToGraphML.xml";
@@ -470,6 +749,95 @@ public class TinkerGraphTest {
         assertEquals(TestIoBuilder.calledCreate, 1);
     }
 
+    @Test
+    public void shouldReplayGraphLogWhenGraphIsNotClosed() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldReplayGraphLogWhenGraphIsNotClosed.kryo";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File log = new File(graphLocation + ".log");
+        if (log.exists() && log.isFile()) log.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOG_COMPACTION_THRESHOLD, 0);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        TinkerFactory.generateModern(graph);
+        graph.close();
+        assertTrue(f.exists());
+        assertTrue(!log.exists());
+
+        // mutate the graph without closing it, as if the process went down
+        final TinkerGraph mutatedGraph = TinkerGraph.open(conf);
+        final Vertex marko = mutatedGraph.vertices(1).next();
+        marko.property("name").remove();
+        marko.property(VertexProperty.Cardinality.single, "name", "okram", "since", 2009);
+        mutatedGraph.edges(8).next().property("weight", 0.1d);
+        mutatedGraph.vertices(2).next().remove();
+        final Vertex stephen = mutatedGraph.addVertex(T.id, 100, T.label, "person", "name", "stephen");
+        stephen.addEdge("knows", marko, T.id, 101, "weight", 0.7d);
+        assertTrue(log.exists());
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(recoveredGraph.vertices()));
+        assertEquals(6, IteratorUtils.count(recoveredGraph.edges()));
+        final Vertex recoveredMarko = recoveredGraph.vertices(1).next();
+        assertEquals("okram", recoveredMarko.value("name"));
+        assertEquals(2009, (int) recoveredMarko.property("name").value("since"));
+        assertEquals(0.1d, recoveredGraph.edges(8).next().value("weight"), 0.0001d);
+        assertEquals(1, IteratorUtils.count(recoveredMarko.edges(Direction.OUT, "knows")));
+        assertTrue(!recoveredGraph.vertices(2).hasNext());
+        assertEquals("stephen", recoveredGraph.vertices(100).next().value("name"));
+        assertEquals(0.7d, recoveredGraph.edges(101).next().value("weight"), 0.0001d);
+        recoveredGraph.close();
+        assertTrue(!log.exists());
+
+        final TinkerGraph reloadedGraph = TinkerGraph.open(conf);
+        assertEquals(6, IteratorUtils.count(reloadedGraph.vertices()));
+        assertEquals("okram", reloadedGraph.vertices(1).next().value("name"));
+        reloadedGraph.close();
+    }
+
+    @Test
+    public void shouldCompactGraphLogWhenThresholdIsReached() {
+        final String graphLocation = TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldCompactGraphLogWhenThresholdIsReached.kryo";
+        final File f = new File(graphLocation);
+        if (f.exists() && f.isFile()) f.delete();
+        final File log = new File(graphLocation + ".log");
+        if (log.exists() && log.isFile()) log.delete();
+        final File compactingLog = new File(graphLocation + ".log.compacting");
+        if (compactingLog.exists() && compactingLog.isFile()) compactingLog.delete();
+
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "gryo");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, graphLocation);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOG, true);
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOG_COMPACTION_THRESHOLD, 10);
+        final TinkerGraph graph = TinkerGraph.open(conf);
+        for (int i = 0; i < 25; i++) {
+            graph.addVertex(T.id, i);
+        }
+
+        // compaction runs in the background so the graph is written to while snapshots are taken
+        graph.log.awaitCompaction();
+        assertTrue(f.exists());
+        assertTrue(!compactingLog.exists());
+
+        final TinkerGraph recoveredGraph = TinkerGraph.open(conf);
+        assertEquals(25, IteratorUtils.count(recoveredGraph.vertices()));
+        recoveredGraph.close();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldNotLogGraphPersistedAsGraphML() {
+        final Configuration conf = new BaseConfiguration();
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_FORMAT, "graphml");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOCATION, TestHelper.makeTestDataDirectory(TinkerGraphTest.class) + "shouldNotLogGraphPersistedAsGraphML.xml");
+        conf.setProperty(TinkerGraph.GREMLIN_TINKERGRAPH_GRAPH_LOG, true);
+        TinkerGraph.open(conf);
+    }
+
     @Test
     public void shouldSerializeWithColorClassResolverToTinkerGraph() throws Exception {
         final Map<String,Color> colors = new HashMap<>();